@@ -1164,6 +1164,17 @@ public class AiBlockController {
         // non-lethal blockers that won't kill the attacker but won't die to it as well
         makeGangNonLethalBlocks(combat);
 
+        // optionally search for single blocks that turn out better than the ones made so far
+        if (ai.getController().isAI()) {
+            AiController aic = ((PlayerControllerAi) ai.getController()).getAi();
+            if (aic.getBooleanProperty(AiProps.SEARCH_BLOCK_ASSIGNMENTS)) {
+                AiBlockPlanner planner = new AiBlockPlanner(ai, aic.getIntProperty(AiProps.SEARCH_BLOCK_ASSIGNMENTS_TIME_LIMIT));
+                if (planner.improveBlocks(combat, possibleBlockers)) {
+                    removeUnpayableBlocks(combat);
+                }
+            }
+        }
+
         //Check for validity of blocks in case something slipped through
         for (Card attacker : attackers) {
             if (!CombatUtil.canAttackerBeBlockedWithAmount(attacker, combat.getBlockers(attacker).size(), combat)) {
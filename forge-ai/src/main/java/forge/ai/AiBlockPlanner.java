@@ -0,0 +1,307 @@
+package forge.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import forge.game.GameEntity;
+import forge.game.card.Card;
+import forge.game.card.CardCollection;
+import forge.game.card.CardLists;
+import forge.game.combat.Combat;
+import forge.game.combat.CombatUtil;
+import forge.game.keyword.Keyword;
+import forge.game.player.Player;
+
+/**
+ * Searches the blocks of one combat for the best assignment of single blockers, as an optional second opinion
+ * on the blocks {@link AiBlockController} made.
+ * <p>
+ * The outcome of every attacker and blocker pair is looked up once, then block assignments are searched with
+ * branch and bound: the current blocks are the first bound, and a partial assignment is dropped as soon as even
+ * the best outcome of each remaining attacker can't beat it anymore. The search stops when its time is up and
+ * keeps the best assignment found so far.
+ * <p>
+ * Gang blocks, blockers blocking several attackers and attacked planeswalkers aren't modelled, so combats where
+ * the current blocks use them are left alone.
+ */
+public class AiBlockPlanner {
+    // scores are in the units of ComputerUtilCard.evaluateCreature
+    private static final int LIFE_VALUE = 2;
+    private static final int POISON_VALUE = 20;
+    private static final int DANGER_VALUE = 500;
+    private static final int LOSS_VALUE = 1000000;
+
+    private final Player ai;
+    private final long timeLimitNanos;
+
+    private List<Card> attackers;
+    private List<Card> blockers;
+    // options of each attacker, blocker indices or -1 for no block, best first
+    private int[][] options;
+    private int[][] pairScore;
+    private int[][] pairDamage;
+    private int[] unblockedScore;
+    private int[] unblockedDamage;
+    private int[] unblockedPoison;
+    // sum of the best option of each attacker from this one on
+    private int[] bestRemaining;
+    private int lossDamage;
+    private int dangerDamage;
+    private int lossPoison;
+
+    private int[] current;
+    private int[] best;
+    private boolean[] used;
+    private int bestScore;
+    private long deadline;
+    private long nodes;
+    private boolean timedOut;
+
+    public AiBlockPlanner(final Player ai, final long timeLimitMillis) {
+        this.ai = ai;
+        this.timeLimitNanos = timeLimitMillis * 1000000;
+    }
+
+    /**
+     * Replace the blocks of the AI in the combat with better single blocks, if there are any.
+     *
+     * @param possibleBlockers the creatures of the AI that may block
+     * @return true if the blocks were changed
+     */
+    public boolean improveBlocks(final Combat combat, final List<Card> possibleBlockers) {
+        nodes = 0;
+        timedOut = false;
+        attackers = combat.getAttackersOf(ai);
+        if (attackers.isEmpty() || attacksPlaneswalkers(combat)) {
+            return false;
+        }
+        final Card[] initialBlockers = getCurrentBlocks(combat);
+        if (initialBlockers == null) {
+            return false;
+        }
+
+        // which creatures can block which attacker depends on the other blocks, so look at them without any
+        clearBlocks(combat);
+        blockers = new ArrayList<>();
+        for (final Card b : possibleBlockers) {
+            if (CombatUtil.canBlock(b, combat)) {
+                blockers.add(b);
+            }
+        }
+        final int[] initial = new int[attackers.size()];
+        for (int i = 0; i < initial.length; i++) {
+            initial[i] = initialBlockers[i] == null ? -1 : blockers.indexOf(initialBlockers[i]);
+            if (initialBlockers[i] != null && initial[i] < 0) {
+                restoreBlocks(combat, initialBlockers);
+                return false;
+            }
+        }
+
+        buildOutcomes(combat);
+        best = initial.clone();
+        bestScore = score(initial);
+        current = new int[attackers.size()];
+        used = new boolean[blockers.size()];
+        deadline = System.nanoTime() + timeLimitNanos;
+        search(0, 0, 0, 0);
+
+        if (Arrays.equals(best, initial) || !setBlocks(combat, best) || CombatUtil.validateBlocks(combat, ai) != null) {
+            restoreBlocks(combat, initialBlockers);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of partial block assignments looked at by the last search
+     */
+    public long getSearchedNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return true if the last search ran out of time before it was done
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    private boolean attacksPlaneswalkers(final Combat combat) {
+        for (final GameEntity defender : combat.getDefenders()) {
+            if (defender instanceof Card && !combat.getAttackersOf(defender).isEmpty()) {
+                final Card c = (Card) defender;
+                if (ai.equals(c.getController()) || ai.equals(c.getProtectingPlayer())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // the blocker of each attacker in the combat, or null if the blocks aren't all single blocks by the AI
+    private Card[] getCurrentBlocks(final Combat combat) {
+        final Card[] result = new Card[attackers.size()];
+        for (int i = 0; i < result.length; i++) {
+            final CardCollection blockedBy = combat.getBlockers(attackers.get(i));
+            if (blockedBy.isEmpty()) {
+                continue;
+            }
+            final Card blocker = blockedBy.getFirst();
+            if (blockedBy.size() > 1 || !ai.equals(blocker.getController()) || combat.getAttackersBlockedBy(blocker).size() > 1) {
+                return null;
+            }
+            result[i] = blocker;
+        }
+        return result;
+    }
+
+    private void buildOutcomes(final Combat combat) {
+        final int n = attackers.size();
+        final boolean inCombat = ai.getGame().getPhaseHandler().inCombat();
+        final int[] blockerValue = new int[blockers.size()];
+        for (int j = 0; j < blockerValue.length; j++) {
+            blockerValue[j] = ComputerUtilCard.evaluateCreature(blockers.get(j));
+        }
+
+        options = new int[n][];
+        pairScore = new int[n][blockers.size()];
+        pairDamage = new int[n][blockers.size()];
+        unblockedScore = new int[n];
+        unblockedDamage = new int[n];
+        unblockedPoison = new int[n];
+        for (int i = 0; i < n; i++) {
+            final Card attacker = attackers.get(i);
+            final int attackerValue = ComputerUtilCard.evaluateCreature(attacker);
+            final int damage = ComputerUtilCombat.damageIfUnblocked(attacker, ai, combat, false);
+            unblockedDamage[i] = damage;
+            unblockedPoison[i] = ComputerUtilCombat.poisonIfUnblocked(attacker, ai);
+            unblockedScore[i] = -LIFE_VALUE * damage - POISON_VALUE * unblockedPoison[i];
+
+            final List<Integer> choices = new ArrayList<>();
+            choices.add(-1);
+            if (CombatUtil.canAttackerBeBlockedWithAmount(attacker, 1, combat)) {
+                for (int j = 0; j < blockers.size(); j++) {
+                    final Card blocker = blockers.get(j);
+                    if (!CombatUtil.canBlock(attacker, blocker, combat)) {
+                        continue;
+                    }
+                    int score = 0;
+                    if (ComputerUtilCombat.canDestroyAttacker(ai, attacker, blocker, combat, false, inCombat)) {
+                        score += attackerValue;
+                    }
+                    if (ComputerUtilCombat.canDestroyBlocker(ai, blocker, attacker, combat, false, inCombat)) {
+                        score -= blockerValue[j];
+                    }
+                    if (attacker.hasKeyword(Keyword.TRAMPLE) && damage > 0) {
+                        pairDamage[i][j] = Math.max(0, damage - ComputerUtilCombat.getEnoughDamageToKill(blocker, damage, attacker, true, false));
+                    }
+                    pairScore[i][j] = score - LIFE_VALUE * pairDamage[i][j];
+                    choices.add(j);
+                }
+            }
+            final int attackerIndex = i;
+            choices.sort((a, b) -> Integer.compare(optionScore(attackerIndex, b), optionScore(attackerIndex, a)));
+            options[i] = choices.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        bestRemaining = new int[n + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            bestRemaining[i] = bestRemaining[i + 1] + optionScore(i, options[i][0]);
+        }
+
+        lossDamage = ai.cantLoseForZeroOrLessLife() || ai.cantLose() ? Integer.MAX_VALUE : ai.getLife();
+        int threshold = 0;
+        if (ai.getController().isAI()) {
+            threshold = ((PlayerControllerAi) ai.getController()).getAi().getIntProperty(AiProps.AI_IN_DANGER_THRESHOLD);
+        }
+        dangerDamage = lossDamage == Integer.MAX_VALUE ? Integer.MAX_VALUE : ai.getLife() - Math.min(threshold, ai.getLife());
+        lossPoison = ai.cantLose() ? Integer.MAX_VALUE : ai.getGame().getRules().getPoisonCountersToLose() - ai.getPoisonCounters();
+    }
+
+    private int optionScore(final int attacker, final int blocker) {
+        return blocker < 0 ? unblockedScore[attacker] : pairScore[attacker][blocker];
+    }
+
+    // the damage and poison of all attackers can only grow, so this never gets better for the remaining ones
+    private int penalty(final int damage, final int poison) {
+        if (damage >= lossDamage || poison >= lossPoison) {
+            return -LOSS_VALUE;
+        }
+        return damage > dangerDamage ? -DANGER_VALUE : 0;
+    }
+
+    private int score(final int[] blocks) {
+        int score = 0, damage = 0, poison = 0;
+        for (int i = 0; i < blocks.length; i++) {
+            score += optionScore(i, blocks[i]);
+            if (blocks[i] < 0) {
+                damage += unblockedDamage[i];
+                poison += unblockedPoison[i];
+            } else {
+                damage += pairDamage[i][blocks[i]];
+            }
+        }
+        return score + penalty(damage, poison);
+    }
+
+    private void search(final int i, final int score, final int damage, final int poison) {
+        if ((++nodes & 1023) == 0 && System.nanoTime() > deadline) {
+            timedOut = true;
+        }
+        if (timedOut) {
+            return;
+        }
+        final int penalty = penalty(damage, poison);
+        if (i == current.length) {
+            if (score + penalty > bestScore) {
+                bestScore = score + penalty;
+                best = current.clone();
+            }
+            return;
+        }
+        if (score + bestRemaining[i] + penalty <= bestScore) {
+            return;
+        }
+        for (final int j : options[i]) {
+            current[i] = j;
+            if (j < 0) {
+                search(i + 1, score + unblockedScore[i], damage + unblockedDamage[i], poison + unblockedPoison[i]);
+            } else if (!used[j]) {
+                used[j] = true;
+                search(i + 1, score + pairScore[i][j], damage + pairDamage[i][j], poison);
+                used[j] = false;
+            }
+        }
+    }
+
+    private void clearBlocks(final Combat combat) {
+        for (final Card blocker : CardLists.filterControlledBy(combat.getAllBlockers(), ai)) {
+            combat.removeFromCombat(blocker);
+        }
+    }
+
+    // false if one of the blocks isn't allowed next to the others, e.g. when only so many creatures can block
+    private boolean setBlocks(final Combat combat, final int[] blocks) {
+        for (int i = 0; i < blocks.length; i++) {
+            if (blocks[i] < 0) {
+                continue;
+            }
+            final Card blocker = blockers.get(blocks[i]);
+            if (!CombatUtil.canBlock(attackers.get(i), blocker, combat)) {
+                return false;
+            }
+            combat.addBlocker(attackers.get(i), blocker);
+        }
+        return true;
+    }
+
+    private void restoreBlocks(final Combat combat, final Card[] blocks) {
+        clearBlocks(combat);
+        for (int i = 0; i < blocks.length; i++) {
+            if (blocks[i] != null) {
+                combat.addBlocker(attackers.get(i), blocks[i]);
+            }
+        }
+    }
+}
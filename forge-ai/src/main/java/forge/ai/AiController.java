@@ -88,6 +88,14 @@ public class AiController {
     private SpellAbilityPicker simPicker;
     private int lastAttackAggression;
     private boolean useLivingEnd;
+    // mana sources for paying costs, see ComputerUtilMana
+    private ManaAvailability manaAvailability;
+    private ManaAvailability manaAvailabilityUnchecked;
+    // spell abilities the AI could look at playing, kept while the state version doesn't move
+    private List<SpellAbility> candidates = null;
+    private long candidatesVersion = -1;
+    private int priorityDecisions;
+    private int reusedCandidateLists;
 
     public AiController(final Player computerPlayer, final Game game0) {
         player = computerPlayer;
@@ -132,6 +140,18 @@ public class AiController {
         return memory;
     }
 
+    ManaAvailability getManaAvailability(final boolean checkPlayable) {
+        return checkPlayable ? manaAvailability : manaAvailabilityUnchecked;
+    }
+
+    void setManaAvailability(final boolean checkPlayable, final ManaAvailability availability) {
+        if (checkPlayable) {
+            manaAvailability = availability;
+        } else {
+            manaAvailabilityUnchecked = availability;
+        }
+    }
+
     public Combat getPredictedCombat() {
         if (predictedCombat == null) {
             AiAttackController aiAtk = new AiAttackController(player);
@@ -1346,6 +1366,44 @@ public class AiController {
         // Reset priority mana reservation that's meant to work for one spell only
         memory.clearMemorySet(AiCardMemory.MemorySet.HELD_MANA_SOURCES_FOR_NEXT_SPELL);
 
+        priorityDecisions++;
+        final long version = game.getStateVersion();
+        final List<SpellAbility> chosen = chooseSpellAbilityToPlayInState();
+        if (chosen == null && candidatesVersion == version) {
+            // looking for something to play may itself touch the state, that doesn't change what could be played
+            candidatesVersion = game.getStateVersion();
+        }
+        return chosen;
+    }
+
+    /**
+     * @return how often the AI was asked for something to play with priority this game
+     */
+    public int getPriorityDecisions() {
+        return priorityDecisions;
+    }
+
+    /**
+     * @return how often the AI looked for something to play without collecting the spell abilities again,
+     * because nothing happened since it last collected them
+     */
+    public int getReusedCandidateLists() {
+        return reusedCandidateLists;
+    }
+
+    private List<SpellAbility> getCandidateSpellAbilities(final CardCollectionView cards) {
+        final long version = game.getStateVersion();
+        if (candidates != null && candidatesVersion == version) {
+            reusedCandidateLists++;
+        } else {
+            candidates = ComputerUtilAbility.getSpellAbilities(cards, player);
+            candidatesVersion = version;
+        }
+        // callers filter and sort the list
+        return Lists.newArrayList(candidates);
+    }
+
+    private List<SpellAbility> chooseSpellAbilityToPlayInState() {
         if (useSimulation) {
             return singleSpellAbilityList(simPicker.chooseSpellAbilityToPlay(null));
         }
@@ -1524,7 +1582,7 @@ public class AiController {
             // in a scripted timed fashion.
 
             if (!mustRespond) {
-                saList = ComputerUtilAbility.getSpellAbilities(cards, player); // get the SA list early to check for copy SAs
+                saList = getCandidateSpellAbilities(cards); // get the SA list early to check for copy SAs
                 if (ComputerUtilAbility.getFirstCopySASpell(saList) == null) {
                     // Nothing to copy the spell with, so do nothing.
                     return null;
@@ -1542,7 +1600,7 @@ public class AiController {
         }
 
         if (saList.isEmpty()) {
-            saList = ComputerUtilAbility.getSpellAbilities(cards, player);
+            saList = getCandidateSpellAbilities(cards);
         }
 
         Iterables.removeIf(saList, spellAbility -> { //don't include removedAI cards if somehow the AI can play the ability or gain control of unsupported card
@@ -54,6 +54,8 @@ public enum AiProps { /** */
     MIN_CHANCE_TO_RANDOMLY_TRADE_ON_BLOCK ("30"), /** */
     MAX_CHANCE_TO_RANDOMLY_TRADE_ON_BLOCK ("70"), /** */
     CHANCE_DECREASE_TO_TRADE_VS_EMBALM ("30"), /** */
+    SEARCH_BLOCK_ASSIGNMENTS ("false"), /** */
+    SEARCH_BLOCK_ASSIGNMENTS_TIME_LIMIT ("100"), /** */
     CHANCE_TO_TRADE_TO_SAVE_PLANESWALKER ("70"), /** */
     CHANCE_TO_TRADE_DOWN_TO_SAVE_PLANESWALKER ("0"), /** */
     THRESHOLD_TOKEN_CHUMP_TO_SAVE_PLANESWALKER ("135"), /** */
@@ -145,7 +147,9 @@ public enum AiProps { /** */
     SIDEBOARDING_CHANCE_ON_WIN("0"),
     SIDEBOARDING_IN_LIMITED_FORMATS("false"),
     SIDEBOARDING_SHARED_TYPE_ONLY("false"),
-    SIDEBOARDING_PLANESWALKER_EQ_CREATURE("false");
+    SIDEBOARDING_PLANESWALKER_EQ_CREATURE("false"), /** */
+    SIMULATION_ROOT_THREADS ("1"), /** */
+    SIMULATION_TIME_LIMIT ("0");
     // Experimental features, must be promoted or removed after extensive testing and, ideally, defaulting
     // <-- There are no experimental options here -->
 
@@ -0,0 +1,157 @@
+package forge.ai;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.combat.Combat;
+import forge.game.player.Player;
+
+/**
+ * Results of the combat predictions of {@link ComputerUtilCombat}, which the attack and block code asks again and
+ * again for the same attacker and blocker while it tries out assignments.
+ * <p>
+ * Everything is dropped when {@link Game#getStateVersion()} changes. Predictions made during a combat are also
+ * dropped when another combat is asked about or {@link Combat#getVersion()} changes, since declaring attackers and
+ * blockers doesn't fire any events. Cards are told apart by identity, as copies made for predictions share the id
+ * of their original.
+ */
+public final class CombatPredictionCache {
+    static final int POWER_BONUS_OF_ATTACKER = 0;
+    static final int TOUGHNESS_BONUS_OF_BLOCKER = 1;
+    static final int CAN_DESTROY_ATTACKER = 2;
+    static final int CAN_DESTROY_BLOCKER = 3;
+    static final int ATTACKER_WOULD_BE_DESTROYED = 4;
+
+    // a long search on a board that doesn't change could otherwise keep adding entries
+    private static final int MAX_ENTRIES = 20000;
+
+    private static final class Key {
+        final int kind;
+        final Player ai;
+        final Card attacker;
+        final Card blocker;
+        final boolean withoutAbilities;
+        final boolean withoutStaticAbilities;
+        final boolean gameCombat;
+
+        Key(final int kind, final Player ai, final Card attacker, final Card blocker, final boolean withoutAbilities,
+                final boolean withoutStaticAbilities, final boolean gameCombat) {
+            this.kind = kind;
+            this.ai = ai;
+            this.attacker = attacker;
+            this.blocker = blocker;
+            this.withoutAbilities = withoutAbilities;
+            this.withoutStaticAbilities = withoutStaticAbilities;
+            this.gameCombat = gameCombat;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key k = (Key) o;
+            return kind == k.kind && ai == k.ai && attacker == k.attacker && blocker == k.blocker
+                    && withoutAbilities == k.withoutAbilities && withoutStaticAbilities == k.withoutStaticAbilities && gameCombat == k.gameCombat;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = kind;
+            result = 31 * result + System.identityHashCode(ai);
+            result = 31 * result + System.identityHashCode(attacker);
+            result = 31 * result + System.identityHashCode(blocker);
+            return 8 * result + (withoutAbilities ? 4 : 0) + (withoutStaticAbilities ? 2 : 0) + (gameCombat ? 1 : 0);
+        }
+    }
+
+    private final Map<Key, Integer> boardEntries = new HashMap<>();
+    private final Map<Key, Integer> combatEntries = new HashMap<>();
+    private Game game;
+    private long stateVersion;
+    private Combat combat;
+    private long combatVersion;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param combat the combat the prediction looks at, null for the combat of the game, if any
+     * @param compute makes the prediction when it isn't known yet
+     */
+    int lookup(final int kind, final Player ai, final Card attacker, final Card blocker, final Combat combat,
+            final boolean withoutAbilities, final boolean withoutStaticAbilities, final IntSupplier compute) {
+        final Game g = attacker.getGame();
+        if (g == null) {
+            return compute.getAsInt();
+        }
+        // the predictions fall back on the combat of the game when they aren't given one
+        final Combat c = combat != null ? combat : g.getCombat();
+        final Key key = new Key(kind, ai, attacker, blocker, withoutAbilities, withoutStaticAbilities, combat == null);
+        Integer result = entriesFor(g, c).get(key);
+        if (result != null) {
+            hits++;
+            return result;
+        }
+        misses++;
+        result = compute.getAsInt();
+        // looking at a transformed copy makes a new card, which also counts as a change of the game state
+        final Map<Key, Integer> entries = entriesFor(g, c);
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+        entries.put(key, result);
+        return result;
+    }
+
+    private Map<Key, Integer> entriesFor(final Game g, final Combat c) {
+        if (g != game || g.getStateVersion() != stateVersion) {
+            boardEntries.clear();
+            combatEntries.clear();
+            game = g;
+            stateVersion = g.getStateVersion();
+        }
+        if (c == null) {
+            return boardEntries;
+        }
+        if (c != combat || c.getVersion() != combatVersion) {
+            combatEntries.clear();
+            combat = c;
+            combatVersion = c.getVersion();
+        }
+        return combatEntries;
+    }
+
+    public void clear() {
+        boardEntries.clear();
+        combatEntries.clear();
+        game = null;
+        combat = null;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        final long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d entries, %d hits / %d lookups (%.0f%%)",
+                boardEntries.size() + combatEntries.size(), hits, hits + misses, 100 * getHitRate());
+    }
+}
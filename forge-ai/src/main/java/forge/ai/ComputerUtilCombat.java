@@ -20,6 +20,7 @@ package forge.ai;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.eventbus.Subscribe;
 import forge.game.Game;
 import forge.game.GameEntity;
 import forge.game.ability.AbilityKey;
@@ -30,6 +31,7 @@ import forge.game.combat.AttackingBand;
 import forge.game.combat.Combat;
 import forge.game.combat.CombatUtil;
 import forge.game.cost.CostPayment;
+import forge.game.event.GameEventGameFinished;
 import forge.game.keyword.Keyword;
 import forge.game.phase.Untap;
 import forge.game.player.Player;
@@ -49,6 +51,7 @@ import forge.util.collect.FCollection;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntSupplier;
 
 
 /**
@@ -62,9 +65,54 @@ import java.util.Map;
 public class ComputerUtilCombat {
 
     // A special flag used in ComputerUtil#canRegenerate to avoid recursive reentry and stack overflow
-    private static boolean dontTestRegen = false;
+    // (per thread, as games played in parallel must not suppress each other's checks)
+    private static final ThreadLocal<Boolean> dontTestRegen = ThreadLocal.withInitial(() -> false);
     public static void setCombatRegenTestSuppression(boolean shouldSuppress) {
-        dontTestRegen = shouldSuppress;
+        dontTestRegen.set(shouldSuppress);
+    }
+
+    // per thread, so that games simulated in parallel don't share their predictions
+    private static final ThreadLocal<CombatPredictionCache> predictions = ThreadLocal.withInitial(CombatPredictionCache::new);
+
+    /**
+     * @return the predictions remembered on this thread, e.g. to look at how often they were asked for again
+     */
+    public static CombatPredictionCache getPredictionCache() {
+        return predictions.get();
+    }
+
+    /**
+     * Forgets the predictions made on this thread, which hold on to the cards and the game they were made for.
+     */
+    public static void clearPredictionCache() {
+        predictions.remove();
+    }
+
+    /**
+     * Forgets the predictions of the thread that plays the game once it's finished, as that thread may be reused for
+     * the next one.
+     */
+    public static void clearPredictionCacheWhenFinished(final Game game) {
+        // subscribing the same listener again for every AI player of the game has no effect
+        game.subscribeToEvents(PredictionCacheCleaner.INSTANCE);
+    }
+
+    private static final class PredictionCacheCleaner {
+        static final PredictionCacheCleaner INSTANCE = new PredictionCacheCleaner();
+
+        @Subscribe
+        public void receive(final GameEventGameFinished ev) {
+            clearPredictionCache();
+        }
+    }
+
+    private static int predict(final int kind, final Player ai, final Card attacker, final Card blocker, final Combat combat,
+            final boolean withoutAbilities, final boolean withoutStaticAbilities, final IntSupplier compute) {
+        // regeneration is left out of the nested predictions made while it's being looked at
+        if (dontTestRegen.get()) {
+            return compute.getAsInt();
+        }
+        return predictions.get().lookup(kind, ai, attacker, blocker, combat, withoutAbilities, withoutStaticAbilities, compute);
     }
 
     /**
@@ -704,6 +752,10 @@ public class ComputerUtilCombat {
      * @return a boolean.
      */
     public static boolean attackerWouldBeDestroyed(Player ai, final Card attacker, Combat combat) {
+        return predict(CombatPredictionCache.ATTACKER_WOULD_BE_DESTROYED, ai, attacker, null, combat, false, false,
+                () -> computeAttackerWouldBeDestroyed(ai, attacker, combat) ? 1 : 0) != 0;
+    }
+    private static boolean computeAttackerWouldBeDestroyed(Player ai, final Card attacker, Combat combat) {
         final List<Card> blockers = combat.getBlockers(attacker);
         int firstStrikeBlockerDmg = 0;
 
@@ -1022,6 +1074,10 @@ public class ComputerUtilCombat {
      * @return a int.
      */
     public static int predictToughnessBonusOfBlocker(final Card attacker, final Card blocker, boolean withoutAbilities) {
+        return predict(CombatPredictionCache.TOUGHNESS_BONUS_OF_BLOCKER, null, attacker, blocker, null, withoutAbilities, false,
+                () -> computeToughnessBonusOfBlocker(attacker, blocker, withoutAbilities));
+    }
+    private static int computeToughnessBonusOfBlocker(final Card attacker, final Card blocker, boolean withoutAbilities) {
         int toughness = 0;
 
         if (blocker.getName().equals("Shape Stealer")) {
@@ -1159,6 +1215,10 @@ public class ComputerUtilCombat {
         return predictPowerBonusOfAttacker(attacker, blocker, combat, withoutAbilities, false);
     }
     public static int predictPowerBonusOfAttacker(final Card attacker, final Card blocker, final Combat combat, boolean withoutAbilities, boolean withoutCombatStaticAbilities) {
+        return predict(CombatPredictionCache.POWER_BONUS_OF_ATTACKER, null, attacker, blocker, combat, withoutAbilities, withoutCombatStaticAbilities,
+                () -> computePowerBonusOfAttacker(attacker, blocker, combat, withoutAbilities, withoutCombatStaticAbilities));
+    }
+    private static int computePowerBonusOfAttacker(final Card attacker, final Card blocker, final Combat combat, boolean withoutAbilities, boolean withoutCombatStaticAbilities) {
         int power = 0;
 
         // Serene Master switches power with attacker
@@ -1660,6 +1720,11 @@ public class ComputerUtilCombat {
     }
     public static boolean canDestroyAttacker(Player ai, Card attacker, Card blocker, final Combat combat,
             final boolean withoutAbilities, final boolean withoutAttackerStaticAbilities) {
+        return predict(CombatPredictionCache.CAN_DESTROY_ATTACKER, ai, attacker, blocker, combat, withoutAbilities, withoutAttackerStaticAbilities,
+                () -> computeCanDestroyAttacker(ai, attacker, blocker, combat, withoutAbilities, withoutAttackerStaticAbilities) ? 1 : 0) != 0;
+    }
+    private static boolean computeCanDestroyAttacker(Player ai, Card attacker, Card blocker, final Combat combat,
+            final boolean withoutAbilities, final boolean withoutAttackerStaticAbilities) {
         // Can activate transform ability
         if (!withoutAbilities) {
             attacker = canTransform(attacker);
@@ -1822,7 +1887,7 @@ public class ComputerUtilCombat {
             }
         } // flanking
 
-        if (blocker.hasKeyword(Keyword.INDESTRUCTIBLE) || dontTestRegen
+        if (blocker.hasKeyword(Keyword.INDESTRUCTIBLE) || dontTestRegen.get()
                 || ComputerUtil.canRegenerate(blocker.getController(), blocker)) {
             return false;
         }
@@ -1890,6 +1955,11 @@ public class ComputerUtilCombat {
     }
     public static boolean canDestroyBlocker(Player ai, Card blocker, Card attacker, final Combat combat,
             final boolean withoutAbilities, final boolean withoutAttackerStaticAbilities) {
+        return predict(CombatPredictionCache.CAN_DESTROY_BLOCKER, ai, attacker, blocker, combat, withoutAbilities, withoutAttackerStaticAbilities,
+                () -> computeCanDestroyBlocker(ai, blocker, attacker, combat, withoutAbilities, withoutAttackerStaticAbilities) ? 1 : 0) != 0;
+    }
+    private static boolean computeCanDestroyBlocker(Player ai, Card blocker, Card attacker, final Combat combat,
+            final boolean withoutAbilities, final boolean withoutAttackerStaticAbilities) {
         // Can activate transform ability
         if (!withoutAbilities) {
             attacker = canTransform(attacker);
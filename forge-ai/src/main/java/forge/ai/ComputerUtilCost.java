@@ -34,9 +34,10 @@ import java.util.Set;
 
 
 public class ComputerUtilCost {
-    private static boolean suppressRecursiveSacCostCheck = false;
+    // per thread, as games played in parallel must not suppress each other's checks
+    private static final ThreadLocal<Boolean> suppressRecursiveSacCostCheck = ThreadLocal.withInitial(() -> false);
     public static void setSuppressRecursiveSacCostCheck(boolean shouldSuppress) {
-        suppressRecursiveSacCostCheck = shouldSuppress;
+        suppressRecursiveSacCostCheck.set(shouldSuppress);
     }
 
     /**
@@ -347,7 +348,7 @@ public class ComputerUtilCost {
         }
         for (final CostPart part : cost.getCostParts()) {
             if (part instanceof CostSacrifice) {
-                if (suppressRecursiveSacCostCheck) {
+                if (suppressRecursiveSacCostCheck.get()) {
                     return false;
                 }
 
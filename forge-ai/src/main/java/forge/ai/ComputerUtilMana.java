@@ -562,7 +562,7 @@ public class ComputerUtilMana {
         }
 
         // arrange all mana abilities by color produced.
-        final ListMultimap<Integer, SpellAbility> manaAbilityMap = groupSourcesByManaColor(ai, true);
+        final ListMultimap<Integer, SpellAbility> manaAbilityMap = getManaAvailability(ai, true).getAbilitiesByColor();
         if (manaAbilityMap.isEmpty()) {
             ai.getManaPool().refundMana(manaSpentToPay);
             CostPayment.handleOfferings(sa, true, cost.isPaid());
@@ -651,9 +651,16 @@ public class ComputerUtilMana {
             return true;    // paid all from floating mana
         }
 
+        final ManaAvailability availability = getManaAvailability(ai, checkPlayable);
+        if (test && !canCoverManaCost(cost, ai, availability)) {
+            CostPayment.handleOfferings(sa, test, false);
+            manapool.refundMana(manaSpentToPay);
+            return false;
+        }
+
         boolean purePhyrexian = cost.containsOnlyPhyrexianMana();
         boolean hasConverge = sa.getHostCard().hasConverge();
-        ListMultimap<ManaCostShard, SpellAbility> sourcesForShards = getSourcesForShards(cost, sa, ai, test, checkPlayable, hasConverge);
+        ListMultimap<ManaCostShard, SpellAbility> sourcesForShards = getSourcesForShards(cost, sa, ai, availability, hasConverge);
 
         int testEnergyPool = ai.getCounters(CounterEnumType.ENERGY);
         ManaCostShard toPay = null;
@@ -849,10 +856,9 @@ public class ComputerUtilMana {
      * Creates a mapping between the required mana shards and the available spell abilities to pay for them
      */
     private static ListMultimap<ManaCostShard, SpellAbility> getSourcesForShards(final ManaCostBeingPaid cost,
-            final SpellAbility sa, final Player ai, final boolean test, final boolean checkPlayable,
-            final boolean hasConverge) {
+            final SpellAbility sa, final Player ai, final ManaAvailability availability, final boolean hasConverge) {
         // arrange all mana abilities by color produced.
-        final ListMultimap<Integer, SpellAbility> manaAbilityMap = groupSourcesByManaColor(ai, checkPlayable);
+        final ListMultimap<Integer, SpellAbility> manaAbilityMap = availability.getAbilitiesByColor();
         if (manaAbilityMap.isEmpty()) {
             // no mana abilities, bailing out
             return null;
@@ -1531,6 +1537,85 @@ public class ComputerUtilMana {
         return sortedManaSources;
     }
 
+    /**
+     * The mana abilities of the player by the mana they produce, reused until the game state changes.
+     */
+    private static ManaAvailability getManaAvailability(final Player ai, final boolean checkPlayable) {
+        final Game game = ai.getGame();
+        AiController aic = null;
+        if (ai.getController() instanceof PlayerControllerAi) {
+            aic = ((PlayerControllerAi) ai.getController()).getAi();
+            final ManaAvailability cached = aic.getManaAvailability(checkPlayable);
+            if (cached != null && cached.isCurrent(game)) {
+                return cached;
+            }
+        }
+
+        final long version = game.getStateVersion();
+        final ListMultimap<Integer, SpellAbility> manaAbilityMap = groupSourcesByManaColor(ai, checkPlayable);
+        final Map<Card, Integer> maxProduced = new HashMap<>();
+        for (final SpellAbility m : manaAbilityMap.get(ManaAtom.GENERIC)) {
+            maxProduced.merge(m.getHostCard(), predictMaxManaProduced(m, ai), Math::max);
+        }
+        final ManaAvailability result = new ManaAvailability(game, version, manaAbilityMap, maxProduced);
+
+        // attacking creatures are left out of the sources while attackers are declared, without changing the state
+        if (aic != null && !game.getPhaseHandler().is(PhaseType.COMBAT_DECLARE_ATTACKERS, ai)) {
+            aic.setManaAvailability(checkPlayable, result);
+        }
+        return result;
+    }
+
+    /**
+     * Rule out costs that can't be paid with one activation of each mana source, without a trial payment.
+     * @return false if the cost surely can't be paid, true if it might be
+     */
+    private static boolean canCoverManaCost(final ManaCostBeingPaid cost, final Player ai, final ManaAvailability availability) {
+        if (!ai.getManaPool().isEmpty() || cost.containsPhyrexianMana() || ai.hasKeyword("PayLifeInsteadOf:B")
+                || cost.getUnpaidShards(ManaCostShard.X) > 0) {
+            // floating mana, life and X can pay in ways the sources don't show, leave those to the trial payment
+            return true;
+        }
+        return availability.canCover(cost.getUnpaidShards(), groupAndOrderToPayShards(ai, availability.getAbilitiesByColor(), cost));
+    }
+
+    // The most mana one activation could make, or Integer.MAX_VALUE if replacements or triggers might add more
+    private static int predictMaxManaProduced(final SpellAbility m, final Player ai) {
+        final Card host = m.getHostCard();
+        final Game game = ai.getGame();
+        int produced = 0;
+        for (SpellAbility tail = m; tail != null; tail = tail.getSubAbility()) {
+            final AbilityManaPart mp = tail.getManaPart();
+            if (mp == null) {
+                continue;
+            }
+            if (mp.isSpecialMana()) {
+                return Integer.MAX_VALUE;
+            }
+            final String origin = mp.getOrigProduced();
+
+            final Map<AbilityKey, Object> repParams = AbilityKey.mapFromAffected(host);
+            repParams.put(AbilityKey.Mana, origin);
+            repParams.put(AbilityKey.Activator, ai);
+            repParams.put(AbilityKey.AbilityMana, m);
+            if (!game.getReplacementHandler().getReplacementList(ReplacementType.ProduceMana, repParams, ReplacementLayer.Other).isEmpty()) {
+                return Integer.MAX_VALUE;
+            }
+
+            final Map<AbilityKey, Object> runParams = AbilityKey.mapFromCard(host);
+            runParams.put(AbilityKey.Activator, ai);
+            runParams.put(AbilityKey.AbilityMana, m);
+            runParams.put(AbilityKey.Produced, origin);
+            if (!game.getTriggerHandler().getActiveTrigger(TriggerType.TapsForMana, runParams).isEmpty()) {
+                return Integer.MAX_VALUE;
+            }
+
+            final int amount = AbilityUtils.calculateAmount(host, tail.getParamOrDefault("Amount", "1"), tail);
+            produced += origin.split(" ").length * Math.max(amount, 1);
+        }
+        return produced;
+    }
+
     //This method is currently used by AI to estimate mana available
     private static ListMultimap<Integer, SpellAbility> groupSourcesByManaColor(final Player ai, boolean checkPlayable) {
         final ListMultimap<Integer, SpellAbility> manaMap = ArrayListMultimap.create();
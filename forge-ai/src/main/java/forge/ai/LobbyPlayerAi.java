@@ -56,6 +56,7 @@ public class LobbyPlayerAi extends LobbyPlayer implements IGameEntitiesFactory {
     public Player createIngamePlayer(Game game, final int id) {
         Player ai = new Player(getName(), game, id);
         ai.setFirstController(createControllerFor(ai));
+        ComputerUtilCombat.clearPredictionCacheWhenFinished(game);
 
         if (rotateProfileEachGame) {
             setAiProfile(AiProfileUtil.getRandomProfile());
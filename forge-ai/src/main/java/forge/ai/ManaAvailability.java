@@ -0,0 +1,122 @@
+package forge.ai;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
+
+import forge.card.mana.ManaCostShard;
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.spellability.SpellAbility;
+
+/**
+ * The mana abilities a player can pay with, grouped by the mana they can produce, as used by {@link ComputerUtilMana}.
+ * <p>
+ * Finding and checking those abilities is most of the work of asking whether a cost can be paid, so the
+ * {@link AiController} keeps them until {@link Game#getStateVersion()} changes, which it does on every tap, untap
+ * or zone change. {@link #canCover} then rules out costs that can't be paid without running a trial payment.
+ */
+final class ManaAvailability {
+    private final Game game;
+    private final long version;
+    private final ListMultimap<Integer, SpellAbility> abilitiesByColor;
+    // the most mana one activation of a source could make, Integer.MAX_VALUE if that's hard to tell
+    private final Map<Card, Integer> maxProduced;
+
+    ManaAvailability(final Game game, final long version, final ListMultimap<Integer, SpellAbility> abilitiesByColor,
+            final Map<Card, Integer> maxProduced) {
+        this.game = game;
+        this.version = version;
+        this.abilitiesByColor = Multimaps.unmodifiableListMultimap(abilitiesByColor);
+        this.maxProduced = maxProduced;
+    }
+
+    boolean isCurrent(final Game game) {
+        return this.game == game && version == game.getStateVersion();
+    }
+
+    ListMultimap<Integer, SpellAbility> getAbilitiesByColor() {
+        return abilitiesByColor;
+    }
+
+    /**
+     * Match each shard to a different source that has a mana ability for it, as if every source made as much mana
+     * of any of its colors as it ever could. A trial payment uses each source once, so it can't pay the shards
+     * if there's no such match.
+     *
+     * @param shards the unpaid shards, one entry for each mana
+     * @param sourcesForShards the mana abilities that can pay each kind of shard
+     * @return false if the shards can't be paid with these sources
+     */
+    boolean canCover(final List<ManaCostShard> shards, final ListMultimap<ManaCostShard, SpellAbility> sourcesForShards) {
+        final Map<Card, Integer> sourceIndex = new HashMap<>();
+        final int[][] candidates = new int[shards.size()][];
+        for (int i = 0; i < candidates.length; i++) {
+            final List<SpellAbility> abilities = sourcesForShards.get(shards.get(i));
+            int[] sources = new int[abilities.size()];
+            int n = 0;
+            for (final SpellAbility sa : abilities) {
+                final Integer index = sourceIndex.computeIfAbsent(sa.getHostCard(), k -> sourceIndex.size());
+                if (!contains(sources, n, index)) {
+                    sources[n++] = index;
+                }
+            }
+            if (n == 0) {
+                return false;
+            }
+            candidates[i] = n == sources.length ? sources : Arrays.copyOf(sources, n);
+        }
+
+        final int[] capacity = new int[sourceIndex.size()];
+        for (final Map.Entry<Card, Integer> e : sourceIndex.entrySet()) {
+            final Integer produced = maxProduced.get(e.getKey());
+            capacity[e.getValue()] = Math.min(produced == null ? Integer.MAX_VALUE : Math.max(produced, 1), shards.size());
+        }
+        final int[][] assigned = new int[capacity.length][];
+        final int[] assignedCount = new int[capacity.length];
+        for (int s = 0; s < capacity.length; s++) {
+            assigned[s] = new int[capacity[s]];
+        }
+        for (int i = 0; i < candidates.length; i++) {
+            if (!assign(i, candidates, assigned, assignedCount, new boolean[capacity.length])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(final int[] values, final int size, final int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // augmenting path search, moving shards already assigned to a full source to another one if that frees it up
+    private static boolean assign(final int shard, final int[][] candidates, final int[][] assigned, final int[] assignedCount,
+            final boolean[] visited) {
+        for (final int s : candidates[shard]) {
+            if (visited[s]) {
+                continue;
+            }
+            visited[s] = true;
+            if (assignedCount[s] < assigned[s].length) {
+                assigned[s][assignedCount[s]++] = shard;
+                return true;
+            }
+            for (int j = 0; j < assignedCount[s]; j++) {
+                if (assign(assigned[s][j], candidates, assigned, assignedCount, visited)) {
+                    assigned[s][j] = shard;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
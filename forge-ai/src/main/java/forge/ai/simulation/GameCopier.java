@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -50,10 +51,18 @@ public class GameCopier {
     private BiMap<Card, Card> cardMap = HashBiMap.create();
     private CopiedGameObjectMap gameObjectMap;
     private GameSnapshot snapshot = null;
+    // timestamps and static ability ids of what static effects changed on cards in the original game
+    private final Table<Long, Long, Boolean> staticLayers = HashBasedTable.create();
+
+    // copies are never shown, so they don't keep their views up to date, see Game#setHeadless
+    public static boolean HEADLESS_COPIES = true;
+    // copy through GameSnapshot instead, this used to follow Game#EXPERIMENTAL_RESTORE_SNAPSHOT before rollback
+    // went through the journal
+    public static boolean USE_SNAPSHOT = false;
 
     public GameCopier(Game origGame) {
         this.origGame = origGame;
-        if (origGame.EXPERIMENTAL_RESTORE_SNAPSHOT) {
+        if (USE_SNAPSHOT) {
             this.snapshot = new GameSnapshot(origGame);
         }
     }
@@ -70,7 +79,7 @@ public class GameCopier {
         return makeCopy(null, null);
     }
     public Game makeCopy(PhaseType advanceToPhase, Player aiPlayer) {
-        if (origGame.EXPERIMENTAL_RESTORE_SNAPSHOT) {
+        if (snapshot != null) {
             // How do we advance to phase when using restores?
             return snapshot.makeCopy();
         }
@@ -84,6 +93,7 @@ public class GameCopier {
         GameRules currentRules = origGame.getRules();
         Match newMatch = new Match(currentRules, newPlayers, origGame.getView().getTitle());
         Game newGame = new Game(newPlayers, currentRules, newMatch);
+        newGame.setHeadless(HEADLESS_COPIES);
 
         for (int i = 0; i < origGame.getPlayers().size(); i++) {
             Player origPlayer = origGame.getPlayers().get(i);
@@ -115,6 +125,12 @@ public class GameCopier {
             playerMap.put(origPlayer, newPlayer);
         }
 
+        // the copy applies the static effects again, so it doesn't copy what they changed on cards only to undo it
+        staticLayers.clear();
+        for (StaticEffect effect : origGame.getStaticEffects().getEffects()) {
+            staticLayers.put(effect.getTimestamp(), (long) effect.getStaticAbility().getId(), Boolean.TRUE);
+        }
+
         PhaseHandler origPhaseHandler = origGame.getPhaseHandler();
         Player newPlayerTurn = playerMap.get(origPhaseHandler.getPlayerTurn());
         newGame.getPhaseHandler().devModeSet(origPhaseHandler.getPhase(), newPlayerTurn, origPhaseHandler.getTurn());
@@ -158,7 +174,7 @@ public class GameCopier {
             }
         }
 
-        // Undo effects first before calculating them below, to avoid them applying twice.
+        // Undo effects on players first before calculating them below, to avoid them applying twice.
         for (StaticEffect effect : origGame.getStaticEffects().getEffects()) {
             effect.removeMapped(gameObjectMap);
         }
@@ -351,23 +367,23 @@ public class GameCopier {
 
             newCard.setCameUnderControlSinceLastUpkeep(c.cameUnderControlSinceLastUpkeep());
 
-            newCard.setPTTable(c.getSetPTTable());
-            newCard.setPTCharacterDefiningTable(c.getSetPTCharacterDefiningTable());
+            newCard.setPTTable(withoutStaticLayers(c.getSetPTTable()));
+            newCard.setPTCharacterDefiningTable(withoutStaticLayers(c.getSetPTCharacterDefiningTable()));
 
-            newCard.setPTBoost(c.getPTBoostTable());
+            newCard.setPTBoost(withoutStaticLayers(c.getPTBoostTable()));
             // TODO copy by map
             newCard.setDamage(c.getDamage());
             newCard.setDamageReceivedThisTurn(c.getDamageReceivedThisTurn());
 
-            newCard.setChangedCardColors(c.getChangedCardColorsTable());
-            newCard.setChangedCardColorsCharacterDefining(c.getChangedCardColorsCharacterDefiningTable());
+            newCard.setChangedCardColors(withoutStaticLayers(c.getChangedCardColorsTable()));
+            newCard.setChangedCardColorsCharacterDefining(withoutStaticLayers(c.getChangedCardColorsCharacterDefiningTable()));
 
-            newCard.setChangedCardTypes(c.getChangedCardTypesTable());
-            newCard.setChangedCardTypesCharacterDefining(c.getChangedCardTypesCharacterDefiningTable());
-            newCard.setChangedCardKeywords(c.getChangedCardKeywords());
-            newCard.setChangedCardNames(c.getChangedCardNames());
+            newCard.setChangedCardTypes(withoutStaticLayers(c.getChangedCardTypesTable()));
+            newCard.setChangedCardTypesCharacterDefining(withoutStaticLayers(c.getChangedCardTypesCharacterDefiningTable()));
+            newCard.setChangedCardKeywords(withoutStaticLayers(c.getChangedCardKeywords()));
+            newCard.setChangedCardNames(withoutStaticLayers(c.getChangedCardNames()));
 
-            for (Table.Cell<Long, Long, List<String>> kw : c.getHiddenExtrinsicKeywordsTable().cellSet()) {
+            for (Table.Cell<Long, Long, List<String>> kw : withoutStaticLayers(c.getHiddenExtrinsicKeywordsTable()).cellSet()) {
                 newCard.addHiddenExtrinsicKeywords(kw.getRowKey(), kw.getColumnKey(), kw.getValue());
             }
             newCard.updateKeywordsCache(newCard.getCurrentState());
@@ -438,7 +454,7 @@ public class GameCopier {
                 newCard.setNamedCards(Lists.newArrayList(c.getNamedCards()));
             }
             newCard.setSVars(c.getSVars());
-            newCard.copyChangedSVarsFrom(c);
+            newCard.setChangedSVars(withoutStaticLayers(c.getChangedSVarsTable()));
         }
 
         if (zone == ZoneType.Stack) {
@@ -448,6 +464,19 @@ public class GameCopier {
         }
     }
 
+    private <V> Table<Long, Long, V> withoutStaticLayers(final Table<Long, Long, V> table) {
+        if (staticLayers.isEmpty() || table.isEmpty()) {
+            return table;
+        }
+        final Table<Long, Long, V> result = HashBasedTable.create();
+        for (Table.Cell<Long, Long, V> cell : table.cellSet()) {
+            if (!staticLayers.contains(cell.getRowKey(), cell.getColumnKey())) {
+                result.put(cell.getRowKey(), cell.getColumnKey(), cell.getValue());
+            }
+        }
+        return result;
+    }
+
     private static SpellAbility findSAInCard(SpellAbility sa, Card c) {
         String saDesc = sa.getDescription();
         for (SpellAbility cardSa : c.getAllSpellAbilities()) {
@@ -477,7 +506,7 @@ public class GameCopier {
     }
 
     public GameObject find(GameObject o) {
-        if (origGame.EXPERIMENTAL_RESTORE_SNAPSHOT) {
+        if (snapshot != null) {
             return snapshot.find(o);
         }
 
@@ -499,7 +528,7 @@ public class GameCopier {
         return result;
     }
     public GameObject reverseFind(GameObject o) {
-        if (origGame.EXPERIMENTAL_RESTORE_SNAPSHOT) {
+        if (snapshot != null) {
             return snapshot.reverseFind(o);
         }
 
@@ -32,20 +32,23 @@ public class GameSimulator {
 
     public GameSimulator(SimulationController controller, Game origGame, Player origAiPlayer, PhaseType advanceToPhase) {
         this.controller = controller;
-        copier = new GameCopier(origGame);
-        simGame = copier.makeCopy(advanceToPhase, origAiPlayer);
-
-        aiPlayer = (Player) copier.find(origAiPlayer);
         eval = new GameStateEvaluator();
-
+        eval.setTranspositionTable(controller.getTranspositionTable());
         origLines = new ArrayList<>();
-        debugLines = origLines;
+        setDebugLines(origLines);
+        setDebugPrint(false);
+
+        // root-parallel search may copy the same game from several threads
+        synchronized (origGame) {
+            copier = new GameCopier(origGame);
+            simGame = copier.makeCopy(advanceToPhase, origAiPlayer);
+            aiPlayer = (Player) copier.find(origAiPlayer);
 
-        debugPrint = false;
-        origScore = eval.getScoreForGameState(origGame, origAiPlayer);
+            origScore = eval.getScoreForGameState(origGame, origAiPlayer);
 
-        if (advanceToPhase == null) {
-            ensureGameCopyScoreMatches(origGame, origAiPlayer);
+            if (advanceToPhase == null) {
+                ensureGameCopyScoreMatches(origGame, origAiPlayer);
+            }
         }
 
         // If the stack on the original game is not empty, resolve it
@@ -53,27 +56,36 @@ public class GameSimulator {
         // want to compare to the eval score after simulating.
         if (COPY_STACK && !origGame.getStackZone().isEmpty()) {
             origLines = new ArrayList<>();
-            debugLines = origLines;
-            Game copyOrigGame = copier.makeCopy();
+            setDebugLines(origLines);
+            final Game copyOrigGame;
+            synchronized (origGame) {
+                copyOrigGame = copier.makeCopy();
+            }
             Player copyOrigAiPlayer = copyOrigGame.getPlayers().get(1);
             resolveStack(copyOrigGame, copyOrigGame.getPlayers().get(0));
             origScore = eval.getScoreForGameState(copyOrigGame, copyOrigAiPlayer);
         }
 
-        debugPrint = false;
-        debugLines = null;
+        setDebugPrint(false);
+        setDebugLines(null);
     }
 
     private void ensureGameCopyScoreMatches(Game origGame, Player origAiPlayer) {
         eval.setDebugging(true);
         List<String> simLines = new ArrayList<>();
-        debugLines = simLines;
+        setDebugLines(simLines);
         Score simScore = eval.getScoreForGameState(simGame, aiPlayer);
         if (!simScore.equals(origScore)) {
             // Re-eval orig with debug printing.
             origLines = new ArrayList<>();
-            debugLines = origLines;
-            eval.getScoreForGameState(origGame, origAiPlayer);
+            setDebugLines(origLines);
+            Score uncachedScore = eval.getScoreForGameState(origGame, origAiPlayer);
+            if (!uncachedScore.equals(origScore)) {
+                // the score came from the transposition table, for a state GameStateHash couldn't tell apart
+                System.out.flush();
+                throw new RuntimeException("Transposition table collision: cached score " + origScore
+                        + " but the state scores " + uncachedScore + ". GameStateHash misses something the evaluator reads.");
+            }
             // Print debug info.
             printDiff(origLines, simLines);
             // make sure it gets printed
@@ -115,14 +127,27 @@ public class GameSimulator {
         }
     }
 
-    public static boolean debugPrint;
-    public static List<String> debugLines;
+    // per thread, so that simulations running in parallel don't share their debug output
+    private static final ThreadLocal<Boolean> debugPrint = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<List<String>> debugLines = new ThreadLocal<>();
+
+    public static boolean isDebugPrint() {
+        return debugPrint.get();
+    }
+    public static void setDebugPrint(boolean value) {
+        debugPrint.set(value);
+    }
+    public static void setDebugLines(List<String> lines) {
+        debugLines.set(lines);
+    }
+
     public static void debugPrint(String str) {
-        if (debugPrint) {
+        if (isDebugPrint()) {
             System.out.println(str);
         }
-        if (debugLines != null) {
-            debugLines.add(str);
+        List<String> lines = debugLines.get();
+        if (lines != null) {
+            lines.add(str);
         }
     }
 
@@ -191,7 +216,7 @@ public class GameSimulator {
                 saOrSubSa = saOrSubSa.getSubAbility();
             } while (saOrSubSa != null);
 
-            if (debugPrint && !sa.getAllTargetChoices().isEmpty()) {
+            if (isDebugPrint() && !sa.getAllTargetChoices().isEmpty()) {
                 debugPrint("Targets: ");
                 for (TargetChoices target : sa.getAllTargetChoices()) {
                     System.out.print(target);
@@ -222,16 +247,16 @@ public class GameSimulator {
         // we should simulate how combat will resolve and evaluate that
         // state instead!
         List<String> simLines = null;
-        if (debugPrint) {
+        if (isDebugPrint()) {
             debugPrint("SimGame:");
             simLines = new ArrayList<>();
-            debugLines = simLines;
-            debugPrint = false;
+            setDebugLines(simLines);
+            setDebugPrint(false);
         }
         Score score = eval.getScoreForGameState(simGame, aiPlayer);
         if (simLines != null) {
-            debugLines = null;
-            debugPrint = true;
+            setDebugLines(null);
+            setDebugPrint(true);
             printDiff(origLines, simLines);
         }
         controller.possiblyCacheResult(score, origSa);
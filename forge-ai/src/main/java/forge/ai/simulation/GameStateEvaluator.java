@@ -24,11 +24,16 @@ import static java.lang.Math.min;
 public class GameStateEvaluator {
     private boolean debugging = false;
     private SimulationCreatureEvaluator eval = new SimulationCreatureEvaluator();
+    private TranspositionTable transpositions;
 
     public void setDebugging(boolean debugging) {
         this.debugging = debugging;
     }
 
+    public void setTranspositionTable(TranspositionTable transpositions) {
+        this.transpositions = transpositions;
+    }
+
     private static void debugPrint(String s) {
         GameSimulator.debugPrint(s);
     }
@@ -53,7 +58,7 @@ public class GameStateEvaluator {
         Game gameCopy;
         GameCopier copier = new GameCopier(evalGame);
 
-        if (evalGame.EXPERIMENTAL_RESTORE_SNAPSHOT) {
+        if (GameCopier.USE_SNAPSHOT) {
             gameCopy = copier.makeCopy();
         } else {
             gameCopy = copier.makeCopy(null, aiPlayer);
@@ -87,7 +92,22 @@ public class GameStateEvaluator {
         if (game.isGameOver()) {
             return getScoreForGameOver(game, aiPlayer);
         }
+        // debugging needs the full evaluation to produce its output
+        if (transpositions == null || debugging) {
+            return getScoreForGameStateUncached(game, aiPlayer);
+        }
+
+        long hash = GameStateHash.of(game, aiPlayer);
+        Score score = transpositions.get(hash);
+        if (score == null) {
+            long start = System.nanoTime();
+            score = getScoreForGameStateUncached(game, aiPlayer);
+            transpositions.put(hash, score, System.nanoTime() - start);
+        }
+        return score;
+    }
 
+    private Score getScoreForGameStateUncached(Game game, Player aiPlayer) {
         CombatSimResult result = simulateUpcomingCombatThisTurn(game, aiPlayer);
         if (result != null) {
             Player aiPlayerCopy = (Player) result.copier.find(aiPlayer);
@@ -0,0 +1,151 @@
+package forge.ai.simulation;
+
+import java.util.List;
+import java.util.Map;
+
+import forge.game.Game;
+import forge.game.GameEntity;
+import forge.game.card.Card;
+import forge.game.card.CounterType;
+import forge.game.combat.Combat;
+import forge.game.keyword.KeywordInterface;
+import forge.game.mana.Mana;
+import forge.game.player.Player;
+import forge.game.spellability.SpellAbilityStackInstance;
+import forge.game.zone.ZoneType;
+
+/**
+ * Zobrist-style hash of the parts of a game state that {@link GameStateEvaluator} looks at.
+ * <p>
+ * Card ids and timestamps are deliberately left out, so that different orders of actions that end
+ * up in the same position (e.g. playing a land and then casting a spell, or the other way round)
+ * produce the same hash. Cards within a zone are combined by addition so that their order doesn't
+ * matter either, except for the library and the stack where it does.
+ */
+public final class GameStateHash {
+    private static final ZoneType[] ZONES = {
+        ZoneType.Battlefield, ZoneType.Hand, ZoneType.Graveyard, ZoneType.Exile, ZoneType.Command
+    };
+
+    private GameStateHash() {
+    }
+
+    public static long of(final Game game, final Player aiPlayer) {
+        final List<Player> players = game.getPlayers();
+        long h = mix(players.indexOf(aiPlayer));
+        h = combine(h, game.getPhaseHandler().getPhase() == null ? -1 : game.getPhaseHandler().getPhase().ordinal());
+        h = combine(h, players.indexOf(game.getPhaseHandler().getPlayerTurn()));
+        h = combine(h, game.getPhaseHandler().getTurn());
+
+        final Combat combat = game.getCombat();
+        for (final Player p : players) {
+            h = combine(h, p.getLife());
+            h = combine(h, p.hasLost() ? 1 : 0);
+            h = combine(h, p.getLandsPlayedThisTurn());
+            h = combine(h, p.isUnlimitedHandSize() ? -1 : p.getMaxHandSize());
+            h = combine(h, hashCounters(p.getCounters()));
+            long pool = 0;
+            for (final Mana m : p.getManaPool()) {
+                pool += mix(m.getColor());
+            }
+            h = combine(h, pool);
+
+            for (final ZoneType zt : ZONES) {
+                long zone = 0;
+                for (final Card c : p.getCardsIn(zt)) {
+                    zone += mix(hashCard(c, zt, players, combat));
+                }
+                h = combine(h, zone);
+            }
+            long library = 0;
+            for (final Card c : p.getCardsIn(ZoneType.Library)) {
+                library = combine(library, c.getName().hashCode());
+            }
+            h = combine(h, library);
+        }
+
+        for (final SpellAbilityStackInstance si : game.getStack()) {
+            h = combine(h, si.getSpellAbility().toString().hashCode());
+            h = combine(h, players.indexOf(si.getActivatingPlayer()));
+        }
+        return mix(h);
+    }
+
+    private static long hashCard(final Card c, final ZoneType zone, final List<Player> players, final Combat combat) {
+        long h = combine(zone.ordinal(), c.getName().hashCode());
+        h = combine(h, players.indexOf(c.getController()));
+        h = combine(h, players.indexOf(c.getOwner()));
+        if (zone != ZoneType.Battlefield) {
+            return h;
+        }
+        h = combine(h, c.getCurrentStateName().ordinal());
+        h = combine(h, (c.isFaceDown() ? 1 : 0) | (c.isTapped() ? 2 : 0) | (c.isSick() ? 4 : 0)
+                | (c.isPhasedOut() ? 8 : 0) | (c.isToken() ? 16 : 0) | (c.isCreature() ? 32 : 0));
+        h = combine(h, c.getType().toString().hashCode());
+        h = combine(h, c.getColor().getColor());
+        if (c.isCreature()) {
+            h = combine(h, c.getNetPower());
+            h = combine(h, c.getNetToughness());
+            h = combine(h, c.getDamage());
+        }
+        h = combine(h, hashCounters(c.getCounters()));
+        long keywords = 0;
+        for (final KeywordInterface kw : c.getKeywords()) {
+            keywords += mix(kw.getOriginal().hashCode());
+        }
+        h = combine(h, keywords);
+        h = combine(h, c.getSpellAbilities().size());
+        h = combine(h, c.getStaticAbilities().size());
+        h = combine(h, c.getTriggers().size());
+        final GameEntity attachedTo = c.getEntityAttachedTo();
+        if (attachedTo != null) {
+            h = combine(h, attachedTo.getName().hashCode());
+        }
+        if (combat != null) {
+            final boolean attacking = combat.isAttacking(c);
+            final boolean blocking = combat.isBlocking(c);
+            h = combine(h, (attacking ? 1 : 0) | (blocking ? 2 : 0));
+            if (attacking) {
+                final GameEntity defender = combat.getDefenderByAttacker(c);
+                h = combine(h, defender instanceof Player ? players.indexOf(defender)
+                        : defender == null ? -1 : defender.getName().hashCode());
+            }
+            if (blocking) {
+                // the same blockers on different attackers are a different combat
+                long blocked = 0;
+                for (final Card attacker : combat.getAttackersBlockedBy(c)) {
+                    blocked += mix(hashCombatant(attacker, players));
+                }
+                h = combine(h, blocked);
+            }
+        }
+        return h;
+    }
+
+    private static long hashCombatant(final Card c, final List<Player> players) {
+        long h = combine(c.getName().hashCode(), players.indexOf(c.getController()));
+        h = combine(h, c.getNetPower());
+        h = combine(h, c.getNetToughness());
+        h = combine(h, c.getDamage());
+        return combine(h, hashCounters(c.getCounters()));
+    }
+
+    private static long hashCounters(final Map<CounterType, Integer> counters) {
+        long h = 0;
+        for (final Map.Entry<CounterType, Integer> e : counters.entrySet()) {
+            h += mix(combine(e.getKey().toString().hashCode(), e.getValue()));
+        }
+        return h;
+    }
+
+    private static long combine(final long h, final long value) {
+        return mix(h * 31 + value);
+    }
+
+    // SplitMix64 finalizer, spreads every input bit over the whole word
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -21,6 +21,8 @@ public class SimulationController {
     private Score bestScore;
     private List<CachedEffect> effectCache = new ArrayList<>();
     private GameObject[] currentHostAndTarget;
+    private long deadline = 0; // System.currentTimeMillis() after which to stop searching, 0 for none
+    private TranspositionTable transpositions = new TranspositionTable();
 
     private static class CachedEffect {
         final GameObject hostCard;
@@ -50,8 +52,45 @@ public class SimulationController {
         return scoreStack.size() - 1;
     }
 
+    public boolean isAtRoot() {
+        return getRecursionDepth() == 0 && currentStack.isEmpty();
+    }
+
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    public boolean isOutOfTime() {
+        return deadline != 0 && System.currentTimeMillis() > deadline;
+    }
+
     public boolean shouldRecurse() {
-        return bestScore.value != Integer.MAX_VALUE && getRecursionDepth() < MAX_DEPTH;
+        return bestScore.value != Integer.MAX_VALUE && getRecursionDepth() < MAX_DEPTH && !isOutOfTime();
+    }
+
+    /**
+     * Creates a controller for evaluating one root candidate on its own, see {@link #merge(SimulationController)}.
+     */
+    public SimulationController fork() {
+        SimulationController fork = new SimulationController(getCurrentScore());
+        fork.deadline = deadline;
+        fork.transpositions = transpositions;
+        return fork;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return transpositions;
+    }
+
+    /**
+     * Takes over the best sequence of a forked controller if it beats the current one.
+     * Merging forks in candidate order gives the same plan as evaluating them one after another.
+     */
+    public void merge(SimulationController fork) {
+        if (fork.bestSequence != null && fork.bestScore.value > bestScore.value) {
+            bestScore = fork.bestScore;
+            bestSequence = fork.bestSequence;
+        }
     }
 
     public Plan.Decision getLastDecision() {
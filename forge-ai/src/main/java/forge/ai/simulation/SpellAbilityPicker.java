@@ -5,12 +5,21 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import forge.ai.AiPlayDecision;
+import forge.ai.AiProps;
 import forge.ai.ComputerUtil;
 import forge.ai.ComputerUtilAbility;
 import forge.ai.ComputerUtilCard;
+import forge.ai.ComputerUtilCombat;
 import forge.ai.ComputerUtilCost;
+import forge.ai.PlayerControllerAi;
 import forge.ai.ability.ChangeZoneAi;
 import forge.ai.ability.LearnAi;
 import forge.ai.simulation.GameStateEvaluator.Score;
@@ -31,6 +40,9 @@ import forge.game.zone.ZoneType;
 import forge.util.TextUtil;
 
 public class SpellAbilityPicker {
+    private static ExecutorService rootPool;
+    private static int rootPoolThreads;
+
     private Game game;
     private Player player;
     private Score bestScore;
@@ -38,7 +50,10 @@ public class SpellAbilityPicker {
     private SpellAbilityChoicesIterator interceptor;
 
     private Plan plan;
-    private int numSimulations;
+    private final AtomicInteger numSimulations = new AtomicInteger();
+    // set to override the AI profile, -1 to use it
+    private int rootThreads = -1;
+    private int timeLimit = -1;
 
     public SpellAbilityPicker(Game game, Player player) {
         this.game = game;
@@ -49,6 +64,33 @@ public class SpellAbilityPicker {
         this.interceptor = in;
     }
 
+    /**
+     * @param threads the number of threads that evaluate the candidates of a top-level decision, 1 to evaluate
+     * them in turn, -1 to use {@link AiProps#SIMULATION_ROOT_THREADS} of the AI profile
+     */
+    public void setRootThreads(int threads) {
+        this.rootThreads = threads;
+    }
+
+    /**
+     * @param millis the time limit for a top-level decision, 0 for none, -1 to use
+     * {@link AiProps#SIMULATION_TIME_LIMIT} of the AI profile. Once used up, no further candidates or recursion
+     * levels are explored and the best plan found so far is used.
+     */
+    public void setTimeLimit(int millis) {
+        this.timeLimit = millis;
+    }
+
+    private int getIntProperty(AiProps prop, int override) {
+        if (override >= 0) {
+            return override;
+        }
+        if (player.getController().isAI()) {
+            return ((PlayerControllerAi) player.getController()).getAi().getIntProperty(prop);
+        }
+        return Integer.parseInt(prop.getDefault());
+    }
+
     private void print(String str) {
         if (printOutput) {
             System.out.println(str);
@@ -116,7 +158,12 @@ public class SpellAbilityPicker {
 
     private Plan formulatePlanWithPhase(Score origGameScore, List<SpellAbility> candidateSAs, PhaseType phase) {
         SimulationController controller = new SimulationController(origGameScore);
+        final int limit = getIntProperty(AiProps.SIMULATION_TIME_LIMIT, timeLimit);
+        if (limit > 0) {
+            controller.setDeadline(System.currentTimeMillis() + limit);
+        }
         SpellAbility sa = chooseSpellAbilityToPlayImpl(controller, candidateSAs, origGameScore, phase);
+        print("Transposition table: " + controller.getTranspositionTable());
         if (sa != null) {
             return controller.getBestPlan();
         }
@@ -191,11 +238,26 @@ public class SpellAbilityPicker {
         SpellAbility bestSa = null;
         Score bestSaValue = origGameScore;
         print("Evaluating... (orig score = " + origGameScore +  ")");
-        for (int i = 0; i < candidateSAs.size(); i++) {
-            Score value = evaluateSa(controller, phase, candidateSAs, i);
-            if (value.value > bestSaValue.value) {
-                bestSaValue = value;
-                bestSa = candidateSAs.get(i);
+        final int threads = controller.isAtRoot() ? getIntProperty(AiProps.SIMULATION_ROOT_THREADS, rootThreads) : 1;
+        if (threads > 1 && candidateSAs.size() > 1) {
+            Score[] values = evaluateInParallel(controller, phase, candidateSAs, threads);
+            for (int i = 0; i < candidateSAs.size(); i++) {
+                if (values[i] != null && values[i].value > bestSaValue.value) {
+                    bestSaValue = values[i];
+                    bestSa = candidateSAs.get(i);
+                }
+            }
+        } else {
+            for (int i = 0; i < candidateSAs.size(); i++) {
+                if (controller.isOutOfTime()) {
+                    print("Out of time, skipping " + (candidateSAs.size() - i) + " candidates");
+                    break;
+                }
+                Score value = evaluateSa(controller, phase, candidateSAs, i);
+                if (value.value > bestSaValue.value) {
+                    bestSaValue = value;
+                    bestSa = candidateSAs.get(i);
+                }
             }
         }
 
@@ -361,34 +423,98 @@ public class SpellAbilityPicker {
         return AiPlayDecision.WillPlay;
     }
 
+    /**
+     * Evaluates each candidate with its own forked controller on the shared root pool, then merges
+     * the results in candidate order so that the outcome doesn't depend on thread scheduling.
+     */
+    private Score[] evaluateInParallel(final SimulationController controller, final PhaseType phase, final List<SpellAbility> candidateSAs, final int threads) {
+        final int n = candidateSAs.size();
+        final Score[] values = new Score[n];
+        final SimulationController[] forks = new SimulationController[n];
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            final int saIndex = i;
+            // draw the seeds up front, in the same order a sequential evaluation would
+            final long seed = MyRandom.getRandom().nextLong();
+            forks[i] = controller.fork();
+            tasks.add(() -> {
+                try {
+                    if (!forks[saIndex].isOutOfTime()) {
+                        values[saIndex] = evaluateSa(forks[saIndex], phase, candidateSAs, saIndex, seed);
+                    }
+                } finally {
+                    // the workers outlive the copies they simulated
+                    ComputerUtilCombat.clearPredictionCache();
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : getRootPool(threads).invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    e.getCause().printStackTrace();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (SimulationController fork : forks) {
+            controller.merge(fork);
+        }
+        return values;
+    }
+
+    private static synchronized ExecutorService getRootPool(final int threads) {
+        if (rootPool == null || rootPoolThreads != threads) {
+            if (rootPool != null) {
+                rootPool.shutdown();
+            }
+            rootPoolThreads = threads;
+            rootPool = Executors.newFixedThreadPool(rootPoolThreads, r -> {
+                Thread t = new Thread(r, "Simulation Root Worker");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return rootPool;
+    }
+
     public Score evaluateSa(final SimulationController controller, PhaseType phase, List<SpellAbility> saList, int saIndex) {
+        return evaluateSa(controller, phase, saList, saIndex, MyRandom.getRandom().nextLong());
+    }
+    private Score evaluateSa(final SimulationController controller, PhaseType phase, List<SpellAbility> saList, int saIndex, long randomSeedToUse) {
         controller.evaluateSpellAbility(saList, saIndex);
         SpellAbility sa = saList.get(saIndex);
 
         // Use a deterministic random seed when evaluating different choices of a spell ability.
         // This is needed as otherwise random effects may result in a different number of choices
         // each iteration, which will break the logic in SpellAbilityChoicesIterator.
-        Random origRandom = MyRandom.getRandom();
-        long randomSeedToUse = origRandom.nextLong();
+        // The seed is only set for this thread, so that simulations can run in parallel.
+        Random origThreadRandom = MyRandom.getThreadRandom();
 
         Score bestScore = new Score(Integer.MIN_VALUE);
         final SpellAbilityChoicesIterator choicesIterator = new SpellAbilityChoicesIterator(controller);
         Score lastScore;
-        do {
-            // TODO: MyRandom should be an instance on the game object, so that we could do
-            // simulations in parallel without messing up global state.
-            MyRandom.setRandom(new Random(randomSeedToUse));
-            GameSimulator simulator = new GameSimulator(controller, game, player, phase);
-            simulator.setInterceptor(choicesIterator);
-            // I feel like something here is making a wrong assumption about what the target is
-            lastScore = simulator.simulateSpellAbility(sa);
-            numSimulations++;
-            if (lastScore.value > bestScore.value) {
-                bestScore = lastScore;
-            }
-        } while (choicesIterator.advance(lastScore));
+        try {
+            do {
+                MyRandom.setThreadRandom(new Random(randomSeedToUse));
+                GameSimulator simulator = new GameSimulator(controller, game, player, phase);
+                simulator.setInterceptor(choicesIterator);
+                // I feel like something here is making a wrong assumption about what the target is
+                lastScore = simulator.simulateSpellAbility(sa);
+                numSimulations.incrementAndGet();
+                if (lastScore.value > bestScore.value) {
+                    bestScore = lastScore;
+                }
+            } while (choicesIterator.advance(lastScore));
+        } finally {
+            MyRandom.setThreadRandom(origThreadRandom);
+        }
         controller.doneEvaluating(bestScore);
-        MyRandom.setRandom(origRandom);
         return bestScore;
     }
 
@@ -466,6 +592,6 @@ public class SpellAbilityPicker {
     }
 
     public int getNumSimulations() {
-        return numSimulations;
+        return numSimulations.get();
     }
 }
@@ -0,0 +1,90 @@
+package forge.ai.simulation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import forge.ai.simulation.GameStateEvaluator.Score;
+
+/**
+ * Bounded cache of evaluated game states, keyed by {@link GameStateHash}, with least recently used eviction.
+ * <p>
+ * The stored scores include the upcoming combat prediction, so a hit also saves the game copy
+ * {@link GameStateEvaluator} makes to simulate combat. Shared by all controllers of one decision,
+ * so it's synchronized for root-parallel search.
+ */
+public class TranspositionTable {
+    public static int DEFAULT_CAPACITY = 4096;
+
+    private static class Entry {
+        final Score score;
+        final long evalNanos;
+
+        Entry(Score score, long evalNanos) {
+            this.score = score;
+            this.evalNanos = evalNanos;
+        }
+    }
+
+    private final Map<Long, Entry> entries;
+    private int hits;
+    private int misses;
+    private long savedNanos;
+
+    public TranspositionTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TranspositionTable(final int capacity) {
+        entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized Score get(final long hash) {
+        Entry e = entries.get(hash);
+        if (e == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        savedNanos += e.evalNanos;
+        return e.score;
+    }
+
+    public synchronized void put(final long hash, final Score score, final long evalNanos) {
+        entries.put(hash, new Entry(score, evalNanos));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    public synchronized double getHitRate() {
+        int lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /** @return the evaluation time that hits would otherwise have spent, in milliseconds */
+    public synchronized long getSavedMillis() {
+        return savedNanos / 1000000;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d entries, %d hits / %d lookups (%.0f%%), saved %d ms",
+                entries.size(), hits, hits + misses, 100 * getHitRate(), getSavedMillis());
+    }
+}
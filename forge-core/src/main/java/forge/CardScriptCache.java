@@ -0,0 +1,144 @@
+package forge;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Binary file with the scripts of all cards in a card folder, so they can be read at once instead of opening
+ * every script file or archive entry.
+ * <p>
+ * The file stores a hash of the sources it was made from, see {@link CardStorageReader#getSourceHash()}, and is
+ * ignored once it doesn't match anymore. It's read through a memory mapped buffer.
+ */
+public final class CardScriptCache {
+    /** Name of a cache built into the card folder itself, e.g. by the release build. */
+    public static final String FILE_NAME = "scripts.cache";
+
+    private static final int MAGIC = 0x46534331; // FSC1
+    // change when the format or what goes into the scripts changes
+    private static final int FORMAT_VERSION = 1;
+
+    private final File file;
+
+    public CardScriptCache(final File file) {
+        this.file = file;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return the card names and script lines, or null if there is no cache for these sources
+     */
+    public List<Pair<String, List<String>>> read(final long sourceHash) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getLong() != sourceHash) {
+                return null;
+            }
+            final int count = buffer.getInt();
+            final List<Pair<String, List<String>>> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final String name = readString(buffer);
+                final int lineCount = buffer.getInt();
+                final List<String> lines = new ArrayList<>(lineCount);
+                for (int j = 0; j < lineCount; j++) {
+                    lines.add(readString(buffer));
+                }
+                result.add(Pair.of(name, lines));
+            }
+            return result;
+        } catch (final IOException | BufferUnderflowException | IllegalArgumentException e) {
+            System.err.printf("Ignoring card script cache %s: %s%n", file, e);
+            return null;
+        }
+    }
+
+    private static String readString(final MappedByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Replace the cache with the given scripts.
+     *
+     * @return false if it couldn't be written, e.g. because the folder is read only
+     */
+    public boolean write(final long sourceHash, final Collection<Pair<String, List<String>>> scripts) {
+        final File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            return false;
+        }
+        File temp = null;
+        try {
+            temp = File.createTempFile(file.getName(), ".tmp", dir);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(sourceHash);
+                out.writeInt(scripts.size());
+                for (final Pair<String, List<String>> script : scripts) {
+                    writeString(out, script.getKey());
+                    out.writeInt(script.getValue().size());
+                    for (final String line : script.getValue()) {
+                        writeString(out, line);
+                    }
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (final IOException e) {
+            System.err.printf("Couldn't write card script cache %s: %s%n", file, e);
+            if (temp != null) {
+                temp.delete();
+            }
+            return false;
+        }
+    }
+
+    private static void writeString(final DataOutputStream out, final String s) throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Build the cache of a card folder into the folder itself, used by the release build.
+     *
+     * @param args the card folders
+     */
+    public static void main(final String[] args) {
+        for (final String dir : args) {
+            final CardStorageReader reader = new CardStorageReader(dir, null, false);
+            final CardScriptCache cache = new CardScriptCache(new File(dir, FILE_NAME));
+            final List<Pair<String, List<String>>> scripts = reader.readScripts();
+            if (scripts.isEmpty()) {
+                System.err.printf("No card scripts found in %s%n", dir);
+                System.exit(1);
+            }
+            if (!cache.write(reader.getSourceHash(), scripts)) {
+                System.exit(1);
+            }
+            System.out.printf("Wrote %d card scripts to %s%n", scripts.size(), cache.getFile());
+        }
+    }
+}
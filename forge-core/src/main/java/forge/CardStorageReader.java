@@ -24,6 +24,7 @@ import forge.util.FileUtil;
 import forge.util.Localizer;
 import forge.util.ThreadUtil;
 import org.apache.commons.lang3.time.StopWatch;
+import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.*;
 import java.nio.charset.Charset;
@@ -73,6 +74,10 @@ public class CardStorageReader {
 
     private final boolean loadCardsLazily;
 
+    private CardScriptCache scriptCache;
+    // scripts read while loading, to write to the cache
+    private transient Queue<Pair<String, List<String>>> readScripts;
+
     public CardStorageReader(final String cardDataDir, final CardStorageReader.ProgressObserver progressObserver, boolean loadCardsLazily) {
         this.progressObserver = progressObserver != null ? progressObserver : CardStorageReader.ProgressObserver.emptyObserver;
         this.cardsfolder = new File(cardDataDir);
@@ -103,6 +108,80 @@ public class CardStorageReader {
         this.charset = Charset.forName(CardStorageReader.DEFAULT_CHARSET_NAME);
     } // CardReader()
 
+    /**
+     * Read the scripts from a binary cache file if it's up to date, and otherwise write it after reading them.
+     * A cache built into the card folder is used as well if there is one.
+     */
+    public void setScriptCache(final File cacheFile) {
+        this.scriptCache = cacheFile == null ? null : new CardScriptCache(cacheFile);
+    }
+
+    /**
+     * @return a hash of the names, sizes and modification times of the script files, and the names, sizes and
+     * checksums of the scripts in the archive
+     */
+    public long getSourceHash() {
+        return getSourceHash(collectCardFiles(new ArrayList<>(), this.cardsfolder));
+    }
+
+    private long getSourceHash(final List<File> allFiles) {
+        final String root = cardsfolder.getAbsolutePath();
+        final List<String> keys = new ArrayList<>();
+        for (final File file : allFiles) {
+            keys.add(file.getAbsolutePath().substring(root.length()) + '|' + file.length() + '|' + file.lastModified());
+        }
+        if (zip != null) {
+            for (final ZipEntry entry : getZipEntries()) {
+                keys.add(entry.getName() + '|' + entry.getSize() + '|' + entry.getCrc());
+            }
+        }
+        Collections.sort(keys);
+        long hash = 1125899906842597L;
+        for (final String key : keys) {
+            for (int i = 0; i < key.length(); i++) {
+                hash = 31 * hash + key.charAt(i);
+            }
+            hash = 31 * hash + '\n';
+        }
+        return hash;
+    }
+
+    /**
+     * @return the names and lines of all scripts, without parsing them
+     */
+    List<Pair<String, List<String>>> readScripts() {
+        final List<Pair<String, List<String>>> result = new ArrayList<>();
+        for (final File file : collectCardFiles(new ArrayList<>(), this.cardsfolder)) {
+            try (InputStream in = java.nio.file.Files.newInputStream(file.toPath())) {
+                result.add(Pair.of(Files.getNameWithoutExtension(file.getName()), readScript(in)));
+            } catch (final IOException ex) {
+                throw new RuntimeException("CardReader : error reading " + file.getPath(), ex);
+            }
+        }
+        if (zip != null) {
+            for (final ZipEntry entry : getZipEntries()) {
+                try (InputStream in = this.zip.getInputStream(entry)) {
+                    result.add(Pair.of(Files.getNameWithoutExtension(entry.getName()), readScript(in)));
+                } catch (final IOException ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<CardRules> loadCardsInRangeFromScripts(final List<Pair<String, List<String>>> scripts, final int from, final int to) {
+        final CardRules.Reader rulesReader = new CardRules.Reader();
+
+        final List<CardRules> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            final Pair<String, List<String>> script = scripts.get(i);
+            rulesReader.reset();
+            result.add(rulesReader.readCard(script.getValue(), script.getKey()));
+        }
+        return result;
+    }
+
     private List<CardRules> loadCardsInRange(final List<File> files, final int from, final int to) {
         final CardRules.Reader rulesReader = new CardRules.Reader();
 
@@ -240,6 +319,28 @@ public class CardStorageReader {
         }
  
         final List<File> allFiles = collectCardFiles(new ArrayList<>(), this.cardsfolder);
+        long sourceHash = 0;
+        if (scriptCache != null) {
+            sourceHash = getSourceHash(allFiles);
+            for (final CardScriptCache cache : new CardScriptCache[] { new CardScriptCache(new File(cardsfolder, CardScriptCache.FILE_NAME)), scriptCache }) {
+                final StopWatch sw = new StopWatch();
+                sw.start();
+                final List<Pair<String, List<String>>> scripts = cache.read(sourceHash);
+                if (scripts == null || scripts.isEmpty()) {
+                    continue;
+                }
+                final CountDownLatch cdl = new CountDownLatch(Math.max(1, Math.min(NUMBER_OF_PARTS, scripts.size() / 100)));
+                final List<Callable<List<CardRules>>> tasks = makeTaskListForScripts(scripts, cdl);
+                progressObserver.setOperationName(localizer.getMessage("splash.loading.cards-folders"), true);
+                progressObserver.report(0, tasks.size());
+                executeLoadTask(result, tasks, cdl);
+                sw.stop();
+                System.out.printf("Read cards: %s cached scripts from %s in %d ms (%d parts) %s%n", scripts.size(), cache.getFile(), sw.getTime(), tasks.size(), useThreadPool ? "using thread pool" : "in same thread");
+                return result;
+            }
+            readScripts = new ConcurrentLinkedQueue<>();
+        }
+
         if (!allFiles.isEmpty()) {
             int fileParts = zip == null ? NUMBER_OF_PARTS : 1 + NUMBER_OF_PARTS / 3;
             if (allFiles.size() < fileParts * 100) {
@@ -271,6 +372,14 @@ public class CardStorageReader {
             System.out.printf("Read cards: %s archived files in %d ms (%d parts) %s%n", this.zip.size(), timeOnParse, taskZip.size(), useThreadPool ? "using thread pool" : "in same thread");
         }
 
+        if (readScripts != null) {
+            // don't cache what was read if some script failed to load
+            final int total = allFiles.size() + (zip == null ? 0 : getZipEntries().size());
+            if (!readScripts.isEmpty() && readScripts.size() == total) {
+                scriptCache.write(sourceHash, readScripts);
+            }
+            readScripts = null;
+        }
         return result;
     }
 
@@ -329,6 +438,24 @@ public class CardStorageReader {
         return tasks;
     }
 
+    private List<Callable<List<CardRules>>> makeTaskListForScripts(final List<Pair<String, List<String>>> scripts, final CountDownLatch cdl) {
+        final int total = scripts.size();
+        final int maxParts = (int) cdl.getCount();
+        final int perPart = total / maxParts;
+        final List<Callable<List<CardRules>>> tasks = new ArrayList<>();
+        for (int iPart = 0; iPart < maxParts; iPart++) {
+            final int from = iPart * perPart;
+            final int till = iPart == maxParts - 1 ? total : from + perPart;
+            tasks.add(() -> {
+                final List<CardRules> res = loadCardsInRangeFromScripts(scripts, from, till);
+                cdl.countDown();
+                progressObserver.report(maxParts - (int)cdl.getCount(), maxParts);
+                return res;
+            });
+        }
+        return tasks;
+    }
+
     private List<Callable<List<CardRules>>> makeTaskListForFiles(final List<File> allFiles, final CountDownLatch cdl) {
         final int totalFiles = allFiles.size();
         final int maxParts = (int) cdl.getCount();
@@ -385,7 +512,12 @@ public class CardStorageReader {
         try (InputStream fileInputStream = java.nio.file.Files.newInputStream(file.toPath())) {
             reader.reset();
             final List<String> lines = readScript(fileInputStream);
-            return reader.readCard(lines, Files.getNameWithoutExtension(file.getName()));
+            final String name = Files.getNameWithoutExtension(file.getName());
+            final CardRules rules = reader.readCard(lines, name);
+            if (readScripts != null) {
+                readScripts.add(Pair.of(name, lines));
+            }
+            return rules;
         } catch (final FileNotFoundException ex) {
             throw new RuntimeException("CardReader : run error -- file not found: " + file.getPath(), ex);
         } catch (final Exception ex) {
@@ -404,7 +536,13 @@ public class CardStorageReader {
     protected final CardRules loadCard(final CardRules.Reader rulesReader, final ZipEntry entry) {
         try (InputStream zipInputStream = this.zip.getInputStream(entry)) {
             rulesReader.reset();
-            return rulesReader.readCard(readScript(zipInputStream), Files.getNameWithoutExtension(entry.getName()));
+            final List<String> lines = readScript(zipInputStream);
+            final String name = Files.getNameWithoutExtension(entry.getName());
+            final CardRules rules = rulesReader.readCard(lines, name);
+            if (readScripts != null) {
+                readScripts.add(Pair.of(name, lines));
+            }
+            return rules;
         } catch (final IOException exn) {
             throw new RuntimeException(exn);
         }
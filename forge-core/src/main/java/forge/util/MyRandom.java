@@ -32,6 +32,8 @@ import java.util.Random;
 public class MyRandom {
     /** Constant <code>random</code>. */
     private static Random random = new SecureRandom();
+    /** Per-thread override, inherited by threads the owner spawns. Used to give parallel simulations their own seed. */
+    private static final InheritableThreadLocal<Random> threadRandom = new InheritableThreadLocal<>();
 
     /**
      * <p>
@@ -52,7 +54,8 @@ public class MyRandom {
      * @return the random
      */
     public static Random getRandom() {
-        return MyRandom.random;
+        final Random local = threadRandom.get();
+        return local != null ? local : MyRandom.random;
     }
 
     /**
@@ -63,11 +66,32 @@ public class MyRandom {
         MyRandom.random = random;
     }
 
+    /**
+     * Gets the random provider set for the current thread, if any.
+     * @return the random or null if the global provider is in use
+     */
+    public static Random getThreadRandom() {
+        return threadRandom.get();
+    }
+
+    /**
+     * Sets a random provider for the current thread (and threads started from it),
+     * taking precedence over the global one. Pass null to fall back to the global provider.
+     * @param random the random
+     */
+    public static void setThreadRandom(Random random) {
+        if (random == null) {
+            threadRandom.remove();
+        } else {
+            threadRandom.set(random);
+        }
+    }
+
     public static int[] splitIntoRandomGroups(final int value, final int numGroups) {
         int[] groups = new int[numGroups];
         
         for (int i = 0; i < value; i++) {
-            groups[random.nextInt(numGroups)]++;
+            groups[getRandom().nextInt(numGroups)]++;
         }
 
         return groups;
@@ -1,16 +1,22 @@
 package forge.util.collect;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.AbstractSet;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -19,36 +25,78 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Ordering;
-import com.google.common.collect.Sets;
 
 /**
  * Collection with unique elements ({@link Set}) that maintains the order in
  * which the elements are added to it ({@link List}).
  *
+ * The elements are kept in a single array. Small collections find duplicates
+ * by scanning it, larger ones build an open addressing hash index into the
+ * array when it's needed. A copy of an {@link FCollection} shares the array
+ * with its original until either of them is modified, so taking a copy just
+ * to iterate over it safely doesn't cost anything. This is only done on the
+ * thread that last modified the original, a copy made on any other thread
+ * gets its own array right away.
+ *
  * This object is serializable if all elements it contains are.
  *
  * @param <T> the type of the elements this collection contains.
  * @see FCollectionView
  */
-public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>, Cloneable, Serializable {
+public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>, RandomAccess, Cloneable, Serializable {
     private static final long serialVersionUID = -1664555336364294106L;
 
     private static final FCollection<?> EMPTY = new EmptyFCollection<>();
 
+    /**
+     * Up to this size, looking up an element scans the array instead of
+     * building the hash index.
+     */
+    private static final int LINEAR_SCAN_THRESHOLD = 8;
+
     @SuppressWarnings("unchecked")
     public static <T> FCollection<T> getEmpty() {
         return (FCollection<T>) EMPTY;
     }
 
     /**
-     * The {@link Set} representation of this collection.
+     * The elements of this collection, in order, followed by unused capacity.
+     */
+    private Object[] elements = ArrayUtils.EMPTY_OBJECT_ARRAY;
+
+    /**
+     * The hash codes of {@link #elements}, so that looking up an element
+     * rarely has to call {@link Object#equals(Object)} on a different one.
+     */
+    private transient int[] hashes = ArrayUtils.EMPTY_INT_ARRAY;
+
+    /**
+     * The number of elements in this collection.
+     */
+    private int size;
+
+    /**
+     * Hash index into {@link #elements}, each slot holding the position of an
+     * element plus one, or zero when empty. {@code null} when it has to be
+     * rebuilt before its next use.
+     */
+    private transient int[] index;
+
+    /**
+     * Whether {@link #elements} may be shared with a copy of this collection,
+     * so that it has to be copied before being modified.
      */
-    private final Set<T> set = Sets.newHashSet();
+    private transient boolean shared;
 
     /**
-     * The {@link List} representation of this collection.
+     * The thread that last modified this collection. Only that thread can
+     * mark {@link #elements} as shared without racing its own writes.
      */
-    private final LinkedList<T> list = Lists.newLinkedList();
+    private transient Thread owner;
+
+    private transient int modCount;
+
+    private transient Set<T> setView;
 
     /**
      * Create an empty {@link FCollection}.
@@ -80,13 +128,37 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
 
     /**
      * Create an {@link FCollection} from an {@link Iterable}. The order of the
-     * elements in the iterable is preserved in the new collection.
+     * elements in the iterable is preserved in the new collection. If the
+     * iterable is an {@link FCollection} itself, the new collection shares its
+     * elements until either one is modified, unless it was last modified on
+     * another thread.
      *
      * @param i
      *            an iterable, whose elements will be in the collection upon its
      *            creation.
      */
     public FCollection(final Iterable<? extends T> i) {
+        if (i instanceof FCollection) {
+            final FCollection<? extends T> other = (FCollection<? extends T>) i;
+            if (other.size > 0) {
+                if (other.owner == Thread.currentThread()) {
+                    other.shared = true;
+                    shared = true;
+                    elements = other.elements;
+                    hashes = other.hashes;
+                    index = other.index;
+                    size = other.size;
+                } else {
+                    // the owner may be writing in place right now and wouldn't see the flag
+                    final int n = other.size;
+                    elements = Arrays.copyOf(other.elements, n);
+                    hashes = Arrays.copyOf(other.hashes, n);
+                    size = n;
+                }
+                owner = Thread.currentThread();
+            }
+            return;
+        }
         this.addAll(i);
     }
 
@@ -133,13 +205,17 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
     }
 
     /**
-     * <p>This implementation uses the hash code of the backing list.</p>
+     * <p>This implementation uses the hash code of the equivalent list.</p>
      *
      * {@inheritDoc}
      */
     @Override
     public int hashCode() {
-        return list.hashCode();
+        int hashCode = 1;
+        for (int i = 0; i < size; i++) {
+            hashCode = 31 * hashCode + Objects.hashCode(elements[i]);
+        }
+        return hashCode;
     }
 
     /**
@@ -149,7 +225,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public String toString() {
-        return list.toString();
+        return Arrays.toString(toArray());
     }
 
     /**
@@ -158,7 +234,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public final FCollection<T> clone() {
-        return new FCollection<>(list);
+        return new FCollection<>(this);
     }
 
     /**
@@ -169,7 +245,10 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public T getFirst() {
-        return list.getFirst();
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elementAt(0);
     }
 
     /**
@@ -180,7 +259,10 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public T getLast() {
-        return list.getLast();
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elementAt(size - 1);
     }
 
     /**
@@ -188,7 +270,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public int size() {
-        return set.size();
+        return size;
     }
 
     /**
@@ -196,11 +278,18 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean isEmpty() {
-        return set.isEmpty();
+        return size == 0;
     }
-    
+
+    /**
+     * Get a {@link Set} view of this collection. Changes to either are
+     * reflected in the other.
+     */
     public Set<T> asSet() {
-        return set;
+        if (setView == null) {
+            setView = new SetView();
+        }
+        return setView;
     }
 
     /**
@@ -211,7 +300,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean contains(final Object o) {
-        return set.contains(o);
+        return find(o) >= 0;
     }
 
     /**
@@ -219,7 +308,23 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public Iterator<T> iterator() {
-        return list.iterator();
+        return new Itr(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        final int expectedModCount = modCount;
+        final Object[] es = elements;
+        final int n = size;
+        for (int i = 0; i < n; i++) {
+            action.accept(elementAt(es, i));
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
     }
 
     /**
@@ -227,16 +332,23 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public Object[] toArray() {
-        return list.toArray();
+        return Arrays.copyOf(elements, size);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @SuppressWarnings("hiding")
+    @SuppressWarnings({ "hiding", "unchecked" })
     public <T> T[] toArray(final T[] a) {
-        return list.toArray(a);
+        if (a.length < size) {
+            return (T[]) Arrays.copyOf(elements, size, a.getClass());
+        }
+        System.arraycopy(elements, 0, a, 0, size);
+        if (a.length > size) {
+            a[size] = null;
+        }
+        return a;
     }
 
     /**
@@ -248,11 +360,22 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean add(final T e) {
-        if (set.add(e)) {
-            list.add(e);
-            return true;
+        final int h = Objects.hashCode(e);
+        if (find(e, h) >= 0) {
+            return false;
         }
-        return false;
+        modify();
+        ensureCapacity();
+        elements[size] = e;
+        hashes[size++] = h;
+        if (index != null) {
+            if (size * 2 > index.length) {
+                index = null;
+            } else {
+                index[emptySlot(index, h)] = size;
+            }
+        }
+        return true;
     }
 
     /**
@@ -264,20 +387,27 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean remove(final Object o) {
-        if (set.remove(o)) {
-            list.remove(o);
-            return true;
+        final int i = find(o);
+        if (i < 0) {
+            return false;
         }
-        return false;
+        removeAt(i);
+        return true;
     }
 
     @Override
-    public boolean removeIf(Predicate<? super T> filter) {
-        if (list.removeIf(filter)) {
-            set.removeIf(filter);
-            return true;
+    public boolean removeIf(final Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        boolean[] removed = null;
+        for (int i = 0; i < size; i++) {
+            if (filter.test(elementAt(i))) {
+                if (removed == null) {
+                    removed = new boolean[size];
+                }
+                removed[i] = true;
+            }
         }
-        return false;
+        return removeFlagged(removed);
     }
 
     /**
@@ -285,7 +415,12 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean containsAll(final Collection<?> c) {
-        return set.containsAll(c);
+        for (final Object o : c) {
+            if (!contains(o)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -369,11 +504,17 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      * @return whether this collection changed as a result of this method call.
      */
     public boolean removeAll(final Iterable<?> c) {
-        boolean changed = false;
+        boolean[] removed = null;
         for (final Object o : c) {
-            changed |= remove(o);
+            final int i = find(o);
+            if (i >= 0) {
+                if (removed == null) {
+                    removed = new boolean[size];
+                }
+                removed[i] = true;
+            }
         }
-        return changed;
+        return removeFlagged(removed);
     }
 
     /**
@@ -381,11 +522,16 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean retainAll(final Collection<?> c) {
-        if (set.retainAll(c)) {
-            list.retainAll(c);
-            return true;
+        boolean[] removed = null;
+        for (int i = 0; i < size; i++) {
+            if (!c.contains(elements[i])) {
+                if (removed == null) {
+                    removed = new boolean[size];
+                }
+                removed[i] = true;
+            }
         }
-        return false;
+        return removeFlagged(removed);
     }
 
     /**
@@ -393,9 +539,18 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public void clear() {
-        if (set.isEmpty()) { return; }
-        set.clear();
-        list.clear();
+        if (size == 0) { return; }
+        modCount++;
+        owner = Thread.currentThread();
+        if (shared) {
+            elements = ArrayUtils.EMPTY_OBJECT_ARRAY;
+            hashes = ArrayUtils.EMPTY_INT_ARRAY;
+            shared = false;
+        } else {
+            Arrays.fill(elements, 0, size, null);
+        }
+        size = 0;
+        index = null;
     }
 
     /**
@@ -403,17 +558,26 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public T get(final int index) {
-        return list.get(index);
+        Objects.checkIndex(index, size);
+        return elementAt(index);
     }
 
     /**
      * Set the element at an index to a value. WARNING: this method doesn't
-     * update the set and should only be used in a situation where the set of
-     * elements in this collection is invariant.
+     * check for duplicates and should only be used in a situation where the
+     * set of elements in this collection is invariant.
      */
     @Override
-    public T set(final int index, final T element) { //assume this isn't called except when changing list order, so don't worry about updating set
-        return list.set(index, element);
+    public T set(final int index, final T element) { //assume this isn't called except when changing list order, so don't worry about duplicates
+        Objects.checkIndex(index, size);
+        unshare();
+        final T old = elementAt(index);
+        elements[index] = element;
+        if (old != element) {
+            hashes[index] = Objects.hashCode(element);
+            this.index = null;
+        }
+        return old;
     }
 
     /**
@@ -434,21 +598,28 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      * @return whether this collection changed as a result of this method call.
      */
     private boolean insert(int index, final T element) {
-        if (set.add(element)) {
-            list.add(index, element);
-            return true;
-        }
-        //re-position in list if needed
-        final int oldIndex = list.indexOf(element);
-        if (index == oldIndex) {
-            return false;
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
         }
-
-        if (index > oldIndex) {
-            index--; //account for being removed
+        final int oldIndex = find(element);
+        if (oldIndex >= 0) {
+            //re-position in list if needed
+            if (index == oldIndex) {
+                return false;
+            }
+            if (index > oldIndex) {
+                index--; //account for being removed
+            }
+            removeAt(oldIndex);
         }
-        list.remove(oldIndex);
-        list.add(index, element);
+        modify();
+        ensureCapacity();
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        System.arraycopy(hashes, index, hashes, index + 1, size - index);
+        elements[index] = element;
+        hashes[index] = Objects.hashCode(element);
+        size++;
+        this.index = null;
         return true;
     }
 
@@ -457,10 +628,9 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public T remove(final int index) {
-        final T removedItem = list.remove(index);
-        if (removedItem != null) {
-            set.remove(removedItem);
-        }
+        Objects.checkIndex(index, size);
+        final T removedItem = elementAt(index);
+        removeAt(index);
         return removedItem;
     }
 
@@ -469,7 +639,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public int indexOf(final Object o) {
-        return list.indexOf(o);
+        return find(o);
     }
 
     /**
@@ -477,7 +647,12 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public int lastIndexOf(final Object o) {
-        return list.lastIndexOf(o);
+        for (int i = size - 1; i >= 0; i--) {
+            if (isEqual(o, elements[i])) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -485,7 +660,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public ListIterator<T> listIterator() {
-        return list.listIterator();
+        return new ListItr(0);
     }
 
     /**
@@ -493,7 +668,10 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public ListIterator<T> listIterator(final int index) {
-        return list.listIterator(index);
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new ListItr(index);
     }
 
     /**
@@ -505,8 +683,10 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      * {@inheritDoc}
      */
     @Override
+    @SuppressWarnings("unchecked")
     public List<T> subList(final int fromIndex, final int toIndex) {
-        return ImmutableList.copyOf(list.subList(fromIndex, toIndex));
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        return (List<T>) ImmutableList.copyOf(Arrays.asList(elements).subList(fromIndex, toIndex));
     }
 
     /**
@@ -524,17 +704,27 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
     /**
      * {@inheritDoc}
      */
+    @SuppressWarnings("unchecked")
     public void sort(final Comparator<? super T> comparator) {
-        list.sort(comparator);
+        if (size < 2) {
+            return;
+        }
+        modify();
+        Arrays.sort((T[]) elements, 0, size, comparator);
+        for (int i = 0; i < size; i++) {
+            hashes[i] = Objects.hashCode(elements[i]);
+        }
+        index = null;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @SuppressWarnings("unchecked")
     public Iterable<T> threadSafeIterable() {
-        //create a new linked list for iterating to make it thread safe and avoid concurrent modification exceptions
-        return Iterables.unmodifiableIterable(new LinkedList<>(list));
+        //copy the elements for iterating to make it thread safe and avoid concurrent modification exceptions
+        return Collections.unmodifiableList(Arrays.asList((T[]) toArray()));
     }
 
     @Override
@@ -542,13 +732,280 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
         if (obj == null) {
             return null;
         }
-        for(T x : this) {
-            if (x.equals(obj)) {
-                return x;
+        final int i = find(obj);
+        return i < 0 ? obj : elementAt(i);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T elementAt(final Object[] es, final int i) {
+        return (T) es[i];
+    }
+
+    private T elementAt(final int i) {
+        return elementAt(elements, i);
+    }
+
+    /**
+     * @return the position of an element equal to the object, or -1 if there's none.
+     */
+    private int find(final Object o) {
+        return find(o, Objects.hashCode(o));
+    }
+
+    private int find(final Object o, final int h) {
+        final Object[] es = elements;
+        final int[] hs = hashes;
+        final int n = size;
+        if (n <= LINEAR_SCAN_THRESHOLD) {
+            for (int i = 0; i < n; i++) {
+                if (hs[i] == h && isEqual(o, es[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        final int[] idx = buildIndex();
+        final int mask = idx.length - 1;
+        for (int slot = slot(h, idx); ; slot = (slot + 1) & mask) {
+            final int pos = idx[slot] - 1;
+            if (pos < 0) {
+                return -1;
+            }
+            if (hs[pos] == h && isEqual(o, es[pos])) {
+                return pos;
             }
         }
-        return obj;
     }
+
+    private static boolean isEqual(final Object o, final Object e) {
+        return o == e || (o != null && o.equals(e));
+    }
+
+    private int[] buildIndex() {
+        int[] idx = index;
+        if (idx != null) {
+            return idx;
+        }
+        // at most half full, so that probe sequences stay short
+        idx = new int[Integer.highestOneBit(Math.max(size, LINEAR_SCAN_THRESHOLD) * 4 - 1)];
+        for (int i = 0; i < size; i++) {
+            idx[emptySlot(idx, hashes[i])] = i + 1;
+        }
+        index = idx;
+        return idx;
+    }
+
+    private static int emptySlot(final int[] idx, final int h) {
+        final int mask = idx.length - 1;
+        int slot = slot(h, idx);
+        while (idx[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int slot(final int hashCode, final int[] idx) {
+        // Fibonacci hashing: takes the top bits, so that sequential ids of game objects end up evenly spaced
+        return (hashCode * 0x9E3779B9) >>> (Integer.numberOfLeadingZeros(idx.length) + 1);
+    }
+
+    private void ensureCapacity() {
+        if (size == elements.length) {
+            final int capacity = Math.max(size + (size >> 1), 4);
+            elements = Arrays.copyOf(elements, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+        }
+    }
+
+    /**
+     * Copy the elements if they're shared with another collection.
+     */
+    private void unshare() {
+        owner = Thread.currentThread();
+        if (shared) {
+            elements = Arrays.copyOf(elements, Math.max(size + (size >> 1), 4));
+            hashes = Arrays.copyOf(hashes, elements.length);
+            if (index != null) {
+                index = index.clone();
+            }
+            shared = false;
+        }
+    }
+
+    /**
+     * Prepare for a structural modification.
+     */
+    private void modify() {
+        modCount++;
+        unshare();
+    }
+
+    private void removeAt(final int i) {
+        modify();
+        final int moved = size - i - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, i + 1, elements, i, moved);
+            System.arraycopy(hashes, i + 1, hashes, i, moved);
+        }
+        elements[--size] = null;
+        index = null;
+    }
+
+    private boolean removeFlagged(final boolean[] removed) {
+        if (removed == null) {
+            return false;
+        }
+        modify();
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            if (!removed[r]) {
+                hashes[w] = hashes[r];
+                elements[w++] = elements[r];
+            }
+        }
+        Arrays.fill(elements, w, size, null);
+        size = w;
+        index = null;
+        return true;
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // hash codes aren't necessarily the same in this VM
+        hashes = new int[elements.length];
+        for (int i = 0; i < size; i++) {
+            hashes[i] = Objects.hashCode(elements[i]);
+        }
+    }
+
+    private class Itr implements Iterator<T> {
+        int cursor;
+        int lastRet = -1;
+        int expectedModCount = modCount;
+
+        Itr(final int cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            final int i = cursor;
+            if (i >= size) {
+                throw new NoSuchElementException();
+            }
+            cursor = i + 1;
+            lastRet = i;
+            return elementAt(i);
+        }
+
+        @Override
+        public void remove() {
+            if (lastRet < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            removeAt(lastRet);
+            cursor = lastRet;
+            lastRet = -1;
+            expectedModCount = modCount;
+        }
+
+        final void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private class ListItr extends Itr implements ListIterator<T> {
+        ListItr(final int cursor) {
+            super(cursor);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public T previous() {
+            checkForComodification();
+            final int i = cursor - 1;
+            if (i < 0) {
+                throw new NoSuchElementException();
+            }
+            cursor = i;
+            lastRet = i;
+            return elementAt(i);
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void set(final T e) {
+            if (lastRet < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            FCollection.this.set(lastRet, e);
+        }
+
+        @Override
+        public void add(final T e) {
+            checkForComodification();
+            insert(cursor, e);
+            cursor = find(e) + 1;
+            lastRet = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private class SetView extends AbstractSet<T> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return FCollection.this.contains(o);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return FCollection.this.iterator();
+        }
+
+        @Override
+        public boolean add(final T e) {
+            return FCollection.this.add(e);
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            return FCollection.this.remove(o);
+        }
+
+        @Override
+        public void clear() {
+            FCollection.this.clear();
+        }
+    }
+
     /**
      * An unmodifiable, empty {@link FCollection}. Overrides all methods with
      * default implementations suitable for an empty collection, to improve
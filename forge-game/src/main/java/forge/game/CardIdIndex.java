@@ -0,0 +1,132 @@
+package forge.game;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import forge.game.card.Card;
+import forge.game.player.Player;
+import forge.game.zone.ZoneType;
+
+/**
+ * The cards of a game by their id, kept up to date by the zones and the inbound tokens of the players whenever a
+ * card is added or removed.
+ * <p>
+ * Only the zones visited by {@link Game#forEachCardInGame(forge.util.Visitor)} are indexed, so a lookup finds the
+ * same card as visiting all of them, without going through every card in the game.
+ */
+public final class CardIdIndex {
+    public static final Set<ZoneType> INDEXED_ZONES = EnumSet.of(ZoneType.Graveyard, ZoneType.Hand, ZoneType.Library,
+            ZoneType.Battlefield, ZoneType.Exile, ZoneType.Command, ZoneType.Stack);
+
+    // a card is usually in one place, but copies of it briefly share its id while it changes zones
+    private static final class Entry {
+        private final Object container;
+        private final Player player;
+        private Card card;
+        private Entry next;
+
+        private Entry(final Object container, final Player player, final Card card) {
+            this.container = container;
+            this.player = player;
+            this.card = card;
+        }
+    }
+
+    private final Game game;
+    private final Map<Integer, Entry> entries = new HashMap<>();
+
+    public CardIdIndex(final Game game) {
+        this.game = game;
+    }
+
+    /**
+     * @param container the zone or collection the card was added to, it replaces the card with the same id there
+     * @param player the player the container belongs to, or null for the stack
+     */
+    public void put(final Card c, final Object container, final Player player) {
+        final Entry first = entries.get(c.getId());
+        for (Entry e = first; e != null; e = e.next) {
+            if (e.container == container) {
+                e.card = c;
+                return;
+            }
+        }
+        final Entry entry = new Entry(container, player, c);
+        entry.next = first;
+        entries.put(c.getId(), entry);
+    }
+
+    public void remove(final Card c, final Object container) {
+        Entry prev = null;
+        for (Entry e = entries.get(c.getId()); e != null; prev = e, e = e.next) {
+            if (e.container != container) {
+                continue;
+            }
+            if (prev != null) {
+                prev.next = e.next;
+            } else if (e.next != null) {
+                entries.put(c.getId(), e.next);
+            } else {
+                entries.remove(c.getId());
+            }
+            return;
+        }
+    }
+
+    private boolean isInGame(final Entry e) {
+        return e.player == null || game.getPlayers().contains(e.player);
+    }
+
+    /**
+     * @return the card with that id, or null if there is none or several different copies of it
+     */
+    public Card get(final int id) {
+        Card found = null;
+        for (Entry e = entries.get(id); e != null; e = e.next) {
+            if (!isInGame(e)) {
+                continue;
+            }
+            if (found != null && found != e.card) {
+                return null;
+            }
+            found = e.card;
+        }
+        return found;
+    }
+
+    /**
+     * @return true if different copies of the card with that id are in the game, e.g. while it changes zones
+     */
+    public boolean hasCopies(final int id) {
+        Card found = null;
+        for (Entry e = entries.get(id); e != null; e = e.next) {
+            if (!isInGame(e)) {
+                continue;
+            }
+            if (found != null && found != e.card) {
+                return true;
+            }
+            found = e.card;
+        }
+        return false;
+    }
+
+    /**
+     * @return the ids of all cards in the game
+     */
+    public Set<Integer> getIds() {
+        final Set<Integer> ids = new HashSet<>();
+        for (final Map.Entry<Integer, Entry> kv : entries.entrySet()) {
+            for (Entry e = kv.getValue(); e != null; e = e.next) {
+                if (isInGame(e)) {
+                    ids.add(kv.getKey());
+                    break;
+                }
+            }
+        }
+        return ids;
+    }
+}
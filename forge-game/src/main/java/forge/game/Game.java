@@ -28,8 +28,10 @@ import forge.game.ability.AbilityKey;
 import forge.game.card.*;
 import forge.game.combat.Combat;
 import forge.game.event.Event;
+import forge.game.event.GameEventCardStatsChanged;
 import forge.game.event.GameEventDayTimeChanged;
 import forge.game.event.GameEventGameOutcome;
+import forge.game.event.GameEventPlayerPriority;
 import forge.game.phase.Phase;
 import forge.game.phase.PhaseHandler;
 import forge.game.phase.PhaseType;
@@ -38,13 +40,16 @@ import forge.game.player.*;
 import forge.game.replacement.ReplacementHandler;
 import forge.game.spellability.SpellAbility;
 import forge.game.spellability.SpellAbilityStackInstance;
+import forge.game.staticability.StaticAbility;
 import forge.game.staticability.StaticAbilityCantChangeDayTime;
+import forge.game.staticability.StaticAbilityRegistry;
 import forge.game.trigger.TriggerHandler;
 import forge.game.trigger.TriggerType;
 import forge.game.zone.CostPaymentStack;
 import forge.game.zone.MagicStack;
 import forge.game.zone.Zone;
 import forge.game.zone.ZoneType;
+import forge.trackable.TrackableTypes;
 import forge.trackable.Tracker;
 import forge.util.Aggregates;
 import forge.util.MyRandom;
@@ -54,14 +59,15 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents the state of a <i>single game</i>, a new instance is created for each game.
  */
 public class Game {
 
-    private static int maxId = 0;
-    private static int nextId() { return ++maxId; }
+    private static final AtomicInteger maxId = new AtomicInteger();
+    private static int nextId() { return maxId.incrementAndGet(); }
 
     /** The ID. */
     private int id;
@@ -83,20 +89,31 @@ public class Game {
     public final CostPaymentStack costPaymentStack = new CostPaymentStack();
     private final PhaseHandler phaseHandler;
     private final StaticEffects staticEffects = new StaticEffects();
+    private final StaticAbilityRegistry staticAbilities = new StaticAbilityRegistry(this);
     private final TriggerHandler triggerHandler = new TriggerHandler(this);
     private final ReplacementHandler replacementHandler = new ReplacementHandler(this);
     private final EventBus events = new EventBus("game events");
     private final GameLog gameLog = new GameLog();
 
     private final Zone stackZone = new Zone(ZoneType.Stack, this);
-
-    public boolean EXPERIMENTAL_RESTORE_SNAPSHOT = false;
-    // While this is false here, its really set by the Match/Preferences
-
-    // If this merges with LKI In the future, it will need to change forms
-    private GameSnapshot previousGameState = null;
+    private final CardIdIndex cardIndex = new CardIdIndex(this);
+    // When set, every card lookup by id also visits all cards and fails if the index found a different one.
+    // Meant for tests, to catch changes to the zones that bypass the index.
+    public static boolean VERIFY_CARD_INDEX = false;
+
+    // Rollback goes through the journal, which is cheap enough to open every priority pass.
+    // Matches still set this from the preferences.
+    public boolean EXPERIMENTAL_RESTORE_SNAPSHOT = true;
+
+    // Undo log opened by stashGameState, replaces taking a full GameSnapshot every priority pass
+    private final GameJournal journal = new GameJournal();
+    private long stateVersion = 0;
+    private int stashedState = -1;
     private CardCollection lastStateBattlefield = new CardCollection();
     private CardCollection lastStateGraveyard = new CardCollection();
+    // state version and cards the last state was copied from, -1 if it was changed since
+    private long lastStateVersion = -1;
+    private int lastStateSignature;
 
     private CardZoneTable untilHostLeavesPlayTriggerList = new CardZoneTable();
 
@@ -181,25 +198,83 @@ public class Game {
         return lastStateGraveyard;
     }
 
+    public GameJournal getJournal() {
+        return journal;
+    }
+
     public void stashGameState() {
-        // Take a snapshot of the current state to restore to previous state
+        // Start recording changes so they can be undone to get back to the current state
         if (EXPERIMENTAL_RESTORE_SNAPSHOT) {
-            previousGameState = new GameSnapshot(this);
-            previousGameState.makeCopy();
+            journal.reset();
+            stashedState = journal.checkpoint();
+            // state that isn't journaled where it changes is put back as a whole, after everything else was undone
+            journal.record(stashState());
+            journal.record(getPhaseHandler().stashState());
+            journal.record(getStack().stashState());
+            for (Player p : getPlayers()) {
+                journal.record(p.stashState());
+            }
         }
     }
 
+    private Runnable stashState() {
+        final GameStage age0 = age;
+        final long timestamp0 = timestamp;
+        final Player startingPlayer0 = startingPlayer, monarch0 = monarch, monarchBeginTurn0 = monarchBeginTurn, initiative0 = initiative;
+        final Boolean daytime0 = daytime;
+        return () -> {
+            age = age0;
+            timestamp = timestamp0;
+            startingPlayer = startingPlayer0;
+            monarch = monarch0;
+            monarchBeginTurn = monarchBeginTurn0;
+            initiative = initiative0;
+            if (!Objects.equals(daytime, daytime0)) {
+                daytime = daytime0;
+                if (!isNeitherDayNorNight()) {
+                    fireEvent(new GameEventDayTimeChanged(isDay()));
+                }
+            }
+        };
+    }
+
     public boolean restoreGameState() {
-        // Restore game state snapshot
-        if (previousGameState == null || !EXPERIMENTAL_RESTORE_SNAPSHOT) {
+        // Undo everything recorded since the last stash
+        if (stashedState < 0 || !EXPERIMENTAL_RESTORE_SNAPSHOT) {
             return false;
         }
 
-        previousGameState.restoreGameState(this);
+        journal.rewind(stashedState);
+        stashedState = -1;
+        // the rewound changes don't fire events, but anything cached for the later state is wrong now
+        updateStateVersion();
+        getAction().invalidateStaticAbilities();
+
+        getTriggerHandler().clearWaitingTriggers();
+        getAction().checkStaticAbilities();
+        for (Card c : getCardsInGame()) {
+            c.updatePowerToughnessForView();
+        }
+        for (Player p : getPlayers()) {
+            p.updateAllZonesForView();
+            p.updateManaForView();
+        }
         return true;
     }
 
+    /**
+     * Copy the battlefield and graveyards as the last known state.
+     * <p>
+     * Cards are only copied again if something happened since the last copy, going by {@link #getStateVersion()},
+     * or if the cards in those zones differ in what {@link #getLastStateSignature()} looks at. Otherwise the copies
+     * from then still are the last known state.
+     */
     public void copyLastState() {
+        final long version = stateVersion;
+        final int signature = getLastStateSignature();
+        if (lastStateVersion == version && lastStateSignature == signature) {
+            return;
+        }
         lastStateBattlefield.clear();
         lastStateGraveyard.clear();
         Map<Integer, Card> cachedMap = Maps.newHashMap();
@@ -207,8 +282,28 @@ public class Game {
             lastStateBattlefield.addAll(p.getZone(ZoneType.Battlefield).getLKICopy(cachedMap));
             lastStateGraveyard.addAll(p.getZone(ZoneType.Graveyard).getLKICopy(cachedMap));
         }
+        lastStateVersion = version;
+        lastStateSignature = signature;
     }
 
+    // cheap check of the state that most often changes without an event, next to the state version
+    private int getLastStateSignature() {
+        int result = 1;
+        for (final Player p : getPlayers()) {
+            for (final ZoneType zone : LAST_STATE_ZONES) {
+                for (final Card c : p.getZone(zone)) {
+                    result = 31 * result + Objects.hash(c.getId(), c.getGameTimestamp(), c.getController().getId(),
+                            c.getCurrentStateName(), c.isTapped(), c.getDamage(), c.getCounters(), c.isFaceDown());
+                }
+            }
+        }
+        return result;
+    }
+    private static final ZoneType[] LAST_STATE_ZONES = { ZoneType.Battlefield, ZoneType.Graveyard };
+
+    /**
+     * @return new LKI copies of the cards in the given zone, which the caller may change
+     */
     public CardCollectionView copyLastState(ZoneType type) {
         CardCollection result = new CardCollection();
         Map<Integer, Card> cachedMap = Maps.newHashMap();
@@ -240,6 +335,8 @@ public class Game {
             lastStateBattlefield.remove(c);
             lastStateGraveyard.remove(c);
             lookup.add(CardCopyService.getLKICopy(c));
+            // copy all of it again next time, the other copies may be older
+            lastStateVersion = -1;
         }
     }
 
@@ -274,6 +371,9 @@ public class Game {
         if (c == null) {
             return null;
         }
+        if (changeZoneLKIInfo.isEmpty()) {
+            return c;
+        }
         return ObjectUtils.defaultIfNull(changeZoneLKIInfo.get(c.getId(), c.getGameTimestamp()), c);
     }
     public final void clearChangeZoneLKIInfo() {
@@ -379,6 +479,37 @@ public class Game {
         return tracker;
     }
 
+    public boolean isHeadless() {
+        return tracker.isHeadless();
+    }
+
+    /**
+     * A headless game, e.g. a simulation or a copy made by the AI, isn't shown anywhere. Its views only keep what
+     * the game itself reads from them, the rest of them is brought up to date when it stops being headless or
+     * through {@link Card#getUpdatedView()}. Events only meant for showing changed cards aren't sent either.
+     */
+    public void setHeadless(final boolean headless) {
+        if (headless == tracker.isHeadless()) {
+            return;
+        }
+        tracker.setHeadless(headless);
+        if (headless) {
+            return;
+        }
+        for (final Card c : getCardsInGame()) {
+            final CardView cardView = c.getUpdatedView();
+            tracker.putObj(TrackableTypes.CardViewType, cardView.getId(), cardView);
+            cardView.updateObjLookup();
+        }
+        for (final Player p : getPlayers()) {
+            p.updateAllZonesForView();
+            p.updateManaForView();
+            tracker.putObj(TrackableTypes.PlayerViewType, p.getId(), p.getView());
+            p.getView().updateObjLookup();
+        }
+        view.updateObjLookup();
+    }
+
     /**
      * Gets the players who are still fighting to win.
      */
@@ -481,6 +612,20 @@ public class Game {
         return staticEffects;
     }
 
+    /**
+     * @return the static abilities of the given mode on cards in {@link ZoneType#STATIC_ABILITIES_SOURCE_ZONES}
+     */
+    public final List<StaticAbility> getStaticAbilities(final String mode) {
+        return staticAbilities.get(mode);
+    }
+    /**
+     * @return the static abilities of the given mode on cards in {@link ZoneType#STATIC_ABILITIES_SOURCE_ZONES},
+     * and on the extra cards if they aren't in those zones (e.g. LKI)
+     */
+    public final List<StaticAbility> getStaticAbilities(final String mode, final Card... extra) {
+        return staticAbilities.get(mode, extra);
+    }
+
     public final TriggerHandler getTriggerHandler() {
         return triggerHandler;
     }
@@ -535,6 +680,7 @@ public class Game {
      * Create and return the next timestamp.
      */
     public final long getNextTimestamp() {
+        stateVersion++;
         timestamp = getTimestamp() + 1;
         return getTimestamp();
     }
@@ -647,34 +793,12 @@ public class Game {
         return cards;
     }
 
-    private static class CardStateVisitor extends Visitor<Card> {
-        Card found = null;
-        Card old = null;
-
-        private CardStateVisitor(final Card card) {
-            this.old = card;
-        }
-
-        @Override
-        public boolean visit(Card object) {
-            if (object.equals(old)) {
-                found = object;
-            }
-            return found == null;
-        }
-
-        public Card getFound(final Card notFound) {
-            return found == null ? notFound : found;
-        }
-    }
-
     public Card getCardState(final Card card) {
         return getCardState(card, card);
     }
     public Card getCardState(final Card card, final Card notFound) {
-        CardStateVisitor visit = new CardStateVisitor(card);
-        this.forEachCardInGame(visit);
-        return visit.getFound(notFound);
+        final Card found = findById(card.getId());
+        return card.equals(found) ? found : notFound;
     }
 
     private static class CardIdVisitor extends Visitor<Card> {
@@ -708,17 +832,59 @@ public class Game {
         } else if (view.getController() != null && view.getZone() != null) {
             visit.visitAll(getPlayer(view.getController()).getZone(view.getZone()));
         } else { // fallback if view doesn't has controller or zone set for some reason
-            forEachCardInGame(visit);
+            return findById(view.getId());
         }
         return visit.getFound();
     }
 
     public Card findById(int id) {
+        final Card found = cardIndex.get(id);
+        if (VERIFY_CARD_INDEX && found != scanById(id) && !cardIndex.hasCopies(id)) {
+            throw new IllegalStateException("Card index has " + found + " instead of " + scanById(id) + " (" + id + ")");
+        }
+        if (found == null && cardIndex.hasCopies(id)) {
+            // the first copy visited is the one found
+            return scanById(id);
+        }
+        return found;
+    }
+
+    private Card scanById(int id) {
         CardIdVisitor visit = new CardIdVisitor(id);
         this.forEachCardInGame(visit);
         return visit.getFound();
     }
 
+    public CardIdIndex getCardIndex() {
+        return cardIndex;
+    }
+
+    /**
+     * Check the card index against visiting all cards in the game, for debugging.
+     *
+     * @throws IllegalStateException if a card isn't found the same way by both
+     */
+    public void validateCardIndex() {
+        final Map<Integer, Card> visited = Maps.newHashMap();
+        forEachCardInGame(new Visitor<Card>() {
+            @Override
+            public boolean visit(Card card) {
+                visited.putIfAbsent(card.getId(), card);
+                return true;
+            }
+        });
+        for (final Card card : visited.values()) {
+            if (findById(card.getId()) != card) {
+                throw new IllegalStateException("Card index has " + findById(card.getId()) + " instead of " + card + " (" + card.getId() + ")");
+            }
+        }
+        for (final Integer id : cardIndex.getIds()) {
+            if (!visited.containsKey(id)) {
+                throw new IllegalStateException("Card index has " + findById(id) + " (" + id + ") which isn't in the game");
+            }
+        }
+    }
+
     public void forEachCardInGame(Visitor<Card> visitor) {
         forEachCardInGame(visitor, false);
     }
@@ -987,8 +1153,32 @@ public class Game {
      * The events are sent to UI, log and sound system. Network listeners are under development.
      */
     public void fireEvent(final Event event) {
+        // priority moving on doesn't change the state, so that a player who gets it back with nothing happening
+        // in between sees the same version
+        if (!(event instanceof GameEventPlayerPriority)) {
+            stateVersion++;
+        }
+        if (event instanceof GameEventCardStatsChanged && isHeadless()) {
+            // only the GUI listens to these
+            return;
+        }
         events.post(event);
     }
+
+    /**
+     * Counts game events other than priority passing, new timestamps and the changes marked with
+     * {@link #updateStateVersion()}. This doesn't cover every change to the game state, only those that go through
+     * an event or a setter that marks it, so work cached on it may only depend on such state.
+     */
+    public long getStateVersion() {
+        return stateVersion;
+    }
+    /**
+     * Marks a change that doesn't fire an event, e.g. continuous effects applied without events.
+     */
+    public void updateStateVersion() {
+        stateVersion++;
+    }
     public void subscribeToEvents(final Object subscriber) {
         events.register(subscriber);
     }
@@ -1124,6 +1314,7 @@ public class Game {
     public void clearCaches() {
         lastStateBattlefield.clear();
         lastStateGraveyard.clear();
+        lastStateVersion = -1;
         //playerCache.clear();
     }
 
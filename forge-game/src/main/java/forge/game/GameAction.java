@@ -70,6 +70,12 @@ public class GameAction {
 
     private boolean holdCheckingStaticAbilities = false;
 
+    // When set, checkStaticAbilities recomputes even if nothing changed and fails if that changed any card.
+    // Meant for tests, to catch state changes that don't fire an event.
+    public static boolean VERIFY_STATIC_ABILITIES = false;
+    // game state version the continuous effects were last computed for, -1 if they need a recompute
+    private long staticAbilitiesVersion = -1;
+
     public GameAction(Game game0) {
         game = game0;
     }
@@ -1062,6 +1068,39 @@ public class GameAction {
         return holdCheckingStaticAbilities;
     }
 
+    /**
+     * Forces the next static ability check to recompute all continuous effects,
+     * for changes that are made without firing a game event (e.g. restoring a game state).
+     */
+    public void invalidateStaticAbilities() {
+        staticAbilitiesVersion = -1;
+    }
+
+    private List<Object> getContinuousEffectsFingerprint() {
+        final List<Object> result = Lists.newArrayList();
+        game.forEachCardInGame(new Visitor<Card>() {
+            @Override
+            public boolean visit(final Card c) {
+                result.add(c.getId());
+                result.add(c.getController().getId());
+                result.add(c.getNetPower());
+                result.add(c.getNetToughness());
+                result.add(c.getType().toString());
+                result.add(c.getColor().getColor());
+                result.add(c.getKeywords().size());
+                result.add(c.getSpellAbilities().size());
+                result.add(c.getStaticAbilities().size());
+                result.add(c.getTriggers().size());
+                return true;
+            }
+        });
+        for (final Player p : game.getPlayers()) {
+            result.add(p.getKeywords().size());
+            result.add(p.getMaxHandSize());
+        }
+        return result;
+    }
+
     // This doesn't check layers or if the ability gets removed by other effects
     public boolean hasStaticAbilityAffectingZone(ZoneType zone, StaticAbilityLayer layer) {
         for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
@@ -1093,6 +1132,15 @@ public class GameAction {
         if (game.isGameOver()) {
             return;
         }
+        // If no event happened, no timestamp was handed out and no setter marked a change since the effects were
+        // last computed for the real (non-LKI) state, they're still right. VERIFY_STATIC_ABILITIES catches setters
+        // that change what static abilities see without marking it.
+        final boolean unchanged = preList.isEmpty() && staticAbilitiesVersion == game.getStateVersion();
+        if (unchanged && !VERIFY_STATIC_ABILITIES) {
+            return;
+        }
+        final List<Object> fingerprint = unchanged ? getContinuousEffectsFingerprint() : null;
+        final long startVersion = game.getStateVersion();
         game.getTracker().freeze(); //prevent views flickering during while updating for state-based effects
 
         // remove old effects
@@ -1220,10 +1268,22 @@ public class GameAction {
 
         // TODO filter out old copies from zone change
 
-        if (runEvents && !affectedCards.isEmpty()) {
-            game.fireEvent(new GameEventCardStatsChanged(affectedCards));
+        // Only trust the result if applying the effects didn't change anything else,
+        // static commands are rechecked every time as they can depend on any value
+        final boolean settled = preList.isEmpty() && staticList.isEmpty() && game.getStateVersion() == startVersion;
+        if (!affectedCards.isEmpty()) {
+            if (runEvents) {
+                game.fireEvent(new GameEventCardStatsChanged(affectedCards));
+            } else {
+                game.updateStateVersion();
+            }
         }
+        staticAbilitiesVersion = settled ? game.getStateVersion() : -1;
         game.getTracker().unfreeze();
+
+        if (fingerprint != null && !fingerprint.equals(getContinuousEffectsFingerprint())) {
+            throw new IllegalStateException("Continuous effects changed without a game event");
+        }
     }
 
     public final boolean checkStateEffects(final boolean runEvents) {
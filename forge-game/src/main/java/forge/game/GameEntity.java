@@ -158,6 +158,7 @@ public abstract class GameEntity extends GameObject implements IIdentifiable {
     }
 
     public final void setAttachedCards(final Iterable<Card> cards) {
+        recordAttachedCards();
         attachedCards = new CardCollection(cards);
         updateAttachedCards();
     }
@@ -166,6 +167,7 @@ public abstract class GameEntity extends GameObject implements IIdentifiable {
         if (attachedCards.isEmpty()) {
             return;
         }
+        recordAttachedCards();
         attachedCards.clear();
         updateAttachedCards();
     }
@@ -196,6 +198,9 @@ public abstract class GameEntity extends GameObject implements IIdentifiable {
     }
 
     public final void addAttachedCard(final Card c) {
+        if (isJournaling() && !attachedCards.contains(c)) {
+            recordAttachedCards();
+        }
         if (attachedCards.add(c)) {
             updateAttachedCards();
             getGame().fireEvent(new GameEventCardAttachment(c, null, this));
@@ -203,12 +208,25 @@ public abstract class GameEntity extends GameObject implements IIdentifiable {
     }
 
     public final void removeAttachedCard(final Card c) {
+        if (isJournaling() && attachedCards.contains(c)) {
+            recordAttachedCards();
+        }
         if (attachedCards.remove(c)) {
             updateAttachedCards();
             getGame().fireEvent(new GameEventCardAttachment(c, this, null));
         }
     }
 
+    private void recordAttachedCards() {
+        if (isJournaling()) {
+            final CardCollection before = new CardCollection(attachedCards);
+            getGame().getJournal().record(() -> {
+                attachedCards = before;
+                updateAttachedCards();
+            });
+        }
+    }
+
     public final void updateAttachedCards() {
         getView().updateAttachedCards(this);
     }
@@ -297,6 +315,11 @@ public abstract class GameEntity extends GameObject implements IIdentifiable {
     }
 
     public void setCounters(final CounterType counterType, final Integer num) {
+        updateStateVersion();
+        if (isJournaling()) {
+            final int before = getCounters(counterType);
+            getGame().getJournal().record(() -> setCounters(counterType, before));
+        }
         if (num <= 0) {
             counters.remove(counterType);
         } else {
@@ -309,6 +332,29 @@ public abstract class GameEntity extends GameObject implements IIdentifiable {
 
     abstract public void setCounters(final Map<CounterType, Integer> allCounters);
 
+    protected final boolean isJournaling() {
+        final Game game = getGame();
+        return game != null && game.getJournal().isRecording();
+    }
+
+    // The state version only moves on game events and where this is called. Setters of anything that abilities can
+    // read (counters, chosen and named values, SVars) and that don't fire an event must call this, otherwise
+    // GameAction#checkStaticAbilities keeps continuous effects that no longer apply.
+    protected final void updateStateVersion() {
+        final Game game = getGame();
+        if (game != null) {
+            game.updateStateVersion();
+        }
+    }
+
+    protected final void recordCounters() {
+        updateStateVersion();
+        if (isJournaling()) {
+            final Map<CounterType, Integer> before = Maps.newHashMap(counters);
+            getGame().getJournal().record(() -> setCounters(before));
+        }
+    }
+
     abstract public boolean canRemoveCounters(final CounterType type);
 
     abstract public boolean canReceiveCounters(final CounterType type);
@@ -0,0 +1,75 @@
+package forge.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Undo log of game state changes.
+ * <p>
+ * While a checkpoint is open, the mutation points that support it record an inverse operation here: zone contents,
+ * card zone, state, face down, sickness, timestamps, control, attachments, relations to other cards and remembered
+ * objects, tapped state, damage and counters, player life and mana pools. Turn, phase, combat, stack and the turn
+ * counters of game and players are captured as a whole by {@link Game#stashGameState()} instead. Rewinding to a
+ * checkpoint replays those in reverse order, which is much cheaper than taking a full {@link GameSnapshot} before
+ * every priority pass. Nothing is recorded while no checkpoint is open.
+ */
+public class GameJournal {
+    private final List<Runnable> entries = new ArrayList<>();
+    private int checkpoints = 0;
+    private boolean rewinding = false;
+
+    public boolean isRecording() {
+        return checkpoints > 0 && !rewinding;
+    }
+
+    public void record(final Runnable undo) {
+        if (isRecording()) {
+            entries.add(undo);
+        }
+    }
+
+    /**
+     * Opens a checkpoint.
+     * @return the mark to pass to {@link #rewind(int)}
+     */
+    public int checkpoint() {
+        checkpoints++;
+        return entries.size();
+    }
+
+    /**
+     * Undoes every change recorded since the given mark and closes its checkpoint.
+     */
+    public void rewind(final int mark) {
+        rewinding = true;
+        try {
+            for (int i = entries.size() - 1; i >= mark; i--) {
+                entries.remove(i).run();
+            }
+        } finally {
+            rewinding = false;
+        }
+        release();
+    }
+
+    /**
+     * Closes the innermost checkpoint and keeps its changes.
+     */
+    public void release() {
+        if (checkpoints > 0) {
+            checkpoints--;
+        }
+        if (checkpoints == 0) {
+            entries.clear();
+        }
+    }
+
+    public void reset() {
+        entries.clear();
+        checkpoints = 0;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -59,6 +59,7 @@ public class GameSnapshot {
         System.out.println("Restoring game state with timestamp of :" + newGame.getTimestamp());
         restore = true;
         assignGameState(newGame, currentGame, true);
+        currentGame.getAction().invalidateStaticAbilities();
     }
 
     public void assignGameState(Game fromGame, Game toGame, boolean includeStack) {
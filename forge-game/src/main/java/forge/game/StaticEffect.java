@@ -56,16 +56,6 @@ public class StaticEffect {
         this.ability = ability;
     }
 
-    private StaticEffect makeMappedCopy(IEntityMap map) {
-        StaticEffect copy = new StaticEffect(map.map(this.source));
-        copy.ability = this.ability;
-        copy.affectedCards = map.mapCollection(this.affectedCards);
-        copy.affectedPlayers  = map.mapList(this.affectedPlayers);
-        copy.timestamp = this.timestamp;
-        copy.mapParams = this.mapParams;
-        return copy;
-    }
-
     /**
      * setTimestamp TODO Write javadoc for this method.
      *
@@ -85,6 +75,10 @@ public class StaticEffect {
         return this.timestamp;
     }
 
+    public final StaticAbility getStaticAbility() {
+        return this.ability;
+    }
+
     /**
      * <p>
      * Getter for the field <code>source</code>.
@@ -184,24 +178,7 @@ public class StaticEffect {
             getSource().removeChangedCardTraits(getTimestamp(), ability.getId());
         }
 
-        // modify players
-        for (final Player p : affectedPlayers) {
-            p.setUnlimitedHandSize(false);
-            p.setMaxHandSize(p.getStartingHandSize());
-            p.removeChangedKeywords(getTimestamp(), ability.getId());
-
-            p.removeMaxLandPlays(getTimestamp());
-            p.removeMaxLandPlaysInfinite(getTimestamp());
-
-            p.removeControlledWhileSearching(getTimestamp());
-            p.removeControlVote(getTimestamp());
-            p.removeAdditionalVote(getTimestamp());
-            p.removeAdditionalOptionalVote(getTimestamp());
-            p.removeAdditionalVillainousChoices(getTimestamp());
-
-            p.removeDeclaresAttackers(getTimestamp());
-            p.removeDeclaresBlockers(getTimestamp());
-        }
+        removeFromPlayers(affectedPlayers);
 
         // modify the affected card
         for (final Card affectedCard : affectedCards) {
@@ -299,8 +276,32 @@ public class StaticEffect {
         return affectedCards;
     }
 
+    private void removeFromPlayers(final List<Player> affectedPlayers) {
+        for (final Player p : affectedPlayers) {
+            p.setUnlimitedHandSize(false);
+            p.setMaxHandSize(p.getStartingHandSize());
+            p.removeChangedKeywords(getTimestamp(), ability.getId());
+
+            p.removeMaxLandPlays(getTimestamp());
+            p.removeMaxLandPlaysInfinite(getTimestamp());
+
+            p.removeControlledWhileSearching(getTimestamp());
+            p.removeControlVote(getTimestamp());
+            p.removeAdditionalVote(getTimestamp());
+            p.removeAdditionalOptionalVote(getTimestamp());
+            p.removeAdditionalVillainousChoices(getTimestamp());
+
+            p.removeDeclaresAttackers(getTimestamp());
+            p.removeDeclaresBlockers(getTimestamp());
+        }
+    }
+
+    /**
+     * Undo this effect on the mapped copies of the affected players, e.g. in a copied game.
+     * The copied cards don't need it, as the copy leaves out what static effects changed on cards.
+     */
     public void removeMapped(IEntityMap map) {
-        makeMappedCopy(map).remove();
+        removeFromPlayers(map.mapList(this.affectedPlayers));
     }
 
 }
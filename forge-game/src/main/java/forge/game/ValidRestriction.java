@@ -0,0 +1,122 @@
+package forge.game;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import forge.game.card.Card;
+import forge.game.card.CardProperty;
+import forge.game.player.Player;
+
+/**
+ * A restriction like {@code Creature.YouCtrl+powerGE3+nonToken}, parsed once and cached by its string.
+ * <p>
+ * The part before the dot is the type and may be negated with {@code !}, the part after it is a list of
+ * properties that all have to hold. For cards the properties are also compiled with {@link CardProperty#compile},
+ * so checking them doesn't allocate or go through the string comparisons of {@link CardProperty} again.
+ */
+public final class ValidRestriction {
+    /** Set to false to check restrictions by parsing their strings on every call again. */
+    public static boolean COMPILED = true;
+
+    // The scripts of the cards in a game use a few hundred to a couple of thousand restrictions. Some are built at
+    // runtime with amounts or names in them, which mostly differ from game to game, so when the bound is reached the
+    // cache starts over and only compiles the restrictions still in use again.
+    private static final int MAX_CACHED = 4096;
+    private static final Map<String, ValidRestriction> CACHE = new ConcurrentHashMap<>();
+
+    private enum CardTypeKind { SPELL, PERMANENT, EFFECT, EMBLEM, BOON, CARD, ANY, TYPE }
+
+    private final boolean negated;
+    private final String type;
+    private final String[] properties;
+
+    private final CardTypeKind cardTypeKind;
+    private final CardProperty.Compiled[] cardProperties;
+
+    private ValidRestriction(final String restriction) {
+        final String[] incR = restriction.split("\\.", 2);
+        negated = incR[0].startsWith("!");
+        type = negated ? incR[0].substring(1) : incR[0];
+        properties = incR.length > 1 ? incR[1].split("\\+") : new String[0];
+
+        switch (type) {
+            case "Spell": cardTypeKind = CardTypeKind.SPELL; break;
+            case "Permanent": cardTypeKind = CardTypeKind.PERMANENT; break;
+            case "Effect": cardTypeKind = CardTypeKind.EFFECT; break;
+            case "Emblem": cardTypeKind = CardTypeKind.EMBLEM; break;
+            case "Boon": cardTypeKind = CardTypeKind.BOON; break;
+            case "card":
+            case "Card": cardTypeKind = CardTypeKind.CARD; break;
+            case "Any": cardTypeKind = CardTypeKind.ANY; break;
+            default: cardTypeKind = CardTypeKind.TYPE; break;
+        }
+        cardProperties = new CardProperty.Compiled[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            cardProperties[i] = CardProperty.compile(properties[i]);
+        }
+    }
+
+    public static ValidRestriction of(final String restriction) {
+        ValidRestriction result = CACHE.get(restriction);
+        if (result == null) {
+            if (CACHE.size() >= MAX_CACHED) {
+                CACHE.clear();
+            }
+            result = new ValidRestriction(restriction);
+            CACHE.put(restriction, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return whether the type was prefixed with {@code !}, inverting the whole restriction
+     */
+    public boolean isNegated() {
+        return negated;
+    }
+
+    /**
+     * @return the type, without the negation sign
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return the properties after the dot
+     */
+    public String[] getProperties() {
+        return properties;
+    }
+
+    /**
+     * Same as {@link Card#isValid(String, Player, Card, CardTraitBase)} with this restriction.
+     */
+    public boolean isValid(final Card card, final Player sourceController, final Card source, final CardTraitBase spellAbility) {
+        final boolean typeMatches;
+        switch (cardTypeKind) {
+            case SPELL: typeMatches = card.isSpell(); break;
+            case PERMANENT: typeMatches = card.isPermanent(); break;
+            case EFFECT: typeMatches = card.isImmutable(); break;
+            case EMBLEM: typeMatches = card.isEmblem(); break;
+            case BOON: typeMatches = card.isBoon(); break;
+            case CARD: typeMatches = !card.isImmutable(); break;
+            case ANY:
+                if (!(card.isCreature() || card.isPlaneswalker() || card.isBattle())) {
+                    return false;
+                }
+                typeMatches = true;
+                break;
+            default: typeMatches = card.getType().hasStringType(type); break;
+        }
+        if (!typeMatches) {
+            return negated;
+        }
+        for (final CardProperty.Compiled property : cardProperties) {
+            if (!property.test(card, sourceController, source, spellAbility)) {
+                return negated;
+            }
+        }
+        return !negated;
+    }
+}
@@ -413,14 +413,13 @@ public class AbilityUtils {
         final Game game = card.getGame();
 
         // Strip and save sign for calculations
-        final boolean startsWithPlus = amount.charAt(0) == '+';
-        final boolean startsWithMinus = amount.charAt(0) == '-';
-        if (startsWithPlus || startsWithMinus) { amount = amount.substring(1); }
-        int multiplier = startsWithMinus ? -1 : 1;
+        final ExpressionCache.Amount parsedAmount = ExpressionCache.amount(amount);
+        amount = parsedAmount.name;
+        int multiplier = parsedAmount.multiplier;
 
         // return result soon for plain numbers
-        if (StringUtils.isNumeric(amount)) {
-            int val = Integer.parseInt(amount);
+        if (parsedAmount.numeric) {
+            int val = parsedAmount.getValue();
             if (maxto) {
                 val = Math.max(val, 0);
             }
@@ -453,8 +452,9 @@ public class AbilityUtils {
         }
 
         // Handle numeric constant coming in svar value
-        if (StringUtils.isNumeric(svarval)) {
-            int val = Integer.parseInt(svarval);
+        final ExpressionCache.SVarValue parsedSVar = ExpressionCache.svarValue(svarval);
+        if (parsedSVar.numeric) {
+            int val = parsedSVar.getValue(svarval);
             if (maxto) {
                 val = Math.max(val, 0);
             }
@@ -462,17 +462,17 @@ public class AbilityUtils {
         }
 
         // Parse Object$Property string
-        final String[] calcX = svarval.split("\\$", 2);
-
         // Incorrect parses mean zero.
-        if (calcX.length == 1 || calcX[1].equals("none")) {
+        if (parsedSVar.body == null) {
             return 0;
         }
 
         // modify amount string for text changes
-        calcX[1] = applyAbilityTextChangeEffects(calcX[1], ability);
+        final String[] calcX = {parsedSVar.kind, applyAbilityTextChangeEffects(parsedSVar.body, ability)};
 
-        ability = adjustTriggerContext(calcX, ability);
+        if (parsedSVar.contextPrefix) {
+            ability = adjustTriggerContext(calcX, ability);
+        }
 
         Integer val = null;
         if (calcX[0].startsWith("Count")) {
@@ -480,9 +480,8 @@ public class AbilityUtils {
         } else if (calcX[0].startsWith("Number")) {
             val = xCount(card, svarval, ability);
         } else if (calcX[0].startsWith("SVar")) {
-            final String[] l = calcX[1].split("/");
-            final String m = CardFactoryUtil.extractOperators(calcX[1]);
-            val = doXMath(calculateAmount(card, l[0], ability), m, card, ability);
+            final ExpressionCache.Count parsed = ExpressionCache.count(calcX[1]);
+            val = doXMath(calculateAmount(card, parsed.first, ability), parsed.operators, card, ability);
         } else if (calcX[0].startsWith("PlayerCount")) {
             final String hType = calcX[0].substring(11);
             final FCollection<Player> players = new FCollection<>();
@@ -667,9 +666,9 @@ public class AbilityUtils {
                 // TriggerCount is similar to a regular Count, but just
                 // pulls Integer Values from Trigger objects
                 final SpellAbility root = sa.getRootAbility();
-                final String[] l = calcX[1].split("/");
-                final String m = CardFactoryUtil.extractOperators(calcX[1]);
-                final Object to = root.getTriggeringObject(AbilityKey.fromString(l[0]));
+                final ExpressionCache.Count parsed = ExpressionCache.count(calcX[1]);
+                final String m = parsed.operators;
+                final Object to = root.getTriggeringObject(AbilityKey.fromString(parsed.first));
                 Integer count = null;
                 if (to instanceof Iterable<?>) {
                     @SuppressWarnings("unchecked")
@@ -689,9 +688,9 @@ public class AbilityUtils {
                 // ReplaceCount is similar to a regular Count, but just
                 // pulls Integer Values from Replacement objects
                 final SpellAbility root = sa.getRootAbility();
-                final String[] l = calcX[1].split("/");
-                final String m = CardFactoryUtil.extractOperators(calcX[1]);
-                final Integer count = (Integer) root.getReplacingObject(AbilityKey.fromString(l[0]));
+                final ExpressionCache.Count parsed = ExpressionCache.count(calcX[1]);
+                final String m = parsed.operators;
+                final Integer count = (Integer) root.getReplacingObject(AbilityKey.fromString(parsed.first));
 
                 val = doXMath(ObjectUtils.firstNonNull(count, 0), m, card, ability);
             } else { // these ones only for handling lists
@@ -1587,9 +1586,9 @@ public class AbilityUtils {
      * @return a int.
      */
     public static int xCount(Card c, final String s, final CardTraitBase ctb) {
-        final String s2 = applyAbilityTextChangeEffects(s, ctb);
-        final String[] l = s2.split("/");
-        final String expr = CardFactoryUtil.extractOperators(s2);
+        final ExpressionCache.Count parsed = ExpressionCache.count(applyAbilityTextChangeEffects(s, ctb));
+        final String l0 = parsed.head;
+        final String expr = parsed.operators;
 
         Player player = null;
         if (ctb != null) {
@@ -1602,23 +1601,17 @@ public class AbilityUtils {
         }
 
         // accept straight numbers
-        if (l[0].startsWith("Number$")) {
-            final String number = l[0].substring(7);
-            return doXMath(Integer.parseInt(number), expr, c, ctb);
-        }
-
-        if (l[0].startsWith("Count$")) {
-            l[0] = l[0].substring(6);
+        if (parsed.number != null) {
+            return doXMath(parsed.getNumber(), expr, c, ctb);
         }
 
-        if (l[0].startsWith("SVar$")) {
-            String n = l[0].substring(5);
+        if (parsed.svar != null) {
+            String n = parsed.svar;
             String v = ctb == null ? c.getSVar(n) : ctb.getSVar(n);
             return doXMath(xCount(c, v, ctb), expr, c, ctb);
         }
 
-        final String[] sq;
-        sq = l[0].split("\\.");
+        final String[] sq = parsed.sq;
 
         final Game game = c.getGame();
 
@@ -1799,7 +1792,7 @@ public class AbilityUtils {
                 }
 
                 if (sq[0].startsWith("LastStateBattlefield")) {
-                    final String[] k = l[0].split(" ");
+                    final String[] k = parsed.words;
                     CardCollectionView list;
                     // this is only for spells that were cast
                     if (sq[0].contains("WithFallback")) {
@@ -1823,7 +1816,7 @@ public class AbilityUtils {
                 }
 
                 if (sq[0].startsWith("LastStateGraveyard")) {
-                    final String[] k = l[0].split(" ");
+                    final String[] k = parsed.words;
                     CardCollectionView list;
                     // this is only for spells that were cast
                     if (sq[0].contains("WithFallback")) {
@@ -1868,14 +1861,14 @@ public class AbilityUtils {
             } else {
                 // fallback if ctb isn't a spellability
                 if (sq[0].startsWith("LastStateBattlefield")) {
-                    final String[] k = l[0].split(" ");
+                    final String[] k = parsed.words;
                     CardCollectionView list = game.getLastStateBattlefield();
                     list = CardLists.getValidCards(list, k[1], player, c, ctb);
                     return doXMath(list.size(), expr, c, ctb);
                 }
 
                 if (sq[0].startsWith("LastStateGraveyard")) {
-                    final String[] k = l[0].split(" ");
+                    final String[] k = parsed.words;
                     CardCollectionView list = game.getLastStateGraveyard();
                     list = CardLists.getValidCards(list, k[1], player, c, ctb);
                     return doXMath(list.size(), expr, c, ctb);
@@ -1946,7 +1939,7 @@ public class AbilityUtils {
             return doXMath(sum, expr, c, ctb);
         }
 
-        String[] paidparts = l[0].split("\\$", 2);
+        String[] paidparts = l0.split("\\$", 2);
         Iterable<Card> someCards = null;
 
         // count valid cards in any specified zone/s
@@ -2117,7 +2110,7 @@ public class AbilityUtils {
         }
 
         if (sq[0].contains("TotalValue")) {
-            return doXMath(c.getKeywordMagnitude(Keyword.smartValueOf(l[0].split(" ")[1])), expr, c, ctb);
+            return doXMath(c.getKeywordMagnitude(Keyword.smartValueOf(parsed.words[1])), expr, c, ctb);
         }
         if (sq[0].contains("TimesKicked")) {
             return doXMath(isUnlinkedFromCastSA(ctb, c) ? 0 : c.getKickerMagnitude(), expr, c, ctb);
@@ -2215,7 +2208,7 @@ public class AbilityUtils {
 
         // Count$AttachedTo <restriction>
         if (sq[0].startsWith("AttachedTo")) {
-            final String[] k = l[0].split(" ");
+            final String[] k = parsed.words;
             int sum = CardLists.getValidCardCount(c.getAttachedCards(), k[1], player, c, ctb);
             return doXMath(sum, expr, c, ctb);
         }
@@ -2337,7 +2330,7 @@ public class AbilityUtils {
             return doXMath(player.getCommanderCast(c), expr, c, ctb);
         }
 
-        if (l[0].startsWith("TotalCommanderCastFromCommandZone")) {
+        if (l0.startsWith("TotalCommanderCastFromCommandZone")) {
             return doXMath(player.getTotalCommanderCast(), expr, c, ctb);
         }
 
@@ -2385,7 +2378,7 @@ public class AbilityUtils {
         }
 
         if (sq[0].contains("TotalDamageThisTurn")) {
-            String[] props = l[0].split(" ");
+            String[] props = parsed.words;
             int sum = 0;
             for (Pair<Integer, Boolean> p : c.getDamageReceivedThisTurn()) {
                 if (game.getDamageLKI(p).getLeft().isValid(props[1], player, c, ctb)) {
@@ -2396,7 +2389,7 @@ public class AbilityUtils {
         }
 
         if (sq[0].contains("DamageThisTurn")) {
-            String[] props = l[0].split(" ");
+            String[] props = parsed.words;
             Boolean isCombat = null;
             if (sq[0].contains("CombatDamage")) {
                 isCombat = !sq[0].contains("Non");
@@ -2456,7 +2449,7 @@ public class AbilityUtils {
         if (sq[0].startsWith("TypesSharedWith")) {
             Set<CardType.CoreType> thisTypes = Sets.newHashSet(c.getType().getCoreTypes());
             Set<CardType.CoreType> matches = new HashSet<>();
-            for (Card c1 : AbilityUtils.getDefinedCards(ctb.getHostCard(), l[0].split(" ", 2)[1], ctb)) {
+            for (Card c1 : AbilityUtils.getDefinedCards(ctb.getHostCard(), parsed.words2[1], ctb)) {
                 for (CardType.CoreType type : Sets.newHashSet(c1.getType().getCoreTypes())) {
                     if (thisTypes.contains(type)) {
                         matches.add(type);
@@ -2494,28 +2487,28 @@ public class AbilityUtils {
 
         // Count$CardAttackedThisTurn <Valid>
         if (sq[0].startsWith("CreaturesAttackedThisTurn")) {
-            final String[] workingCopy = l[0].split(" ", 2);
+            final String[] workingCopy = parsed.words2;
             final String validFilter = workingCopy[1];
             return doXMath(CardLists.getValidCardCount(player.getCreaturesAttackedThisTurn(), validFilter, player, c, ctb), expr, c, ctb);
         }
 
         // Count$LeftBattlefieldThisTurn <Valid>
         if (sq[0].startsWith("LeftBattlefieldThisTurn")) {
-            final String[] workingCopy = l[0].split(" ", 2);
+            final String[] workingCopy = parsed.words2;
             final String validFilter = workingCopy[1];
             return doXMath(CardLists.getValidCardCount(game.getLeftBattlefieldThisTurn(), validFilter, player, c, ctb), expr, c, ctb);
         }
 
         // Count$LeftBattlefieldThisTurn <Valid>
         if (sq[0].startsWith("LeftGraveyardThisTurn")) {
-            final String[] workingCopy = l[0].split(" ", 2);
+            final String[] workingCopy = parsed.words2;
             final String validFilter = workingCopy[1];
             return doXMath(CardLists.getValidCardCount(game.getLeftGraveyardThisTurn(), validFilter, player, c, ctb), expr, c, ctb);
         }
 
         // Count$UnlockedDoors <Valid>
         if (sq[0].startsWith("UnlockedDoors")) {
-            final String[] workingCopy = l[0].split(" ", 2);
+            final String[] workingCopy = parsed.words2;
             final String validFilter = workingCopy[1];
 
             int unlocked = 0;
@@ -2529,7 +2522,7 @@ public class AbilityUtils {
         // Count$DistinctUnlockedDoors <Valid>
         // Counts the distinct names of unlocked doors. Used for the "Promising Stairs"
         if (sq[0].startsWith("DistinctUnlockedDoors")) {
-            final String[] workingCopy = l[0].split(" ", 2);
+            final String[] workingCopy = parsed.words2;
             final String validFilter = workingCopy[1];
 
             Set<String> viewedNames = new HashSet<>();
@@ -2545,7 +2538,7 @@ public class AbilityUtils {
 
         // Manapool
         if (sq[0].startsWith("ManaPool")) {
-            final String color = l[0].split(":")[1];
+            final String color = l0.split(":")[1];
             int v = 0;
             if (color.equals("All")) {
                 v = player.getManaPool().totalMana();
@@ -2682,7 +2675,7 @@ public class AbilityUtils {
         }
 
         if (sq[0].startsWith("CreatureType")) {
-            String[] sqparts = l[0].split(" ", 2);
+            String[] sqparts = parsed.words2;
             final String[] rest = sqparts[1].split(",");
 
             final CardCollectionView cardsInZones = sqparts[0].length() > 12
@@ -2726,8 +2719,8 @@ public class AbilityUtils {
             return doXMath(colorOcurrencices, expr, c, ctb);
         }
 
-        if (l[0].contains("ExactManaCost")) {
-            String[] sqparts = l[0].split(" ", 2);
+        if (l0.contains("ExactManaCost")) {
+            String[] sqparts = parsed.words2;
             final String[] rest = sqparts[1].split(",");
 
             final CardCollectionView cardsInZones = sqparts[0].length() > 13
@@ -2841,20 +2834,20 @@ public class AbilityUtils {
         }
 
         if (sq[0].startsWith("CountersAddedThisTurn")) {
-            final String[] parts = l[0].split(" ");
+            final String[] parts = parsed.words;
             CounterType cType = CounterType.getType(parts[1]);
 
             return doXMath(game.getCounterAddedThisTurn(cType, parts[2], parts[3], c, player, ctb), expr, c, ctb);
         }
         if (sq[0].startsWith("CountersRemovedThisTurn")) {
-            final String[] parts = l[0].split(" ");
+            final String[] parts = parsed.words;
             CounterType cType = CounterType.getType(parts[1]);
 
             return doXMath(game.getCounterRemovedThisTurn(cType, parts[2], c, player, ctb), expr, c, ctb);
         }
 
         if (sq[0].startsWith("MostCardName")) {
-            String[] lparts = l[0].split(" ", 2);
+            String[] lparts = parsed.words2;
             final String[] rest = lparts[1].split(",");
 
             final CardCollectionView cardsInZones = lparts[0].length() > 12
@@ -2880,7 +2873,7 @@ public class AbilityUtils {
 
         if (sq[0].startsWith("DifferentCardNames_")) {
             final List<String> crdname = Lists.newArrayList();
-            final String restriction = l[0].substring(19);
+            final String restriction = l0.substring(19);
             CardCollection list = CardLists.getValidCards(game.getCardsInGame(), restriction, player, c, ctb);
             // TODO rewrite with sharesName to respect Spy Kit
             for (final Card card : list) {
@@ -2894,45 +2887,45 @@ public class AbilityUtils {
         }
 
         if (sq[0].startsWith("MostProminentCreatureType")) {
-            String restriction = l[0].split(" ")[1];
+            String restriction = parsed.words[1];
             CardCollection list = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), restriction, player, c, ctb);
             return doXMath(CardFactoryUtil.getMostProminentCreatureTypeSize(list), expr, c, ctb);
         }
 
         if (sq[0].startsWith("SecondMostProminentColor")) {
-            String restriction = l[0].split(" ")[1];
+            String restriction = parsed.words[1];
             CardCollection list = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), restriction, player, c, ctb);
             int[] colorSize = CardFactoryUtil.SortColorsFromList(list);
             return doXMath(colorSize[colorSize.length - 2], expr, c, ctb);
         }
 
         if (sq[0].startsWith("ColorsCtrl")) {
-            final String restriction = l[0].substring(11);
+            final String restriction = l0.substring(11);
             final CardCollection list = CardLists.getValidCards(player.getCardsIn(ZoneType.Battlefield), restriction, player, c, ctb);
             return doXMath(CardUtil.getColorsFromCards(list).countColors(), expr, c, ctb);
         }
 
         if (sq[0].startsWith("ColorsDefined")) {
-            final String restriction = l[0].substring(14);
+            final String restriction = l0.substring(14);
             final CardCollection list = getDefinedCards(c, restriction, ctb);
             return doXMath(CardUtil.getColorsFromCards(list).countColors(), expr, c, ctb);
         }
 
         // TODO move below to handlePaid
         if (sq[0].startsWith("SumPower")) {
-            final String[] restrictions = l[0].split("_");
+            final String[] restrictions = l0.split("_");
             CardCollection filteredCards = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), restrictions[1], player, c, ctb);
             return doXMath(Aggregates.sum(filteredCards, Card::getNetPower), expr, c, ctb);
         }
         if (sq[0].startsWith("DifferentPower_")) {
-            final String restriction = l[0].substring(15);
+            final String restriction = l0.substring(15);
             CardCollection list = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), restriction, player, c, ctb);
             final Iterable<Card> powers = Aggregates.uniqueByLast(list, Card::getNetPower);
             return doXMath(Iterables.size(powers), expr, c, ctb);
         }
         if (sq[0].startsWith("DifferentCounterKinds_")) {
             final Set<CounterType> kinds = Sets.newHashSet();
-            final String rest = l[0].substring(22);
+            final String rest = l0.substring(22);
             CardCollection list = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), rest, player, c, ctb);
             for (final Card card : list) {
                 kinds.addAll(card.getCounters().keySet());
@@ -3247,64 +3240,57 @@ public class AbilityUtils {
             return num;
         }
 
-        final String[] s = operators.split("\\.");
-        int secondaryNum = 0;
-
-        try {
-            if (s.length == 2) {
-                secondaryNum = Integer.parseInt(s[1]);
-            }
-        } catch (final Exception e) {
-            secondaryNum = calculateAmount(c, s[1], ctb);
-        }
+        final ExpressionCache.XMath math = ExpressionCache.xMath(operators);
+        final int secondaryNum = math.secondaryAmount == null ? math.secondary : calculateAmount(c, math.secondaryAmount, ctb);
 
-        if (s[0].contains("Plus")) {
+        switch (math.operator) {
+        case PLUS:
             return num + secondaryNum;
-        } else if (s[0].contains("NMinus")) {
+        case N_MINUS:
             return secondaryNum - num;
-        } else if (s[0].contains("Minus")) {
+        case MINUS:
             return num - secondaryNum;
-        } else if (s[0].contains("Twice")) {
+        case TWICE:
             return num * 2;
-        } else if (s[0].contains("Thrice")) {
+        case THRICE:
             return num * 3;
-        } else if (s[0].contains("HalfUp")) {
+        case HALF_UP:
             return (int) (Math.ceil(num / 2.0));
-        } else if (s[0].contains("HalfDown")) {
+        case HALF_DOWN:
             return (int) (Math.floor(num / 2.0));
-        } else if (s[0].contains("ThirdUp")) {
+        case THIRD_UP:
             return (int) (Math.ceil(num / 3.0));
-        } else if (s[0].contains("ThirdDown")) {
+        case THIRD_DOWN:
             return (int) (Math.floor(num / 3.0));
-        } else if (s[0].contains("Negative")) {
+        case NEGATIVE:
             return num * -1;
-        } else if (s[0].contains("Times")) {
+        case TIMES:
             return num * secondaryNum;
-        } else if (s[0].contains("DivideEvenlyUp")) {
+        case DIVIDE_EVENLY_UP:
             if (secondaryNum == 0) {
                 return 0;
             }
             return num / secondaryNum + (num % secondaryNum == 0 ? 0 : 1);
-        } else if (s[0].contains("DivideEvenlyDown")) {
+        case DIVIDE_EVENLY_DOWN:
             if (secondaryNum == 0) {
                 return 0;
             }
             return num / secondaryNum;
-        } else if (s[0].contains("Mod")) {
+        case MOD:
             return num % secondaryNum;
-        } else if (s[0].contains("Abs")) {
+        case ABS:
             return Math.abs(num);
-        } else if (s[0].contains("LimitMax")) {
+        case LIMIT_MAX:
             if (num < secondaryNum) {
                 return num;
             }
             return secondaryNum;
-        } else if (s[0].contains("LimitMin")) {
+        case LIMIT_MIN:
             if (num > secondaryNum) {
                 return num;
             }
             return secondaryNum;
-        } else {
+        default:
             return num;
         }
     }
@@ -3917,10 +3903,8 @@ public class AbilityUtils {
         // "Named <CARDNAME> in all graveyards" - Count$NamedAllYards.<CARDNAME>
 
         if (sq[0].contains("Named")) {
-            if (sq[1].equals("CARDNAME")) {
-                sq[1] = c.getName();
-            }
-            someCards = CardLists.filter(someCards, CardPredicates.nameEquals(sq[1]));
+            final String name = sq[1].equals("CARDNAME") ? c.getName() : sq[1];
+            someCards = CardLists.filter(someCards, CardPredicates.nameEquals(name));
         }
 
         // Refined qualities
@@ -0,0 +1,202 @@
+package forge.game.ability;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Parsed forms of the strings evaluated by {@link AbilityUtils#calculateAmount}, {@link AbilityUtils#xCount}
+ * and {@link AbilityUtils#doXMath}, cached by their text.
+ * <p>
+ * Card scripts only use a limited set of these strings, so they are split and checked for numbers once instead
+ * of on every evaluation. A text changing effect produces a different string, which simply gets parsed and cached
+ * on its own, so nothing has to be invalidated. The parsed arrays are shared and must not be modified.
+ */
+final class ExpressionCache {
+    // Amounts are a number or an SVar name, and operators a keyword with one of those, so only a few hundred
+    // different ones exist.
+    private static final int MAX_AMOUNTS = 1024;
+    private static final int MAX_OPERATORS = 1024;
+    // SVar values and count expressions come from the scripts of the cards in a game, a few thousand at most.
+    // Text changing effects and many games in one session add more, then the cache starts over with what's in use.
+    private static final int MAX_EXPRESSIONS = 8192;
+
+    private static final Map<String, Amount> AMOUNTS = new ConcurrentHashMap<>();
+    private static final Map<String, SVarValue> SVAR_VALUES = new ConcurrentHashMap<>();
+    private static final Map<String, Count> COUNTS = new ConcurrentHashMap<>();
+    private static final Map<String, XMath> X_MATH = new ConcurrentHashMap<>();
+
+    private ExpressionCache() {
+    }
+
+    private static <T> T get(final Map<String, T> cache, final int maxSize, final String key, final Function<String, T> parser) {
+        T result = cache.get(key);
+        if (result == null) {
+            if (cache.size() >= maxSize) {
+                cache.clear();
+            }
+            result = parser.apply(key);
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    private static Integer parseIntOrNull(final String s) {
+        try {
+            return Integer.parseInt(s);
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * An amount like {@code 3}, {@code -X} or {@code Count$CardPower}, with its sign split off.
+     */
+    static final class Amount {
+        final int multiplier;
+        final String name;
+        final boolean numeric;
+        /** null if {@link #numeric} but too large, parsing it again throws as before */
+        final Integer value;
+
+        private Amount(final String amount) {
+            final boolean startsWithPlus = amount.charAt(0) == '+';
+            final boolean startsWithMinus = amount.charAt(0) == '-';
+            name = startsWithPlus || startsWithMinus ? amount.substring(1) : amount;
+            multiplier = startsWithMinus ? -1 : 1;
+            numeric = StringUtils.isNumeric(name);
+            value = numeric ? parseIntOrNull(name) : null;
+        }
+
+        int getValue() {
+            return value != null ? value : Integer.parseInt(name);
+        }
+    }
+
+    static Amount amount(final String amount) {
+        return get(AMOUNTS, MAX_AMOUNTS, amount, Amount::new);
+    }
+
+    /**
+     * The value of an SVar, either a number or {@code Kind$Body}.
+     */
+    static final class SVarValue {
+        final boolean numeric;
+        final Integer value;
+        final String kind;
+        /** null if there's no body, which counts as zero */
+        final String body;
+        /** whether the kind starts with a prefix that changes the context, see AbilityUtils.adjustTriggerContext */
+        final boolean contextPrefix;
+
+        private SVarValue(final String svarval) {
+            numeric = StringUtils.isNumeric(svarval);
+            value = numeric ? parseIntOrNull(svarval) : null;
+            final String[] calcX = svarval.split("\\$", 2);
+            kind = calcX[0];
+            body = calcX.length == 1 || calcX[1].equals("none") ? null : calcX[1];
+            contextPrefix = kind.startsWith("Spawner>") || kind.startsWith("TriggeredSpellAbility>") || kind.startsWith("CastSA>");
+        }
+
+        int getValue(final String svarval) {
+            return value != null ? value : Integer.parseInt(svarval);
+        }
+    }
+
+    static SVarValue svarValue(final String svarval) {
+        return get(SVAR_VALUES, MAX_EXPRESSIONS, svarval, SVarValue::new);
+    }
+
+    /**
+     * A count expression like {@code Count$Valid Creature.YouCtrl/Plus.1}.
+     */
+    static final class Count {
+        /** the part before the operators */
+        final String first;
+        /** the operators for {@link AbilityUtils#doXMath}, or null */
+        final String operators;
+        /** {@link #first} without a leading {@code Count$} */
+        final String head;
+        /** {@link #head} split on dots */
+        final String[] sq;
+        /** {@link #head} split on spaces */
+        final String[] words;
+        /** {@link #head} split on the first space */
+        final String[] words2;
+        /** the text after {@code Number$}, or null */
+        final String number;
+        final Integer numberValue;
+        /** the name after {@code SVar$}, or null */
+        final String svar;
+
+        private Count(final String s) {
+            final String[] l = s.split("/");
+            first = l[0];
+            operators = l.length > 1 ? l[1] : null;
+            head = first.startsWith("Count$") ? first.substring(6) : first;
+            sq = head.split("\\.");
+            words = head.split(" ");
+            words2 = head.split(" ", 2);
+            number = first.startsWith("Number$") ? first.substring(7) : null;
+            numberValue = number == null ? null : parseIntOrNull(number);
+            svar = head.startsWith("SVar$") ? head.substring(5) : null;
+        }
+
+        int getNumber() {
+            return numberValue != null ? numberValue : Integer.parseInt(number);
+        }
+    }
+
+    static Count count(final String s) {
+        return get(COUNTS, MAX_EXPRESSIONS, s, Count::new);
+    }
+
+    enum XMathOperator {
+        PLUS("Plus"), N_MINUS("NMinus"), MINUS("Minus"), TWICE("Twice"), THRICE("Thrice"),
+        HALF_UP("HalfUp"), HALF_DOWN("HalfDown"), THIRD_UP("ThirdUp"), THIRD_DOWN("ThirdDown"),
+        NEGATIVE("Negative"), TIMES("Times"), DIVIDE_EVENLY_UP("DivideEvenlyUp"),
+        DIVIDE_EVENLY_DOWN("DivideEvenlyDown"), MOD("Mod"), ABS("Abs"), LIMIT_MAX("LimitMax"), LIMIT_MIN("LimitMin"),
+        NONE(null);
+
+        private final String keyword;
+
+        XMathOperator(final String keyword) {
+            this.keyword = keyword;
+        }
+
+        // the first one contained wins, in declaration order
+        static XMathOperator find(final String s) {
+            for (final XMathOperator op : values()) {
+                if (op.keyword == null || s.contains(op.keyword)) {
+                    return op;
+                }
+            }
+            return NONE;
+        }
+    }
+
+    /**
+     * Operators like {@code Plus.2} or {@code Times.X}.
+     */
+    static final class XMath {
+        final XMathOperator operator;
+        /** the second operand if it's a number, otherwise 0 */
+        final int secondary;
+        /** the second operand if it has to be calculated, otherwise null */
+        final String secondaryAmount;
+
+        private XMath(final String operators) {
+            final String[] s = operators.split("\\.");
+            operator = XMathOperator.find(s[0]);
+            Integer num = s.length == 2 ? parseIntOrNull(s[1]) : Integer.valueOf(0);
+            secondary = num == null ? 0 : num;
+            secondaryAmount = num == null ? s[1] : null;
+        }
+    }
+
+    static XMath xMath(final String operators) {
+        return get(X_MATH, MAX_OPERATORS, operators, XMath::new);
+    }
+}
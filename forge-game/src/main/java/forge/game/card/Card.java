@@ -333,6 +333,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     private CardRules cardRules;
     private final CardView view;
+    // set when view updates were skipped because the game is headless, see getUpdatedView()
+    private boolean viewOutdated = false;
+    private boolean updatingView = false;
 
     private SpellAbility[] basicLandAbilities = new SpellAbility[MagicColor.WUBRG.length];
 
@@ -521,6 +524,10 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         }
 
         // Cleared tests, about to change states
+        if (isJournaling() && !state.equals(currentStateName)) {
+            final CardStateName before = currentStateName;
+            getGame().getJournal().record(() -> setState(before, true));
+        }
         if (currentStateName.equals(CardStateName.FaceDown) && state.equals(CardStateName.Original)) {
             this.setManifested(false);
             this.setCloaked(false);
@@ -598,17 +605,38 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public void updateManaCostForView() {
+        if (skipViewUpdate()) {
+            return;
+        }
         currentState.getView().updateManaCost(this);
     }
 
     public final void updatePowerToughnessForView() {
+        if (skipViewUpdate()) {
+            return;
+        }
         view.updateCounters(this);
     }
 
     public final void updateTypesForView() {
+        if (skipViewUpdate()) {
+            return;
+        }
         currentState.getView().updateType(currentState);
     }
 
+    /**
+     * Views of a headless game aren't read by anyone, so the parts the game itself doesn't need, like texts and
+     * stats, aren't kept up to date. They are updated at once when asked for by {@link #getUpdatedView()}.
+     */
+    private boolean skipViewUpdate() {
+        if (updatingView || game == null || !game.isHeadless()) {
+            return false;
+        }
+        viewOutdated = true;
+        return true;
+    }
+
     public boolean changeCardState(final String mode, final String customState, final SpellAbility cause) {
         if (isPhasedOut()) {
             return false;
@@ -1151,11 +1179,16 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return rememberedObjects.contains(o);
     }
     public final <T> void addRemembered(final T o) {
+        if (isJournaling() && !rememberedObjects.contains(o)) {
+            recordRemembered();
+        }
         if (rememberedObjects.add(o)) {
+            updateStateVersion();
             view.updateRemembered(this);
         }
     }
     public final <T> void addRemembered(final Iterable<T> objects) {
+        recordRemembered();
         boolean changed = false;
         for (T o : objects) {
             if (rememberedObjects.add(o)) {
@@ -1163,16 +1196,22 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
             }
         }
         if (changed) {
+            updateStateVersion();
             view.updateRemembered(this);
         }
     }
     public final <T> void removeRemembered(final T o) {
+        if (isJournaling() && rememberedObjects.contains(o)) {
+            recordRemembered();
+        }
         if (rememberedObjects.remove(o)) {
+            updateStateVersion();
             view.updateRemembered(this);
         }
     }
 
     public final <T> void removeRemembered(final Iterable<T> list) {
+        recordRemembered();
         boolean changed = false;
         for (T o : list) {
             if (rememberedObjects.remove(o)) {
@@ -1180,17 +1219,30 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
             }
         }
         if (changed) {
+            updateStateVersion();
             view.updateRemembered(this);
         }
     }
     public final void clearRemembered() {
         if (rememberedObjects.isEmpty()) { return; }
+        recordRemembered();
         rememberedObjects.clear();
+        updateStateVersion();
         view.updateRemembered(this);
     }
     public final void updateRemembered() {
         view.updateRemembered(this);
     }
+    private void recordRemembered() {
+        if (isJournaling()) {
+            final List<Object> before = Lists.newArrayList(rememberedObjects);
+            getGame().getJournal().record(() -> {
+                rememberedObjects.clear();
+                rememberedObjects.addAll(before);
+                view.updateRemembered(this);
+            });
+        }
+    }
 
     public final CardCollectionView getImprintedCards() {
         return CardCollection.getView(imprintedCards);
@@ -1565,6 +1617,10 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return cloneOrigin;
     }
     public final void setCloneOrigin(final Card cloneOrigin0) {
+        if (isJournaling() && cloneOrigin != cloneOrigin0) {
+            final Card before = cloneOrigin;
+            getGame().getJournal().record(() -> setCloneOrigin(before));
+        }
         cloneOrigin = view.setCard(cloneOrigin, cloneOrigin0, TrackableProperty.CloneOrigin);
     }
 
@@ -1823,6 +1879,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     @Override
     public final void setCounters(final Map<CounterType, Integer> allCounters) {
+        if (!counters.equals(allCounters)) {
+            recordCounters();
+        }
         boolean changed = false;
         for (CounterType ct : counters.keySet()) {
             if (removeCounterTimestamp(ct, false)) {
@@ -1846,6 +1905,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     @Override
     public final void clearCounters() {
         if (counters.isEmpty()) { return; }
+        recordCounters();
         counters.clear();
         view.updateCounters(this);
 
@@ -1891,9 +1951,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         currentState.setSVar(var, str);
     }
 
-    public final void copyChangedSVarsFrom(Card other) {
+    public final Table<Long, Long, Map<String, String>> getChangedSVarsTable() {
+        return changedSVars;
+    }
+    public final void setChangedSVars(Table<Long, Long, Map<String, String>> table) {
         changedSVars.clear();
-        changedSVars.putAll(other.changedSVars);
+        changedSVars.putAll(table);
     }
 
     @Override
@@ -1969,6 +2032,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void setChosenPlayer(final Player p) {
         if (chosenPlayer == p) { return; }
+        updateStateVersion();
         chosenPlayer = p;
         view.updateChosenPlayer(this);
     }
@@ -1981,6 +2045,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void setPromisedGift(final Player p) {
         if (promisedGift == p) { return; }
+        updateStateVersion();
         promisedGift = p;
         view.updatePromisedGift(this);
     }
@@ -1990,12 +2055,14 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void setProtectingPlayer(final Player p) {
         if (protectingPlayer == p) { return; }
+        updateStateVersion();
         protectingPlayer = p;
         view.updateProtectingPlayer(this);
     }
 
     public final void setSecretChosenPlayer(final Player p) {
         chosenPlayer = p;
+        updateStateVersion();
     }
     public final void revealChosenPlayer() {
         view.updateChosenPlayer(this);
@@ -2011,10 +2078,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     public final void setChosenNumber(final int i) { setChosenNumber(i, false); }
     public final void setChosenNumber(final int i, final boolean secret) {
         chosenNumber = i;
+        updateStateVersion();
         if (!secret) view.updateChosenNumber(this);
     }
     public final void clearChosenNumber() {
         chosenNumber = null;
+        updateStateVersion();
         view.clearChosenNumber();
     }
 
@@ -2048,6 +2117,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void setChosenType(final String s) {
         chosenType = s;
+        updateStateVersion();
         view.updateChosenType(this);
     }
     public final boolean hasChosenType() {
@@ -2056,6 +2126,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     public final void setSecretChosenType(final String s) {
         chosenType = s;
+        updateStateVersion();
     }
     public final void revealChosenType() {
         view.updateChosenType(this);
@@ -2067,6 +2138,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void setChosenType2(final String s) {
         chosenType2 = s;
+        updateStateVersion();
         view.updateChosenType2(this);
     }
     public final boolean hasChosenType2() {
@@ -2079,6 +2151,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     public final void addNotedType(final String type) {
         notedTypes.add(type);
+        updateStateVersion();
         view.updateNotedTypes(this);
     }
 
@@ -2110,6 +2183,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void setChosenColors(final List<String> s) {
         chosenColors = s;
+        updateStateVersion();
         view.updateChosenColors(this);
     }
     public boolean hasChosenColor() {
@@ -2126,6 +2200,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return CardCollection.getView(chosenCards);
     }
     public final void setChosenCards(final Iterable<Card> cards) {
+        updateStateVersion();
         chosenCards = view.setCards(chosenCards, cards, TrackableProperty.ChosenCards);
     }
     public boolean hasChosenCard() {
@@ -2141,6 +2216,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     public void setChosenDirection(Direction chosenDirection0) {
         if (chosenDirection == chosenDirection0) { return; }
         chosenDirection = chosenDirection0;
+        updateStateVersion();
         view.updateChosenDirection(this);
     }
 
@@ -2149,6 +2225,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public void setChosenMode(String mode) {
         chosenMode = mode;
+        updateStateVersion();
         view.updateChosenMode(this);
     }
 
@@ -2157,6 +2234,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public void setCurrentRoom(String room) {
         currentRoom = room;
+        updateStateVersion();
         view.updateCurrentRoom(this);
         view.getCurrentState().updateAbilityText(this, getCurrentState());
     }
@@ -2175,6 +2253,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public void assignSector(String s) {
         sector = s;
+        updateStateVersion();
         view.updateSector(this);
     }
     public boolean hasSector() {
@@ -2185,6 +2264,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void setChosenSector(final String s) {
         chosenSector = s;
+        updateStateVersion();
     }
 
     // used for cards like Meddling Mage...
@@ -2196,11 +2276,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void setNamedCards(final List<String> s) {
         chosenName = s;
+        updateStateVersion();
         view.updateNamedCard(this);
     }
 
     public final void addNamedCard(final String s) {
         chosenName.add(s);
+        updateStateVersion();
         view.updateNamedCard(this);
     }
 
@@ -2218,6 +2300,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     public void setChosenEvenOdd(EvenOdd chosenEvenOdd0) {
         if (chosenEvenOdd == chosenEvenOdd0) { return; }
         chosenEvenOdd = chosenEvenOdd0;
+        updateStateVersion();
         view.updateChosenEvenOdd(this);
     }
 
@@ -3362,7 +3445,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void addSpellAbility(final SpellAbility a, final boolean updateView) {
         a.setHostCard(this);
-        if (currentState.addSpellAbility(a) && updateView) {
+        if (currentState.addSpellAbility(a) && updateView && !skipViewUpdate()) {
             currentState.getView().updateAbilityText(this, currentState);
         }
     }
@@ -3374,7 +3457,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     @Deprecated
     public final void removeSpellAbility(final SpellAbility a, final boolean updateView) {
-        if (currentState.removeSpellAbility(a) && updateView) {
+        if (currentState.removeSpellAbility(a) && updateView && !skipViewUpdate()) {
             currentState.getView().updateAbilityText(this, currentState);
         }
     }
@@ -3612,6 +3695,10 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void setCopiedPermanent(final Card c) {
         if (copiedPermanent == c) { return; }
+        if (isJournaling()) {
+            final Card before = copiedPermanent;
+            getGame().getJournal().record(() -> copiedPermanent = before);
+        }
         copiedPermanent = c;
         if(c != null) {
             currentState.setOracleText(c.getOracleText());
@@ -3634,6 +3721,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public final void setFaceDown(boolean value) {
+        if (isJournaling() && facedown != value) {
+            getGame().getJournal().record(() -> facedown = !value);
+        }
         facedown = value;
     }
 
@@ -3722,6 +3812,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     public final void setSickness(boolean sickness0) {
         if (sickness == sickness0) { return; }
+        if (isJournaling()) {
+            getGame().getJournal().record(() -> setSickness(!sickness0));
+        }
         sickness = sickness0;
         view.updateSickness(this);
     }
@@ -3794,6 +3887,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public final void setController(final Player player, final long tstamp) {
+        recordControl();
         tempControllers.clear();
         controller = player;
         controllerTimestamp = tstamp;
@@ -3801,17 +3895,24 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public final void addTempController(final Player player, final long tstamp) {
+        recordControl();
         tempControllers.put(tstamp, player);
         view.updateController(this);
     }
 
     public final void removeTempController(final long tstamp) {
+        if (isJournaling() && tempControllers.containsKey(tstamp)) {
+            recordControl();
+        }
         if (tempControllers.remove(tstamp) != null) {
             view.updateController(this);
         }
     }
 
     public final void removeTempController(final Player player) {
+        if (isJournaling() && tempControllers.containsValue(player)) {
+            recordControl();
+        }
         boolean changed = false;
         // Remove each key that yields this player
         while (tempControllers.values().remove(player)) {
@@ -3824,17 +3925,33 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     public final void clearTempControllers() {
         if (tempControllers.isEmpty()) { return; }
+        recordControl();
         tempControllers.clear();
         view.updateController(this);
     }
 
     public final void clearControllers() {
         if (tempControllers.isEmpty() && controller == null) { return; }
+        recordControl();
         tempControllers.clear();
         controller = null;
         view.updateController(this);
     }
 
+    private void recordControl() {
+        if (isJournaling()) {
+            final Player controller0 = controller;
+            final long timestamp0 = controllerTimestamp;
+            final NavigableMap<Long, Player> temp0 = Maps.newTreeMap(tempControllers);
+            getGame().getJournal().record(() -> {
+                controller = controller0;
+                controllerTimestamp = timestamp0;
+                tempControllers = temp0;
+                view.updateController(this);
+            });
+        }
+    }
+
     public boolean mayPlayerLook(final Player player) {
         return view.mayPlayerLook(player.getView());
     }
@@ -3972,6 +4089,10 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void setEntityAttachedTo(final GameEntity e) {
         if (entityAttachedTo == e) { return; }
+        if (isJournaling()) {
+            final GameEntity before = entityAttachedTo;
+            getGame().getJournal().record(() -> setEntityAttachedTo(before));
+        }
         entityAttachedTo = e;
         view.updateAttachedTo(this);
     }
@@ -4310,6 +4431,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public final void updateColorForView() {
+        if (skipViewUpdate()) {
+            return;
+        }
         currentState.getView().updateColors(this);
         currentState.getView().updateHasChangeColors(!Iterables.isEmpty(getChangedCardColors()));
     }
@@ -4519,6 +4643,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public void updatePTforView() {
+        if (skipViewUpdate()) {
+            return;
+        }
         getView().updateLethalDamage(this);
         currentState.getView().updatePower(this);
         currentState.getView().updateToughness(this);
@@ -4796,6 +4923,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void setTapped(boolean tapped0) {
         if (tapped == tapped0) { return; }
+        if (isJournaling()) {
+            getGame().getJournal().record(() -> setTapped(!tapped0));
+        }
         tapped = tapped0;
         view.updateTapped(this);
     }
@@ -5123,6 +5253,10 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public final void updateKeywords() {
+        if (skipViewUpdate()) {
+            updateKeywordsCache(getCurrentState());
+            return;
+        }
         getCurrentState().getView().updateKeywords(this, getCurrentState());
         getView().updateLethalDamage(this);
     }
@@ -5885,6 +6019,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     // Takes one argument like Permanent.Blue+withFlying
     @Override
     public final boolean isValid(final String restriction, final Player sourceController, final Card source, CardTraitBase spellAbility) {
+        if (ValidRestriction.COMPILED) {
+            return ValidRestriction.of(restriction).isValid(this, sourceController, source, spellAbility);
+        }
         // Inclusive restrictions are Card types
         final String[] incR = restriction.split("\\.", 2);
 
@@ -6206,6 +6343,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void setDamage(int damage0) {
         if (getDamage() == damage0) { return; }
+        recordDamage();
         damage.clear();
         if (damage0 != 0) {
             damage.put(0, damage0);
@@ -6214,6 +6352,17 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         getGame().fireEvent(new GameEventCardStatsChanged(this));
     }
 
+    private void recordDamage() {
+        if (isJournaling()) {
+            final Map<Integer, Integer> before = Maps.newHashMap(damage);
+            getGame().getJournal().record(() -> {
+                damage.clear();
+                damage.putAll(before);
+                view.updateDamage(this);
+            });
+        }
+    }
+
     public int getMaxDamageFromSource() {
         return damage.isEmpty() ? 0 : Collections.max(damage.values());
     }
@@ -6401,6 +6550,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
             }
             else { // 120.3e
                 int old = damage.getOrDefault(Objects.hash(source.getId(), source.getGameTimestamp()), 0);
+                recordDamage();
                 damage.put(Objects.hash(source.getId(), source.getGameTimestamp()), old + damageIn);
                 view.updateDamage(this);
             }
@@ -6559,6 +6709,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void setRingBearer(final boolean ringbearer0) {
         ringbearer = ringbearer0;
+        updateStateVersion();
         view.updateRingBearer(this);
     }
     public final void clearRingBearer() {
@@ -6660,6 +6811,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return manifested;
     }
     public final void setManifested(final boolean manifested) {
+        if (isJournaling() && this.manifested != manifested) {
+            getGame().getJournal().record(() -> this.manifested = !manifested);
+        }
         this.manifested = manifested;
     }
 
@@ -6667,6 +6821,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return cloaked;
     }
     public final void setCloaked(final boolean cloaked) {
+        if (isJournaling() && this.cloaked != cloaked) {
+            getGame().getJournal().record(() -> this.cloaked = !cloaked);
+        }
         this.cloaked = cloaked;
     }
 
@@ -6770,6 +6927,8 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public void setClassLevel(int level) {
         classLevel = level;
+        // the new level's abilities come from a static ability, which only gets reapplied if the version changes
+        updateStateVersion();
         view.updateClassLevel(this);
         view.getCurrentState().updateAbilityText(this, getCurrentState());
     }
@@ -6821,6 +6980,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return gameTimestamp;
     }
     public final void setGameTimestamp(final long t) {
+        recordTimestamps();
         gameTimestamp = t;
         // 613.7d An object receives a timestamp at the time it enters a zone.
         layerTimestamp = t;
@@ -6830,9 +6990,20 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return layerTimestamp;
     }
     public final void setLayerTimestamp(final long t) {
+        recordTimestamps();
         layerTimestamp = t;
     }
 
+    private void recordTimestamps() {
+        if (isJournaling()) {
+            final long game0 = gameTimestamp, layer0 = layerTimestamp;
+            getGame().getJournal().record(() -> {
+                gameTimestamp = game0;
+                layerTimestamp = layer0;
+            });
+        }
+    }
+
     public boolean equalsWithGameTimestamp(Card c) {
         return equals(c) && c.getGameTimestamp() == gameTimestamp;
     }
@@ -6873,6 +7044,10 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return haunting;
     }
     public final void setHaunting(final Card c) {
+        if (isJournaling() && haunting != c) {
+            final Card before = haunting;
+            getGame().getJournal().record(() -> setHaunting(before));
+        }
         haunting = view.setCard(haunting, c, TrackableProperty.Haunting);
     }
 
@@ -6880,6 +7055,10 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return pairedWith;
     }
     public final void setPairedWith(final Card c) {
+        if (isJournaling() && pairedWith != c) {
+            final Card before = pairedWith;
+            getGame().getJournal().record(() -> setPairedWith(before));
+        }
         pairedWith = view.setCard(pairedWith, c, TrackableProperty.PairedWith);
     }
     public final boolean isPaired() {
@@ -6987,6 +7166,10 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public void setZone(Zone zone) {
         if (currentZone == zone) { return; }
+        if (isJournaling()) {
+            final Zone before = currentZone;
+            getGame().getJournal().record(() -> setZone(before));
+        }
         currentZone = zone;
         view.updateZone(this);
     }
@@ -7223,6 +7406,10 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public void setEffectSource(Card src) {
+        if (isJournaling() && effectSource != src) {
+            final Card before = effectSource;
+            getGame().getJournal().record(() -> effectSource = before);
+        }
         effectSource = src;
     }
 
@@ -7577,13 +7764,17 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return CardFactory.getCard(pc, owner, owner == null ? null : owner.getGame());
     }
 
-    private static final Map<PaperCard, Card> cp2card = Maps.newHashMap();
+    // games played in parallel can ask for the same cards
+    private static final Map<PaperCard, Card> cp2card = Maps.newConcurrentMap();
     public static Card getCardForUi(IPaperCard pc) {
         if (pc instanceof PaperCard) {
             Card res = cp2card.get(pc);
             if (res == null) {
                 res = fromPaperCard(pc, null);
-                cp2card.put((PaperCard) pc, res);
+                Card prev = cp2card.putIfAbsent((PaperCard) pc, res);
+                if (prev != null) {
+                    res = prev;
+                }
             }
             return res;
         }
@@ -7684,6 +7875,26 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return view;
     }
 
+    /**
+     * @return the view, first brought up to date if updates were skipped while the game was headless
+     */
+    public CardView getUpdatedView() {
+        if (viewOutdated) {
+            viewOutdated = false;
+            updatingView = true;
+            try {
+                updateKeywords();
+                updatePowerToughnessForView();
+                updateTypesForView();
+                updateManaCostForView();
+                updateColorForView();
+            } finally {
+                updatingView = false;
+            }
+        }
+        return view;
+    }
+
     // Counts number of instances of a given keyword.
     private static final class CountKeywordVisitor extends Visitor<KeywordInterface> {
         private String keyword;
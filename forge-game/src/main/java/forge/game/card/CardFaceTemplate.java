@@ -0,0 +1,130 @@
+package forge.game.card;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.google.common.collect.ImmutableList;
+
+import forge.card.ICardFace;
+import forge.game.ability.AbilityFactory;
+import forge.game.ability.AbilityFactory.AbilityRecordType;
+import forge.game.ability.ApiType;
+import forge.game.cost.Cost;
+import forge.game.replacement.ReplacementHandler;
+import forge.game.spellability.SpellAbility;
+import forge.game.staticability.StaticAbility;
+import forge.game.trigger.TriggerHandler;
+import io.sentry.Breadcrumb;
+import io.sentry.Sentry;
+
+/**
+ * The parsed traits and abilities of a card face. A face is parsed once into its template, then every card created
+ * from that face binds new trait and ability objects to itself from the template, without going back to the script.
+ *
+ * The template is immutable and shared between threads. The parameter maps are unmodifiable and the costs are only
+ * copied, so nothing bound to a card can change it. Keywords aren't part of it, Keyword.getInstance already keeps a
+ * parsed prototype of each keyword text.
+ */
+final class CardFaceTemplate {
+    // keyed by identity, faces are only dropped together with their rules when card scripts are reloaded
+    private static final Map<ICardFace, CardFaceTemplate> templates = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final class AbilityTemplate {
+        private final Map<String, String> params;
+        private final AbilityRecordType type;
+        private final ApiType api;
+        // null when the cost comes from the mana cost of the card state
+        private final Cost cost;
+
+        private AbilityTemplate(final ICardFace face, final String abString) {
+            params = AbilityFactory.getMapParams(abString);
+            type = AbilityRecordType.getRecordType(params);
+            if (null == type) {
+                throw new RuntimeException("AbilityFactory : getAbility -- no API in " + face.getName() + ": " + abString);
+            }
+            api = type.getApiTypeOf(params);
+            final String costString = type == AbilityRecordType.SubAbility ? null : params.get("Cost");
+            cost = costString == null ? null : new Cost(costString, type == AbilityRecordType.Ability);
+        }
+    }
+
+    private final List<Map<String, String>> replacements;
+    private final List<Map<String, String>> staticAbilities;
+    private final List<Map<String, String>> triggers;
+    private final List<AbilityTemplate> abilities;
+
+    private CardFaceTemplate(final ICardFace face) {
+        final ImmutableList.Builder<Map<String, String>> repBuilder = ImmutableList.builder();
+        for (String r : face.getReplacements()) {
+            repBuilder.add(AbilityFactory.getMapParams(r));
+        }
+        replacements = repBuilder.build();
+
+        final ImmutableList.Builder<Map<String, String>> stBuilder = ImmutableList.builder();
+        for (String s : face.getStaticAbilities()) {
+            if (s.trim().isEmpty()) {
+                continue;
+            }
+            stBuilder.add(AbilityFactory.getMapParams(s));
+        }
+        staticAbilities = stBuilder.build();
+
+        final ImmutableList.Builder<Map<String, String>> trigBuilder = ImmutableList.builder();
+        for (String t : face.getTriggers()) {
+            trigBuilder.add(AbilityFactory.getMapParams(t));
+        }
+        triggers = trigBuilder.build();
+
+        final ImmutableList.Builder<AbilityTemplate> abBuilder = ImmutableList.builder();
+        for (String a : face.getAbilities()) {
+            try {
+                abBuilder.add(new AbilityTemplate(face, a));
+            } catch (Exception e) {
+                throw new RuntimeException("crash in raw Ability, check card script of " + face.getName(), e);
+            }
+        }
+        abilities = abBuilder.build();
+    }
+
+    static CardFaceTemplate of(final ICardFace face) {
+        return templates.computeIfAbsent(face, CardFaceTemplate::new);
+    }
+
+    /**
+     * Adds new replacement effects, static abilities and triggers of this face to the current state of the card.
+     */
+    void addTraits(final Card c) {
+        final CardState state = c.getCurrentState();
+        for (Map<String, String> r : replacements)    c.addReplacementEffect(ReplacementHandler.parseReplacement(r, c, true, state));
+        for (Map<String, String> s : staticAbilities) c.addStaticAbility(StaticAbility.create(s, c, state, true));
+        for (Map<String, String> t : triggers)        c.addTrigger(TriggerHandler.parseTrigger(t, c, true, state));
+    }
+
+    /**
+     * Adds new spell abilities of this face to the current state of the card.
+     */
+    void addAbilities(final Card c) {
+        final CardState state = c.getCurrentState();
+        for (AbilityTemplate ab : abilities) {
+            try {
+                final SpellAbility intrinsicAbility = AbilityFactory.getAbility(ab.type, ab.api, ab.params,
+                        ab.cost == null ? null : ab.cost.copy(), state, state);
+                c.addSpellAbility(intrinsicAbility);
+                intrinsicAbility.setIntrinsic(true);
+                intrinsicAbility.setCardState(state);
+            } catch (Exception e) {
+                String msg = "CardFaceTemplate:addAbilities: crash in raw Ability";
+
+                Breadcrumb bread = new Breadcrumb(msg);
+                bread.setData("Card", c.getName());
+                bread.setData("Ability", ab.params.toString());
+                Sentry.addBreadcrumb(bread);
+
+                // rethrow the exception with card Name for the user
+                throw new RuntimeException("crash in raw Ability, check card script of " + c.getName(), e);
+            }
+        }
+    }
+}
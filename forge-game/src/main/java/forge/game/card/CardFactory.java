@@ -34,7 +34,6 @@ import forge.game.keyword.Keyword;
 import forge.game.keyword.KeywordInterface;
 import forge.game.player.Player;
 import forge.game.replacement.ReplacementEffect;
-import forge.game.replacement.ReplacementHandler;
 import forge.game.spellability.*;
 import forge.game.staticability.StaticAbility;
 import forge.game.trigger.Trigger;
@@ -396,9 +395,8 @@ public class CardFactory {
 
         for (Entry<String, String> v : face.getVariables())  c.setSVar(v.getKey(), v.getValue());
 
-        for (String r : face.getReplacements())              c.addReplacementEffect(ReplacementHandler.parseReplacement(r, c, true, c.getCurrentState()));
-        for (String s : face.getStaticAbilities())           c.addStaticAbility(s);
-        for (String t : face.getTriggers())                  c.addTrigger(TriggerHandler.parseTrigger(t, c, true, c.getCurrentState()));
+        final CardFaceTemplate template = CardFaceTemplate.of(face);
+        template.addTraits(c);
 
         // keywords not before variables
         c.addIntrinsicKeywords(face.getKeywords(), false);
@@ -448,7 +446,7 @@ public class CardFactory {
             }
         }
 
-        CardFactoryUtil.addAbilityFactoryAbilities(c, face.getAbilities());
+        template.addAbilities(c);
     }
 
     public static void copySpellAbility(SpellAbility from, SpellAbility to, final Card host, final Player p, final boolean lki, final boolean keepTextChanges) {
@@ -39,6 +39,73 @@ import java.util.*;
 
 public class CardProperty {
 
+    /**
+     * A card property compiled by {@link #compile(String)}.
+     */
+    @FunctionalInterface
+    public interface Compiled {
+        boolean test(Card card, Player sourceController, Card source, CardTraitBase spellAbility);
+    }
+
+    private static final Map<String, Compiled> SIMPLE_PROPERTIES = new HashMap<>();
+    static {
+        SIMPLE_PROPERTIES.put("Self", (card, sourceController, source, spellAbility) -> card.equals(source));
+        SIMPLE_PROPERTIES.put("Other", (card, sourceController, source, spellAbility) -> !card.equals(source));
+        SIMPLE_PROPERTIES.put("StrictlyOther", (card, sourceController, source, spellAbility) -> !card.equalsWithGameTimestamp(source));
+        SIMPLE_PROPERTIES.put("YouCtrl", (card, sourceController, source, spellAbility) -> lkiController(card).equals(sourceController));
+        SIMPLE_PROPERTIES.put("YouDontCtrl", (card, sourceController, source, spellAbility) -> !lkiController(card).equals(sourceController));
+        SIMPLE_PROPERTIES.put("OppCtrl", (card, sourceController, source, spellAbility) -> isOpponent(lkiController(card), sourceController));
+        SIMPLE_PROPERTIES.put("YouOwn", (card, sourceController, source, spellAbility) -> card.getOwner().equals(sourceController));
+        SIMPLE_PROPERTIES.put("OppOwn", (card, sourceController, source, spellAbility) -> isOpponent(card.getOwner(), sourceController));
+        SIMPLE_PROPERTIES.put("IsRemembered", (card, sourceController, source, spellAbility) -> source.isRemembered(card));
+        SIMPLE_PROPERTIES.put("tapped", (card, sourceController, source, spellAbility) -> card.isTapped());
+        SIMPLE_PROPERTIES.put("untapped", (card, sourceController, source, spellAbility) -> card.isUntapped());
+        SIMPLE_PROPERTIES.put("token", (card, sourceController, source, spellAbility) -> card.isToken() || card.isTokenCard());
+        SIMPLE_PROPERTIES.put("nonToken", (card, sourceController, source, spellAbility) -> !card.isToken() && !card.isTokenCard());
+        SIMPLE_PROPERTIES.put("attacking", (card, sourceController, source, spellAbility) -> card.getGame().getCombat() != null && card.isAttacking());
+        // these fall through to CardState
+        for (final String color : new String[] { "White", "Blue", "Black", "Red", "Green" }) {
+            final byte mask = MagicColor.fromName(color);
+            SIMPLE_PROPERTIES.put(color, (card, sourceController, source, spellAbility) -> card.getColor(card.getCurrentState()).hasAnyColor(mask));
+            SIMPLE_PROPERTIES.put("non" + color, (card, sourceController, source, spellAbility) -> !card.getColor(card.getCurrentState()).hasAnyColor(mask));
+        }
+        for (final String type : new String[] { "Creature", "Land", "Artifact", "Enchantment", "Planeswalker", "Instant", "Sorcery", "Battle", "Legendary", "Basic" }) {
+            SIMPLE_PROPERTIES.put(type, (card, sourceController, source, spellAbility) -> card.getCurrentState().getTypeWithChanges().hasStringType(type));
+            SIMPLE_PROPERTIES.put("non" + type, (card, sourceController, source, spellAbility) -> !card.getCurrentState().getTypeWithChanges().hasStringType(type));
+        }
+    }
+
+    /**
+     * Compile a property for {@link Card#hasProperty}, so that checking it again doesn't have to go through
+     * the string comparisons of {@link #cardHasProperty}. The most common simple properties are checked directly,
+     * any other is passed on to {@link #cardHasProperty} as it is.
+     */
+    public static Compiled compile(final String property) {
+        if (property.startsWith("!")) {
+            final Compiled negated = compileUnnegated(property.substring(1));
+            return (card, sourceController, source, spellAbility) -> !negated.test(card, sourceController, source, spellAbility);
+        }
+        return compileUnnegated(property);
+    }
+
+    private static Compiled compileUnnegated(final String property) {
+        final Compiled simple = SIMPLE_PROPERTIES.get(property);
+        if (simple == null) {
+            return (card, sourceController, source, spellAbility) -> cardHasProperty(card, property, sourceController, source, spellAbility);
+        }
+        // CR 702.25b if card is phased out it will not count unless specifically asked for
+        return (card, sourceController, source, spellAbility) -> !card.isPhasedOut() && simple.test(card, sourceController, source, spellAbility);
+    }
+
+    private static Player lkiController(final Card card) {
+        return card.getGame().getChangeZoneLKIInfo(card).getController();
+    }
+
+    // same as player.getOpponents().contains(other), without building the collection
+    private static boolean isOpponent(final Player player, final Player other) {
+        return player.isOpponentOf(other) && player.getGame().getPlayers().contains(other);
+    }
+
     public static boolean cardHasProperty(Card card, String property, Player sourceController, Card source, CardTraitBase spellAbility) {
         final Game game = card.getGame();
         final Combat combat = game.getCombat();
@@ -34,6 +34,7 @@ import forge.card.MagicColor;
 import forge.card.mana.ManaCost;
 import forge.game.CardTraitBase;
 import forge.game.ForgeScript;
+import forge.game.Game;
 import forge.game.GameObject;
 import forge.game.IHasSVars;
 import forge.game.ability.ApiType;
@@ -595,6 +596,7 @@ public class CardState extends GameObject implements IHasSVars, ITranslatable {
     @Override
     public final void setSVar(final String var, final String str) {
         sVars.put(var, str);
+        updateStateVersion();
         view.updateFoilIndex(card.getState(CardStateName.Original));
     }
 
@@ -602,12 +604,23 @@ public class CardState extends GameObject implements IHasSVars, ITranslatable {
     public final void setSVars(final Map<String, String> newSVars) {
         sVars = Maps.newTreeMap();
         sVars.putAll(newSVars);
+        updateStateVersion();
         view.updateFoilIndex(card.getState(CardStateName.Original));
     }
 
     @Override
     public final void removeSVar(final String var) {
-        sVars.remove(var);
+        if (sVars.remove(var) != null) {
+            updateStateVersion();
+        }
+    }
+
+    // abilities read SVars, and setting them doesn't fire an event
+    private void updateStateVersion() {
+        final Game game = card.getGame();
+        if (game != null) {
+            game.updateStateVersion();
+        }
     }
 
     public final int getFoil() {
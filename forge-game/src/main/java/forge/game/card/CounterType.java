@@ -22,8 +22,9 @@ public class CounterType implements Comparable<CounterType>, Serializable {
             "Flying", "First Strike", "Double Strike", "Deathtouch", "Exalted", "Haste", "Hexproof",
             "Indestructible", "Lifelink", "Menace", "Reach", "Shadow", "Trample", "Vigilance");
 
-    private static Map<CounterEnumType, CounterType> eMap = Maps.newEnumMap(CounterEnumType.class);
-    private static Map<String, CounterType> sMap = Maps.newHashMap();
+    // concurrent since simulations on other threads may register new types
+    private static Map<CounterEnumType, CounterType> eMap = Maps.newConcurrentMap();
+    private static Map<String, CounterType> sMap = Maps.newConcurrentMap();
 
     private CounterType(CounterEnumType e, String s) {
         this.eVal = e;
@@ -31,17 +32,11 @@ public class CounterType implements Comparable<CounterType>, Serializable {
     }
 
     public static CounterType get(CounterEnumType e) {
-        if (!eMap.containsKey(e)) {
-            eMap.put(e, new CounterType(e, null));
-        }
-        return eMap.get(e);
+        return eMap.computeIfAbsent(e, k -> new CounterType(k, null));
     }
 
     public static CounterType get(String s) {
-        if (!sMap.containsKey(s)) {
-            sMap.put(s, new CounterType(null, s));
-        }
-        return sMap.get(s);
+        return sMap.computeIfAbsent(s, k -> new CounterType(null, k));
     }
 
     public static CounterType getType(String name) {
@@ -66,6 +66,9 @@ public class Combat {
     // List holds creatures who have dealt 1st strike damage to disallow them deal damage on regular basis (unless they have double-strike KW)
     private CardCollection combatantsThatDealtFirstStrikeDamage = new CardCollection();
 
+    // bumped whenever attackers or blockers are added or removed, see getVersion()
+    private long version;
+
     public Combat(final Player attacker) {
         playerWhoAttacks = attacker;
         initConstraints();
@@ -115,6 +118,15 @@ public class Combat {
         // Create keys for all possible attack targets
         attackableEntries.addAll(CombatUtil.getAllPossibleDefenders(playerWhoAttacks));
         attackConstraints = new AttackConstraints(this);
+        version++;
+    }
+
+    /**
+     * Counts changes to the attackers, blockers and defenders of this combat. Declaring blocks doesn't fire any events,
+     * so together with {@link Game#getStateVersion()} this tells whether predictions about the combat still hold.
+     */
+    public long getVersion() {
+        return version;
     }
 
     @Override
@@ -146,6 +158,7 @@ public class Combat {
         CardCollection blockers = getAllBlockers();
 
         //clear all combat-related collections
+        version++;
         attackableEntries.clear();
         attackedByBands.clear();
         blockedBands.clear();
@@ -251,6 +264,7 @@ public class Combat {
             return;
         }
 
+        version++;
         // This is trying to fix the issue of an attacker existing in two bands at once
         AttackingBand existingBand = getBandOfAttacker(c);
         if (existingBand != null) {
@@ -361,11 +375,13 @@ public class Combat {
 
     // Some cards in Alpha may UNBLOCK an attacker, so second parameter is not always-true
     public final void setBlocked(final Card attacker, boolean value) {
+        version++;
         getBandOfAttackerNotNull(attacker).setBlocked(value); // called by Curtain of Light, Dazzling Beauty, Trap Runner
     }
 
     public final void addBlocker(final Card attacker, final Card blocker) {
         final AttackingBand band = getBandOfAttackerNotNull(attacker);
+        version++;
         blockedBands.put(band, blocker);
         // If damage is already assigned, add this blocker as a "late entry"
         if (blockersOrderedForDamageAssignment.containsKey(attacker)) {
@@ -377,6 +393,7 @@ public class Combat {
     // remove blocker from specific attacker
     public final void removeBlockAssignment(final Card attacker, final Card blocker) {
         AttackingBand band = getBandOfAttackerNotNull(attacker);
+        version++;
         Collection<Card> cc = blockedBands.get(band);
         if (cc != null) {
             cc.remove(blocker);
@@ -386,6 +403,7 @@ public class Combat {
 
     // remove blocker from everywhere
     public final void undoBlockingAssignment(final Card blocker) {
+        version++;
         CardCollection toRemove = new CardCollection(blocker);
         blockedBands.values().removeAll(toRemove);
         blocker.updateBlockingForView();
@@ -587,6 +605,7 @@ public class Combat {
 
     // remove a combatant whose side is unknown
     public final void removeFromCombat(final Card c) {
+        version++;
         AttackingBand ab = getBandOfAttacker(c);
         if (ab != null) {
             unregisterAttacker(c, ab);
@@ -346,13 +346,11 @@ public class CombatUtil {
         Cost blockCost = new Cost(ManaCost.ZERO, true);
         // Sort abilities to apply them in proper order
         boolean noCost = true;
-        for (Card card : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : card.getStaticAbilities()) {
-                Cost c1 = stAb.getBlockCost(blocker, attacker);
-                if (c1 != null) {
-                    blockCost.add(c1);
-                    noCost = false;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities("CantBlockUnless")) {
+            Cost c1 = stAb.getBlockCost(blocker, attacker);
+            if (c1 != null) {
+                blockCost.add(c1);
+                noCost = false;
             }
         }
 
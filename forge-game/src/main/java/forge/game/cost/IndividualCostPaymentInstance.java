@@ -2,9 +2,11 @@ package forge.game.cost;
 
 import forge.game.IIdentifiable;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class IndividualCostPaymentInstance implements IIdentifiable {
-    private static int maxId = 0;
-    private static int nextId() { return ++maxId; }
+    private static final AtomicInteger maxId = new AtomicInteger();
+    private static int nextId() { return maxId.incrementAndGet(); }
 
     private final int id;
     private final CostPart cost;
@@ -5,6 +5,7 @@ import forge.game.card.Card;
 import forge.item.PaperCard;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public enum Keyword {
     UNDEFINED("", SimpleKeyword.class, false, ""),
@@ -211,7 +212,25 @@ public enum Keyword {
         displayName = displayName0;
     }
 
+    // parsed keywords by their text, every card with the same keyword gets a copy of the same prototype
+    private static final Map<String, KeywordInterface> instanceCache = new ConcurrentHashMap<>();
+    // The keywords of the cards in a game are a few hundred. Keywords granted by effects can have chosen names or
+    // amounts in their text and keep adding entries over many games, so past the bound the cache is emptied.
+    private static final int MAX_CACHED_INSTANCES = 4096;
+
     public static KeywordInterface getInstance(String k) {
+        KeywordInterface prototype = instanceCache.get(k);
+        if (prototype == null) {
+            if (instanceCache.size() >= MAX_CACHED_INSTANCES) {
+                instanceCache.clear();
+            }
+            prototype = parseInstance(k);
+            instanceCache.put(k, prototype);
+        }
+        return prototype.copy(null, false);
+    }
+
+    private static KeywordInterface parseInstance(String k) {
         Keyword keyword = Keyword.UNDEFINED;
         String details = k;
         // try to get real part
@@ -29,6 +29,7 @@ import com.google.common.collect.Lists;
 import forge.card.mana.ManaAtom;
 import forge.card.mana.ManaCostShard;
 import forge.game.Game;
+import forge.game.GameJournal;
 import forge.game.ability.AbilityKey;
 import forge.game.cost.CostPayment;
 import forge.game.event.EventValueChangeType;
@@ -67,6 +68,7 @@ public class ManaPool extends ManaConversionMatrix implements Iterable<Mana> {
         addMana(mana, true);
     }
     public void addMana(final Mana mana, boolean updateView) {
+        recordPool();
         floatingMana.put(mana.getColor(), mana);
         if (updateView) {
             owner.updateManaForView();
@@ -114,6 +116,7 @@ public class ManaPool extends ManaConversionMatrix implements Iterable<Mana> {
 
     public final void resetPool() {
         // This should only be used to reset the pool to empty by things like restores.
+        recordPool();
         floatingMana.clear();
     }
 
@@ -138,6 +141,7 @@ public class ManaPool extends ManaConversionMatrix implements Iterable<Mana> {
 
         }
 
+        recordPool();
         final List<Byte> keys = Lists.newArrayList(floatingMana.keySet());
         if (isEndOfPhase) {
             keys.removeAll(StaticAbilityUnspentMana.getManaToKeep(owner));
@@ -187,6 +191,7 @@ public class ManaPool extends ManaConversionMatrix implements Iterable<Mana> {
         return removeMana(mana, true);
     }
     public boolean removeMana(final Mana mana, boolean updateView) {
+        recordPool();
         boolean result = floatingMana.remove(mana.getColor(), mana);
         if (result && updateView) {
             owner.updateManaForView();
@@ -195,6 +200,18 @@ public class ManaPool extends ManaConversionMatrix implements Iterable<Mana> {
         return result;
     }
 
+    private void recordPool() {
+        final GameJournal journal = owner.getGame().getJournal();
+        if (journal.isRecording()) {
+            final ArrayListMultimap<Byte, Mana> before = ArrayListMultimap.create(floatingMana);
+            journal.record(() -> {
+                floatingMana.clear();
+                floatingMana.putAll(before);
+                owner.updateManaForView();
+            });
+        }
+    }
+
     public final void payManaFromAbility(final SpellAbility saPaidFor, ManaCostBeingPaid manaCost, final SpellAbility saPayment) {
         // Mana restriction must be checked before this method is called
         final List<SpellAbility> paidAbs = saPaidFor.getPayingManaAbilities();
@@ -1247,6 +1247,39 @@ public class PhaseHandler implements java.io.Serializable {
         this.combat = combat;
     }
 
+    /**
+     * Captures the turn, phase, priority and combat, for {@link Game#stashGameState()} to put back on rollback.
+     */
+    public Runnable stashState() {
+        final PhaseType phase0 = phase;
+        final int turn0 = turn;
+        final Player playerTurn0 = playerTurn, firstPriority0 = pFirstPriority, priority0 = pPlayerPriority;
+        final Combat combat0 = combat;
+        final long combatVersion0 = combat == null ? 0 : combat.getVersion();
+        final Combat combatCopy = combat == null ? null : new Combat(combat, new IEntityMap() {
+            @Override
+            public Game getGame() {
+                return game;
+            }
+            @Override
+            public GameObject map(GameObject o) {
+                return o;
+            }
+        });
+        return () -> {
+            setPhase(phase0);
+            setPlayerTurn(playerTurn0);
+            turn = turn0;
+            pFirstPriority = firstPriority0;
+            pPlayerPriority = priority0;
+            // keep the same combat if the attackers and blockers didn't change, it has more than the copy
+            if (combat != combat0 || (combat0 != null && combat0.getVersion() != combatVersion0)) {
+                combat = combatCopy;
+                game.updateCombatForView();
+            }
+        };
+    }
+
     /**
      * returns the continuous extra turn count
      * @param p
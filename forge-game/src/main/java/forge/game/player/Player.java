@@ -472,6 +472,7 @@ public class Player extends GameEntity implements Comparable<Player> {
 
         if (lifeGain > 0) {
             int oldLife = life;
+            recordLife();
             life += lifeGain;
             view.updateLife(this);
             boolean firstGain = lifeGainedTimesThisTurn == 0;
@@ -501,6 +502,19 @@ public class Player extends GameEntity implements Comparable<Player> {
         return false;
     }
 
+    private void recordLife() {
+        if (isJournaling()) {
+            final int life0 = life, lost0 = lifeLostThisTurn, gained0 = lifeGainedThisTurn, gainedTimes0 = lifeGainedTimesThisTurn;
+            game.getJournal().record(() -> {
+                life = life0;
+                lifeLostThisTurn = lost0;
+                lifeGainedThisTurn = gained0;
+                lifeGainedTimesThisTurn = gainedTimes0;
+                view.updateLife(this);
+            });
+        }
+    }
+
     public final boolean canGainLife() {
         return isInGame() && !StaticAbilityCantGainLosePayLife.anyCantGainLife(this);
     }
@@ -537,6 +551,7 @@ public class Player extends GameEntity implements Comparable<Player> {
             return 0;
         }
 
+        recordLife();
         life -= toLose;
         view.updateLife(this);
         if (manaBurn) {
@@ -930,6 +945,7 @@ public class Player extends GameEntity implements Comparable<Player> {
 
     public final void clearCounters() {
         if (counters.isEmpty()) { return; }
+        recordCounters();
         counters.clear();
         view.updateCounters(this);
         getGame().fireEvent(new GameEventPlayerCounters(this, null, 0, 0));
@@ -959,6 +975,9 @@ public class Player extends GameEntity implements Comparable<Player> {
 
     @Override
     public void setCounters(Map<CounterType, Integer> allCounters) {
+        if (!counters.equals(allCounters)) {
+            recordCounters();
+        }
         counters = allCounters;
         view.updateCounters(this);
         getGame().fireEvent(new GameEventPlayerCounters(this, null, 0, 0));
@@ -1333,6 +1352,10 @@ public class Player extends GameEntity implements Comparable<Player> {
         return zones.get(zone);
     }
     public void updateZoneForView(PlayerZone zone) {
+        // the zones of a headless game are only shown once it stops being headless
+        if (getGame().isHeadless()) {
+            return;
+        }
         view.updateZone(zone);
     }
 
@@ -1815,6 +1838,9 @@ public class Player extends GameEntity implements Comparable<Player> {
         return manaPool;
     }
     public void updateManaForView() {
+        if (getGame().isHeadless()) {
+            return;
+        }
         view.updateMana(this);
     }
 
@@ -1862,6 +1888,7 @@ public class Player extends GameEntity implements Comparable<Player> {
     }
     public final void setNamedCard(final String s) {
         namedCard = s;
+        updateStateVersion();
     }
 
     public final int getTurn() {
@@ -2743,10 +2770,14 @@ public class Player extends GameEntity implements Comparable<Player> {
         return inboundTokens;
     }
     public void addInboundToken(Card c) {
-        inboundTokens.add(c);
+        if (inboundTokens.add(c)) {
+            game.getCardIndex().put(c, inboundTokens, this);
+        }
     }
     public void removeInboundToken(Card c) {
-        inboundTokens.remove(c);
+        if (inboundTokens.remove(c)) {
+            game.getCardIndex().remove(c, inboundTokens);
+        }
     }
 
     public void onMulliganned() {
@@ -3317,6 +3348,7 @@ public class Player extends GameEntity implements Comparable<Player> {
         }
     }
     public void setRingLevel(int level) {
+        updateStateVersion();
         if (getTheRing() == null)
             createTheRing(null);
         if (level == 1) {
@@ -3646,6 +3678,48 @@ public class Player extends GameEntity implements Comparable<Player> {
     public boolean hasBlessing() {
         return blessingEffect != null;
     }
+    /**
+     * Captures the turn counters of this player that change without going through the journal,
+     * for {@link Game#stashGameState()} to put back on rollback.
+     */
+    public Runnable stashState() {
+        final int lifeStarted0 = lifeStartedThisTurnWith, landsPlayed0 = landsPlayedThisTurn;
+        final int spellsCast0 = spellsCastThisTurn, spellsCastGame0 = spellsCastThisGame, spellsCastLast0 = spellsCastLastTurn;
+        final int crime0 = committedCrimeThisTurn, expent0 = expentThisTurn, searched0 = numLibrarySearchedOwn;
+        final int drawn0 = numDrawnThisTurn, shards0 = numManaShards, descended0 = descended, maxHandSize0 = maxHandSize;
+        final int damageReceived0 = damageReceivedThisTurn.size();
+        final boolean unlimitedHandSize0 = unlimitedHandSize, revolt0 = revolt;
+        final boolean loyalty0 = activateLoyaltyAbilityThisTurn, tappedLand0 = tappedLandForManaThisTurn;
+        final Card blessing0 = blessingEffect;
+        return () -> {
+            lifeStartedThisTurnWith = lifeStarted0;
+            if (landsPlayedThisTurn != landsPlayed0) {
+                setLandsPlayedThisTurn(landsPlayed0);
+            }
+            spellsCastThisTurn = spellsCast0;
+            spellsCastThisGame = spellsCastGame0;
+            spellsCastLastTurn = spellsCastLast0;
+            committedCrimeThisTurn = crime0;
+            expentThisTurn = expent0;
+            numLibrarySearchedOwn = searched0;
+            numDrawnThisTurn = drawn0;
+            if (numManaShards != shards0) {
+                setNumManaShards(shards0);
+            }
+            descended = descended0;
+            if (damageReceivedThisTurn.size() > damageReceived0) {
+                damageReceivedThisTurn.subList(damageReceived0, damageReceivedThisTurn.size()).clear();
+            }
+            setMaxHandSize(maxHandSize0);
+            setUnlimitedHandSize(unlimitedHandSize0);
+            revolt = revolt0;
+            activateLoyaltyAbilityThisTurn = loyalty0;
+            tappedLandForManaThisTurn = tappedLand0;
+            // the command zone itself is journaled
+            blessingEffect = blessing0;
+        };
+    }
+
     public void setBlessing(boolean bless) {
         // no need to to change
         if ((blessingEffect != null) == bless) {
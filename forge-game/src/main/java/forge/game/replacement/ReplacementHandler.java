@@ -57,6 +57,7 @@ import forge.util.Visitor;
 
 public class ReplacementHandler {
     private final Game game;
+    private final ReplacementRegistry registry;
 
     private Set<ReplacementEffect> hasRun = Sets.newHashSet();
 
@@ -69,6 +70,7 @@ public class ReplacementHandler {
      */
     public ReplacementHandler(Game gameState) {
         game = gameState;
+        registry = new ReplacementRegistry(gameState);
     }
 
     //private final List<ReplacementEffect> tmpEffects = new ArrayList<ReplacementEffect>();
@@ -117,41 +119,41 @@ public class ReplacementHandler {
         }*/
 
         // Round up Static replacement effects
-        game.forEachCardInGame(new Visitor<Card>() {
-            @Override
-            public boolean visit(Card crd) {
-                Card c = preList.get(crd);
-                Zone cardZone = game.getZoneOf(c);
-
-                // only when not prelist
-                boolean noLKIstate = c != crd || event != ReplacementType.Moved || c.isImmutable() || runParams.get(AbilityKey.LastStateBattlefield) == null;
-                if (!noLKIstate) {
-                    Card lastState = ((CardCollectionView) runParams.get(AbilityKey.LastStateBattlefield)).get(c);
-                    if (lastState != c) {
-                        // use LKI because it has the right RE from the state before the effect started
-                        c = lastState;
-                        cardZone = lastState.getLastKnownZone();
-                    } else if (cardZone != null && cardZone.is(ZoneType.Battlefield)) {
-                        // no LKI found so it shouldn't apply, this can happen during simultaneous zone changes
-                        return true;
+        // the registry doesn't know the cards in the sideboard, which are only visited when a card there is affected
+        final boolean withSideboard = affectedCard != null && affectedCard.isInZone(ZoneType.Sideboard);
+        if (preList.isEmpty() && !withSideboard
+                && (event != ReplacementType.Moved || runParams.get(AbilityKey.LastStateBattlefield) == null)) {
+            // no card needs to be looked at in another state, so only the ones with an effect of this type matter
+            for (final Card c : registry.getCards(event, layer)) {
+                addPossibleReplacers(possibleReplacers, registry.getReplacementEffects(c), game.getZoneOf(c), event, runParams, layer);
+            }
+        } else {
+            game.forEachCardInGame(new Visitor<Card>() {
+                @Override
+                public boolean visit(Card crd) {
+                    Card c = preList.get(crd);
+                    Zone cardZone = game.getZoneOf(c);
+
+                    // only when not prelist
+                    boolean noLKIstate = c != crd || event != ReplacementType.Moved || c.isImmutable() || runParams.get(AbilityKey.LastStateBattlefield) == null;
+                    if (!noLKIstate) {
+                        Card lastState = ((CardCollectionView) runParams.get(AbilityKey.LastStateBattlefield)).get(c);
+                        if (lastState != c) {
+                            // use LKI because it has the right RE from the state before the effect started
+                            c = lastState;
+                            cardZone = lastState.getLastKnownZone();
+                        } else if (cardZone != null && cardZone.is(ZoneType.Battlefield)) {
+                            // no LKI found so it shouldn't apply, this can happen during simultaneous zone changes
+                            return true;
+                        }
                     }
-                }
 
-                for (final ReplacementEffect replacementEffect : c.getReplacementEffects()) {
-                    if (!replacementEffect.hasRun() && !hasRun.contains(replacementEffect)
-                            && (layer == null || replacementEffect.getLayer() == layer)
-                            && replacementEffect.modeCheck(event, runParams)
-                            && !possibleReplacers.contains(replacementEffect)
-                            && replacementEffect.zonesCheck(cardZone)
-                            && replacementEffect.requirementsCheck(game)
-                            && replacementEffect.canReplace(runParams)) {
-                        possibleReplacers.add(replacementEffect);
-                    }
+                    addPossibleReplacers(possibleReplacers, registry.getReplacementEffects(c), cardZone, event, runParams, layer);
+                    return true;
                 }
-                return true;
-            }
 
-        }, affectedCard != null && affectedCard.isInZone(ZoneType.Sideboard));
+            }, withSideboard);
+        }
 
         if (checkAgain) {
             if (affectedLKI != null && affectedCard != null) {
@@ -176,6 +178,21 @@ public class ReplacementHandler {
         return possibleReplacers;
     }
 
+    private void addPossibleReplacers(final List<ReplacementEffect> possibleReplacers, final Iterable<ReplacementEffect> effects, final Zone cardZone,
+            final ReplacementType event, final Map<AbilityKey, Object> runParams, final ReplacementLayer layer) {
+        for (final ReplacementEffect replacementEffect : effects) {
+            if (!replacementEffect.hasRun() && !hasRun.contains(replacementEffect)
+                    && (layer == null || replacementEffect.getLayer() == layer)
+                    && replacementEffect.modeCheck(event, runParams)
+                    && !possibleReplacers.contains(replacementEffect)
+                    && replacementEffect.zonesCheck(cardZone)
+                    && replacementEffect.requirementsCheck(game)
+                    && replacementEffect.canReplace(runParams)) {
+                possibleReplacers.add(replacementEffect);
+            }
+        }
+    }
+
     public boolean cantHappenCheck(final ReplacementType event, final Map<AbilityKey, Object> runParams) {
         return !getReplacementList(event, runParams, ReplacementLayer.CantHappen).isEmpty();
     }
@@ -847,7 +864,7 @@ public class ReplacementHandler {
      *            The card that hosts the replacement effect
      * @return The finished instance
      */
-    private static ReplacementEffect parseReplacement(final Map<String, String> mapParams, final Card host, final boolean intrinsic, final IHasSVars sVarHolder) {
+    public static ReplacementEffect parseReplacement(final Map<String, String> mapParams, final Card host, final boolean intrinsic, final IHasSVars sVarHolder) {
         final ReplacementType rt = ReplacementType.smartValueOf(mapParams.get("Event"));
         ReplacementEffect ret = rt.createReplacement(mapParams, host, intrinsic);
 
@@ -900,24 +917,19 @@ public class ReplacementHandler {
      */
     public int getTotalPreventionShieldAmount(GameEntity o) {
         final List<ReplacementEffect> list = Lists.newArrayList();
-        game.forEachCardInGame(new Visitor<Card>() {
-            @Override
-            public boolean visit(Card c) {
-                for (final ReplacementEffect re : c.getReplacementEffects()) {
-                    if (re.getMode() == ReplacementType.DamageDone
-                            && re.getLayer() == ReplacementLayer.Other
-                            && re.hasParam("PreventionEffect")
-                            && re.zonesCheck(game.getZoneOf(c))
-                            && re.getOverridingAbility() != null
-                            && re.getOverridingAbility().getApi() == ApiType.ReplaceDamage
-                            && re.matchesValidParam("ValidTarget", o)) {
-                        list.add(re);
-                    }
+        for (final Card c : registry.getCards(ReplacementType.DamageDone, ReplacementLayer.Other)) {
+            for (final ReplacementEffect re : registry.getReplacementEffects(c)) {
+                if (re.getMode() == ReplacementType.DamageDone
+                        && re.getLayer() == ReplacementLayer.Other
+                        && re.hasParam("PreventionEffect")
+                        && re.zonesCheck(game.getZoneOf(c))
+                        && re.getOverridingAbility() != null
+                        && re.getOverridingAbility().getApi() == ApiType.ReplaceDamage
+                        && re.matchesValidParam("ValidTarget", o)) {
+                    list.add(re);
                 }
-                return true;
             }
-
-        });
+        }
 
         int totalAmount = 0;
         for (ReplacementEffect re : list) {
@@ -942,24 +954,19 @@ public class ReplacementHandler {
      * @return true if there is some resolved fog effect
      */
     public final boolean isPreventCombatDamageThisTurn() {
-        final List<ReplacementEffect> list = Lists.newArrayList();
-        game.forEachCardInGame(new Visitor<Card>() {
-            @Override
-            public boolean visit(Card c) {
-                for (final ReplacementEffect re : c.getReplacementEffects()) {
-                    if (re.getMode() == ReplacementType.DamageDone
-                            && re.getLayer() == ReplacementLayer.Other
-                            && re.hasParam("Prevent") && re.getParam("Prevent").equals("True")
-                            && re.hasParam("IsCombat") && re.getParam("IsCombat").equals("True")
-                            && !re.hasParam("ValidSource") && !re.hasParam("ValidTarget")
-                            && re.zonesCheck(game.getZoneOf(c))) {
-                        list.add(re);
-                    }
+        for (final Card c : registry.getCards(ReplacementType.DamageDone, ReplacementLayer.Other)) {
+            for (final ReplacementEffect re : registry.getReplacementEffects(c)) {
+                if (re.getMode() == ReplacementType.DamageDone
+                        && re.getLayer() == ReplacementLayer.Other
+                        && re.hasParam("Prevent") && re.getParam("Prevent").equals("True")
+                        && re.hasParam("IsCombat") && re.getParam("IsCombat").equals("True")
+                        && !re.hasParam("ValidSource") && !re.hasParam("ValidTarget")
+                        && re.zonesCheck(game.getZoneOf(c))) {
+                    return true;
                 }
-                return true;
             }
-        });
-        return !list.isEmpty();
+        }
+        return false;
     }
 
     public boolean isReplacing() {
@@ -0,0 +1,92 @@
+package forge.game.replacement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.util.Visitor;
+import forge.util.collect.FCollectionView;
+
+/**
+ * Replacement effects of the cards in a game, indexed by {@link ReplacementType} and {@link ReplacementLayer}.
+ * <p>
+ * Collecting the replacement effects of a card is expensive, as they come from its state, changed traits,
+ * keywords and counters. The index is built with a single pass over the game and reused until
+ * {@link Game#getStateVersion()} changes, so that an event only has to test the cards that have an effect
+ * of its own type, and the several layers checked for one event share that pass.
+ */
+final class ReplacementRegistry {
+    private final Game game;
+    private long version = -1;
+    private Map<Card, FCollectionView<ReplacementEffect>> byCard = Collections.emptyMap();
+    private Map<ReplacementType, List<Card>> byMode = Collections.emptyMap();
+    private Map<ReplacementType, Map<ReplacementLayer, List<Card>>> byModeAndLayer = Collections.emptyMap();
+
+    ReplacementRegistry(final Game game) {
+        this.game = game;
+    }
+
+    /**
+     * @return the replacement effects of a card in the game, or of any other card (e.g. LKI) computed directly
+     */
+    public FCollectionView<ReplacementEffect> getReplacementEffects(final Card c) {
+        update();
+        final FCollectionView<ReplacementEffect> result = byCard.get(c);
+        return result == null ? c.getReplacementEffects() : result;
+    }
+
+    /**
+     * @param layer the layer, or null for any layer
+     * @return the cards in the game with a replacement effect of that type, in the order the game visits them
+     */
+    public List<Card> getCards(final ReplacementType mode, final ReplacementLayer layer) {
+        update();
+        final List<Card> result;
+        if (layer == null) {
+            result = byMode.get(mode);
+        } else {
+            final Map<ReplacementLayer, List<Card>> layers = byModeAndLayer.get(mode);
+            result = layers == null ? null : layers.get(layer);
+        }
+        return result == null ? Collections.emptyList() : result;
+    }
+
+    private void update() {
+        final long current = game.getStateVersion();
+        if (version == current) {
+            return;
+        }
+        // build new collections so that callers still iterating the old ones aren't affected
+        final Map<Card, FCollectionView<ReplacementEffect>> cards = new IdentityHashMap<>();
+        final Map<ReplacementType, List<Card>> modes = new EnumMap<>(ReplacementType.class);
+        final Map<ReplacementType, Map<ReplacementLayer, List<Card>>> layers = new EnumMap<>(ReplacementType.class);
+        game.forEachCardInGame(new Visitor<Card>() {
+            @Override
+            public boolean visit(final Card c) {
+                final FCollectionView<ReplacementEffect> effects = c.getReplacementEffects();
+                cards.put(c, effects);
+                for (final ReplacementEffect re : effects) {
+                    final List<Card> forMode = modes.computeIfAbsent(re.getMode(), k -> new ArrayList<>());
+                    if (forMode.isEmpty() || forMode.get(forMode.size() - 1) != c) {
+                        forMode.add(c);
+                    }
+                    final List<Card> forLayer = layers.computeIfAbsent(re.getMode(), k -> new EnumMap<>(ReplacementLayer.class))
+                            .computeIfAbsent(re.getLayer(), k -> new ArrayList<>());
+                    if (forLayer.isEmpty() || forLayer.get(forLayer.size() - 1) != c) {
+                        forLayer.add(c);
+                    }
+                }
+                return true;
+            }
+        });
+        byCard = cards;
+        byMode = modes;
+        byModeAndLayer = layers;
+        version = current;
+    }
+}
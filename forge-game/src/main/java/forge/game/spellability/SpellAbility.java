@@ -18,6 +18,7 @@
 package forge.game.spellability;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import forge.game.cost.CostSacrifice;
 import forge.util.*;
@@ -41,6 +42,7 @@ import forge.game.GameEntityCounterTable;
 import forge.game.GameObject;
 import forge.game.IHasSVars;
 import forge.game.IIdentifiable;
+import forge.game.ValidRestriction;
 import forge.game.ability.AbilityKey;
 import forge.game.ability.AbilityUtils;
 import forge.game.ability.ApiType;
@@ -81,8 +83,8 @@ import forge.game.zone.ZoneType;
  * @version $Id$
  */
 public abstract class SpellAbility extends CardTraitBase implements ISpellAbility, IIdentifiable, Comparable<SpellAbility> {
-    private static int maxId = 0;
-    private static int nextId() { return ++maxId; }
+    private static final AtomicInteger maxId = new AtomicInteger();
+    private static int nextId() { return maxId.incrementAndGet(); }
 
     public static class EmptySa extends SpellAbility {
         public EmptySa(Card sourceCard) { super(sourceCard, Cost.Zero); setActivatingPlayer(sourceCard.getController());}
@@ -889,7 +891,7 @@ public abstract class SpellAbility extends CardTraitBase implements ISpellAbilit
     }
 
     public String getStackDescription() {
-        String text = getHostCard().getView().getText();
+        String text = getHostCard().getUpdatedView().getText();
         if (stackDescription.equals(text) && !text.isEmpty()) {
             return getHostCard().getName() + " - " + text;
         }
@@ -898,7 +900,7 @@ public abstract class SpellAbility extends CardTraitBase implements ISpellAbilit
     public void setStackDescription(final String s) {
         originalStackDescription = s;
         stackDescription = originalStackDescription;
-        if (StringUtils.isEmpty(description) && StringUtils.isEmpty(hostCard.getView().getText())) {
+        if (StringUtils.isEmpty(description) && StringUtils.isEmpty(hostCard.getUpdatedView().getText())) {
             setDescription(s);
         }
     }
@@ -2135,69 +2137,75 @@ public abstract class SpellAbility extends CardTraitBase implements ISpellAbilit
     @Override
     public final boolean isValid(final String restriction, final Player sourceController, final Card source, CardTraitBase spellAbility) {
         // Inclusive restrictions are Card types
-        final String[] incR = restriction.split("\\.", 2);
-        SpellAbility root = getRootAbility();
-
+        final String type;
+        final String[] exR;
         boolean testFailed = false;
-        if (incR[0].startsWith("!")) {
-            testFailed = true; // a bit counterintuitive
-            incR[0] = incR[0].substring(1); // consume negation sign
+        if (ValidRestriction.COMPILED) {
+            final ValidRestriction valid = ValidRestriction.of(restriction);
+            type = valid.getType();
+            exR = valid.getProperties();
+            testFailed = valid.isNegated();
+        } else {
+            final String[] incR = restriction.split("\\.", 2);
+            if (incR[0].startsWith("!")) {
+                testFailed = true; // a bit counterintuitive
+                incR[0] = incR[0].substring(1); // consume negation sign
+            }
+            type = incR[0];
+            exR = incR.length > 1 ? incR[1].split("\\+") : new String[0]; // Exclusive Restrictions are ...
         }
+        SpellAbility root = getRootAbility();
 
-        if (incR[0].equals("Spell")) {
+        if (type.equals("Spell")) {
             if (!root.isSpell()) {
                 return testFailed;
             }
         }
-        else if (incR[0].equals("Ability")) {
+        else if (type.equals("Ability")) {
             if (!root.isAbility()) {
                 return testFailed;
             }
         }
-        else if (incR[0].equals("Instant")) {
+        else if (type.equals("Instant")) {
             if (!root.getCardState().getType().isInstant()) {
                 return testFailed;
             }
         }
-        else if (incR[0].equals("Sorcery")) {
+        else if (type.equals("Sorcery")) {
             if (!root.getCardState().getType().isSorcery()) {
                 return testFailed;
             }
         }
-        else if (incR[0].equals("Triggered")) {
+        else if (type.equals("Triggered")) {
             if (!root.isTrigger()) {
                 return testFailed;
             }
         }
-        else if (incR[0].equals("Activated")) {
+        else if (type.equals("Activated")) {
             if (!root.isActivatedAbility()) {
                 return testFailed;
             }
         }
-        else if (incR[0].equals("Static")) {
+        else if (type.equals("Static")) {
             if (!(root instanceof AbilityStatic)) {
                 return testFailed;
             }
         }
-        else if (incR[0].contains("LandAbility")) {
+        else if (type.contains("LandAbility")) {
             if (!(root.isLandAbility())) {
                 return testFailed;
             }
         }
-        else if (incR[0].equals("SpellAbility")) {
+        else if (type.equals("SpellAbility")) {
             // Match anything
         }
         else { //not a spell/ability type
             return testFailed;
         }
 
-        if (incR.length > 1) {
-            final String excR = incR[1];
-            final String[] exR = excR.split("\\+"); // Exclusive Restrictions are ...
-            for (String s : exR) {
-                if (!hasProperty(s, sourceController, source, spellAbility)) {
-                    return testFailed;
-                }
+        for (String s : exR) {
+            if (!hasProperty(s, sourceController, source, spellAbility)) {
+                return testFailed;
             }
         }
         return !testFailed;
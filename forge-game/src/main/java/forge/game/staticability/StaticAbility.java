@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.collect.*;
 
@@ -51,8 +52,8 @@ import forge.util.*;
  * The Class StaticAbility.
  */
 public class StaticAbility extends CardTraitBase implements IIdentifiable, Cloneable, Comparable<StaticAbility> {
-    private static int maxId = 0;
-    private static int nextId() { return ++maxId; }
+    private static final AtomicInteger maxId = new AtomicInteger();
+    private static int nextId() { return maxId.incrementAndGet(); }
 
     private int id;
 
@@ -215,6 +216,12 @@ public class StaticAbility extends CardTraitBase implements IIdentifiable, Clone
         return st;
     }
 
+    public static StaticAbility create(final Map<String, String> params, final Card host, CardState state, boolean intrinsic) {
+        StaticAbility st = new StaticAbility(params, host, state);
+        st.setIntrinsic(intrinsic);
+        return st;
+    }
+
     /**
      * Instantiates a new static ability.
      *
@@ -3,7 +3,6 @@ package forge.game.staticability;
 import forge.game.Game;
 import forge.game.card.Card;
 import forge.game.spellability.SpellAbility;
-import forge.game.zone.ZoneType;
 
 public class StaticAbilityAdapt {
 
@@ -11,14 +10,12 @@ public class StaticAbilityAdapt {
 
     public static boolean anyWithAdapt(final SpellAbility sa, final Card card) {
         final Game game = card.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
-                if (applyWithAdapt(stAb, sa, card)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(MODE)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (applyWithAdapt(stAb, sa, card)) {
+                return true;
             }
         }
         return false;
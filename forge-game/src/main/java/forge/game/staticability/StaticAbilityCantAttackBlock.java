@@ -26,7 +26,6 @@ import forge.game.Game;
 import forge.game.GameEntity;
 import forge.game.ability.AbilityUtils;
 import forge.game.card.Card;
-import forge.game.card.CardCollection;
 import forge.game.card.CardCollectionView;
 import forge.game.card.CardPredicates;
 import forge.game.cost.Cost;
@@ -51,15 +50,13 @@ public class StaticAbilityCantAttackBlock {
             return true;
         }
 
-        for (final Card ca : attacker.getGame().getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(CantAttackMode)) {
-                    continue;
-                }
+        for (final StaticAbility stAb : attacker.getGame().getStaticAbilities(CantAttackMode)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
 
-                if (applyCantAttackAbility(stAb, attacker, defender)) {
-                    return true;
-                }
+            if (applyCantAttackAbility(stAb, attacker, defender)) {
+                return true;
             }
         }
         return false;
@@ -145,20 +142,13 @@ public class StaticAbilityCantAttackBlock {
     }
 
     public static boolean cantBlockBy(final Card attacker, final Card blocker) {
-        CardCollection list = new CardCollection(attacker.getGame().getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES));
         // add attacker and blocker in case of LKI
-        list.add(attacker);
-        if (blocker != null) {
-            list.add(blocker);
-        }
-        for (final Card ca : list) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(CantBlockByMode)) {
-                    continue;
-                }
-                if (applyCantBlockByAbility(stAb, attacker, blocker)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : attacker.getGame().getStaticAbilities(CantBlockByMode, attacker, blocker)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (applyCantBlockByAbility(stAb, attacker, blocker)) {
+                return true;
             }
         }
         return false;
@@ -214,14 +204,12 @@ public class StaticAbilityCantAttackBlock {
     }
 
     public static boolean canBlockIfReach(final Card attacker, final Card blocker) {
-        for (final Card ca : attacker.getGame().getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(CanBlockIfReachMode)) {
-                    continue;
-                }
-                if (applyCanBlockIfReachAbility(stAb, attacker, blocker)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : attacker.getGame().getStaticAbilities(CanBlockIfReachMode)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (applyCanBlockIfReachAbility(stAb, attacker, blocker)) {
+                return true;
             }
         }
         return false;
@@ -315,14 +303,12 @@ public class StaticAbilityCantAttackBlock {
         if (!attacker.isSick()) {
             return true;
         }
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(CanAttackIfHasteMode)) {
-                    continue;
-                }
-                if (applyCanAttackHasteAbility(stAb, attacker, defender)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(CanAttackIfHasteMode)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (applyCanAttackHasteAbility(stAb, attacker, defender)) {
+                return true;
             }
         }
         return false;
@@ -349,13 +335,11 @@ public class StaticAbilityCantAttackBlock {
         }
 
         final Game game = attacker.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MinMaxBlockerMode)) {
-                    continue;
-                }
-                applyMinMaxBlockerAbility(stAb, attacker, defender, result);
+        for (final StaticAbility stAb : game.getStaticAbilities(MinMaxBlockerMode)) {
+            if (!stAb.checkConditions()) {
+                continue;
             }
+            applyMinMaxBlockerAbility(stAb, attacker, defender, result);
         }
         return result;
     }
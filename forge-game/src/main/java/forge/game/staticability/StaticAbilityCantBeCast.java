@@ -21,7 +21,6 @@ import java.util.List;
 
 import forge.game.Game;
 import forge.game.card.Card;
-import forge.game.card.CardCollection;
 import forge.game.card.CardLists;
 import forge.game.card.CardUtil;
 import forge.game.player.Player;
@@ -41,16 +40,12 @@ public class StaticAbilityCantBeCast {
         card.setCastSA(spell);
 
         final Game game = activator.getGame();
-        final CardCollection allp = new CardCollection(game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES));
-        allp.add(card);
-        for (final Card ca : allp) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(CantBeCast)) {
-                    continue;
-                }
-                if (applyCantBeCastAbility(stAb, spell, card, activator)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(CantBeCast, card)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (applyCantBeCastAbility(stAb, spell, card, activator)) {
+                return true;
             }
         }
         return false;
@@ -61,14 +56,12 @@ public class StaticAbilityCantBeCast {
             return false;
         }
         final Game game = activator.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(CantBeActivated)) {
-                    continue;
-                }
-                if (applyCantBeActivatedAbility(stAb, spell, card, activator)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(CantBeActivated)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (applyCantBeActivatedAbility(stAb, spell, card, activator)) {
+                return true;
             }
         }
         return false;
@@ -76,14 +69,12 @@ public class StaticAbilityCantBeCast {
 
     public static boolean cantPlayLandAbility(final SpellAbility spell, final Card card, final Player activator) {
         final Game game = activator.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(CantPlayLand)) {
-                    continue;
-                }
-                if (applyCantPlayLandAbility(stAb, card, activator)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(CantPlayLand)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (applyCantPlayLandAbility(stAb, card, activator)) {
+                return true;
             }
         }
         return false;
@@ -2,7 +2,6 @@ package forge.game.staticability;
 
 import forge.game.Game;
 import forge.game.card.Card;
-import forge.game.zone.ZoneType;
 
 public class StaticAbilityCantBeSuspected {
 
@@ -10,14 +9,12 @@ public class StaticAbilityCantBeSuspected {
 
     public static boolean cantBeSuspected(final Card c) {
         final Game game = c.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
-                if (cantBeSuspectedCheck(stAb, c)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(MODE)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (cantBeSuspectedCheck(stAb, c)) {
+                return true;
             }
         }
         return false;
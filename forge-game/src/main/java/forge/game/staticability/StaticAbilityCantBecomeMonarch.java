@@ -1,9 +1,7 @@
 package forge.game.staticability;
 
 import forge.game.Game;
-import forge.game.card.Card;
 import forge.game.player.Player;
-import forge.game.zone.ZoneType;
 
 public class StaticAbilityCantBecomeMonarch {
 
@@ -11,14 +9,12 @@ public class StaticAbilityCantBecomeMonarch {
 
     public static boolean anyCantBecomeMonarch(final Player player) {
         final Game game = player.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
-                if (applyCantBecomeMonarchAbility(stAb, player)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(MODE)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (applyCantBecomeMonarchAbility(stAb, player)) {
+                return true;
             }
         }
         return false;
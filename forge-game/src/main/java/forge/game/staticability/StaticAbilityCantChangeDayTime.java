@@ -1,8 +1,6 @@
 package forge.game.staticability;
 
 import forge.game.Game;
-import forge.game.card.Card;
-import forge.game.zone.ZoneType;
 
 public class StaticAbilityCantChangeDayTime {
 
@@ -11,14 +9,12 @@ public class StaticAbilityCantChangeDayTime {
         if (value == null) {
             return false;
         }
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
-                if (cantChangeDayCheck(stAb, value)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(MODE)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (cantChangeDayCheck(stAb, value)) {
+                return true;
             }
         }
         return false;
@@ -1,10 +1,10 @@
 package forge.game.staticability;
 
+import com.google.common.collect.Iterables;
+
 import forge.game.Game;
-import forge.game.card.Card;
 import forge.game.player.Player;
 import forge.game.spellability.SpellAbility;
-import forge.game.zone.ZoneType;
 
 public class StaticAbilityCantGainLosePayLife {
 
@@ -15,19 +15,13 @@ public class StaticAbilityCantGainLosePayLife {
 
     public static boolean anyCantGainLife(final Player player) {
         final Game game = player.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!(stAb.checkMode(MODE_CANT_GAIN_LIFE) || stAb.checkMode(MODE_CANT_CHANGE_LIFE))) {
-                    continue;
-                }
-
-                if (!stAb.checkConditions()) {
-                    continue;
-                }
+        for (final StaticAbility stAb : Iterables.concat(game.getStaticAbilities(MODE_CANT_GAIN_LIFE), game.getStaticAbilities(MODE_CANT_CHANGE_LIFE))) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
 
-                if (applyCommonAbility(stAb, player)) {
-                    return true;
-                }
+            if (applyCommonAbility(stAb, player)) {
+                return true;
             }
         }
         return false;
@@ -35,19 +29,13 @@ public class StaticAbilityCantGainLosePayLife {
 
     public static boolean anyCantLoseLife(final Player player)  {
         final Game game = player.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!(stAb.checkMode(MODE_CANT_LOSE_LIFE) || stAb.checkMode(MODE_CANT_CHANGE_LIFE))) {
-                    continue;
-                }
-
-                if (!stAb.checkConditions()) {
-                    continue;
-                }
+        for (final StaticAbility stAb : Iterables.concat(game.getStaticAbilities(MODE_CANT_LOSE_LIFE), game.getStaticAbilities(MODE_CANT_CHANGE_LIFE))) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
 
-                if (applyCommonAbility(stAb, player)) {
-                    return true;
-                }
+            if (applyCommonAbility(stAb, player)) {
+                return true;
             }
         }
 
@@ -56,29 +44,23 @@ public class StaticAbilityCantGainLosePayLife {
 
     public static boolean anyCantPayLife(final Player player, final boolean effect, final SpellAbility cause)  {
         final Game game = player.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!(stAb.checkMode(MODE_CANT_PAY_LIFE) || stAb.checkMode(MODE_CANT_LOSE_LIFE) || stAb.checkMode(MODE_CANT_CHANGE_LIFE))) {
-                    continue;
-                }
+        for (final StaticAbility stAb : Iterables.concat(game.getStaticAbilities(MODE_CANT_PAY_LIFE), game.getStaticAbilities(MODE_CANT_LOSE_LIFE), game.getStaticAbilities(MODE_CANT_CHANGE_LIFE))) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
 
-                if (!stAb.checkConditions()) {
+            if (stAb.hasParam("ForCost")) {
+                if ("True".equalsIgnoreCase(stAb.getParam("ForCost")) == effect) {
                     continue;
                 }
+            }
 
-                if (stAb.hasParam("ForCost")) {
-                    if ("True".equalsIgnoreCase(stAb.getParam("ForCost")) == effect) {
-                        continue;
-                    }
-                }
-
-                if (!stAb.matchesValidParam("ValidCause", cause)) {
-                    continue;
-                }
+            if (!stAb.matchesValidParam("ValidCause", cause)) {
+                continue;
+            }
 
-                if (applyCommonAbility(stAb, player)) {
-                    return true;
-                }
+            if (applyCommonAbility(stAb, player)) {
+                return true;
             }
         }
         return false;
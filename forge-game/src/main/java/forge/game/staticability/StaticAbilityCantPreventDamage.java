@@ -1,24 +1,18 @@
 package forge.game.staticability;
 
 import forge.game.card.Card;
-import forge.game.card.CardCollection;
-import forge.game.zone.ZoneType;
 
 public class StaticAbilityCantPreventDamage {
 
     static String MODE = "CantPreventDamage";
 
     public static boolean cantPreventDamage(final Card source, final boolean isCombat) {
-        CardCollection list = new CardCollection(source.getGame().getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES));
-        list.add(source);
-        for (final Card ca : list) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
-                if (applyCantPreventDamage(stAb, source, isCombat)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : source.getGame().getStaticAbilities(MODE, source)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (applyCantPreventDamage(stAb, source, isCombat)) {
+                return true;
             }
         }
         return false;
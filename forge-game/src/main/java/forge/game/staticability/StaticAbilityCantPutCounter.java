@@ -4,7 +4,6 @@ import forge.game.Game;
 import forge.game.card.Card;
 import forge.game.card.CounterType;
 import forge.game.player.Player;
-import forge.game.zone.ZoneType;
 
 public class StaticAbilityCantPutCounter {
 
@@ -12,14 +11,12 @@ public class StaticAbilityCantPutCounter {
 
     public static boolean anyCantPutCounter(final Card card, final CounterType type) {
         final Game game = card.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
-                if (applyCantPutCounter(stAb, card, type)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(MODE)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (applyCantPutCounter(stAb, card, type)) {
+                return true;
             }
         }
         return false;
@@ -27,14 +24,12 @@ public class StaticAbilityCantPutCounter {
 
     public static boolean anyCantPutCounter(final Player player, final CounterType type) {
         final Game game = player.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
-                if (applyCantPutCounter(stAb, player, type)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(MODE)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (applyCantPutCounter(stAb, player, type)) {
+                return true;
             }
         }
         return false;
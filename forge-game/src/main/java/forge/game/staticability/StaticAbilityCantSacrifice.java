@@ -3,7 +3,6 @@ package forge.game.staticability;
 import forge.game.Game;
 import forge.game.card.Card;
 import forge.game.spellability.SpellAbility;
-import forge.game.zone.ZoneType;
 
 public class StaticAbilityCantSacrifice {
 
@@ -11,15 +10,13 @@ public class StaticAbilityCantSacrifice {
 
     public static boolean cantSacrifice(final Card card, final SpellAbility cause, final boolean effect)  {
         final Game game = card.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(MODE)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
 
-                if (applyCantSacrificeAbility(stAb, card, cause, effect)) {
-                    return true;
-                }
+            if (applyCantSacrificeAbility(stAb, card, cause, effect)) {
+                return true;
             }
         }
         return false;
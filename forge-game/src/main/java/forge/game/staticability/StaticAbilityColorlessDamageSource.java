@@ -2,7 +2,6 @@ package forge.game.staticability;
 
 import forge.game.card.Card;
 import forge.game.card.CardState;
-import forge.game.zone.ZoneType;
 
 public class StaticAbilityColorlessDamageSource {
 
@@ -10,14 +9,12 @@ public class StaticAbilityColorlessDamageSource {
 
     public static boolean colorlessDamageSource(final CardState state) {
         final Card card = state.getCard();
-        for (final Card ca : card.getGame().getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
-                if (applyColorlessDamageSource(stAb, card)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : card.getGame().getStaticAbilities(MODE)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (applyColorlessDamageSource(stAb, card)) {
+                return true;
             }
         }
         return false;
@@ -2,7 +2,6 @@ package forge.game.staticability;
 
 import forge.game.Game;
 import forge.game.card.Card;
-import forge.game.zone.ZoneType;
 
 public class StaticAbilityCrewValue {
 
@@ -10,14 +9,12 @@ public class StaticAbilityCrewValue {
 
     public static boolean crewsWithToughness(final Card card) {
         final Game game = card.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
-                if (crewsWithToughness(stAb, card)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(MODE)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (crewsWithToughness(stAb, card)) {
+                return true;
             }
         }
         return false;
@@ -30,17 +27,15 @@ public class StaticAbilityCrewValue {
     public static int getCrewMod(final Card card) {
         int i = 0;
         final Game game = card.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
-                if (!stAb.matchesValidParam("ValidCard", card)) {
-                    continue;
-                }
-                int t = Integer.parseInt(stAb.getParam("Value"));
-                i = i + t;
+        for (final StaticAbility stAb : game.getStaticAbilities(MODE)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (!stAb.matchesValidParam("ValidCard", card)) {
+                continue;
             }
+            int t = Integer.parseInt(stAb.getParam("Value"));
+            i = i + t;
         }
         return i;
     }
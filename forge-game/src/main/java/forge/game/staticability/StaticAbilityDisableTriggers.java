@@ -1,6 +1,7 @@
 package forge.game.staticability;
 
 import com.google.common.base.Predicates;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Table.Cell;
 
 import forge.game.Game;
@@ -18,28 +19,28 @@ public class StaticAbilityDisableTriggers {
     static String MODE = "DisableTriggers";
 
     public static boolean disabled(final Game game, final Trigger regtrig, final Map<AbilityKey, Object> runParams)  {
-        CardCollectionView cardList = null;
+        Iterable<StaticAbility> stAbs;
         // if LTB look back
         if ((regtrig.getMode() == TriggerType.ChangesZone || regtrig.getMode() == TriggerType.ChangesZoneAll) && "Battlefield".equals(regtrig.getParam("Origin"))) {
+            CardCollectionView cardList = null;
             if (runParams.containsKey(AbilityKey.LastStateBattlefield)) {
                 cardList = (CardCollectionView) runParams.get(AbilityKey.LastStateBattlefield);
             }
             if (cardList == null) {
                 cardList = game.getLastStateBattlefield();
             }
+            stAbs = Iterables.concat(Iterables.transform(cardList, Card::getStaticAbilities));
         } else {
-            cardList = game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES);
+            stAbs = game.getStaticAbilities(MODE);
         }
 
-        for (final Card ca : cardList) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
+        for (final StaticAbility stAb : stAbs) {
+            if (!stAb.checkConditions(MODE)) {
+                continue;
+            }
 
-                if (isDisabled(stAb, regtrig, runParams)) {
-                    return true;
-                }
+            if (isDisabled(stAb, regtrig, runParams)) {
+                return true;
             }
         }
         return false;
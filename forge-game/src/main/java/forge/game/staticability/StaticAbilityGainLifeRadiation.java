@@ -1,23 +1,19 @@
 package forge.game.staticability;
 
 import forge.game.Game;
-import forge.game.card.Card;
 import forge.game.player.Player;
-import forge.game.zone.ZoneType;
 
 public class StaticAbilityGainLifeRadiation {
     static String MODE = "GainLifeRadiation";
 
     static public boolean gainLifeRadiation(Player player) {
         final Game game = player.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
-                if (applyGainLifeRadiation(stAb, player)) {
-                    return true;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(MODE)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (applyGainLifeRadiation(stAb, player)) {
+                return true;
             }
         }
         return false;
@@ -2,11 +2,9 @@ package forge.game.staticability;
 
 import forge.game.Game;
 import forge.game.GameEntity;
-import forge.game.card.Card;
 import forge.game.keyword.Keyword;
 import forge.game.player.Player;
 import forge.game.spellability.SpellAbility;
-import forge.game.zone.ZoneType;
 
 public class StaticAbilityIgnoreHexproofShroud {
 
@@ -15,17 +13,13 @@ public class StaticAbilityIgnoreHexproofShroud {
 
     static public boolean ignore(GameEntity entity, final SpellAbility spellAbility, Keyword keyword) {
         final Game game = entity.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (keyword.equals(Keyword.HEXPROOF) && !stAb.checkConditions(HEXPROOF_MODE)) {
-                    continue;
-                }
-                if (keyword.equals(Keyword.SHROUD) && !stAb.checkConditions(SHROUD_MODE)) {
-                    continue;
-                }
-                if (commonAbility(stAb, entity, spellAbility)) {
-                    return true;
-                }
+        final String mode = keyword.equals(Keyword.HEXPROOF) ? HEXPROOF_MODE : SHROUD_MODE;
+        for (final StaticAbility stAb : game.getStaticAbilities(mode)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (commonAbility(stAb, entity, spellAbility)) {
+                return true;
             }
         }
         return false;
@@ -3,7 +3,6 @@ package forge.game.staticability;
 import forge.game.Game;
 import forge.game.card.Card;
 import forge.game.keyword.KeywordInterface;
-import forge.game.zone.ZoneType;
 
 public class StaticAbilityIgnoreLandwalk {
 
@@ -11,15 +10,13 @@ public class StaticAbilityIgnoreLandwalk {
     
     public static boolean ignoreLandWalk(Card attacker, Card blocker, KeywordInterface k) {
         final Game game = attacker.getGame();
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(MODE)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
 
-                if (ignoreLandWalkAbility(stAb, attacker, blocker, k)) {
-                    return true;
-                }
+            if (ignoreLandWalkAbility(stAb, attacker, blocker, k)) {
+                return true;
             }
         }
         return false;
@@ -6,7 +6,6 @@ import forge.game.card.Card;
 import forge.game.mana.ManaConversionMatrix;
 import forge.game.player.Player;
 import forge.game.spellability.SpellAbility;
-import forge.game.zone.ZoneType;
 
 public class StaticAbilityManaConvert {
 
@@ -15,15 +14,13 @@ public class StaticAbilityManaConvert {
     public static boolean manaConvert(ManaConversionMatrix matrix, Player p, Card card, SpellAbility sa) {
         final Game game = p.getGame();
         boolean changed = false;
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE)) {
-                    continue;
-                }
-                if (checkManaConvert(stAb, p, card, sa)) {
-                    AbilityUtils.applyManaColorConversion(matrix, stAb.getParam("ManaConversion"));
-                    changed = true;
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(MODE)) {
+            if (!stAb.checkConditions()) {
+                continue;
+            }
+            if (checkManaConvert(stAb, p, card, sa)) {
+                AbilityUtils.applyManaColorConversion(matrix, stAb.getParam("ManaConversion"));
+                changed = true;
             }
         }
         return changed;
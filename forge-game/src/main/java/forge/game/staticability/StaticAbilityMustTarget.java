@@ -59,15 +59,13 @@ public class StaticAbilityMustTarget {
         final Game game = spellAbility.getHostCard().getGame();
         List<Pair<String, ZoneType>> restrictions = new ArrayList<>();
 
-        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
-            for (final StaticAbility stAb : ca.getStaticAbilities()) {
-                if (!stAb.checkConditions(MODE) || !stAb.matchesValidParam("ValidSA", spellAbility)) {
-                    continue;
-                }
-                Pair<String, ZoneType> newRestriction = Pair.of(stAb.getParam("ValidTarget"), ZoneType.smartValueOf(stAb.getParam("ValidZone")));
-                if (!restrictions.contains(newRestriction)) {
-                    restrictions.add(newRestriction);
-                }
+        for (final StaticAbility stAb : game.getStaticAbilities(MODE)) {
+            if (!stAb.checkConditions() || !stAb.matchesValidParam("ValidSA", spellAbility)) {
+                continue;
+            }
+            Pair<String, ZoneType> newRestriction = Pair.of(stAb.getParam("ValidTarget"), ZoneType.smartValueOf(stAb.getParam("ValidZone")));
+            if (!restrictions.contains(newRestriction)) {
+                restrictions.add(newRestriction);
             }
         }
 
@@ -0,0 +1,82 @@
+package forge.game.staticability;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.zone.ZoneType;
+
+/**
+ * Static abilities of the cards in {@link ZoneType#STATIC_ABILITIES_SOURCE_ZONES}, indexed by their mode.
+ * <p>
+ * Rule checks like "can this creature attack" or "is anything disabling this trigger" only care about one mode,
+ * but used to collect the cards of all those zones and the static abilities of each card on every call.
+ * The index is built with one such pass and reused until {@link Game#getStateVersion()} changes.
+ */
+public final class StaticAbilityRegistry {
+    private final Game game;
+    private long version = -1;
+    private Map<String, List<StaticAbility>> byMode = Collections.emptyMap();
+    private Set<Integer> sourceIds = Collections.emptySet();
+
+    public StaticAbilityRegistry(final Game game) {
+        this.game = game;
+    }
+
+    /**
+     * @return the static abilities with that mode, in the order of their cards in the source zones
+     */
+    public List<StaticAbility> get(final String mode) {
+        update();
+        final List<StaticAbility> result = byMode.get(mode);
+        return result == null ? Collections.emptyList() : result;
+    }
+
+    /**
+     * Like {@link #get(String)}, but also includes the static abilities of the given cards if they aren't
+     * in the source zones themselves, e.g. LKI copies or a spell being cast from hand.
+     */
+    public List<StaticAbility> get(final String mode, final Card... extra) {
+        final List<StaticAbility> result = get(mode);
+        List<StaticAbility> withExtra = null;
+        for (final Card c : extra) {
+            if (c == null || sourceIds.contains(c.getId())) {
+                continue;
+            }
+            for (final StaticAbility stAb : c.getStaticAbilities()) {
+                if (stAb.checkMode(mode)) {
+                    if (withExtra == null) {
+                        withExtra = new ArrayList<>(result);
+                    }
+                    withExtra.add(stAb);
+                }
+            }
+        }
+        return withExtra == null ? result : withExtra;
+    }
+
+    private void update() {
+        final long current = game.getStateVersion();
+        if (version == current) {
+            return;
+        }
+        // build a new map so that callers still iterating the old lists aren't affected
+        final Map<String, List<StaticAbility>> modes = new HashMap<>();
+        final Set<Integer> ids = new HashSet<>();
+        for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
+            ids.add(ca.getId());
+            for (final StaticAbility stAb : ca.getStaticAbilities()) {
+                modes.computeIfAbsent(stAb.getParam("Mode"), k -> new ArrayList<>()).add(stAb);
+            }
+        }
+        byMode = modes;
+        sourceIds = ids;
+        version = current;
+    }
+}
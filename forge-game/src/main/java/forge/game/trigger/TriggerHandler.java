@@ -42,18 +42,21 @@ import forge.game.zone.Zone;
 import forge.game.zone.ZoneType;
 import forge.util.FileSection;
 import forge.util.Visitor;
+import forge.util.collect.FCollectionView;
 import io.sentry.Breadcrumb;
 import io.sentry.Sentry;
 
 public class TriggerHandler {
     private final Set<TriggerType> suppressedModes = Collections.synchronizedSet(EnumSet.noneOf(TriggerType.class));
     private boolean allSuppressed = false;
-    private final List<Trigger> activeTriggers = Collections.synchronizedList(new ArrayList<>());
+    private final TriggerRegistry activeTriggers = new TriggerRegistry();
 
-    private final List<Trigger> delayedTriggers = Collections.synchronizedList(new ArrayList<>());
+    private final TriggerRegistry delayedTriggers = new TriggerRegistry();
     private final List<Trigger> thisTurnDelayedTriggers = Collections.synchronizedList(new ArrayList<>());
     private final ListMultimap<Player, Trigger> playerDefinedDelayedTriggers = Multimaps.synchronizedListMultimap(ArrayListMultimap.create());
     private final List<TriggerWaiting> waitingTriggers = Collections.synchronizedList(new ArrayList<>());
+    // number of events run per mode, for profiling
+    private final int[] dispatchCounts = new int[TriggerType.values().length];
     private final Game game;
 
     public TriggerHandler(final Game gameState) {
@@ -83,13 +86,7 @@ public class TriggerHandler {
     }
 
     public final void clearDelayedTrigger(final Card card) {
-        final List<Trigger> deltrigs = new ArrayList<>(delayedTriggers);
-
-        for (final Trigger trigger : deltrigs) {
-            if (trigger.getHostCard().equals(card)) {
-                delayedTriggers.remove(trigger);
-            }
-        }
+        delayedTriggers.removeIf(card, t -> true);
     }
 
     public final void registerPlayerDefinedDelayedTrigger(final Player player, final Trigger trig) {
@@ -217,17 +214,9 @@ public class TriggerHandler {
     }
 
     public final void clearActiveTriggers(final Card c, Zone zoneFrom) {
-        final List<Trigger> toBeRemoved = Lists.newArrayList();
-
-        for (Trigger t : activeTriggers) {
-            // Clear if no ZoneFrom, or not coming from the TriggerZone
-            if (c.getId() == t.getHostCard().getId()) {
-                if (!c.getTriggers().contains(t) || !t.zonesCheck(zoneFrom))
-                    toBeRemoved.add(t);
-            }
-        }
-
-        activeTriggers.removeAll(toBeRemoved);
+        final FCollectionView<Trigger> cardTriggers = c.getTriggers();
+        // Clear if no ZoneFrom, or not coming from the TriggerZone
+        activeTriggers.removeIf(c, t -> !cardTriggers.contains(t) || !t.zonesCheck(zoneFrom));
     }
 
     public final void registerActiveTrigger(final Card c, final boolean onlyExtrinsic) {
@@ -274,7 +263,8 @@ public class TriggerHandler {
     }
 
     private void runStateTrigger(final Map<AbilityKey, Object> runParams) {
-        for (final Trigger t: Lists.newArrayList(activeTriggers)) {
+        dispatchCounts[TriggerType.Always.ordinal()]++;
+        for (final Trigger t: activeTriggers.copyOf(TriggerType.Always)) {
             if (canRunTrigger(t, TriggerType.Always, runParams)) {
                 runSingleTrigger(t, runParams);
             }
@@ -306,13 +296,15 @@ public class TriggerHandler {
             return false;
         }
 
+        dispatchCounts[mode.ordinal()]++;
+
         // Copy triggers here, so things can be modified just in case
-        final List<Trigger> delayedTriggersWorkingCopy = new ArrayList<>(delayedTriggers);
+        final List<Trigger> delayedTriggersWorkingCopy = delayedTriggers.copyOf(mode);
 
         boolean checkStatics = false;
 
         // Static triggers
-        for (final Trigger t : Lists.newArrayList(activeTriggers)) {
+        for (final Trigger t : activeTriggers.copyOf(mode)) {
             if (t.isStatic() && canRunTrigger(t, mode, runParams)) {
                 int x = 1 + StaticAbilityPanharmonicon.handlePanharmonicon(game, t, runParams);
 
@@ -355,7 +347,7 @@ public class TriggerHandler {
         final TriggerType mode = wt.getMode();
         final Map<AbilityKey, Object> runParams = wt.getParams();
         final boolean wasCollected = wt.getTriggers() != null;
-        final Iterable<Trigger> triggers = wasCollected ? wt.getTriggers() : activeTriggers;
+        final Iterable<Trigger> triggers = wasCollected ? wt.getTriggers() : activeTriggers.get(mode);
 
         boolean checkStatics = false;
 
@@ -404,14 +396,8 @@ public class TriggerHandler {
             return false; // Host card isn't where it needs to be.
         }
 
-        for (Trigger t : this.activeTriggers) {
-            // If an ID that matches this ID is already active, don't add it
-            if (regtrig.getId() == t.getId()) {
-                return false;
-            }
-        }
-
-        return true;
+        // If an ID that matches this ID is already active, don't add it
+        return !activeTriggers.containsId(regtrig.getId());
     }
 
     private boolean canRunTrigger(final Trigger regtrig, final TriggerType mode, final Map<AbilityKey, Object> runParams) {
@@ -622,7 +608,7 @@ public class TriggerHandler {
 
     public List<Trigger> getActiveTrigger(final TriggerType mode, final Map<AbilityKey, Object> runParams) {
         List<Trigger> trigger = Lists.newArrayList();
-        for (final Trigger t : activeTriggers) {
+        for (final Trigger t : activeTriggers.get(mode)) {
             if (canRunTrigger(t, mode, runParams)) {
                 trigger.add(t);
             }
@@ -630,14 +616,22 @@ public class TriggerHandler {
         return trigger;
     }
 
-    public void onPlayerLost(Player p) {
-        List<Trigger> lost = new ArrayList<>(delayedTriggers);
-        for (Trigger t : lost) {
-            // CR 800.4d trigger controller lost game
-            if (t.getHostCard().getOwner().equals(p)) {
-                delayedTriggers.remove(t);
+    /**
+     * @return how many events of each mode were run since the game started, for profiling
+     */
+    public Map<TriggerType, Integer> getDispatchCounts() {
+        final Map<TriggerType, Integer> result = new EnumMap<>(TriggerType.class);
+        for (final TriggerType mode : TriggerType.values()) {
+            if (dispatchCounts[mode.ordinal()] > 0) {
+                result.put(mode, dispatchCounts[mode.ordinal()]);
             }
         }
+        return result;
+    }
+
+    public void onPlayerLost(Player p) {
+        // CR 800.4d trigger controller lost game
+        delayedTriggers.removeIf(t -> t.getHostCard().getOwner().equals(p));
         // run all ChangesZone
         runWaitingTriggers();
     }
@@ -0,0 +1,154 @@
+package forge.game.trigger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+
+import forge.game.card.Card;
+
+/**
+ * Triggers indexed by their {@link TriggerType}, host card and id.
+ * <p>
+ * An event only has to look at the triggers of its own mode, and registering or clearing the triggers
+ * of one card only touches that card's triggers. Within a mode the triggers keep the order they were added in,
+ * so the order they go off in is the same as with a single list.
+ */
+final class TriggerRegistry {
+    private final Map<TriggerType, List<Trigger>> byMode = new EnumMap<>(TriggerType.class);
+    private final Map<Integer, List<Trigger>> byHost = new HashMap<>();
+    private final Multiset<Integer> ids = HashMultiset.create();
+
+    public synchronized void add(final Trigger t) {
+        byMode.computeIfAbsent(t.getMode(), k -> new ArrayList<>()).add(t);
+        byHost.computeIfAbsent(t.getHostCard().getId(), k -> new ArrayList<>()).add(t);
+        ids.add(t.getId());
+    }
+
+    public synchronized void addAll(final Collection<Trigger> triggers) {
+        for (final Trigger t : triggers) {
+            add(t);
+        }
+    }
+
+    /**
+     * Removes the first occurrence of the trigger.
+     */
+    public synchronized boolean remove(final Trigger t) {
+        final List<Trigger> mode = byMode.get(t.getMode());
+        if (mode == null || !mode.remove(t)) {
+            return false;
+        }
+        ids.remove(t.getId());
+        final List<Trigger> host = byHost.get(t.getHostCard().getId());
+        if (host != null && host.remove(t)) {
+            if (host.isEmpty()) {
+                byHost.remove(t.getHostCard().getId());
+            }
+        } else {
+            // the host card was changed after registering, fall back to searching
+            for (final Iterator<List<Trigger>> it = byHost.values().iterator(); it.hasNext();) {
+                final List<Trigger> l = it.next();
+                if (l.remove(t)) {
+                    if (l.isEmpty()) {
+                        it.remove();
+                    }
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes every occurrence of the given triggers.
+     */
+    public synchronized void removeAll(final Collection<Trigger> triggers) {
+        for (final Trigger t : triggers) {
+            boolean removed;
+            do {
+                removed = remove(t);
+            } while (removed);
+        }
+    }
+
+    /**
+     * Removes the triggers hosted by the given card that match the filter.
+     */
+    public synchronized void removeIf(final Card host, final Predicate<Trigger> filter) {
+        final List<Trigger> hosted = byHost.get(host.getId());
+        if (hosted == null) {
+            return;
+        }
+        for (final Trigger t : new ArrayList<>(hosted)) {
+            if (filter.test(t)) {
+                remove(t);
+            }
+        }
+    }
+
+    /**
+     * Removes all triggers that match the filter.
+     */
+    public synchronized void removeIf(final Predicate<Trigger> filter) {
+        for (final List<Trigger> mode : byMode.values()) {
+            for (final Trigger t : new ArrayList<>(mode)) {
+                if (filter.test(t)) {
+                    remove(t);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the live list of triggers for the mode, in the order they were added
+     */
+    public synchronized List<Trigger> get(final TriggerType mode) {
+        final List<Trigger> result = byMode.get(mode);
+        return result == null ? Collections.emptyList() : result;
+    }
+
+    /**
+     * @return a copy of the triggers for the mode, safe to iterate while triggers get registered
+     */
+    public synchronized List<Trigger> copyOf(final TriggerType mode) {
+        return new ArrayList<>(get(mode));
+    }
+
+    public synchronized boolean containsId(final int id) {
+        return ids.contains(id);
+    }
+
+    public synchronized boolean isEmpty() {
+        return ids.isEmpty();
+    }
+
+    public synchronized int size() {
+        return ids.size();
+    }
+
+    public synchronized void clear() {
+        byMode.clear();
+        byHost.clear();
+        ids.clear();
+    }
+
+    /**
+     * @return a copy of all triggers, grouped by mode
+     */
+    public synchronized List<Trigger> toList() {
+        final List<Trigger> result = new ArrayList<>(ids.size());
+        for (final List<Trigger> mode : byMode.values()) {
+            result.addAll(mode);
+        }
+        return result;
+    }
+}
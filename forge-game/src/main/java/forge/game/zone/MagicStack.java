@@ -88,6 +88,38 @@ public class MagicStack /* extends MyObservable */ implements Iterable<SpellAbil
         frozen = frozen0;
     }
 
+    /**
+     * Captures the stack and what was cast or activated this turn, for {@link Game#stashGameState()} to put back
+     * on rollback.
+     */
+    public final Runnable stashState() {
+        final List<SpellAbilityStackInstance> stack0 = Lists.newArrayList(stack);
+        final List<SpellAbilityStackInstance> frozenStack0 = Lists.newArrayList(frozenStack);
+        final List<SpellAbility> simultaneous0 = Lists.newArrayList(simultaneousStackEntryList);
+        final SpellAbility primaryAbility0 = primaryAbility;
+        final boolean frozen0 = frozen;
+        final int cast0 = thisTurnCast.size(), activated0 = thisTurnActivated.size();
+        return () -> {
+            if (!Iterables.elementsEqual(stack, stack0)) {
+                stack.clear();
+                stack.addAll(stack0);
+                game.updateStackForView();
+            }
+            frozenStack.clear();
+            frozenStack.addAll(frozenStack0);
+            simultaneousStackEntryList.clear();
+            simultaneousStackEntryList.addAll(simultaneous0);
+            primaryAbility = primaryAbility0;
+            frozen = frozen0;
+            if (thisTurnCast.size() > cast0) {
+                thisTurnCast.subList(cast0, thisTurnCast.size()).clear();
+            }
+            if (thisTurnActivated.size() > activated0) {
+                thisTurnActivated.subList(activated0, thisTurnActivated.size()).clear();
+            }
+        };
+    }
+
     private int maxDistinctSources = 0;
     public int getMaxDistinctSources() { return maxDistinctSources; }
     public void resetMaxDistinctSources() { maxDistinctSources = 0; }
@@ -29,7 +29,9 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 
+import forge.game.CardIdIndex;
 import forge.game.Game;
+import forge.game.GameJournal;
 import forge.game.GameType;
 import forge.game.card.*;
 import forge.game.event.EventValueChangeType;
@@ -71,8 +73,68 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
     }
 
     public final void reorder(final Card c, final int index) {
-        cardList.remove(c);
-        cardList.add(index, c);
+        recordCards();
+        removeCard(c);
+        addCard(c, index);
+    }
+
+    private void recordCards() {
+        final GameJournal journal = game.getJournal();
+        if (journal.isRecording()) {
+            final List<Card> before = Lists.newArrayList(cardList);
+            journal.record(() -> {
+                replaceCards(before);
+                onChanged();
+            });
+        }
+    }
+
+    // only the zones of the game itself are in its card index, not LKI copies of them
+    private boolean isIndexed() {
+        if (!CardIdIndex.INDEXED_ZONES.contains(zoneType)) {
+            return false;
+        }
+        final Player p = getPlayer();
+        return p == null ? game.getStackZone() == this : p.getZone(zoneType) == this;
+    }
+
+    // all changes to the cards in the list go through these to keep the card index up to date
+    private void addCard(final Card c, final Integer index) {
+        if (index == null) {
+            if (!cardList.add(c)) {
+                return;
+            }
+        } else {
+            cardList.add(index, c);
+        }
+        if (isIndexed()) {
+            game.getCardIndex().put(c, this, getPlayer());
+        }
+    }
+
+    private boolean removeCard(final Card c) {
+        if (!cardList.remove(c)) {
+            return false;
+        }
+        if (isIndexed()) {
+            game.getCardIndex().remove(c, this);
+        }
+        return true;
+    }
+
+    private void replaceCards(final Iterable<Card> cards) {
+        final boolean indexed = isIndexed();
+        if (indexed) {
+            for (final Card c : cardList) {
+                game.getCardIndex().remove(c, this);
+            }
+        }
+        cardList.clear();
+        for (final Card c : cards) {
+            if (cardList.add(c) && indexed) {
+                game.getCardIndex().put(c, this, getPlayer());
+            }
+        }
     }
 
     public final void add(final Card c) {
@@ -130,10 +192,16 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
         c.setZone(this);
 
         if ((zoneType == ZoneType.Battlefield || !c.isToken()) || (zoneType == ZoneType.Stack && c.getCopiedPermanent() != null)) {
-            if (index == null) {
-                cardList.add(c);
+            if (cardList.contains(c)) {
+                // already here, at most moved to the new index
+                recordCards();
+                addCard(c, index);
             } else {
-                cardList.add(index, c);
+                addCard(c, index);
+                game.getJournal().record(() -> {
+                    removeCard(c);
+                    onChanged();
+                });
             }
         }
         onChanged();
@@ -150,25 +218,33 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
     }
 
     public void remove(final Card c) {
-        if (cardList.remove(c)) {
+        final int index = game.getJournal().isRecording() ? cardList.indexOf(c) : -1;
+        if (removeCard(c)) {
+            if (index >= 0) {
+                game.getJournal().record(() -> {
+                    addCard(c, Math.min(index, cardList.size()));
+                    onChanged();
+                });
+            }
             onChanged();
             game.fireEvent(new GameEventZone(zoneType, getPlayer(), EventValueChangeType.Removed, c));
         }
     }
 
     public final void setCards(final Iterable<Card> cards) {
-        cardList.clear();
+        recordCards();
         for (Card c : cards) {
             c.setZone(this);
-            cardList.add(c);
         }
+        replaceCards(cards);
         onChanged();
         game.fireEvent(new GameEventZone(zoneType, getPlayer(), EventValueChangeType.ComplexUpdate, null));
     }
 
     public final void removeAllCards(boolean forcedWithoutEvents) {
         if (forcedWithoutEvents) {
-            cardList.clear();
+            recordCards();
+            replaceCards(Collections.emptyList());
         } else {
             for (Card c : cardList) {
                 remove(c);
@@ -278,6 +354,7 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
     }
 
     public void shuffle() {
+        recordCards();
         Collections.shuffle(cardList, MyRandom.getRandom());
         onChanged();
     }
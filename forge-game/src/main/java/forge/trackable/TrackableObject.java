@@ -17,6 +17,8 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
     protected transient Tracker tracker;
     private final Map<TrackableProperty, Object> props;
     private final Set<TrackableProperty> changedProps;
+    private transient Map<TrackableProperty, Long> changeVersions;
+    private transient long changeVersion;
     private boolean copyingProps;
 
     protected TrackableObject(final int id0, final Tracker tracker) {
@@ -79,16 +81,75 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
         }
         if (value == null || value.equals(key.getDefaultValue())) {
             if (props.remove(key) != null) {
-                changedProps.add(key);
+                addChangedProp(key);
                 key.updateObjLookup(tracker, value);
             }
         }
         else if (!value.equals(props.put(key, value))) {
-            changedProps.add(key);
+            addChangedProp(key);
             key.updateObjLookup(tracker, value);
         }
     }
 
+    private void addChangedProp(final TrackableProperty key) {
+        if (tracker != null && tracker.isHeadless()) {
+            return;
+        }
+        changedProps.add(key);
+        if (tracker != null && tracker.isRecordingChanges()) {
+            // recorded on the game thread, read by getPropsChangedSince on the thread sending the changes
+            synchronized (tracker) {
+                if (changeVersions == null) {
+                    changeVersions = new EnumMap<>(TrackableProperty.class);
+                }
+                changeVersion = tracker.recordChange(this);
+                changeVersions.put(key, changeVersion);
+            }
+        }
+    }
+
+    /**
+     * @return the latest change version recorded by the tracker for this object
+     */
+    public final long getChangeVersion() {
+        final Tracker lock = tracker;
+        if (lock == null) {
+            return changeVersion;
+        }
+        synchronized (lock) {
+            return changeVersion;
+        }
+    }
+
+    /**
+     * @return the properties changed after the given change version, while the tracker was recording changes
+     */
+    public final Set<TrackableProperty> getPropsChangedSince(final long version) {
+        final Set<TrackableProperty> result = EnumSet.noneOf(TrackableProperty.class);
+        final Tracker lock = tracker;
+        if (lock == null) {
+            // nothing is recorded without a tracker
+            return result;
+        }
+        synchronized (lock) {
+            if (changeVersions != null && changeVersion > version) {
+                for (final Entry<TrackableProperty, Long> entry : changeVersions.entrySet()) {
+                    if (entry.getValue() > version) {
+                        result.add(entry.getKey());
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Set a property to a value received from the game server, null resets it to the default value.
+     */
+    public final void applyChangedProp(final TrackableProperty key, final Object value) {
+        set(key, value);
+    }
+
     public final void updateObjLookup() {
         for (final Entry<TrackableProperty, Object> prop : props.entrySet()) {
             prop.getKey().updateObjLookup(tracker, prop.getValue());
@@ -109,7 +170,7 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
 
     //use when updating collection type properties with using set
     protected final void flagAsChanged(final TrackableProperty key) {
-        changedProps.add(key);
+        addChangedProp(key);
         key.updateObjLookup(tracker, props.get(key));
     }
 
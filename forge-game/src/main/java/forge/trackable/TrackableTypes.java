@@ -54,7 +54,7 @@ public class TrackableTypes {
 
         @Override
         protected void updateObjLookup(Tracker tracker, T newObj) {
-            if (tracker == null) { return; }
+            if (tracker == null || tracker.isHeadless()) { return; }
             if (newObj != null && !tracker.hasObj(this, newObj.getId())) {
                 tracker.putObj(this, newObj.getId(), newObj);
                 newObj.updateObjLookup();
@@ -87,7 +87,7 @@ public class TrackableTypes {
 
         @Override
         protected void updateObjLookup(Tracker tracker, TrackableCollection<T> newCollection) {
-            if (newCollection != null) {
+            if (newCollection != null && (tracker == null || !tracker.isHeadless())) {
                 for (T newObj : newCollection) {
                     if (newObj != null) {
                         itemType.updateObjLookup(tracker, newObj);
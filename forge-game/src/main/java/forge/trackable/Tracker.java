@@ -1,6 +1,11 @@
 package forge.trackable;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Lists;
@@ -14,6 +19,15 @@ public class Tracker {
 
     private final Table<TrackableType<?>, Integer, Object> objLookups = HashBasedTable.create();
 
+    // change versions are only recorded while someone needs them, e.g. to send deltas over the network
+    private boolean recordingChanges = false;
+    private long changeVersion = 0;
+    // objects changed since each recorder last took them, so that nothing is kept after every recorder has seen it
+    private final Map<Object, Set<TrackableObject>> changedObjects = new IdentityHashMap<>();
+
+    // nothing reads the views of a headless game, e.g. a simulation, so they only keep what the game itself needs
+    private boolean headless = false;
+
     public final boolean isFrozen() {
         return freezeCounter > 0;
     }
@@ -34,9 +48,24 @@ public class Tracker {
     }
 
     public <T> void putObj(TrackableType<T> type, Integer id, T val) {
+        if (headless) {
+            return;
+        }
         objLookups.put(type, id, val);
     }
 
+    public final boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * While headless, changed properties aren't tracked for sending and objects aren't added to the lookups.
+     * The game rebuilds the lookups when it stops being headless.
+     */
+    public void setHeadless(final boolean headless0) {
+        headless = headless0;
+    }
+
     public void unfreeze() {
         if (!isFrozen() || --freezeCounter > 0 || delayedPropChanges.isEmpty()) {
             return;
@@ -57,6 +86,59 @@ public class Tracker {
         freeze();
     }
 
+    public final boolean isRecordingChanges() {
+        return recordingChanges;
+    }
+
+    /**
+     * Start recording a change version for every property change of the objects using this tracker,
+     * see {@link TrackableObject#getPropsChangedSince(long)}, and collecting the changed objects for the recorder.
+     * Calling this again for the same recorder forgets the objects it hasn't taken yet.
+     * @return the current change version
+     */
+    public synchronized long startRecordingChanges(final Object recorder) {
+        recordingChanges = true;
+        final Set<TrackableObject> changed = changedObjects.get(recorder);
+        if (changed == null) {
+            changedObjects.put(recorder, Collections.newSetFromMap(new IdentityHashMap<>()));
+        } else {
+            changed.clear();
+        }
+        return changeVersion;
+    }
+
+    /**
+     * Stop collecting changed objects for the recorder.
+     */
+    public synchronized void stopRecordingChanges(final Object recorder) {
+        changedObjects.remove(recorder);
+        recordingChanges = !changedObjects.isEmpty();
+    }
+
+    public synchronized long getChangeVersion() {
+        return changeVersion;
+    }
+
+    synchronized long recordChange(final TrackableObject object) {
+        for (final Set<TrackableObject> changed : changedObjects.values()) {
+            changed.add(object);
+        }
+        return ++changeVersion;
+    }
+
+    /**
+     * Move the objects changed since the recorder last took them into the given collection.
+     * @return the change version they were taken at
+     */
+    public synchronized long takeChangedObjects(final Object recorder, final Collection<TrackableObject> into) {
+        final Set<TrackableObject> changed = changedObjects.get(recorder);
+        if (changed != null) {
+            into.addAll(changed);
+            changed.clear();
+        }
+        return changeVersion;
+    }
+
     public void addDelayedPropChange(final TrackableObject object, final TrackableProperty prop, final Object value) {
         delayedPropChanges.add(new DelayedPropChange(object, prop, value));
     }
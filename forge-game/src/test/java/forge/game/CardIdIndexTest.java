@@ -0,0 +1,81 @@
+package forge.game;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.testng.AssertJUnit;
+
+import com.google.common.collect.Sets;
+
+import forge.game.card.Card;
+import forge.util.Localizer;
+
+public class CardIdIndexTest {
+
+    // the cards are kept in containers without a player, like the stack, so no game is needed
+    private final Object hand = new Object();
+    private final Object graveyard = new Object();
+
+    @BeforeClass
+    public void setUp() {
+        // ZoneType, used for the indexed zones, looks up the zone names when it is loaded
+        Localizer.getInstance().initialize("en-US", "../forge-gui/res/languages/");
+    }
+
+    @Test
+    public void testCardsFoundById() {
+        CardIdIndex index = new CardIdIndex(null);
+        Card bears = new Card(1, null);
+        Card bolt = new Card(2, null);
+        index.put(bears, hand, null);
+        index.put(bolt, graveyard, null);
+
+        AssertJUnit.assertSame(bears, index.get(1));
+        AssertJUnit.assertSame(bolt, index.get(2));
+        AssertJUnit.assertNull(index.get(3));
+        AssertJUnit.assertEquals(Sets.newHashSet(1, 2), index.getIds());
+
+        index.remove(bears, hand);
+        AssertJUnit.assertNull(index.get(1));
+        AssertJUnit.assertEquals(Sets.newHashSet(2), index.getIds());
+    }
+
+    @Test
+    public void testCardReplacedInSameContainer() {
+        CardIdIndex index = new CardIdIndex(null);
+        Card bears = new Card(1, null);
+        Card copy = new Card(1, null);
+        index.put(bears, hand, null);
+        index.put(copy, hand, null);
+
+        AssertJUnit.assertSame(copy, index.get(1));
+        AssertJUnit.assertFalse(index.hasCopies(1));
+    }
+
+    @Test
+    public void testCopiesWhileChangingZones() {
+        CardIdIndex index = new CardIdIndex(null);
+        Card bears = new Card(1, null);
+        Card moved = new Card(1, null);
+        index.put(bears, hand, null);
+        index.put(moved, graveyard, null);
+
+        // two different copies of the card are in the game, so there is no single answer
+        AssertJUnit.assertNull(index.get(1));
+        AssertJUnit.assertTrue(index.hasCopies(1));
+        AssertJUnit.assertEquals(Sets.newHashSet(1), index.getIds());
+
+        index.remove(bears, hand);
+        AssertJUnit.assertSame(moved, index.get(1));
+        AssertJUnit.assertFalse(index.hasCopies(1));
+    }
+
+    @Test
+    public void testRemoveFromOtherContainerKeepsCard() {
+        CardIdIndex index = new CardIdIndex(null);
+        Card bears = new Card(1, null);
+        index.put(bears, hand, null);
+
+        index.remove(bears, graveyard);
+        AssertJUnit.assertSame(bears, index.get(1));
+    }
+}
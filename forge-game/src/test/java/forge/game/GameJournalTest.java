@@ -0,0 +1,75 @@
+package forge.game;
+
+import org.testng.annotations.Test;
+import org.testng.AssertJUnit;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+public class GameJournalTest {
+
+    @Test
+    public void testNothingRecordedWithoutCheckpoint() {
+        GameJournal journal = new GameJournal();
+        AssertJUnit.assertFalse(journal.isRecording());
+        journal.record(() -> AssertJUnit.fail("not recorded"));
+        AssertJUnit.assertEquals(0, journal.size());
+    }
+
+    @Test
+    public void testRewindRunsInReverseOrder() {
+        GameJournal journal = new GameJournal();
+        List<Integer> undone = Lists.newArrayList();
+        int mark = journal.checkpoint();
+        AssertJUnit.assertTrue(journal.isRecording());
+        journal.record(() -> undone.add(1));
+        journal.record(() -> undone.add(2));
+        journal.record(() -> undone.add(3));
+
+        journal.rewind(mark);
+        AssertJUnit.assertEquals(Lists.newArrayList(3, 2, 1), undone);
+        AssertJUnit.assertEquals(0, journal.size());
+        AssertJUnit.assertFalse(journal.isRecording());
+    }
+
+    @Test
+    public void testNothingRecordedWhileRewinding() {
+        GameJournal journal = new GameJournal();
+        int mark = journal.checkpoint();
+        // undoing a change goes through the same setters, which must not record it again
+        journal.record(() -> journal.record(() -> AssertJUnit.fail("recorded while rewinding")));
+
+        journal.rewind(mark);
+        AssertJUnit.assertEquals(0, journal.size());
+    }
+
+    @Test
+    public void testNestedCheckpoints() {
+        GameJournal journal = new GameJournal();
+        List<Integer> undone = Lists.newArrayList();
+        int outer = journal.checkpoint();
+        journal.record(() -> undone.add(1));
+        int inner = journal.checkpoint();
+        journal.record(() -> undone.add(2));
+
+        journal.rewind(inner);
+        AssertJUnit.assertEquals(Lists.newArrayList(2), undone);
+        // the outer checkpoint is still open and keeps its changes
+        AssertJUnit.assertTrue(journal.isRecording());
+        AssertJUnit.assertEquals(1, journal.size());
+
+        journal.rewind(outer);
+        AssertJUnit.assertEquals(Lists.newArrayList(2, 1), undone);
+    }
+
+    @Test
+    public void testReleaseKeepsChanges() {
+        GameJournal journal = new GameJournal();
+        journal.checkpoint();
+        journal.record(() -> AssertJUnit.fail("released changes are not undone"));
+        journal.release();
+        AssertJUnit.assertEquals(0, journal.size());
+        AssertJUnit.assertFalse(journal.isRecording());
+    }
+}
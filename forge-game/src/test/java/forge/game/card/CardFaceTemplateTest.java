@@ -0,0 +1,101 @@
+package forge.game.card;
+
+import java.util.Map.Entry;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+
+import forge.card.CardRules;
+import forge.card.ICardFace;
+import forge.game.replacement.ReplacementEffect;
+import forge.game.spellability.SpellAbility;
+import forge.game.staticability.StaticAbility;
+import forge.game.trigger.Trigger;
+import forge.util.Lang;
+import forge.util.Localizer;
+
+public class CardFaceTemplateTest {
+
+    private static final ICardFace FACE = CardRules.fromScript(ImmutableList.of(
+            "Name:Template Warden",
+            "ManaCost:W",
+            "Types:Creature Human Cleric",
+            "PT:1/1",
+            "A:AB$ Pump | Cost$ 1 T | Defined$ Self | NumAtt$ +1 | SpellDescription$ CARDNAME gets +1/+0 until end of turn.",
+            "T:Mode$ ChangesZone | Origin$ Any | Destination$ Battlefield | ValidCard$ Creature.Other | TriggerZones$ Battlefield | Execute$ TrigGainLife | TriggerDescription$ Whenever another creature enters, you gain 1 life.",
+            "SVar:TrigGainLife:DB$ GainLife | Defined$ You | LifeAmount$ 1",
+            "S:Mode$ Continuous | Affected$ Creature.Other+YouCtrl | AddPower$ 1 | Description$ Other creatures you control get +1/+0.",
+            "R:Event$ DamageDone | ActiveZones$ Battlefield | ValidTarget$ Card.Self | Prevent$ True | Description$ Prevent all damage that would be dealt to CARDNAME.",
+            "Oracle:")).getMainPart();
+
+    @BeforeClass
+    public void setUp() {
+        // zone names and ability descriptions are translated when the traits are created
+        Localizer.getInstance().initialize("en-US", "../forge-gui/res/languages/");
+        Lang.createInstance("en-US");
+    }
+
+    private static Card bind(final int id) {
+        final Card c = new Card(id, null);
+        c.setName(FACE.getName());
+        for (Entry<String, String> v : FACE.getVariables()) {
+            c.setSVar(v.getKey(), v.getValue());
+        }
+        c.setManaCost(FACE.getManaCost());
+        final CardFaceTemplate template = CardFaceTemplate.of(FACE);
+        template.addTraits(c);
+        template.addAbilities(c);
+        return c;
+    }
+
+    @Test
+    public void testFaceIsParsedOnce() {
+        AssertJUnit.assertSame(CardFaceTemplate.of(FACE), CardFaceTemplate.of(FACE));
+    }
+
+    @Test
+    public void testCardsFromSameTemplateAreIndependent() {
+        final Card c1 = bind(1);
+        final Card c2 = bind(2);
+
+        final Trigger trig1 = Iterables.getOnlyElement(c1.getTriggers());
+        final Trigger trig2 = Iterables.getOnlyElement(c2.getTriggers());
+        AssertJUnit.assertNotSame(trig1, trig2);
+        AssertJUnit.assertSame(c1, trig1.getHostCard());
+        AssertJUnit.assertSame(c2, trig2.getHostCard());
+        AssertJUnit.assertSame(c1, trig1.getOverridingAbility().getHostCard());
+        AssertJUnit.assertEquals(trig1.getMapParams(), trig2.getMapParams());
+
+        final StaticAbility st1 = Iterables.getOnlyElement(c1.getStaticAbilities());
+        final StaticAbility st2 = Iterables.getOnlyElement(c2.getStaticAbilities());
+        AssertJUnit.assertNotSame(st1, st2);
+        AssertJUnit.assertSame(c2, st2.getHostCard());
+        AssertJUnit.assertTrue(st1.isIntrinsic());
+
+        final ReplacementEffect re1 = Iterables.getOnlyElement(c1.getReplacementEffects());
+        final ReplacementEffect re2 = Iterables.getOnlyElement(c2.getReplacementEffects());
+        AssertJUnit.assertNotSame(re1, re2);
+        AssertJUnit.assertSame(c2, re2.getHostCard());
+
+        final SpellAbility ab1 = Iterables.getOnlyElement(c1.getSpellAbilities());
+        final SpellAbility ab2 = Iterables.getOnlyElement(c2.getSpellAbilities());
+        AssertJUnit.assertNotSame(ab1, ab2);
+        AssertJUnit.assertSame(c2, ab2.getHostCard());
+        AssertJUnit.assertSame(c1.getCurrentState(), ab1.getCardState());
+        AssertJUnit.assertNotSame(ab1.getPayCosts(), ab2.getPayCosts());
+
+        // changing what one card got must not reach the template or the other card
+        trig1.putParam("Execute", "Changed");
+        st1.putParam("AddPower", "2");
+        ab1.getPayCosts().getCostParts().clear();
+        final Card c3 = bind(3);
+        AssertJUnit.assertEquals("TrigGainLife", Iterables.getOnlyElement(c3.getTriggers()).getParam("Execute"));
+        AssertJUnit.assertEquals("1", st2.getParam("AddPower"));
+        AssertJUnit.assertFalse(ab2.getPayCosts().getCostParts().isEmpty());
+        AssertJUnit.assertFalse(Iterables.getOnlyElement(c3.getSpellAbilities()).getPayCosts().getCostParts().isEmpty());
+    }
+}
@@ -0,0 +1,84 @@
+package forge.game.replacement;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.testng.AssertJUnit;
+
+import java.util.Collections;
+
+import com.google.common.collect.Lists;
+
+import forge.game.Game;
+import forge.game.GameRules;
+import forge.game.GameType;
+import forge.game.Match;
+import forge.game.card.Card;
+import forge.util.Lang;
+import forge.util.Localizer;
+
+public class ReplacementRegistryTest {
+
+    @BeforeClass
+    public void setUp() {
+        // zone names are translated when the zones are created
+        Localizer.getInstance().initialize("en-US", "../forge-gui/res/languages/");
+        Lang.createInstance("en-US");
+    }
+
+    // a game without players, its cards are put on the stack
+    private static Game createGame() {
+        GameRules rules = new GameRules(GameType.Constructed);
+        return new Game(Collections.emptyList(), rules, new Match(rules, Collections.emptyList(), "Test"));
+    }
+
+    private static Card addCard(final Game game, final String... replacements) {
+        Card c = new Card(game.nextCardId(), game);
+        for (String r : replacements) {
+            c.addReplacementEffect(ReplacementHandler.parseReplacement(r, c, true));
+        }
+        game.getStackZone().add(c);
+        return c;
+    }
+
+    @Test
+    public void testCardsIndexedByModeAndLayer() {
+        Game game = createGame();
+        Card shield = addCard(game, "Event$ Destroy | ValidCard$ Card.Self | Description$ Shield.");
+        Card prevent = addCard(game, "Event$ DamageDone | ValidTarget$ Card.Self | Prevent$ True | Description$ Prevent.",
+                "Event$ Destroy | ValidCard$ Card.Self | Description$ Shield.");
+        addCard(game);
+        ReplacementRegistry registry = new ReplacementRegistry(game);
+
+        AssertJUnit.assertEquals(Lists.newArrayList(shield, prevent), registry.getCards(ReplacementType.Destroy, null));
+        AssertJUnit.assertEquals(Lists.newArrayList(prevent), registry.getCards(ReplacementType.DamageDone, null));
+        AssertJUnit.assertEquals(Lists.newArrayList(prevent), registry.getCards(ReplacementType.DamageDone, ReplacementLayer.Other));
+        AssertJUnit.assertTrue(registry.getCards(ReplacementType.DamageDone, ReplacementLayer.Control).isEmpty());
+        AssertJUnit.assertTrue(registry.getCards(ReplacementType.Draw, null).isEmpty());
+        AssertJUnit.assertEquals(2, registry.getReplacementEffects(prevent).size());
+    }
+
+    @Test
+    public void testIndexFollowsStateVersion() {
+        Game game = createGame();
+        Card shield = addCard(game, "Event$ Destroy | ValidCard$ Card.Self | Description$ Shield.");
+        ReplacementRegistry registry = new ReplacementRegistry(game);
+        AssertJUnit.assertEquals(Lists.newArrayList(shield), registry.getCards(ReplacementType.Destroy, null));
+
+        Card other = addCard(game, "Event$ Destroy | ValidCard$ Card.Self | Description$ Shield.");
+        AssertJUnit.assertEquals(Lists.newArrayList(shield, other), registry.getCards(ReplacementType.Destroy, null));
+
+        game.getStackZone().remove(shield);
+        AssertJUnit.assertEquals(Lists.newArrayList(other), registry.getCards(ReplacementType.Destroy, null));
+    }
+
+    @Test
+    public void testCardOutsideGameComputedDirectly() {
+        Game game = createGame();
+        ReplacementRegistry registry = new ReplacementRegistry(game);
+        Card lki = new Card(game.nextCardId(), game);
+        lki.addReplacementEffect(ReplacementHandler.parseReplacement("Event$ Destroy | ValidCard$ Card.Self | Description$ Shield.", lki, true));
+
+        AssertJUnit.assertTrue(registry.getCards(ReplacementType.Destroy, null).isEmpty());
+        AssertJUnit.assertEquals(1, registry.getReplacementEffects(lki).size());
+    }
+}
@@ -0,0 +1,111 @@
+package forge.game.trigger;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.testng.AssertJUnit;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import forge.game.ability.AbilityFactory;
+import forge.game.card.Card;
+import forge.util.Lang;
+import forge.util.Localizer;
+
+public class TriggerRegistryTest {
+
+    @BeforeClass
+    public void setUp() {
+        // zone names are translated when the trigger zones are parsed
+        Localizer.getInstance().initialize("en-US", "../forge-gui/res/languages/");
+        Lang.createInstance("en-US");
+    }
+
+    private static Trigger trigger(final Card host, final String mode) {
+        return TriggerHandler.parseTrigger(AbilityFactory.getMapParams("Mode$ " + mode + " | TriggerZones$ Battlefield"), host, true, null);
+    }
+
+    @Test
+    public void testTriggersKeptByModeInOrder() {
+        TriggerRegistry registry = new TriggerRegistry();
+        Card host1 = new Card(1, null);
+        Card host2 = new Card(2, null);
+        Trigger first = trigger(host1, "ChangesZone");
+        Trigger attack = trigger(host1, "Attacks");
+        Trigger second = trigger(host2, "ChangesZone");
+        registry.add(first);
+        registry.add(attack);
+        registry.add(second);
+
+        AssertJUnit.assertEquals(Lists.newArrayList(first, second), registry.get(TriggerType.ChangesZone));
+        AssertJUnit.assertEquals(Lists.newArrayList(attack), registry.get(TriggerType.Attacks));
+        AssertJUnit.assertTrue(registry.get(TriggerType.Blocks).isEmpty());
+        AssertJUnit.assertEquals(3, registry.size());
+        AssertJUnit.assertTrue(registry.containsId(attack.getId()));
+    }
+
+    @Test
+    public void testCopyOfModeNotChangedByLaterAdds() {
+        TriggerRegistry registry = new TriggerRegistry();
+        Card host = new Card(1, null);
+        Trigger first = trigger(host, "ChangesZone");
+        registry.add(first);
+
+        List<Trigger> copy = registry.copyOf(TriggerType.ChangesZone);
+        registry.add(trigger(host, "ChangesZone"));
+        AssertJUnit.assertEquals(Lists.newArrayList(first), copy);
+        AssertJUnit.assertEquals(2, registry.get(TriggerType.ChangesZone).size());
+    }
+
+    @Test
+    public void testRemoveOnlyFirstOccurrence() {
+        TriggerRegistry registry = new TriggerRegistry();
+        Card host = new Card(1, null);
+        Trigger t = trigger(host, "ChangesZone");
+        registry.add(t);
+        registry.add(t);
+
+        AssertJUnit.assertTrue(registry.remove(t));
+        AssertJUnit.assertEquals(1, registry.size());
+        AssertJUnit.assertTrue(registry.containsId(t.getId()));
+
+        AssertJUnit.assertTrue(registry.remove(t));
+        AssertJUnit.assertFalse(registry.remove(t));
+        AssertJUnit.assertFalse(registry.containsId(t.getId()));
+        AssertJUnit.assertTrue(registry.isEmpty());
+    }
+
+    @Test
+    public void testRemoveIfOnlyLooksAtTheHost() {
+        TriggerRegistry registry = new TriggerRegistry();
+        Card host1 = new Card(1, null);
+        Card host2 = new Card(2, null);
+        Trigger kept = trigger(host1, "Attacks");
+        Trigger removed = trigger(host1, "ChangesZone");
+        Trigger other = trigger(host2, "ChangesZone");
+        registry.addAll(Lists.newArrayList(kept, removed, other));
+
+        registry.removeIf(host1, t -> t.getMode() == TriggerType.ChangesZone);
+        AssertJUnit.assertEquals(Lists.newArrayList(other), registry.get(TriggerType.ChangesZone));
+        AssertJUnit.assertEquals(Lists.newArrayList(kept), registry.get(TriggerType.Attacks));
+    }
+
+    @Test
+    public void testRemoveAfterHostChanged() {
+        TriggerRegistry registry = new TriggerRegistry();
+        Card host1 = new Card(1, null);
+        Card host2 = new Card(2, null);
+        Trigger t = trigger(host1, "ChangesZone");
+        registry.add(t);
+
+        // the trigger is still found under the host it was registered with
+        t.setHostCard(host2);
+        AssertJUnit.assertTrue(registry.remove(t));
+        AssertJUnit.assertTrue(registry.isEmpty());
+
+        registry.add(trigger(host2, "ChangesZone"));
+        registry.removeIf(host1, x -> true);
+        AssertJUnit.assertEquals(1, registry.size());
+    }
+}
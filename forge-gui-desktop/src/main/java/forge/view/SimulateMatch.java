@@ -1,18 +1,25 @@
 package forge.view;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.time.StopWatch;
 
 import forge.LobbyPlayer;
+import forge.ai.AiController;
+import forge.ai.CombatPredictionCache;
+import forge.ai.ComputerUtilCombat;
+import forge.ai.PlayerControllerAi;
 import forge.deck.Deck;
 import forge.deck.DeckGroup;
 import forge.deck.io.DeckSerializer;
@@ -23,6 +30,7 @@ import forge.game.GameLogEntryType;
 import forge.game.GameRules;
 import forge.game.GameType;
 import forge.game.Match;
+import forge.game.player.Player;
 import forge.game.player.RegisteredPlayer;
 import forge.gamemodes.tournament.system.AbstractTournament;
 import forge.gamemodes.tournament.system.TournamentBracket;
@@ -98,13 +106,25 @@ public class SimulateMatch {
             rules.setGamesPerMatch(matchSize);
         }
 
+        SimulationBatchRunner batchRunner = null;
+        if (params.containsKey("j")) {
+            batchRunner = createBatchRunner(params, outputGamelog);
+            if (batchRunner == null) {
+                return;
+            }
+        }
+
         if (params.containsKey("t")) {
-            simulateTournament(params, rules, outputGamelog);
+            simulateTournament(params, rules, outputGamelog, batchRunner);
+            if (batchRunner != null) {
+                batchRunner.close();
+            }
             System.out.flush();
             return;
         }
 
-        List<RegisteredPlayer> pp = new ArrayList<>();
+        final List<Deck> decks = new ArrayList<>();
+        final List<LobbyPlayer> lobbyPlayers = new ArrayList<>();
         StringBuilder sb = new StringBuilder();
 
         int i = 1;
@@ -122,15 +142,8 @@ public class SimulateMatch {
                 String name = TextUtil.concatNoSpace("Ai(", String.valueOf(i), ")-", d.getName());
                 sb.append(name);
 
-                RegisteredPlayer rp;
-
-                if (type.equals(GameType.Commander)) {
-                    rp = RegisteredPlayer.forCommander(d);
-                } else {
-                    rp = new RegisteredPlayer(d);
-                }
-                rp.setPlayer(GamePlayerUtil.createAiPlayer(name, i - 1));
-                pp.add(rp);
+                decks.add(d);
+                lobbyPlayers.add(GamePlayerUtil.createAiPlayer(name, i - 1));
                 i++;
             }
         }
@@ -139,7 +152,21 @@ public class SimulateMatch {
 
         System.out.println(sb.toString());
 
-        Match mc = new Match(rules, pp, "Test");
+        final GameType gameType = type;
+        Supplier<List<RegisteredPlayer>> pp = () -> registerPlayers(decks, lobbyPlayers, gameType);
+
+        if (batchRunner != null) {
+            if (matchSize != 0) {
+                batchRunner.playMatches(Collections.singletonList(new Match(rules, pp.get(), "Test")));
+            } else {
+                batchRunner.playGames(rules, pp, "Test", nGames);
+            }
+            batchRunner.close();
+            System.out.flush();
+            return;
+        }
+
+        Match mc = new Match(rules, pp.get(), "Test");
 
         if (matchSize != 0) {
             int iGame = 0;
@@ -157,8 +184,41 @@ public class SimulateMatch {
         System.out.flush();
     }
 
+    private static List<RegisteredPlayer> registerPlayers(List<Deck> decks, List<LobbyPlayer> lobbyPlayers, GameType type) {
+        List<RegisteredPlayer> pp = new ArrayList<>();
+        for (int i = 0; i < decks.size(); i++) {
+            RegisteredPlayer rp;
+
+            if (type.equals(GameType.Commander)) {
+                rp = RegisteredPlayer.forCommander(decks.get(i));
+            } else {
+                rp = new RegisteredPlayer(decks.get(i));
+            }
+            rp.setPlayer(lobbyPlayers.get(i));
+            pp.add(rp);
+        }
+        return pp;
+    }
+
+    private static SimulationBatchRunner createBatchRunner(Map<String, List<String>> params, boolean outputGamelog) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (!params.get("j").isEmpty()) {
+            threads = Integer.parseInt(params.get("j").get(0));
+        }
+        long seed = params.containsKey("s") ? Long.parseLong(params.get("s").get(0)) : System.currentTimeMillis();
+        File output = params.containsKey("o") ? new File(params.get("o").get(0)) : null;
+
+        System.out.println(TextUtil.concatNoSpace("Running simulations on ", String.valueOf(threads), " threads with seed ", String.valueOf(seed)));
+        try {
+            return new SimulationBatchRunner(threads, seed, outputGamelog, output);
+        } catch (IOException e) {
+            System.err.println("Could not open result file - " + output);
+            return null;
+        }
+    }
+
     private static void argumentHelp() {
-        System.out.println("Syntax: forge.exe sim -d <deck1[.dck]> ... <deckX[.dck]> -D [D] -n [N] -m [M] -t [T] -p [P] -f [F] -q");
+        System.out.println("Syntax: forge.exe sim -d <deck1[.dck]> ... <deckX[.dck]> -D [D] -n [N] -m [M] -t [T] -p [P] -f [F] -j [J] -s [S] -o [O] -q");
         System.out.println("\tsim - stands for simulation mode");
         System.out.println("\tdeck1 (or deck2,...,X) - constructed deck name or filename (has to be quoted when contains multiple words)");
         System.out.println("\tdeck is treated as file if it ends with a dot followed by three numbers or letters");
@@ -168,6 +228,9 @@ public class SimulateMatch {
         System.out.println("\tT - Type of tournament to run with all provided decks (Bracket, RoundRobin, Swiss)");
         System.out.println("\tP - Amount of players per match (used only with Tournaments, defaults to 2)");
         System.out.println("\tF - format of games, defaults to constructed");
+        System.out.println("\tJ - Run independent games (or tournament pairings of a round) in parallel on J threads, defaults to the number of cores");
+        System.out.println("\tS - Base random seed for parallel runs, each game gets its own seed derived from it (Optional, used with -j)");
+        System.out.println("\tO - File to stream per-game results to, as CSV or as JSON lines if it ends with .jsonl (Optional, used with -j)");
         System.out.println("\tq - Quiet flag. Output just the game result, not the entire game log.");
     }
 
@@ -176,11 +239,19 @@ public class SimulateMatch {
         sw.start();
 
         final Game g1 = mc.createGame();
+        g1.setHeadless(true);
+        // the combat predictions are kept per thread, so they have to be looked at on the thread playing the game
+        final String[] combatPredictions = new String[1];
         // will run match in the same thread
         try {
             TimeLimitedCodeBlock.runWithTimeout(() -> {
+                final CombatPredictionCache predictions = ComputerUtilCombat.getPredictionCache();
+                predictions.resetStats();
                 mc.startGame(g1);
                 sw.stop();
+                combatPredictions[0] = predictions.toString();
+                // don't keep the finished game around on this thread
+                predictions.clear();
             }, 120, TimeUnit.SECONDS);
         } catch (TimeoutException e) {
             System.out.println("Stopping slow match as draw");
@@ -212,9 +283,19 @@ public class SimulateMatch {
         } else {
             System.out.printf("\nGame Result: Game %d ended in %d ms. %s has won!\n%n", 1 + iGame, sw.getTime(), g1.getOutcome().getWinningLobbyPlayer().getName());
         }
+        for (Player p : g1.getRegisteredPlayers()) {
+            if (p.getController() instanceof PlayerControllerAi) {
+                AiController aic = ((PlayerControllerAi) p.getController()).getAi();
+                System.out.printf("%s: reused the spell ability list for %d of %d priority decisions.%n",
+                        p.getName(), aic.getReusedCandidateLists(), aic.getPriorityDecisions());
+            }
+        }
+        if (combatPredictions[0] != null) {
+            System.out.println("Combat predictions: " + combatPredictions[0]);
+        }
     }
 
-    private static void simulateTournament(Map<String, List<String>> params, GameRules rules, boolean outputGamelog) {
+    private static void simulateTournament(Map<String, List<String>> params, GameRules rules, boolean outputGamelog, SimulationBatchRunner batchRunner) {
         String tournament = params.get("t").get(0);
         AbstractTournament tourney = null;
         int matchPlayers = params.containsKey("p") ? Integer.parseInt(params.get("p").get(0)) : 2;
@@ -295,6 +376,15 @@ public class SimulateMatch {
                 System.out.println();
             }
 
+            if (batchRunner != null) {
+                // pairings of a round don't depend on each other, so play them all at once
+                String roundWinner = simulateTournamentRound(tourney, deckGroup, rules, batchRunner);
+                if (roundWinner != null) {
+                    lastWinner = roundWinner;
+                }
+                continue;
+            }
+
             TournamentPairing pairing = tourney.getNextPairing();
             List<RegisteredPlayer> regPlayers = AbstractTournament.registerTournamentPlayers(pairing, deckGroup);
 
@@ -342,6 +432,40 @@ public class SimulateMatch {
         tourney.outputTournamentResults();
     }
 
+    /**
+     * @return the name of the winner of the last match of the round that had one, null if none had
+     */
+    private static String simulateTournamentRound(AbstractTournament tourney, DeckGroup deckGroup, GameRules rules, SimulationBatchRunner batchRunner) {
+        String lastWinner = null;
+        List<TournamentPairing> pairings = new ArrayList<>(tourney.getActivePairings());
+        List<Match> matches = new ArrayList<>();
+        for (TournamentPairing pairing : pairings) {
+            if (!pairing.isBye()) {
+                matches.add(new Match(rules, AbstractTournament.registerTournamentPlayers(pairing, deckGroup), "TourneyMatch"));
+            }
+        }
+
+        Iterator<Match> played = batchRunner.playMatches(matches).iterator();
+        for (TournamentPairing pairing : pairings) {
+            System.out.println(TextUtil.concatNoSpace("Round ", String.valueOf(tourney.getActiveRound()), " - ", pairing.outputHeader()));
+            if (!pairing.isBye() && played.hasNext()) {
+                Match mc = played.next();
+                RegisteredPlayer winner = mc == null ? null : mc.getWinner();
+                for (TournamentPlayer tp : pairing.getPairedPlayers()) {
+                    if (winner != null && winner.getPlayer().equals(tp.getPlayer())) {
+                        pairing.setWinner(tp);
+                        lastWinner = winner.getPlayer().getName();
+                        System.out.println(TextUtil.concatNoSpace("Match Winner - ", lastWinner, "!"));
+                        System.out.println();
+                        break;
+                    }
+                }
+            }
+            tourney.reportMatchCompletion(pairing);
+        }
+        return lastWinner;
+    }
+
     public static Match simulateOffthreadGame(List<Deck> decks, GameType format, int games) {
         return null;
     }
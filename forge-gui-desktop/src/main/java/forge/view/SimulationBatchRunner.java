@@ -0,0 +1,287 @@
+package forge.view;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import forge.LobbyPlayer;
+import forge.game.Game;
+import forge.game.GameEndReason;
+import forge.game.GameLogEntry;
+import forge.game.GameLogEntryType;
+import forge.game.GameRules;
+import forge.game.Match;
+import forge.game.player.RegisteredPlayer;
+import forge.util.MyRandom;
+
+/**
+ * Runs independent simulated games on a bounded pool of worker threads.
+ * <p>
+ * Every game is given its own {@link Random} (derived from the base seed and the game number)
+ * through {@link MyRandom#setThreadRandom(Random)}, so a batch is reproducible regardless of
+ * how the games get scheduled. Per-game results are streamed to an optional CSV or JSONL file.
+ */
+public class SimulationBatchRunner implements AutoCloseable {
+    public static final int GAME_TIMEOUT_SECONDS = 120;
+    private static final int MAX_GAMES_PER_MATCH = 1000;
+
+    private final ExecutorService pool;
+    private final int threads;
+    private final long baseSeed;
+    private final boolean outputGamelog;
+    private final PrintWriter sink;
+    private final boolean jsonSink;
+    private final AtomicInteger matchesPlayed = new AtomicInteger();
+
+    public SimulationBatchRunner(int threads, long baseSeed, boolean outputGamelog, File output) throws IOException {
+        this.threads = Math.max(1, threads);
+        this.baseSeed = baseSeed;
+        this.outputGamelog = outputGamelog;
+        this.pool = Executors.newFixedThreadPool(this.threads, r -> {
+            Thread t = new Thread(r, "Simulation Worker");
+            t.setDaemon(true);
+            return t;
+        });
+
+        if (output != null) {
+            jsonSink = output.getName().toLowerCase().endsWith(".jsonl");
+            sink = new PrintWriter(new FileWriter(output), true);
+            if (!jsonSink) {
+                sink.println("game,match,winner,turns,ms,draw,timeout");
+            }
+        } else {
+            jsonSink = false;
+            sink = null;
+        }
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Result of a single simulated game.
+     */
+    public static class GameResult {
+        private final int gameNumber;
+        private final String matchTitle;
+        private final String winner;
+        private final int turns;
+        private final long millis;
+        private final boolean timedOut;
+        private final List<GameLogEntry> log;
+
+        GameResult(int gameNumber, String matchTitle, String winner, int turns, long millis, boolean timedOut, List<GameLogEntry> log) {
+            this.gameNumber = gameNumber;
+            this.matchTitle = matchTitle;
+            this.winner = winner;
+            this.turns = turns;
+            this.millis = millis;
+            this.timedOut = timedOut;
+            this.log = log;
+        }
+
+        public int getGameNumber() { return gameNumber; }
+        public String getMatchTitle() { return matchTitle; }
+        /** @return the name of the winning player or null for a draw */
+        public String getWinner() { return winner; }
+        public boolean isDraw() { return winner == null; }
+        public int getTurns() { return turns; }
+        public long getMillis() { return millis; }
+        public boolean isTimedOut() { return timedOut; }
+        public List<GameLogEntry> getLog() { return log; }
+    }
+
+    /**
+     * Plays {@code nGames} independent games between the given players, each in its own {@link Match}.
+     * Results are printed in game order once every game has finished.
+     */
+    public List<GameResult> playGames(final GameRules rules, final Supplier<List<RegisteredPlayer>> players, final String title, final int nGames) {
+        List<Callable<GameResult>> tasks = new ArrayList<>();
+        for (int iGame = 0; iGame < nGames; iGame++) {
+            final int gameNumber = iGame;
+            tasks.add(() -> playGame(new Match(rules, players.get(), title), gameNumber, baseSeed + gameNumber));
+        }
+        List<GameResult> results = invokeAll(tasks);
+        for (GameResult result : results) {
+            if (result != null) {
+                printResult(result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Plays whole matches concurrently, one task per match, and returns the matches in the order given.
+     * Games inside a single match stay sequential because each one depends on the previous outcome.
+     */
+    public List<Match> playMatches(final List<Match> matches) {
+        List<Callable<Match>> tasks = new ArrayList<>();
+        final int batch = matchesPlayed.getAndAdd(matches.size());
+        for (int iMatch = 0; iMatch < matches.size(); iMatch++) {
+            final Match mc = matches.get(iMatch);
+            // spread seeds so that games of different matches never share one
+            final long matchSeed = baseSeed + (long) (batch + iMatch) * MAX_GAMES_PER_MATCH;
+            tasks.add(() -> {
+                List<GameResult> matchResults = new ArrayList<>();
+                int exceptions = 0;
+                int iGame = 0;
+                while (!mc.isMatchOver()) {
+                    try {
+                        matchResults.add(playGame(mc, iGame, matchSeed + iGame));
+                        iGame++;
+                    } catch (Exception e) {
+                        exceptions++;
+                        System.out.println(e);
+                        if (exceptions > 5) {
+                            System.out.println("Exceeded number of exceptions thrown. Abandoning match...");
+                            break;
+                        }
+                        System.out.println("Game threw exception. Abandoning game and continuing...");
+                    }
+                }
+                synchronized (this) {
+                    for (GameResult result : matchResults) {
+                        printResult(result);
+                    }
+                }
+                return mc;
+            });
+        }
+        return invokeAll(tasks);
+    }
+
+    private GameResult playGame(final Match mc, final int gameNumber, final long seed) {
+        MyRandom.setThreadRandom(new Random(seed));
+        try {
+            final StopWatch sw = new StopWatch();
+            sw.start();
+
+            final Game game = mc.createGame();
+            game.setHeadless(true);
+            boolean timedOut = false;
+            try {
+                TimeLimitedCodeBlock.runWithTimeout(() -> {
+                    mc.startGame(game);
+                    sw.stop();
+                }, GAME_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                timedOut = true;
+            } catch (Exception | StackOverflowError e) {
+                e.printStackTrace();
+            } finally {
+                if (sw.isStarted()) {
+                    sw.stop();
+                }
+                if (!game.isGameOver()) {
+                    game.setGameOver(GameEndReason.Draw);
+                }
+            }
+
+            List<GameLogEntry> log = game.getGameLog().getLogEntries(outputGamelog ? null : GameLogEntryType.MATCH_RESULTS);
+            LobbyPlayer winner = game.getOutcome().isDraw() ? null : game.getOutcome().getWinningLobbyPlayer();
+            GameResult result = new GameResult(gameNumber, describe(mc), winner == null ? null : winner.getName(),
+                    game.getPhaseHandler().getTurn(), sw.getTime(), timedOut, log);
+            writeResult(result);
+            return result;
+        } finally {
+            MyRandom.setThreadRandom(null);
+        }
+    }
+
+    private static String describe(Match mc) {
+        StringBuilder sb = new StringBuilder();
+        for (RegisteredPlayer rp : mc.getPlayers()) {
+            if (sb.length() > 0) {
+                sb.append(" vs ");
+            }
+            sb.append(rp.getPlayer().getName());
+        }
+        return sb.toString();
+    }
+
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>();
+        try {
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    e.getCause().printStackTrace();
+                    // keep the results aligned with the submitted tasks
+                    results.add(null);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return results;
+    }
+
+    private static void printResult(GameResult result) {
+        List<GameLogEntry> log = new ArrayList<>(result.getLog());
+        Collections.reverse(log);
+        for (GameLogEntry l : log) {
+            System.out.println(l);
+        }
+        if (result.isTimedOut()) {
+            System.out.println("Stopping slow match as draw");
+        }
+        if (result.isDraw()) {
+            System.out.printf("\nGame Result: Game %d ended in a Draw! Took %d ms.%n", 1 + result.getGameNumber(), result.getMillis());
+        } else {
+            System.out.printf("\nGame Result: Game %d ended in %d ms. %s has won!\n%n", 1 + result.getGameNumber(), result.getMillis(), result.getWinner());
+        }
+    }
+
+    private synchronized void writeResult(GameResult result) {
+        if (sink == null) {
+            return;
+        }
+        String winner = result.isDraw() ? "" : result.getWinner();
+        if (jsonSink) {
+            sink.println("{\"game\":" + (1 + result.getGameNumber())
+                    + ",\"match\":\"" + escapeJson(result.getMatchTitle())
+                    + "\",\"winner\":" + (result.isDraw() ? "null" : "\"" + escapeJson(winner) + "\"")
+                    + ",\"turns\":" + result.getTurns()
+                    + ",\"ms\":" + result.getMillis()
+                    + ",\"draw\":" + result.isDraw()
+                    + ",\"timeout\":" + result.isTimedOut() + "}");
+        } else {
+            sink.println((1 + result.getGameNumber()) + "," + escapeCsv(result.getMatchTitle()) + "," + escapeCsv(winner) + ","
+                    + result.getTurns() + "," + result.getMillis() + "," + result.isDraw() + "," + result.isTimedOut());
+        }
+    }
+
+    private static String escapeCsv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String escapeJson(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+        if (sink != null) {
+            sink.close();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package forge;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+public class CardScriptCacheTest {
+
+    private static void writeScript(File dir, String name, String... lines) throws IOException {
+        File folder = new File(dir, name.substring(0, 1));
+        folder.mkdirs();
+        Files.write(new File(folder, name + ".txt").toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testCacheMatchesSources() throws IOException {
+        File dir = Files.createTempDirectory("cardsfolder").toFile();
+        writeScript(dir, "grizzly_bears", "Name:Grizzly Bears", "ManaCost:1 G", "Types:Creature Bear", "PT:2/2");
+        writeScript(dir, "lim_dul_s_vault", "Name:Lim-Dûl's Vault", "ManaCost:U B", "Types:Instant");
+
+        CardStorageReader reader = new CardStorageReader(dir.getPath(), null, false);
+        List<Pair<String, List<String>>> scripts = reader.readScripts();
+        long hash = reader.getSourceHash();
+        AssertJUnit.assertEquals(2, scripts.size());
+
+        CardScriptCache cache = new CardScriptCache(new File(dir, CardScriptCache.FILE_NAME));
+        AssertJUnit.assertNull(cache.read(hash));
+        AssertJUnit.assertTrue(cache.write(hash, scripts));
+        AssertJUnit.assertEquals(scripts, cache.read(hash));
+        AssertJUnit.assertNull(cache.read(hash + 1));
+
+        // the cache itself isn't one of the sources, but changed scripts are
+        AssertJUnit.assertEquals(hash, new CardStorageReader(dir.getPath(), null, false).getSourceHash());
+        writeScript(dir, "grizzly_bears", "Name:Grizzly Bears", "ManaCost:1 G", "Types:Creature Bear", "PT:3/3", "");
+        AssertJUnit.assertFalse(hash == new CardStorageReader(dir.getPath(), null, false).getSourceHash());
+    }
+}
@@ -1,25 +1,63 @@
 package forge.ai.simulation;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.testng.AssertJUnit;
 import org.testng.annotations.Test;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 
+import forge.ai.AiBlockPlanner;
+import forge.ai.AiController;
+import forge.ai.CombatPredictionCache;
 import forge.ai.ComputerUtilAbility;
+import forge.ai.ComputerUtilCombat;
+import forge.ai.ComputerUtilMana;
+import forge.ai.PlayerControllerAi;
 import forge.card.CardStateName;
+import forge.card.ICardFace;
 import forge.card.MagicColor;
+import forge.game.EvenOdd;
 import forge.game.Game;
+import forge.game.GameAction;
+import forge.game.GameView;
+import forge.game.ValidRestriction;
+import forge.game.ability.AbilityKey;
+import forge.game.ability.AbilityUtils;
 import forge.game.ability.ApiType;
 import forge.game.card.Card;
 import forge.game.card.CardCollection;
+import forge.game.card.CardCollectionView;
+import forge.game.card.CardView;
 import forge.game.card.CounterEnumType;
+import forge.game.combat.Combat;
+import forge.game.event.GameEventGameFinished;
+import forge.game.event.GameEventPlayerPriority;
 import forge.game.keyword.Keyword;
+import forge.game.keyword.KeywordInterface;
+import forge.game.mana.Mana;
 import forge.game.phase.PhaseType;
 import forge.game.player.Player;
+import forge.game.player.PlayerView;
+import forge.game.replacement.ReplacementHandler;
+import forge.game.replacement.ReplacementLayer;
+import forge.game.replacement.ReplacementType;
 import forge.game.spellability.SpellAbility;
+import forge.game.trigger.Trigger;
+import forge.game.trigger.TriggerType;
 import forge.game.zone.ZoneType;
+import forge.gamemodes.net.GameViewDelta;
+import forge.gamemodes.net.GameViewSync;
+import forge.item.PaperCard;
+import forge.model.FModel;
+import forge.trackable.TrackableTypes;
+import forge.trackable.Tracker;
 
 public class GameSimulationTest extends SimulationTest {
 
@@ -432,6 +470,34 @@ public class GameSimulationTest extends SimulationTest {
         AssertJUnit.assertFalse(sarkhanCopy.isPlaneswalker());
     }
 
+    @Test
+    public void testCopyAppliesStaticEffectsOnce() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        addCard("Grizzly Bears", p);
+        addCard("Glorious Anthem", p);
+        addCard("Levitation", p);
+        addCard("Reliquary Tower", p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN2, p);
+        game.getAction().checkStateEffects(true);
+
+        GameCopier copier = new GameCopier(game);
+        Game copy = copier.makeCopy();
+        Card bearsCopy = findCardWithName(copy, "Grizzly Bears");
+        AssertJUnit.assertEquals(3, bearsCopy.getNetPower());
+        AssertJUnit.assertEquals(1, bearsCopy.getPTBoostTable().size());
+        AssertJUnit.assertEquals(1, bearsCopy.getChangedCardKeywords().size());
+        AssertJUnit.assertTrue(bearsCopy.hasKeyword(Keyword.FLYING));
+        AssertJUnit.assertTrue(((Player) copier.find(p)).isUnlimitedHandSize());
+
+        // the effects in the copy belong to the copied statics and go away with them
+        Card anthemCopy = findCardWithName(copy, "Glorious Anthem");
+        copy.getAction().exile(anthemCopy, null, null);
+        copy.getAction().checkStateEffects(true);
+        AssertJUnit.assertEquals(2, bearsCopy.getNetPower());
+        AssertJUnit.assertTrue(bearsCopy.getPTBoostTable().isEmpty());
+    }
+
     @Test
     public void testDistributeCountersAbility() {
         String ajaniCardName = "Ajani, Mentor of Heroes";
@@ -2548,4 +2614,781 @@ public class GameSimulationTest extends SimulationTest {
         // spell should fizzle so no card was drawn
         AssertJUnit.assertEquals(0, game.getPlayers().get(0).getCardsIn(ZoneType.Hand).size());
     }
+
+    @Test
+    public void testRestoreGameStateFromJournal() {
+        Game game = initAndCreateGame();
+        game.EXPERIMENTAL_RESTORE_SNAPSHOT = true;
+        Player p = game.getPlayers().get(1);
+        Player opponent = game.getPlayers().get(0);
+        Card mountain = addCard("Mountain", p);
+        Card bears = addCard("Grizzly Bears", opponent);
+        Card bolt = addCardToZone("Lightning Bolt", p, ZoneType.Hand);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        game.stashGameState();
+        mountain.setTapped(true);
+        p.getManaPool().addMana(new Mana(MagicColor.RED, mountain, null));
+        game.getAction().moveToGraveyard(bolt, null);
+        bears.setDamage(2);
+        bears.setCounters(CounterEnumType.P1P1, 1);
+        opponent.loseLife(3, false, false);
+        AssertJUnit.assertTrue(game.getJournal().size() > 0);
+
+        AssertJUnit.assertTrue(game.restoreGameState());
+        AssertJUnit.assertEquals(0, game.getJournal().size());
+        AssertJUnit.assertFalse(mountain.isTapped());
+        AssertJUnit.assertEquals(0, p.getManaPool().totalMana());
+        AssertJUnit.assertTrue(p.getZone(ZoneType.Hand).contains(bolt));
+        AssertJUnit.assertTrue(bolt.isInZone(ZoneType.Hand));
+        AssertJUnit.assertEquals(0, p.getCardsIn(ZoneType.Graveyard).size());
+        AssertJUnit.assertEquals(0, bears.getDamage());
+        AssertJUnit.assertEquals(0, bears.getCounters(CounterEnumType.P1P1));
+        AssertJUnit.assertEquals(20, opponent.getLife());
+
+        // nothing is recorded until the next stash
+        opponent.loseLife(1, false, false);
+        AssertJUnit.assertEquals(0, game.getJournal().size());
+        AssertJUnit.assertFalse(game.restoreGameState());
+    }
+
+    @Test
+    public void testRestoreGameStateUndoesControlAndTurnState() {
+        Game game = initAndCreateGame();
+        game.EXPERIMENTAL_RESTORE_SNAPSHOT = true;
+        Player p = game.getPlayers().get(1);
+        Player opponent = game.getPlayers().get(0);
+        Card bears = addCard("Grizzly Bears", opponent);
+        Card rancor = addCard("Rancor", p);
+        bears.setSickness(true);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+        long timestamp = bears.getGameTimestamp();
+
+        game.stashGameState();
+        bears.addTempController(p, game.getNextTimestamp());
+        bears.setSickness(false);
+        bears.setGameTimestamp(game.getNextTimestamp());
+        rancor.attachToEntity(bears, null);
+        bears.addRemembered(rancor);
+        p.addLandPlayedThisTurn();
+        p.setMaxHandSize(2);
+        game.getPhaseHandler().devModeSet(PhaseType.COMBAT_BEGIN, opponent, false, 5);
+        // adding a card a zone already has must not remove it on rollback
+        opponent.getZone(ZoneType.Battlefield).add(bears);
+        AssertJUnit.assertSame(p, bears.getController());
+
+        AssertJUnit.assertTrue(game.restoreGameState());
+        AssertJUnit.assertSame(opponent, bears.getController());
+        AssertJUnit.assertTrue(bears.hasSickness());
+        AssertJUnit.assertEquals(timestamp, bears.getGameTimestamp());
+        AssertJUnit.assertFalse(rancor.isAttachedToEntity());
+        AssertJUnit.assertFalse(bears.hasCardAttachments());
+        AssertJUnit.assertFalse(bears.hasRemembered());
+        AssertJUnit.assertEquals(0, p.getLandsPlayedThisTurn());
+        AssertJUnit.assertEquals(7, p.getMaxHandSize());
+        AssertJUnit.assertEquals(PhaseType.MAIN1, game.getPhaseHandler().getPhase());
+        AssertJUnit.assertSame(p, game.getPhaseHandler().getPlayerTurn());
+        AssertJUnit.assertEquals(1, game.getPhaseHandler().getTurn());
+        AssertJUnit.assertTrue(opponent.getZone(ZoneType.Battlefield).contains(bears));
+    }
+
+    @Test
+    public void testTranspositionTableReusesScores() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        addCard("Grizzly Bears", p).setSickness(false);
+        addCard("Mountain", p);
+        addCardToZone("Mountain", p, ZoneType.Hand);
+        addCard("Hill Giant", game.getPlayers().get(0));
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        Game copy = new GameCopier(game).makeCopy();
+        Player pCopy = copy.getPlayers().get(1);
+        AssertJUnit.assertEquals(GameStateHash.of(game, p), GameStateHash.of(copy, pCopy));
+
+        TranspositionTable table = new TranspositionTable();
+        GameStateEvaluator eval = new GameStateEvaluator();
+        eval.setTranspositionTable(table);
+        GameStateEvaluator.Score score = eval.getScoreForGameState(game, p);
+        AssertJUnit.assertTrue(score.equals(eval.getScoreForGameState(copy, pCopy)));
+        AssertJUnit.assertEquals(1, table.getHits());
+        AssertJUnit.assertEquals(1, table.getMisses());
+
+        pCopy.setLife(10, null);
+        AssertJUnit.assertTrue(GameStateHash.of(game, p) != GameStateHash.of(copy, pCopy));
+        AssertJUnit.assertTrue(GameStateHash.of(game, p) != GameStateHash.of(game, game.getPlayers().get(0)));
+    }
+
+    @Test
+    public void testStaticAbilitiesRecomputedAfterEvents() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bears = addCard("Grizzly Bears", p);
+        Card anthem = addCardToZone("Glorious Anthem", p, ZoneType.Hand);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+
+        GameAction.VERIFY_STATIC_ABILITIES = true;
+        try {
+            game.getAction().checkStateEffects(true);
+            game.getAction().checkStaticAbilities();
+            AssertJUnit.assertEquals(2, bears.getNetPower());
+
+            anthem = game.getAction().moveToPlay(anthem, null, null);
+            game.getAction().checkStaticAbilities();
+            AssertJUnit.assertEquals(3, bears.getNetPower());
+            game.getAction().checkStaticAbilities();
+            AssertJUnit.assertEquals(3, bears.getNetPower());
+
+            game.getAction().exile(anthem, null, null);
+            game.getAction().checkStaticAbilities();
+            AssertJUnit.assertEquals(2, bears.getNetPower());
+        } finally {
+            GameAction.VERIFY_STATIC_ABILITIES = false;
+        }
+    }
+
+    @Test
+    public void testSettersWithoutEventsMoveStateVersion() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Player opponent = game.getPlayers().get(0);
+        Card bears = addCard("Grizzly Bears", p);
+        Card mountain = addCard("Mountain", p);
+
+        // static abilities can read all of these, so the skipped recompute has to notice them
+        long version = game.getStateVersion();
+        bears.setChosenColors(Lists.newArrayList("red"));
+        AssertJUnit.assertTrue(game.getStateVersion() > version);
+
+        version = game.getStateVersion();
+        bears.setChosenPlayer(opponent);
+        AssertJUnit.assertTrue(game.getStateVersion() > version);
+
+        version = game.getStateVersion();
+        bears.setChosenCards(new CardCollection(mountain));
+        AssertJUnit.assertTrue(game.getStateVersion() > version);
+
+        version = game.getStateVersion();
+        bears.setNamedCards(Lists.newArrayList("Mountain"));
+        AssertJUnit.assertTrue(game.getStateVersion() > version);
+
+        version = game.getStateVersion();
+        bears.setChosenEvenOdd(EvenOdd.Even);
+        AssertJUnit.assertTrue(game.getStateVersion() > version);
+
+        version = game.getStateVersion();
+        bears.setSVar("ChosenX", "3");
+        AssertJUnit.assertTrue(game.getStateVersion() > version);
+
+        version = game.getStateVersion();
+        bears.removeSVar("ChosenX");
+        AssertJUnit.assertTrue(game.getStateVersion() > version);
+
+        version = game.getStateVersion();
+        bears.setChosenNumber(2);
+        AssertJUnit.assertTrue(game.getStateVersion() > version);
+
+        version = game.getStateVersion();
+        p.setNamedCard("Grizzly Bears");
+        AssertJUnit.assertTrue(game.getStateVersion() > version);
+    }
+
+    @Test
+    public void testTriggersDispatchedByMode() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        addCard("Soul Warden", p);
+        Card bears = addCardToZone("Grizzly Bears", p, ZoneType.Hand);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        game.getAction().moveToPlay(bears, null, null);
+        game.getTriggerHandler().runWaitingTriggers();
+        AssertJUnit.assertTrue(game.getStack().hasSimultaneousStackEntries());
+        AssertJUnit.assertTrue(game.getTriggerHandler().getDispatchCounts().get(TriggerType.ChangesZone) > 0);
+        AssertJUnit.assertNull(game.getTriggerHandler().getDispatchCounts().get(TriggerType.Attacks));
+    }
+
+    @Test
+    public void testReplacementEffectsFollowStateChanges() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(0);
+        Card bears = addCard("Grizzly Bears", p);
+        Card bolt = addCardToZone("Lightning Bolt", p, ZoneType.Hand);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        Map<AbilityKey, Object> params = AbilityKey.mapFromAffected(bears);
+        params.put(AbilityKey.Cause, bolt.getFirstSpellAbility());
+        ReplacementHandler handler = game.getReplacementHandler();
+        AssertJUnit.assertTrue(handler.getReplacementList(ReplacementType.Destroy, params, null).isEmpty());
+
+        // a shield counter gives the bears a replacement effect
+        bears.addCounterInternal(CounterEnumType.SHIELD, 1, p, false, null, null);
+        AssertJUnit.assertEquals(1, handler.getReplacementList(ReplacementType.Destroy, params, null).size());
+        AssertJUnit.assertEquals(1, handler.getReplacementList(ReplacementType.Destroy, params, ReplacementLayer.Other).size());
+    }
+
+    @Test
+    public void testStaticAbilitiesIndexedByMode() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        addCard("Soul Warden", p);
+        Card orb = addCardToZone("Torpor Orb", p, ZoneType.Hand);
+        Card bears = addCardToZone("Grizzly Bears", p, ZoneType.Hand);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+        AssertJUnit.assertTrue(game.getStaticAbilities("DisableTriggers").isEmpty());
+
+        game.getAction().moveToPlay(orb, null, null);
+        AssertJUnit.assertEquals(1, game.getStaticAbilities("DisableTriggers").size());
+
+        // Torpor Orb keeps Soul Warden from triggering
+        game.getAction().moveToPlay(bears, null, null);
+        game.getTriggerHandler().runWaitingTriggers();
+        AssertJUnit.assertFalse(game.getStack().hasSimultaneousStackEntries());
+    }
+
+    @Test
+    public void testCompiledRestrictionsMatchInterpreted() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Player opp = game.getPlayers().get(0);
+        Card warden = addCard("Soul Warden", p);
+        Card bolt = addCardToZone("Lightning Bolt", p, ZoneType.Hand);
+        List<Card> cards = Lists.newArrayList(warden, bolt);
+        cards.add(addCard("Grizzly Bears", p));
+        cards.add(addCard("Serra Angel", opp));
+        cards.add(addCard("Glorious Anthem", p));
+        cards.add(addCard("Mountain", opp));
+        cards.add(addCard("Forest", p));
+        cards.add(addToken("c_a_treasure_sac", opp));
+        cards.add(addCardToZone("Llanowar Elves", opp, ZoneType.Graveyard));
+        cards.add(addCardToZone("Counterspell", opp, ZoneType.Exile));
+        Card tapped = addCard("Hill Giant", opp);
+        tapped.setTapped(true);
+        cards.add(tapped);
+        Card phasedOut = addCard("Shivan Dragon", p);
+        phasedOut.setPhasedOut(p);
+        cards.add(phasedOut);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        // every restriction of every card script
+        Set<String> restrictions = new TreeSet<>();
+        Pattern valid = Pattern.compile("Valid[A-Za-z]*\\$ ?([^|]+)");
+        for (PaperCard pc : FModel.getMagicDb().getCommonCards().getUniqueCards()) {
+            for (ICardFace face : new ICardFace[] { pc.getRules().getMainPart(), pc.getRules().getOtherPart() }) {
+                if (face == null) {
+                    continue;
+                }
+                List<String> lines = Lists.newArrayList(Iterables.concat(face.getAbilities(), face.getTriggers(),
+                        face.getStaticAbilities(), face.getReplacements()));
+                for (Map.Entry<String, String> svar : face.getVariables()) {
+                    if (svar.getValue() != null) {
+                        lines.add(svar.getValue());
+                    }
+                }
+                for (String line : lines) {
+                    Matcher m = valid.matcher(line);
+                    while (m.find()) {
+                        for (String r : m.group(1).split(",")) {
+                            // looks for an opponent forever when the defined player has none
+                            if (!r.contains("NextOpponentToYour")) {
+                                restrictions.add(r.trim());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        SpellAbility boltSA = bolt.getFirstSpellAbility();
+        int compared = 0;
+        try {
+            for (String r : restrictions) {
+                for (Card c : cards) {
+                    for (SpellAbility sa : new SpellAbility[] { null, boltSA }) {
+                        Card source = sa == null ? warden : bolt;
+                        boolean interpreted;
+                        ValidRestriction.COMPILED = false;
+                        try {
+                            interpreted = c.isValid(r, p, source, sa);
+                        } catch (RuntimeException e) {
+                            // needs a context this board doesn't provide
+                            continue;
+                        } finally {
+                            ValidRestriction.COMPILED = true;
+                        }
+                        AssertJUnit.assertEquals(r + " on " + c, interpreted, c.isValid(r, p, source, sa));
+                        compared++;
+                    }
+                }
+                ValidRestriction.COMPILED = false;
+                boolean interpreted;
+                try {
+                    interpreted = boltSA.isValid(r, p, bolt, boltSA);
+                } catch (RuntimeException e) {
+                    continue;
+                } finally {
+                    ValidRestriction.COMPILED = true;
+                }
+                AssertJUnit.assertEquals(r + " on " + boltSA, interpreted, boltSA.isValid(r, p, bolt, boltSA));
+            }
+        } finally {
+            ValidRestriction.COMPILED = true;
+        }
+        AssertJUnit.assertTrue(restrictions.size() > 1000);
+        AssertJUnit.assertTrue(compared > 10000);
+    }
+
+    @Test
+    public void testCountExpressionsEvaluatedRepeatedly() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card warden = addCard("Soul Warden", p);
+        Card bear = addCard("Grizzly Bears", p);
+        addCard("Grizzly Bears", p);
+        addCard("Grizzly Bears", p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        bear.setSVar("X", "Count$Valid Creature.YouCtrl");
+        bear.setSVar("Y", "Count$Valid Creature.YouCtrl/Plus.2");
+        bear.setSVar("N", "Number$3");
+        bear.setSVar("Z", "Count$Valid Creature.YouCtrl/Times.N");
+        bear.setSVar("W", "SVar$Y/Minus.1");
+        bear.setSVar("Named", "Count$NamedYouCtrl.CARDNAME");
+        warden.setSVar("Named", "Count$NamedYouCtrl.CARDNAME");
+
+        // the second round uses the cached parses
+        for (int i = 0; i < 2; i++) {
+            AssertJUnit.assertEquals(4, AbilityUtils.calculateAmount(bear, "X", null));
+            AssertJUnit.assertEquals(-4, AbilityUtils.calculateAmount(bear, "-X", null));
+            AssertJUnit.assertEquals(6, AbilityUtils.calculateAmount(bear, "Y", null));
+            AssertJUnit.assertEquals(12, AbilityUtils.calculateAmount(bear, "Z", null));
+            AssertJUnit.assertEquals(5, AbilityUtils.calculateAmount(bear, "W", null));
+            AssertJUnit.assertEquals(7, AbilityUtils.calculateAmount(bear, "+7", null));
+            AssertJUnit.assertEquals(2, AbilityUtils.calculateAmount(bear, "Count$Valid Creature.YouCtrl/HalfDown", null));
+            // CARDNAME is replaced for each card, not in the shared parse
+            AssertJUnit.assertEquals(3, AbilityUtils.calculateAmount(bear, "Named", null));
+            AssertJUnit.assertEquals(1, AbilityUtils.calculateAmount(warden, "Named", null));
+        }
+    }
+
+    @Test
+    public void testGameViewDeltaSync() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bear = addCard("Grizzly Bears", p);
+        addCards("Forest", 5, p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        GameViewSync sync = new GameViewSync();
+        GameViewDelta full = sync.update(game.getView());
+        AssertJUnit.assertTrue(full.isFull());
+        GameView clientView = full.readGameView(new Tracker());
+        clientView.updateObjLookup();
+        Tracker clientTracker = clientView.getTracker();
+
+        // nothing changed, nothing to send
+        AssertJUnit.assertNull(sync.update(game.getView()));
+
+        bear.setTapped(true);
+        GameViewDelta delta = sync.update(game.getView());
+        AssertJUnit.assertFalse(delta.isFull());
+        AssertJUnit.assertEquals(full.getVersion(), delta.getBaseVersion());
+        AssertJUnit.assertTrue(delta.getSize() < full.getSize() / 10);
+        AssertJUnit.assertTrue(delta.applyTo(clientView));
+        CardView clientBear = clientTracker.getObj(TrackableTypes.CardViewType, bear.getId());
+        AssertJUnit.assertNotSame(bear.getView(), clientBear);
+        AssertJUnit.assertTrue(clientBear.isTapped());
+
+        // a new card is sent whole, cards the client has are only referenced
+        Card wolf = addCard("Runeclaw Bear", p);
+        delta = sync.update(game.getView());
+        AssertJUnit.assertTrue(delta.applyTo(clientView));
+        CardView clientWolf = clientTracker.getObj(TrackableTypes.CardViewType, wolf.getId());
+        AssertJUnit.assertNotNull(clientWolf);
+        AssertJUnit.assertEquals(wolf.getName(), clientWolf.getName());
+        PlayerView clientPlayer = clientTracker.getObj(TrackableTypes.PlayerViewType, p.getId());
+        AssertJUnit.assertTrue(Iterables.any(clientPlayer.getBattlefield(), c -> c == clientWolf));
+        AssertJUnit.assertTrue(Iterables.any(clientPlayer.getBattlefield(), c -> c == clientBear));
+
+        // a client that missed the full update can't apply deltas
+        bear.setTapped(false);
+        delta = sync.update(game.getView());
+        GameView otherClientView = resetGame().getView();
+        AssertJUnit.assertFalse(delta.applyTo(otherClientView));
+    }
+
+    @Test
+    public void testCardsFromSameFaceGetOwnTraits() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card angel1 = addCard("Serra Angel", p);
+        Card angel2 = addCard("Serra Angel", p);
+        Card warden1 = addCard("Soul Warden", p);
+        Card warden2 = addCard("Soul Warden", p);
+
+        // the parsed keywords are copied for each card
+        AssertJUnit.assertTrue(angel1.hasKeyword(Keyword.FLYING));
+        AssertJUnit.assertTrue(angel2.hasKeyword(Keyword.VIGILANCE));
+        for (KeywordInterface kw : angel1.getKeywords()) {
+            for (KeywordInterface other : angel2.getKeywords()) {
+                AssertJUnit.assertNotSame(kw, other);
+            }
+        }
+
+        // the traits are bound to their own card
+        Trigger trig1 = Iterables.getOnlyElement(warden1.getTriggers());
+        Trigger trig2 = Iterables.getOnlyElement(warden2.getTriggers());
+        AssertJUnit.assertNotSame(trig1, trig2);
+        AssertJUnit.assertSame(warden1, trig1.getHostCard());
+        AssertJUnit.assertSame(warden2, trig2.getHostCard());
+        AssertJUnit.assertEquals(trig1.getMapParams(), trig2.getMapParams());
+    }
+
+    @Test
+    public void testCardIndexFollowsZoneChanges() {
+        Game game = initAndCreateGame();
+        game.EXPERIMENTAL_RESTORE_SNAPSHOT = true;
+        Player p = game.getPlayers().get(1);
+        Player opponent = game.getPlayers().get(0);
+        Card bears = addCard("Grizzly Bears", p);
+        Card bolt = addCardToZone("Lightning Bolt", p, ZoneType.Hand);
+        Card angel = addCardToZone("Serra Angel", opponent, ZoneType.Library);
+        Card token = addToken("w_1_1_soldier", p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        Game.VERIFY_CARD_INDEX = true;
+        try {
+            game.validateCardIndex();
+            AssertJUnit.assertSame(bears, game.findById(bears.getId()));
+            AssertJUnit.assertSame(angel, game.getCardState(angel));
+
+            game.stashGameState();
+            Card movedBolt = game.getAction().moveToGraveyard(bolt, null);
+            Card movedAngel = game.getAction().moveToHand(angel, null);
+            game.getAction().exile(bears, null, null);
+            AssertJUnit.assertSame(movedBolt, game.findById(bolt.getId()));
+            AssertJUnit.assertSame(movedAngel, game.getCardState(angel));
+            game.validateCardIndex();
+
+            // rolling back the zones rolls back the index as well
+            AssertJUnit.assertTrue(game.restoreGameState());
+            game.validateCardIndex();
+            AssertJUnit.assertTrue(p.getZone(ZoneType.Hand).contains(game.findById(bolt.getId())));
+
+            game.getAction().ceaseToExist(token, false);
+            AssertJUnit.assertNull(game.findById(token.getId()));
+            AssertJUnit.assertSame(bolt, game.getCardState(token, bolt));
+            game.validateCardIndex();
+
+            Game copy = createSimulator(game, p).getSimulatedGameState();
+            copy.validateCardIndex();
+            AssertJUnit.assertEquals(bears.getName(), copy.findById(bears.getId()).getName());
+        } finally {
+            Game.VERIFY_CARD_INDEX = false;
+        }
+    }
+
+    @Test
+    public void testLastStateCopiedOnlyAfterChanges() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bears = addCard("Grizzly Bears", p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        game.copyLastState();
+        Card lki = Iterables.getOnlyElement(game.getLastStateBattlefield());
+        AssertJUnit.assertNotSame(bears, lki);
+
+        // nothing happened, so the copy is still the last known state
+        game.copyLastState();
+        AssertJUnit.assertSame(lki, Iterables.getOnlyElement(game.getLastStateBattlefield()));
+        // callers asking for a zone may change what they get, so they get their own copies
+        CardCollectionView battlefield = game.copyLastStateBattlefield();
+        AssertJUnit.assertNotSame(lki, Iterables.getOnlyElement(battlefield));
+        AssertJUnit.assertNotSame(Iterables.getOnlyElement(battlefield), Iterables.getOnlyElement(game.copyLastStateBattlefield()));
+
+        bears.tap(true, null, p);
+        game.copyLastState();
+        Card tappedLki = Iterables.getOnlyElement(game.getLastStateBattlefield());
+        AssertJUnit.assertNotSame(lki, tappedLki);
+        AssertJUnit.assertFalse(lki.isTapped());
+        AssertJUnit.assertTrue(tappedLki.isTapped());
+
+        // untapping directly doesn't fire an event, but is still noticed
+        bears.setTapped(false);
+        game.copyLastState();
+        AssertJUnit.assertFalse(Iterables.getOnlyElement(game.getLastStateBattlefield()).isTapped());
+    }
+
+    @Test
+    public void testHeadlessGameUpdatesViewsWhenAsked() {
+        Game game = initAndCreateGame();
+        game.setHeadless(true);
+        Player p = game.getPlayers().get(1);
+        Card bears = addCard("Grizzly Bears", p);
+        addCard("Glorious Anthem", p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        AssertJUnit.assertEquals(3, bears.getNetPower());
+        AssertJUnit.assertNull(game.getTracker().getObj(TrackableTypes.CardViewType, bears.getId()));
+        AssertJUnit.assertEquals(3, bears.getUpdatedView().getCurrentState().getPower());
+
+        // the views are complete again once the game is shown
+        bears.addCounterInternal(CounterEnumType.P1P1, 1, p, false, null, null);
+        game.setHeadless(false);
+        AssertJUnit.assertEquals(4, bears.getView().getCurrentState().getPower());
+        AssertJUnit.assertSame(bears.getView(), game.getTracker().getObj(TrackableTypes.CardViewType, bears.getId()));
+        AssertJUnit.assertTrue(p.getView().getBattlefield().contains(bears.getView()));
+    }
+
+    @Test
+    public void testManaAvailabilityFollowsTappedSources() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card forest = addCard("Forest", p);
+        addCard("Forest", p);
+        Card island = addCard("Island", p);
+        SpellAbility bearsSA = addCardToZone("Grizzly Bears", p, ZoneType.Hand).getFirstSpellAbility();
+        SpellAbility counterspellSA = addCardToZone("Counterspell", p, ZoneType.Hand).getFirstSpellAbility();
+        SpellAbility wrathSA = addCardToZone("Wrath of God", p, ZoneType.Hand).getFirstSpellAbility();
+        bearsSA.setActivatingPlayer(p);
+        counterspellSA.setActivatingPlayer(p);
+        wrathSA.setActivatingPlayer(p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        AssertJUnit.assertTrue(ComputerUtilMana.canPayManaCost(bearsSA, p, 0, false));
+        // only one source for each of the blue shards
+        AssertJUnit.assertFalse(ComputerUtilMana.canPayManaCost(counterspellSA, p, 0, false));
+        AssertJUnit.assertFalse(ComputerUtilMana.canPayManaCost(wrathSA, p, 0, false));
+        // trial payments leave the sources untapped
+        AssertJUnit.assertFalse(forest.isTapped());
+        AssertJUnit.assertTrue(ComputerUtilMana.canPayManaCost(bearsSA, p, 1, false));
+        AssertJUnit.assertFalse(ComputerUtilMana.canPayManaCost(bearsSA, p, 2, false));
+
+        // the sources are looked up again once one of them is tapped
+        island.tap(true, null, p);
+        AssertJUnit.assertTrue(ComputerUtilMana.canPayManaCost(bearsSA, p, 0, false));
+        AssertJUnit.assertFalse(ComputerUtilMana.canPayManaCost(bearsSA, p, 1, false));
+        forest.tap(true, null, p);
+        AssertJUnit.assertFalse(ComputerUtilMana.canPayManaCost(bearsSA, p, 0, false));
+    }
+
+    @Test
+    public void testPassingAgainReusesSpellAbilities() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(0);
+        Card forest = addCard("Forest", p);
+        addCardToZone("Counterspell", p, ZoneType.Hand);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN2, p);
+        game.getAction().checkStateEffects(true);
+        AiController aic = ((PlayerControllerAi) p.getController()).getAi();
+
+        AssertJUnit.assertNull(aic.chooseSpellAbilityToPlay());
+        AssertJUnit.assertEquals(0, aic.getReusedCandidateLists());
+
+        // getting priority back isn't a change, the AI still decides but over the same spell abilities
+        game.fireEvent(new GameEventPlayerPriority(p, PhaseType.MAIN2, p));
+        AssertJUnit.assertNull(aic.chooseSpellAbilityToPlay());
+        AssertJUnit.assertEquals(1, aic.getReusedCandidateLists());
+
+        forest.tap(true, null, p);
+        AssertJUnit.assertNull(aic.chooseSpellAbilityToPlay());
+        AssertJUnit.assertEquals(1, aic.getReusedCandidateLists());
+        AssertJUnit.assertEquals(3, aic.getPriorityDecisions());
+    }
+
+    @Test
+    public void testPassingAgainStillPlaysWhatBecamePlayable() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(0);
+        Card forest = addCard("Forest", p);
+        forest.setTapped(true);
+        addCardToZone("Grizzly Bears", p, ZoneType.Hand);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN2, p);
+        game.getAction().checkStateEffects(true);
+        AiController aic = ((PlayerControllerAi) p.getController()).getAi();
+        AssertJUnit.assertNull(aic.chooseSpellAbilityToPlay());
+
+        // mana that shows up without any event still gets looked at, the choice is made every time
+        p.getManaPool().addMana(new Mana(MagicColor.GREEN, forest, null), false);
+        p.getManaPool().addMana(new Mana(MagicColor.GREEN, forest, null), false);
+        AssertJUnit.assertNotNull(aic.chooseSpellAbilityToPlay());
+    }
+
+    @Test
+    public void testBlockPlannerFindsBetterSingleBlocks() {
+        Game game = initAndCreateGame();
+        Player ai = game.getPlayers().get(0);
+        Player opponent = game.getPlayers().get(1);
+        Card giant = addCard("Hill Giant", ai);
+        Card elves = addCard("Llanowar Elves", ai);
+        Card bears = addCard("Grizzly Bears", opponent);
+        bears.setSickness(false);
+        game.getPhaseHandler().devModeSet(PhaseType.COMBAT_DECLARE_ATTACKERS, opponent);
+        Combat combat = new Combat(opponent);
+        combat.addAttacker(bears, ai);
+        game.getPhaseHandler().setCombat(combat);
+        game.getAction().checkStateEffects(true);
+
+        // chump blocking with the elves is worse than eating the bears with the giant
+        combat.addBlocker(bears, elves);
+        AiBlockPlanner planner = new AiBlockPlanner(ai, 1000);
+        AssertJUnit.assertTrue(planner.improveBlocks(combat, ai.getCreaturesInPlay()));
+        AssertJUnit.assertFalse(planner.isTimedOut());
+        AssertJUnit.assertTrue(combat.isBlocking(giant, bears));
+        AssertJUnit.assertFalse(combat.isBlocking(elves));
+
+        // the best blocks are kept as they are
+        AssertJUnit.assertFalse(planner.improveBlocks(combat, ai.getCreaturesInPlay()));
+        AssertJUnit.assertTrue(combat.isBlocking(giant, bears));
+        AssertJUnit.assertEquals(1, combat.getAllBlockers().size());
+    }
+
+    @Test
+    public void testCombatPredictionsAreReusedUntilSomethingChanges() {
+        Game game = initAndCreateGame();
+        Player ai = game.getPlayers().get(0);
+        Player opponent = game.getPlayers().get(1);
+        Card bears = addCard("Grizzly Bears", ai);
+        Card giant = addCard("Hill Giant", opponent);
+        giant.setSickness(false);
+        game.getPhaseHandler().devModeSet(PhaseType.COMBAT_DECLARE_ATTACKERS, opponent);
+        Combat combat = new Combat(opponent);
+        combat.addAttacker(giant, ai);
+        game.getPhaseHandler().setCombat(combat);
+        game.getAction().checkStateEffects(true);
+
+        CombatPredictionCache cache = ComputerUtilCombat.getPredictionCache();
+        cache.clear();
+        cache.resetStats();
+        AssertJUnit.assertFalse(ComputerUtilCombat.canDestroyAttacker(ai, giant, bears, combat, false));
+        long misses = cache.getMisses();
+        AssertJUnit.assertFalse(ComputerUtilCombat.canDestroyAttacker(ai, giant, bears, combat, false));
+        AssertJUnit.assertEquals(1, cache.getHits());
+        AssertJUnit.assertEquals(misses, cache.getMisses());
+
+        // declaring the block doesn't fire an event, but it changes the combat
+        combat.addBlocker(giant, bears);
+        AssertJUnit.assertFalse(ComputerUtilCombat.canDestroyAttacker(ai, giant, bears, combat, false));
+        AssertJUnit.assertTrue(cache.getMisses() > misses);
+
+        // the counters change the board and make the bears 4/4
+        bears.setCounters(CounterEnumType.P1P1, 2);
+        AssertJUnit.assertTrue(ComputerUtilCombat.canDestroyAttacker(ai, giant, bears, combat, false));
+        AssertJUnit.assertTrue(ComputerUtilCombat.attackerWouldBeDestroyed(ai, giant, combat));
+    }
+
+    @Test
+    public void testCombatPredictionsForgottenWhenGameFinished() {
+        Game game = initAndCreateGame();
+        Player ai = game.getPlayers().get(0);
+        Player opponent = game.getPlayers().get(1);
+        Card bears = addCard("Grizzly Bears", ai);
+        Card giant = addCard("Hill Giant", opponent);
+        game.getPhaseHandler().devModeSet(PhaseType.COMBAT_DECLARE_ATTACKERS, opponent);
+        Combat combat = new Combat(opponent);
+        combat.addAttacker(giant, ai);
+        game.getAction().checkStateEffects(true);
+
+        CombatPredictionCache cache = ComputerUtilCombat.getPredictionCache();
+        ComputerUtilCombat.canDestroyAttacker(ai, giant, bears, combat, false);
+        AssertJUnit.assertTrue(cache.getMisses() > 0);
+
+        game.fireEvent(new GameEventGameFinished());
+        CombatPredictionCache next = ComputerUtilCombat.getPredictionCache();
+        AssertJUnit.assertNotSame(cache, next);
+        AssertJUnit.assertEquals(0, next.getMisses());
+    }
+
+    @Test
+    public void testClassLevelUpTriggersAfterStaticAbilitiesSettled() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        addCards("Island", 3, p);
+        addCardToZone("Island", p, ZoneType.Library);
+        addCardToZone("Island", p, ZoneType.Library);
+        Card wizardClass = addCard("Wizard Class", p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+        game.getAction().checkStaticAbilities();
+
+        SpellAbility levelUpSA = findSAWithPrefix(wizardClass, "Level 2");
+        AssertJUnit.assertNotNull(levelUpSA);
+
+        GameAction.VERIFY_STATIC_ABILITIES = true;
+        try {
+            GameSimulator sim = createSimulator(game, p);
+            sim.simulateSpellAbility(levelUpSA);
+            Game simGame = sim.getSimulatedGameState();
+            Card classCopy = findCardWithName(simGame, "Wizard Class");
+            AssertJUnit.assertEquals(2, classCopy.getClassLevel());
+            // the level 2 trigger only exists once the new level has been applied
+            AssertJUnit.assertEquals(2, simGame.getPlayers().get(1).getCardsIn(ZoneType.Hand).size());
+        } finally {
+            GameAction.VERIFY_STATIC_ABILITIES = false;
+        }
+    }
+
+    @Test
+    public void testLastStateCopiesDroppedAfterCardUpdate() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bears = addCard("Grizzly Bears", p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        game.copyLastState();
+        Card lki = Iterables.getOnlyElement(game.getLastStateBattlefield());
+        AssertJUnit.assertSame(lki, Iterables.getOnlyElement(game.copyLastStateBattlefield()));
+
+        game.updateLastStateForCard(bears);
+        Card updated = Iterables.getOnlyElement(game.getLastStateBattlefield());
+        AssertJUnit.assertNotSame(lki, updated);
+
+        // the zone copy from before the update is stale, even though the state version is the same
+        AssertJUnit.assertNotSame(lki, Iterables.getOnlyElement(game.copyLastStateBattlefield()));
+        game.copyLastState();
+        AssertJUnit.assertNotSame(lki, Iterables.getOnlyElement(game.getLastStateBattlefield()));
+    }
+
+    @Test
+    public void testGameStateHashSeesBlocksAndHandSize() {
+        Game game = initAndCreateGame();
+        Player ai = game.getPlayers().get(0);
+        Player opponent = game.getPlayers().get(1);
+        Card giant = addCard("Hill Giant", ai);
+        Card bears = addCard("Grizzly Bears", opponent);
+        Card elves = addCard("Llanowar Elves", opponent);
+        bears.setSickness(false);
+        elves.setSickness(false);
+        game.getPhaseHandler().devModeSet(PhaseType.COMBAT_DECLARE_BLOCKERS, opponent);
+        Combat combat = new Combat(opponent);
+        combat.addAttacker(bears, ai);
+        combat.addAttacker(elves, ai);
+        game.getPhaseHandler().setCombat(combat);
+        game.getAction().checkStateEffects(true);
+
+        combat.addBlocker(bears, giant);
+        long blockingBears = GameStateHash.of(game, ai);
+        combat.undoBlockingAssignment(giant);
+        combat.addBlocker(elves, giant);
+        AssertJUnit.assertTrue(blockingBears != GameStateHash.of(game, ai));
+
+        long handSize = GameStateHash.of(game, ai);
+        ai.setMaxHandSize(5);
+        AssertJUnit.assertTrue(handSize != GameStateHash.of(game, ai));
+    }
 }
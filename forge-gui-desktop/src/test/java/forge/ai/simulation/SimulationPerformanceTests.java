@@ -0,0 +1,74 @@
+package forge.ai.simulation;
+
+import java.lang.management.ManagementFactory;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.game.Game;
+import forge.game.phase.PhaseType;
+import forge.game.player.Player;
+import forge.game.zone.ZoneType;
+
+public class SimulationPerformanceTests extends SimulationTest {
+
+    private static final String[] CREATURES = {
+            "Grizzly Bears", "Hill Giant", "Serra Angel", "Llanowar Elves", "Shivan Dragon",
+            "Glorious Anthem", "Wall of Omens", "Prodigal Pyromancer", "Air Elemental", "Mahamoti Djinn"
+    };
+    private static final String[] SPELLS = {
+            "Lightning Bolt", "Giant Growth", "Counterspell", "Shock", "Divination"
+    };
+
+    protected Game createMidGameBoard() {
+        Game game = initAndCreateGame();
+        for (Player p : game.getPlayers()) {
+            addCards("Mountain", 3, p);
+            addCards("Island", 2, p);
+            addCards("Plains", 2, p);
+            addCards("Forest", 2, p);
+            for (String name : CREATURES) {
+                addCard(name, p).setSickness(false);
+            }
+            for (String name : SPELLS) {
+                addCardToZone(name, p, ZoneType.Hand);
+                addCardToZone(name, p, ZoneType.Graveyard);
+            }
+            for (int i = 0; i < 8; i++) {
+                for (String name : SPELLS) {
+                    addCardToZone(name, p, ZoneType.Library);
+                }
+            }
+        }
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, game.getPlayers().get(1));
+        game.getAction().checkStateEffects(true);
+        return game;
+    }
+
+    protected static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    @Test(enabled = false) // disabled to not run in battery
+    public void testBenchmarkGameCopier() {
+        Game game = createMidGameBoard();
+        int nWarmup = 20, nRuns = 100;
+        for (int r = 0; r < nWarmup; r++) {
+            new GameCopier(game).makeCopy();
+        }
+
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        Game copy = null;
+        for (int r = 0; r < nRuns; r++) {
+            copy = new GameCopier(game).makeCopy();
+        }
+        long time = System.nanoTime() - start;
+        bytes = allocatedBytes() - bytes;
+
+        AssertJUnit.assertEquals(game.getCardsInGame().size(), copy.getCardsInGame().size());
+        System.out.println("[GameCopier] Cards in game: " + game.getCardsInGame().size());
+        System.out.println("[GameCopier] Average copy time (in ms): " + (time / nRuns) / 1000000.0);
+        System.out.println("[GameCopier] Average allocation per copy (in KB): " + (bytes / nRuns) / 1024);
+    }
+}
@@ -897,4 +897,38 @@ public class SpellAbilityPickerSimulationTest extends SimulationTest {
         game.getAction().checkStateEffects(true);
         AssertJUnit.assertNull(picker.chooseSpellAbilityToPlay(null));
     }
+
+    @Test
+    public void testParallelRootSearchMatchesSequential() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+
+        addCardToZone("Mountain", p, ZoneType.Hand);
+        addCards("Mountain", 2, p);
+        addCardToZone("Shock", p, ZoneType.Hand);
+        addCardToZone("Lightning Bolt", p, ZoneType.Hand);
+        addCardToZone("Grizzly Bears", p, ZoneType.Hand);
+
+        Player opponent = game.getPlayers().get(0);
+        addCard("Runeclaw Bear", opponent);
+        addCard("Hill Giant", opponent);
+        opponent.setLife(20, null);
+
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        SpellAbilityPicker sequential = new SpellAbilityPicker(game, p);
+        sequential.setRootThreads(1);
+        sequential.setTimeLimit(0);
+        SpellAbility sequentialSa = sequential.chooseSpellAbilityToPlay(null);
+        AssertJUnit.assertNotNull(sequentialSa);
+
+        SpellAbilityPicker parallel = new SpellAbilityPicker(game, p);
+        parallel.setRootThreads(4);
+        parallel.setTimeLimit(0);
+        SpellAbility parallelSa = parallel.chooseSpellAbilityToPlay(null);
+        AssertJUnit.assertEquals(sequentialSa, parallelSa);
+        AssertJUnit.assertTrue(sequential.getPlan().getFinalScore().equals(parallel.getPlan().getFinalScore()));
+        AssertJUnit.assertEquals(sequential.getPlan().getDecisions().toString(), parallel.getPlan().getDecisions().toString());
+    }
 }
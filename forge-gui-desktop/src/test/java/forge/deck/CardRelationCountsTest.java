@@ -0,0 +1,48 @@
+package forge.deck;
+
+import java.util.Arrays;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+public class CardRelationCountsTest {
+
+    @Test
+    public void testCountsAddUpAcrossParts() {
+        CardRelationCounts first = new CardRelationCounts(3);
+        CardRelationCounts second = new CardRelationCounts(3);
+        // enough columns to make the row grow a few times
+        for (int col = 0; col < 100; col++) {
+            first.add(0, col, col % 7);
+            second.add(0, col, 1);
+        }
+        second.add(2, 5, 3);
+        first.addAll(second);
+
+        AssertJUnit.assertEquals(100, first.size(0));
+        AssertJUnit.assertEquals(0, first.size(1));
+        AssertJUnit.assertEquals(1, first.size(2));
+        for (int col = 0; col < 100; col++) {
+            AssertJUnit.assertEquals(col % 7 + 1, first.get(0, col));
+        }
+        AssertJUnit.assertEquals(3, first.get(2, 5));
+        AssertJUnit.assertEquals(0, first.get(2, 4));
+        AssertJUnit.assertEquals(0, first.get(1, 5));
+        AssertJUnit.assertTrue(Arrays.equals(new int[] {5}, first.getColumns(2)));
+    }
+
+    @Test
+    public void testTopColumnsByCountThenColumn() {
+        CardRelationCounts counts = new CardRelationCounts(1);
+        counts.add(0, 10, 2);
+        counts.add(0, 3, 5);
+        counts.add(0, 7, 2);
+        counts.add(0, 1, 1);
+        counts.add(0, 12, 2);
+
+        // ties go to the higher column, like reading a sorted dense row from the end
+        AssertJUnit.assertTrue(Arrays.equals(new int[] {3, 12, 10}, counts.getTopColumns(0, 3)));
+        AssertJUnit.assertTrue(Arrays.equals(new int[] {3, 12, 10, 7, 1}, counts.getTopColumns(0, 10)));
+        AssertJUnit.assertTrue(Arrays.equals(new int[] {1, 3, 7, 10, 12}, counts.getColumns(0)));
+    }
+}
@@ -0,0 +1,70 @@
+package forge.gamemodes.limited;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Test;
+
+import forge.GuiDesktop;
+import forge.card.CardRarity;
+import forge.card.CardRules;
+import forge.card.ColorSet;
+import forge.gui.GuiBase;
+import forge.item.PaperCard;
+import forge.localinstance.properties.ForgeConstants;
+import forge.util.FileUtil;
+
+public class DraftPickScorerTest {
+
+    @BeforeTest
+    void setupTest() {
+        GuiBase.setInterface(new GuiDesktop());
+    }
+
+    private static PaperCard readCard(String filename) {
+        File txtFile = new File(new File(ForgeConstants.CARD_DATA_DIR, filename.substring(0, 1)), filename);
+        CardRules.Reader crr = new CardRules.Reader();
+        for (String line : FileUtil.readFile(txtFile)) {
+            crr.parseLine(line);
+        }
+        return new PaperCard(crr.getCard(), "BFZ", CardRarity.Common);
+    }
+
+    private static double scoreOf(List<Pair<Double, PaperCard>> scores, PaperCard card) {
+        for (Pair<Double, PaperCard> pair : scores) {
+            if (pair.getValue() == card) {
+                return pair.getKey();
+            }
+        }
+        throw new AssertionError(card.getName() + " wasn't scored");
+    }
+
+    @Test
+    public void testPickScoresFollowThePool() {
+        PaperCard patrol = readCard("makindi_patrol.txt");
+        PaperCard hero = readCard("hero_of_goma_fada.txt");
+        PaperCard reap = readCard("altars_reap.txt");
+        List<PaperCard> pack = Arrays.asList(reap, hero);
+        List<PaperCard> pool = new ArrayList<>();
+        DraftPickScorer scorer = new DraftPickScorer();
+
+        List<Pair<Double, PaperCard>> before = scorer.getScores(pack, pool, ColorSet.ALL_COLORS, true);
+
+        // each Ally in the pool asks for more Allies
+        pool.add(patrol);
+        pool.add(patrol);
+        List<Pair<Double, PaperCard>> after = scorer.getScores(pack, pool, ColorSet.ALL_COLORS, true);
+        AssertJUnit.assertEquals(scoreOf(before, hero) + 6, scoreOf(after, hero), 0.0001);
+        AssertJUnit.assertEquals(scoreOf(before, reap), scoreOf(after, reap), 0.0001);
+        AssertJUnit.assertEquals(after, new DraftPickScorer().getScores(pack, pool, ColorSet.ALL_COLORS, true));
+
+        // a card leaving the pool isn't counted anymore
+        pool.remove(patrol);
+        AssertJUnit.assertEquals(scoreOf(before, hero) + 3, scoreOf(scorer.getScores(pack, pool, ColorSet.ALL_COLORS, true), hero), 0.0001);
+    }
+}
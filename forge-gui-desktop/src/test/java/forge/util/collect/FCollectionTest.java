@@ -0,0 +1,123 @@
+package forge.util.collect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+public class FCollectionTest {
+
+    private static FCollection<Integer> range(int from, int to) {
+        FCollection<Integer> result = new FCollection<>();
+        for (int i = from; i < to; i++) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    @Test
+    public void testUniqueElementsInInsertionOrder() {
+        // large enough to use the hash index
+        FCollection<Integer> c = range(0, 50);
+        AssertJUnit.assertFalse(c.add(10));
+        AssertJUnit.assertEquals(50, c.size());
+        AssertJUnit.assertTrue(c.remove(Integer.valueOf(10)));
+        AssertJUnit.assertFalse(c.contains(10));
+        AssertJUnit.assertEquals(11, (int) c.get(10));
+        AssertJUnit.assertEquals(48, c.indexOf(49));
+        AssertJUnit.assertTrue(c.add(10));
+        AssertJUnit.assertEquals(10, (int) c.getLast());
+
+        c.add(0, 10);
+        AssertJUnit.assertEquals(10, (int) c.getFirst());
+        AssertJUnit.assertEquals(50, c.size());
+        AssertJUnit.assertEquals(Arrays.asList(10, 0, 1), c.subList(0, 3));
+    }
+
+    @Test
+    public void testBulkRemoval() {
+        FCollection<Integer> c = range(0, 30);
+        AssertJUnit.assertTrue(c.removeAll(Arrays.asList(1, 3, 5, 100)));
+        AssertJUnit.assertEquals(27, c.size());
+        AssertJUnit.assertTrue(c.removeIf(i -> i >= 10));
+        AssertJUnit.assertEquals(Arrays.asList(0, 2, 4, 6, 7, 8, 9), c);
+        AssertJUnit.assertTrue(c.retainAll(Arrays.asList(2, 4, 9)));
+        AssertJUnit.assertEquals(Arrays.asList(2, 4, 9), c);
+        AssertJUnit.assertFalse(c.contains(0));
+    }
+
+    @Test
+    public void testIteratorRemovalUpdatesSet() {
+        FCollection<Integer> c = range(0, 20);
+        for (Iterator<Integer> it = c.iterator(); it.hasNext();) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        AssertJUnit.assertEquals(10, c.size());
+        AssertJUnit.assertFalse(c.contains(4));
+        AssertJUnit.assertFalse(c.asSet().contains(4));
+        AssertJUnit.assertTrue(c.add(4));
+
+        c.asSet().remove(5);
+        AssertJUnit.assertFalse(c.contains(5));
+        AssertJUnit.assertEquals(10, c.size());
+    }
+
+    @Test
+    public void testReorderingKeepsLookups() {
+        FCollection<Integer> c = range(0, 20);
+        c.sort((a, b) -> b - a);
+        AssertJUnit.assertEquals(19, (int) c.getFirst());
+        AssertJUnit.assertEquals(0, c.indexOf(19));
+        AssertJUnit.assertEquals(19, c.indexOf(0));
+
+        for (ListIterator<Integer> it = c.listIterator(); it.hasNext();) {
+            int i = it.next();
+            it.set(i + 100);
+        }
+        AssertJUnit.assertTrue(c.contains(119));
+        AssertJUnit.assertFalse(c.contains(19));
+    }
+
+    @Test
+    public void testCopiesAreIndependent() {
+        FCollection<Integer> original = range(0, 20);
+        FCollection<Integer> copy = new FCollection<>(original);
+        List<Integer> snapshot = Arrays.asList(original.toArray(new Integer[0]));
+
+        original.remove(Integer.valueOf(3));
+        original.add(42);
+        AssertJUnit.assertEquals(snapshot, copy);
+        AssertJUnit.assertTrue(copy.contains(3));
+        AssertJUnit.assertFalse(copy.contains(42));
+
+        copy.clear();
+        AssertJUnit.assertEquals(20, original.size());
+        AssertJUnit.assertTrue(original.contains(42));
+    }
+
+    @Test
+    public void testCopiesOnOtherThreadsAreIndependent() throws InterruptedException {
+        FCollection<Integer> original = range(0, 20);
+        List<FCollection<Integer>> copies = new ArrayList<>();
+        Thread copier = new Thread(() -> copies.add(new FCollection<>(original)));
+        copier.start();
+        copier.join();
+        FCollection<Integer> copy = copies.get(0);
+
+        original.set(0, 42);
+        original.add(43);
+        AssertJUnit.assertEquals(0, (int) copy.getFirst());
+        AssertJUnit.assertEquals(20, copy.size());
+        AssertJUnit.assertTrue(copy.contains(19));
+        AssertJUnit.assertFalse(copy.contains(42));
+
+        copy.add(44);
+        AssertJUnit.assertFalse(original.contains(44));
+    }
+}
@@ -0,0 +1,151 @@
+package forge.deck;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Sparse matrix counting how often two cards were found in the same deck, by the indices of the cards.
+ * <p>
+ * Each row is an open addressing map from column to count, so only the pairs that occur in some deck take memory.
+ * It isn't thread safe, count each part of the decks into its own matrix and {@link #addAll} them afterwards.
+ */
+final class CardRelationCounts {
+    private static final int INITIAL_CAPACITY = 8;
+
+    // column + 1 of each slot, 0 for an empty one
+    private final int[][] keys;
+    private final int[][] values;
+    private final int[] sizes;
+
+    CardRelationCounts(final int rows) {
+        keys = new int[rows][];
+        values = new int[rows][];
+        sizes = new int[rows];
+    }
+
+    int getRowCount() {
+        return keys.length;
+    }
+
+    void add(final int row, final int col, final int count) {
+        if (keys[row] == null) {
+            keys[row] = new int[INITIAL_CAPACITY];
+            values[row] = new int[INITIAL_CAPACITY];
+        } else if ((sizes[row] + 1) * 2 > keys[row].length) {
+            grow(row);
+        }
+        final int[] k = keys[row];
+        final int slot = findSlot(k, col);
+        if (k[slot] == 0) {
+            k[slot] = col + 1;
+            sizes[row]++;
+        }
+        values[row][slot] += count;
+    }
+
+    int get(final int row, final int col) {
+        final int[] k = keys[row];
+        if (k == null) {
+            return 0;
+        }
+        final int slot = findSlot(k, col);
+        return k[slot] == 0 ? 0 : values[row][slot];
+    }
+
+    /**
+     * @return the number of columns with a count in the row
+     */
+    int size(final int row) {
+        return sizes[row];
+    }
+
+    void addAll(final CardRelationCounts other) {
+        for (int row = 0; row < other.keys.length; row++) {
+            final int[] k = other.keys[row];
+            if (k == null) {
+                continue;
+            }
+            for (int slot = 0; slot < k.length; slot++) {
+                if (k[slot] != 0) {
+                    add(row, k[slot] - 1, other.values[row][slot]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the columns with a count in the row, in ascending order
+     */
+    int[] getColumns(final int row) {
+        final int[] result = new int[sizes[row]];
+        final int[] k = keys[row];
+        if (k == null) {
+            return result;
+        }
+        int n = 0;
+        for (final int key : k) {
+            if (key != 0) {
+                result[n++] = key - 1;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * @param limit the most columns to return, the others are dropped as soon as they can't make it anymore
+     * @return the columns of the row with the highest counts, by descending count and then descending column
+     */
+    int[] getTopColumns(final int row, final int limit) {
+        final int[] k = keys[row];
+        if (k == null || limit <= 0) {
+            return new int[0];
+        }
+        final int[] v = values[row];
+        // the weakest of the kept slots on top, so it can be replaced by a better one
+        final PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(limit, sizes[row]) + 1, (a, b) -> {
+            final int byCount = Integer.compare(v[a], v[b]);
+            return byCount != 0 ? byCount : Integer.compare(k[a], k[b]);
+        });
+        for (int slot = 0; slot < k.length; slot++) {
+            if (k[slot] == 0) {
+                continue;
+            }
+            heap.add(slot);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        final int[] result = new int[heap.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = k[heap.poll()] - 1;
+        }
+        return result;
+    }
+
+    private static int findSlot(final int[] k, final int col) {
+        final int mask = k.length - 1;
+        final int hash = col * 0x9E3779B9;
+        int slot = (hash ^ hash >>> 16) & mask;
+        while (k[slot] != 0 && k[slot] != col + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow(final int row) {
+        final int[] oldKeys = keys[row];
+        final int[] oldValues = values[row];
+        final int[] k = new int[oldKeys.length * 2];
+        final int[] v = new int[k.length];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != 0) {
+                final int newSlot = findSlot(k, oldKeys[slot] - 1);
+                k[newSlot] = oldKeys[slot];
+                v[newSlot] = oldValues[slot];
+            }
+        }
+        keys[row] = k;
+        values[row] = v;
+    }
+}
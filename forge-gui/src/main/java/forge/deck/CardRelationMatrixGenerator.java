@@ -3,14 +3,16 @@ package forge.deck;
 import java.io.File;
 import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-
-import org.apache.commons.lang3.ArrayUtils;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 
 import com.google.common.base.Predicates;
 import com.google.common.collect.Iterables;
@@ -23,6 +25,7 @@ import forge.game.GameFormat;
 import forge.item.PaperCard;
 import forge.localinstance.properties.ForgeConstants;
 import forge.model.FModel;
+import forge.util.ThreadUtil;
 import forge.util.storage.IStorage;
 import forge.util.storage.StorageImmediatelySerialized;
 
@@ -79,62 +82,74 @@ public final class CardRelationMatrixGenerator {
         cardList.add(FModel.getMagicDb().getCommonCards().getCard("Wastes"));
         Map<String, Integer> cardIntegerMap = new HashMap<>();
         Map<Integer, PaperCard> integerCardMap = new HashMap<>();
+        //a printing listed more than once counts for each time
+        Map<PaperCard, Integer> printingCounts = new HashMap<>();
         for (int i=0; i<cardList.size(); ++i){
             cardIntegerMap.put(cardList.get(i).getName(), i);
             integerCardMap.put(i, cardList.get(i));
+            printingCounts.merge(cardList.get(i), 1, Integer::sum);
         }
 
-        int[][] matrix = new int[cardList.size()][cardList.size()];
-
-        for (PaperCard card:cardList){
-            for (Deck deck:decks){
-                if (deck.getMain().contains(card)){
-                    for (PaperCard pairCard:Iterables.filter(deck.getMain().toFlatList(),
-                            Predicates.compose(Predicates.not(CardRulesPredicates.Presets.IS_BASIC_LAND_NOT_WASTES), PaperCard::getRules))){
-                        if (!pairCard.getName().equals(card.getName())){
-                            try {
-                                int old = matrix[cardIntegerMap.get(card.getName())][cardIntegerMap.get(pairCard.getName())];
-                                matrix[cardIntegerMap.get(card.getName())][cardIntegerMap.get(pairCard.getName())] = old + 1;
-                            }catch (NullPointerException ne){
-                                //Todo: Not sure what was failing here
-                            }
-                        }
+        //rows are the cards of the format in a deck, columns every other card in it
+        CardRelationCounts matrix = countDecks(Lists.newArrayList(decks), cardList.size(), (deck, counts) -> {
+            Map<Integer, Integer> columns = getColumnCounts(deck, cardIntegerMap);
+            for (Map.Entry<PaperCard, Integer> entry : deck.getMain()) {
+                Integer times = printingCounts.get(entry.getKey());
+                if (times == null) {
+                    continue;
+                }
+                int row = cardIntegerMap.get(entry.getKey().getName());
+                for (Map.Entry<Integer, Integer> col : columns.entrySet()) {
+                    if (col.getKey() != row) {
+                        counts.add(row, col.getKey(), times * col.getValue());
                     }
                 }
             }
-        }
+        });
+
         HashMap<String,List<Map.Entry<PaperCard,Integer>>> cardPools = new HashMap<>();
         for (PaperCard card:cardList){
-            int col=cardIntegerMap.get(card.getName());
-            int[] distances = matrix[col];
-            int max = Collections.max(Arrays.asList(ArrayUtils.toObject(distances)));
-            if (max>0) {
-                ArrayIndexComparator comparator = new ArrayIndexComparator(ArrayUtils.toObject(distances));
-                Integer[] indices = comparator.createIndexArray();
-                Arrays.sort(indices, comparator);
-                List<Map.Entry<PaperCard,Integer>> deckPool=new ArrayList<>();
-                int k=0;
-                boolean excludeThisCard=false;//if there are too few cards with at least one connection
-                for (int j=0;j<MIN_REQUIRED_CONNECTIONS;++k){
-                    if(distances[indices[cardList.size()-1-k]]==0){
-                        excludeThisCard = true;
-                        break;
-                    }
-                    PaperCard cardToAdd=integerCardMap.get(indices[cardList.size()-1-k]);
-                    if(!cardToAdd.getRules().getMainPart().getType().isLand()){//need x non-land cards
-                        ++j;
+            int row=cardIntegerMap.get(card.getName());
+            if (matrix.size(row) == 0) {
+                continue;
+            }
+            //need x non-land cards, so keep looking further down while lands take up the places
+            int limit = MIN_REQUIRED_CONNECTIONS;
+            List<Map.Entry<PaperCard,Integer>> deckPool = null;
+            while (deckPool == null) {
+                deckPool = getStrongestConnections(matrix, row, limit, integerCardMap);
+                if (deckPool == null) {
+                    if (limit >= matrix.size(row)) {
+                        break;//if there are too few cards with at least one connection
                     }
-                    deckPool.add(new AbstractMap.SimpleEntry<>(cardToAdd, distances[indices[cardList.size() - 1 - k]]));
-                }
-                if(excludeThisCard){
-                    continue;
+                    limit *= 2;
                 }
+            }
+            if (deckPool != null) {
                 cardPools.put(card.getName(), deckPool);
             }
         }
         return cardPools;
     }
 
+    /**
+     * @return the connected cards down to the MIN_REQUIRED_CONNECTIONS-th non-land one, or null if that one isn't
+     * among the strongest limit connections
+     */
+    private static List<Map.Entry<PaperCard,Integer>> getStrongestConnections(CardRelationCounts matrix, int row,
+            int limit, Map<Integer, PaperCard> integerCardMap) {
+        List<Map.Entry<PaperCard,Integer>> deckPool = new ArrayList<>();
+        int nonLands = 0;
+        for (int col : matrix.getTopColumns(row, limit)) {
+            PaperCard cardToAdd = integerCardMap.get(col);
+            deckPool.add(new AbstractMap.SimpleEntry<>(cardToAdd, matrix.get(row, col)));
+            if (!cardToAdd.getRules().getMainPart().getType().isLand() && ++nonLands == MIN_REQUIRED_CONNECTIONS) {
+                return deckPool;
+            }
+        }
+        return null;
+    }
+
     public static HashMap<String,List<Map.Entry<PaperCard,Integer>>> initializeCommanderFormat(DeckFormat format){
         IStorage<Deck> decks = new StorageImmediatelySerialized<>("Generator",
                 new DeckStorage(new File(ForgeConstants.DECK_GEN_DIR, format.toString()),
@@ -149,7 +164,6 @@ public final class CardRelationMatrixGenerator {
         Map<String, Integer> cardIntegerMap = new HashMap<>();
         Map<Integer, PaperCard> integerCardMap = new HashMap<>();
         Map<String, Integer> legendIntegerMap = new HashMap<>();
-        Map<Integer, PaperCard> integerLegendMap = new HashMap<>();
         //generate lookups for cards to link card names to matrix columns
         for (int i=0; i<cardList.size(); ++i){
             cardIntegerMap.put(cardList.get(i).getName(), i);
@@ -158,37 +172,36 @@ public final class CardRelationMatrixGenerator {
 
         //filter to just legal commanders
         List<PaperCard> legends = Lists.newArrayList(Iterables.filter(cardList, format.isLegalCommanderPredicate()));
+        Set<PaperCard> legendSet = new HashSet<>(legends);
 
         //generate lookups for legends to link commander names to matrix rows
         for (int i=0; i<legends.size(); ++i){
             legendIntegerMap.put(legends.get(i).getName(), i);
-            integerLegendMap.put(i, legends.get(i));
         }
-        int[][] matrix = new int[legends.size()][cardList.size()];
-
-        //loop through commanders and decks
-        for (PaperCard legend:legends){
-            for (Deck deck:decks){
-                //if the deck has the commander
-                if (deck.getCommanders().contains(legend)){
-                    //update the matrix by incrementing the connectivity count for each card in the deck
-                    updateLegendMatrix(deck, legend, cardIntegerMap, legendIntegerMap, matrix);
+
+        //loop through the decks and their commanders
+        CardRelationCounts matrix = countDecks(Lists.newArrayList(decks), legends.size(), (deck, counts) -> {
+            Map<Integer, Integer> columns = null;
+            for (PaperCard legend : deck.getCommanders()) {
+                if (!legendSet.contains(legend)) {
+                    continue;
+                }
+                if (columns == null) {
+                    columns = getColumnCounts(deck, cardIntegerMap);
                 }
+                //update the matrix by incrementing the connectivity count for each card in the deck
+                updateLegendMatrix(deck, legend, columns, cardIntegerMap, legendIntegerMap.get(legend.getName()), counts);
             }
-        }
+        });
 
         //convert the matrix into a map of pools for each commander
         HashMap<String,List<Map.Entry<PaperCard,Integer>>> cardPools = new HashMap<>();
         for (PaperCard card:legends){
-            int col=legendIntegerMap.get(card.getName());
-            int[] distances = matrix[col];
-            int max = Collections.max(Arrays.asList(ArrayUtils.toObject(distances)));
-            if (max>0) {
+            int row=legendIntegerMap.get(card.getName());
+            if (matrix.size(row) > 0) {
                 List<Map.Entry<PaperCard,Integer>> deckPool=new ArrayList<>();
-                for(int k=0;k<cardList.size(); k++){
-                    if(matrix[col][k]>0){
-                        deckPool.add(new AbstractMap.SimpleEntry<>(integerCardMap.get(k), matrix[col][k]));
-                    }
+                for (int col : matrix.getColumns(row)) {
+                    deckPool.add(new AbstractMap.SimpleEntry<>(integerCardMap.get(col), matrix.get(row, col)));
                 }
                 cardPools.put(card.getName(), deckPool);
             }
@@ -197,56 +210,78 @@ public final class CardRelationMatrixGenerator {
     }
 
     //update the matrix by incrementing the connectivity count for each card in the deck
-    public static void updateLegendMatrix(Deck deck, PaperCard legend, Map<String, Integer> cardIntegerMap,
-                             Map<String, Integer> legendIntegerMap, int[][] matrix){
-        for (PaperCard pairCard:Iterables.filter(deck.getMain().toFlatList(),
-                Predicates.compose(Predicates.not(CardRulesPredicates.Presets.IS_BASIC_LAND_NOT_WASTES), PaperCard::getRules))){
-            if (!pairCard.getName().equals(legend.getName())){
-                try {
-                    int old = matrix[legendIntegerMap.get(legend.getName())][cardIntegerMap.get(pairCard.getName())];
-                    matrix[legendIntegerMap.get(legend.getName())][cardIntegerMap.get(pairCard.getName())] = old + 1;
-                }catch (NullPointerException ne){
-                    //Todo: Not sure what was failing here
-                    ne.printStackTrace();
-                }
+    private static void updateLegendMatrix(Deck deck, PaperCard legend, Map<Integer, Integer> columns,
+            Map<String, Integer> cardIntegerMap, int row, CardRelationCounts matrix){
+        Integer legendCol = cardIntegerMap.get(legend.getName());
+        for (Map.Entry<Integer, Integer> col : columns.entrySet()) {
+            if (!col.getKey().equals(legendCol)) {
+                matrix.add(row, col.getKey(), col.getValue());
             }
-
         }
         //add partner commanders to matrix
         if(deck.getCommanders().size()>1){
             for(PaperCard partner:deck.getCommanders()){
-                if(!partner.equals(legend)){
-                    int old = matrix[legendIntegerMap.get(legend.getName())][cardIntegerMap.get(partner.getName())];
-                    matrix[legendIntegerMap.get(legend.getName())][cardIntegerMap.get(partner.getName())] = old + 1;
+                Integer partnerCol = cardIntegerMap.get(partner.getName());
+                if(!partner.equals(legend) && partnerCol != null){
+                    matrix.add(row, partnerCol, 1);
                 }
             }
         }
     }
 
-    public static class ArrayIndexComparator implements Comparator<Integer>
-    {
-        private final Integer[] array;
-
-        public ArrayIndexComparator(Integer[] array)
-        {
-            this.array = array;
+    /**
+     * @return how many copies of each non-basic card of the main deck it has, by matrix column
+     */
+    private static Map<Integer, Integer> getColumnCounts(Deck deck, Map<String, Integer> cardIntegerMap) {
+        Map<Integer, Integer> columns = new HashMap<>();
+        for (Map.Entry<PaperCard, Integer> entry : deck.getMain()) {
+            if (CardRulesPredicates.Presets.IS_BASIC_LAND_NOT_WASTES.apply(entry.getKey().getRules())) {
+                continue;
+            }
+            //cards that aren't in the matrix, e.g. not legal in the format, don't count
+            Integer col = cardIntegerMap.get(entry.getKey().getName());
+            if (col != null) {
+                columns.merge(col, entry.getValue(), Integer::sum);
+            }
         }
+        return columns;
+    }
 
-        public Integer[] createIndexArray()
-        {
-            Integer[] indexes = new Integer[array.length];
-            for (int i = 0; i < array.length; i++)
-            {
-                indexes[i] = i; // Autoboxing
-            }
-            return indexes;
+    /**
+     * Count the decks in parts on several threads, each into its own matrix, and add those up.
+     */
+    private static CardRelationCounts countDecks(List<Deck> decks, int rows, BiConsumer<Deck, CardRelationCounts> counter) {
+        int parts = Math.max(1, Math.min(decks.size(), Runtime.getRuntime().availableProcessors()));
+        int decksPerPart = decks.size() / parts;
+        List<Callable<CardRelationCounts>> tasks = new ArrayList<>();
+        for (int iPart = 0; iPart < parts; iPart++) {
+            final int from = iPart * decksPerPart;
+            final int till = iPart == parts - 1 ? decks.size() : from + decksPerPart;
+            tasks.add(() -> {
+                CardRelationCounts counts = new CardRelationCounts(rows);
+                for (Deck deck : decks.subList(from, till)) {
+                    counter.accept(deck, counts);
+                }
+                return counts;
+            });
         }
 
-        @Override
-        public int compare(Integer index1, Integer index2)
-        {
-            // Autounbox from Integer to int to use as array indexes
-            return array[index1].compareTo(array[index2]);
+        ExecutorService executor = ThreadUtil.getComputingPool(0.5f);
+        try {
+            CardRelationCounts matrix = null;
+            for (Future<CardRelationCounts> part : executor.invokeAll(tasks)) {
+                if (matrix == null) {
+                    matrix = part.get();
+                } else {
+                    matrix.addAll(part.get());
+                }
+            }
+            return matrix;
+        } catch (InterruptedException | ExecutionException e) {
+            //don't save a matrix missing some of the decks
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdown();
         }
     }
 }
@@ -42,6 +42,7 @@ public class BoosterDraftAI {
     // holds all the cards for each of the computer's decks
     protected final List<List<PaperCard>> decks = new ArrayList<>();
     protected final List<DeckColors> playerColors = new ArrayList<>();
+    private final List<DraftPickScorer> pickScorers = new ArrayList<>();
 
     /**
      * <p>
@@ -64,7 +65,7 @@ public class BoosterDraftAI {
         final ColorSet chosenColors = deckCols.getChosenColors();
         final boolean canAddMoreColors = deckCols.canChoseMoreColors();
 
-        List<PaperCard> rankedCards = CardRanker.rankCardsInPack(chooseFrom, deck, chosenColors, canAddMoreColors);
+        List<PaperCard> rankedCards = pickScorers.get(player).rankCardsInPack(chooseFrom, deck, chosenColors, canAddMoreColors);
         PaperCard bestPick = rankedCards.get(0);
 
         if (canAddMoreColors) {
@@ -97,6 +98,7 @@ public class BoosterDraftAI {
         for (int i = 0; i < N_DECKS; i++) {
             this.decks.add(new ArrayList<>());
             this.playerColors.add(new DeckColors());
+            this.pickScorers.add(new DraftPickScorer());
         }
     }
 
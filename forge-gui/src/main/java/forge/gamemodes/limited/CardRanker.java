@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class CardRanker {
 
@@ -69,18 +70,31 @@ public class CardRanker {
     public static List<Pair<Double, PaperCard>> getScores(Iterable<PaperCard> cards) {
         List<Pair<Double, PaperCard>> cardScores = new ArrayList<>();
 
+        final CardRankingIndex index = CardRankingIndex.get();
         List<PaperCard> cache = Lists.newArrayList(cards);
+        final int[] indices = new int[cache.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = index.indexOf(cache.get(i));
+        }
 
         for (int i = 0; i < cache.size(); i++) {
             final PaperCard card = cache.get(i);
 
-            double score = getRawScore(card);
+            double score = index.getRawScore(indices[i]);
             if (card.getRules().getAiHints().getRemAIDecks()) {
                 score -= 20.0;
             }
 
-            List<PaperCard> otherCards = getCardsExceptOne(cache, i);
-            score += getScoreForDeckHints(card, otherCards);
+            // the deck hints of all other cards
+            int hintScore = 0;
+            final int[] needCounts = index.newNeedCounts();
+            for (int j = 0; j < indices.length; j++) {
+                if (j != i) {
+                    hintScore += index.getHintScore(indices[j], indices[i]);
+                    index.addNeedCounts(indices[i], indices[j], needCounts);
+                }
+            }
+            score += hintScore + index.getNeedsScore(indices[i], needCounts);
 
             cardScores.add(Pair.of(score, card));
         }
@@ -94,23 +108,7 @@ public class CardRanker {
             ColorSet chosenColors,
             boolean canAddMoreColors
     ) {
-        List<Pair<Double, PaperCard>> cardScores = new ArrayList<>();
-
-        for (PaperCard card : cardsInPack) {
-            double score = getRawScore(card);
-            if (card.getRules().getAiHints().getRemAIDecks()) {
-                score -= 20.0;
-            }
-            if (!canAddMoreColors && !card.getRules().getDeckbuildingColors().hasNoColorsExcept(chosenColors)) {
-                score -= 50.0;
-            }
-
-            score += getScoreForDeckHints(card, deck);
-
-            cardScores.add(Pair.of(score, card));
-        }
-
-        return cardScores;
+        return new DraftPickScorer().getScores(cardsInPack, deck, chosenColors, canAddMoreColors);
     }
 
     public static List<PaperCard> getOrderedRawScores(List<PaperCard> cards) {
@@ -130,6 +128,11 @@ public class CardRanker {
     }
 
     public static double getRawScore(PaperCard card) {
+        final CardRankingIndex index = CardRankingIndex.get();
+        return index.getRawScore(index.indexOf(card));
+    }
+
+    static double computeRawScore(PaperCard card) {
         double rawScore;
         if (MagicColor.Constant.BASIC_LANDS.contains(card.getName())) {
             rawScore = SCORE_UNPICKABLE;
@@ -163,38 +166,18 @@ public class CardRanker {
         return rawScore;
     }
 
-    private static List<PaperCard> getCardsExceptOne(List<PaperCard> cache, int i) {
-        List<PaperCard> otherCards = new ArrayList<>(cache.subList(0, i));
-        if (i + 1 < cache.size()) {
-            otherCards.addAll(cache.subList(i + 1, cache.size()));
-        }
-        return otherCards;
-    }
-
-    private static double getScoreForDeckHints(PaperCard card, Iterable<PaperCard> otherCards) {
-        double score = 0.0;
-
-        List<PaperCard> toBeRanked = Lists.newArrayList(card);
-        for (PaperCard other : otherCards) {
-            final DeckHints hints = other.getRules().getAiHints().getDeckHints();
-            if (hints != null && hints.isValid()) {
-                final Map<DeckHints.Type, Iterable<PaperCard>> cardsByType = hints.filterByType(toBeRanked);
-                for (DeckHints.Type type : cardsByType.keySet()) {
-                    Iterable<PaperCard> cards = cardsByType.get(type);
-                    score += Iterables.size(cards) * typeFactors.get(type);
-                    if (logToConsole && Iterables.size(cards) > 0) {
-                        System.out.println(" - " + card.getName() + ": Found " + Iterables.size(cards) + " cards for " + type);
-                    }
-                }
-            }
-        }
+    /**
+     * @return how much the deck hints of other add to the score of card, for each copy of other
+     */
+    static int getHintScore(PaperCard card, PaperCard other) {
+        int score = 0;
 
-        final DeckHints needs = card.getRules().getAiHints().getDeckNeeds();
-        if (needs != null && needs.isValid()) {
-            final Map<DeckHints.Type, Iterable<PaperCard>> cardsByType = needs.filterByType(otherCards);
+        final DeckHints hints = other.getRules().getAiHints().getDeckHints();
+        if (hints != null && hints.isValid()) {
+            final Map<DeckHints.Type, Iterable<PaperCard>> cardsByType = hints.filterByType(Lists.newArrayList(card));
             for (DeckHints.Type type : cardsByType.keySet()) {
                 Iterable<PaperCard> cards = cardsByType.get(type);
-                score -= (Math.max(typeThresholds.get(type) - Iterables.size(cards), 0) / (double) typeThresholds.get(type)) * typeFactors.get(type);
+                score += Iterables.size(cards) * typeFactors.get(type);
                 if (logToConsole && Iterables.size(cards) > 0) {
                     System.out.println(" - " + card.getName() + ": Found " + Iterables.size(cards) + " cards for " + type);
                 }
@@ -204,7 +187,54 @@ public class CardRanker {
         return score;
     }
 
-    private static List<PaperCard> sortAndCreateList(List<Pair<Double, PaperCard>> cardScores) {
+    /**
+     * @return the ordinals of the types of the deck needs of card, null if it has none
+     */
+    static int[] getNeedTypes(PaperCard card) {
+        final DeckHints needs = card.getRules().getAiHints().getDeckNeeds();
+        if (needs == null || !needs.isValid()) {
+            return null;
+        }
+        final Set<DeckHints.Type> types = needs.filterByType(Collections.emptyList()).keySet();
+        final int[] result = new int[types.size()];
+        int i = 0;
+        for (DeckHints.Type type : types) {
+            result[i++] = type.ordinal();
+        }
+        return result;
+    }
+
+    /**
+     * Matching the deck needs against each card on its own adds up to the same counts as matching them against all
+     * cards at once, since a card that matches a type more than once counts more than once either way.
+     *
+     * @return how often other counts towards each type of the deck needs of card, by the ordinal of the type
+     */
+    static int[] getNeedCounts(PaperCard card, PaperCard other, int[] needTypes) {
+        final int[] counts = new int[DeckHints.Type.values().length];
+        final DeckHints needs = card.getRules().getAiHints().getDeckNeeds();
+        final Map<DeckHints.Type, Iterable<PaperCard>> cardsByType = needs.filterByType(Lists.newArrayList(other));
+        for (int t : needTypes) {
+            counts[t] = Iterables.size(cardsByType.get(DeckHints.Type.values()[t]));
+        }
+        return counts;
+    }
+
+    static double getNeedsScore(PaperCard card, int[] needTypes, int[] counts) {
+        double score = 0.0;
+
+        for (int t : needTypes) {
+            final DeckHints.Type type = DeckHints.Type.values()[t];
+            score -= (Math.max(typeThresholds.get(type) - counts[t], 0) / (double) typeThresholds.get(type)) * typeFactors.get(type);
+            if (logToConsole && counts[t] > 0) {
+                System.out.println(" - " + card.getName() + ": Found " + counts[t] + " cards for " + type);
+            }
+        }
+
+        return score;
+    }
+
+    static List<PaperCard> sortAndCreateList(List<Pair<Double, PaperCard>> cardScores) {
         // even if some cards might be assigned the same rank we don't need randomization here
         // as the limited variant is responsible for that during generation
         cardScores.sort(Collections.reverseOrder(new CardRankingComparator()));
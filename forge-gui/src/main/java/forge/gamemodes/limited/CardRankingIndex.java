@@ -0,0 +1,137 @@
+package forge.gamemodes.limited;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import forge.card.DeckHints;
+import forge.item.PaperCard;
+
+/**
+ * The rankings and deck hint matches of the cards {@link CardRanker} has scored, by an index given to each card.
+ * <p>
+ * A draft scores the same few hundred cards against each other for every pick of every drafter. With the index the
+ * ranking of a card is only looked up once, and the deck hints of one card are only matched against another card
+ * once. The matching itself is still done by {@link DeckHints}, so tokens and DeckHas are taken into account as before.
+ * <p>
+ * Shared by all drafts, so it's synchronized for drafts running in parallel.
+ */
+final class CardRankingIndex {
+    private static final CardRankingIndex instance = new CardRankingIndex();
+
+    // the remembered matches are dropped past this many, e.g. after drafting lots of different sets in one session
+    private static final int MAX_PAIRS = 1 << 20;
+
+    private static final class Entry {
+        final PaperCard card;
+        final boolean hasHints;
+        // ordinals of the types of the deck needs, null if the card has none
+        final int[] needTypes;
+        double rawScore = Double.NaN;
+
+        Entry(final PaperCard card) {
+            this.card = card;
+            final DeckHints hints = card.getRules().getAiHints().getDeckHints();
+            hasHints = hints != null && hints.isValid();
+            needTypes = CardRanker.getNeedTypes(card);
+        }
+    }
+
+    private final Map<PaperCard, Integer> indices = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    // keyed by the index of the card with the hints in the upper half and the index of the matched card in the lower
+    private final Map<Long, Integer> hintScores = new HashMap<>();
+    private final Map<Long, int[]> needCounts = new HashMap<>();
+    // the custom rankings the raw scores were read with
+    private String rankingsFile;
+
+    static CardRankingIndex get() {
+        return instance;
+    }
+
+    synchronized int indexOf(final PaperCard card) {
+        Integer index = indices.get(card);
+        if (index == null) {
+            index = entries.size();
+            entries.add(new Entry(card));
+            indices.put(card, index);
+        }
+        return index;
+    }
+
+    synchronized double getRawScore(final int card) {
+        final String customRankings = IBoosterDraft.CUSTOM_RANKINGS_FILE[0];
+        if (!Objects.equals(customRankings, rankingsFile)) {
+            for (final Entry e : entries) {
+                e.rawScore = Double.NaN;
+            }
+            rankingsFile = customRankings;
+        }
+        final Entry e = entries.get(card);
+        if (Double.isNaN(e.rawScore)) {
+            e.rawScore = CardRanker.computeRawScore(e.card);
+        }
+        return e.rawScore;
+    }
+
+    /**
+     * @return how much the deck hints of other add to the score of card
+     */
+    synchronized int getHintScore(final int other, final int card) {
+        if (!entries.get(other).hasHints) {
+            return 0;
+        }
+        final long key = (long) other << 32 | card;
+        Integer score = hintScores.get(key);
+        if (score == null) {
+            score = CardRanker.getHintScore(entries.get(card).card, entries.get(other).card);
+            if (hintScores.size() >= MAX_PAIRS) {
+                hintScores.clear();
+            }
+            hintScores.put(key, score);
+        }
+        return score;
+    }
+
+    int[] newNeedCounts() {
+        return new int[DeckHints.Type.values().length];
+    }
+
+    /**
+     * Add how often other counts towards each type of the deck needs of card.
+     */
+    synchronized void addNeedCounts(final int card, final int other, final int[] counts) {
+        final int[] types = entries.get(card).needTypes;
+        if (types == null) {
+            return;
+        }
+        final long key = (long) card << 32 | other;
+        int[] found = needCounts.get(key);
+        if (found == null) {
+            found = CardRanker.getNeedCounts(entries.get(card).card, entries.get(other).card, types);
+            if (needCounts.size() >= MAX_PAIRS) {
+                needCounts.clear();
+            }
+            needCounts.put(key, found);
+        }
+        for (final int t : types) {
+            counts[t] += found[t];
+        }
+    }
+
+    /**
+     * @param counts the counts of all other cards, as added by {@link #addNeedCounts}
+     * @return the penalty for the deck needs of card that the other cards don't meet
+     */
+    synchronized double getNeedsScore(final int card, final int[] counts) {
+        final Entry e = entries.get(card);
+        return e.needTypes == null ? 0 : CardRanker.getNeedsScore(e.card, e.needTypes, counts);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d cards, %d hint matches, %d need matches", entries.size(), hintScores.size(), needCounts.size());
+    }
+}
@@ -0,0 +1,101 @@
+package forge.gamemodes.limited;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import forge.card.ColorSet;
+import forge.item.PaperCard;
+
+/**
+ * Scores the cards of a pack against the pool of one drafter, like {@link CardRanker#rankCardsInPack}.
+ * <p>
+ * The deck hint matches of each card it has scored are kept up as the pool grows, so a pick only has to match the
+ * cards that joined the pool since the card was last seen, instead of the whole pool.
+ */
+final class DraftPickScorer {
+    private static final class Candidate {
+        int hintScore;
+        final int[] needCounts;
+        // how many of the pool cards were matched so far
+        int matched;
+
+        Candidate(final int[] needCounts) {
+            this.needCounts = needCounts;
+        }
+    }
+
+    private final CardRankingIndex index = CardRankingIndex.get();
+    private final Map<Integer, Integer> poolCounts = new HashMap<>();
+    // the pool cards in the order they were seen
+    private final List<Integer> pool = new ArrayList<>();
+    private final Map<Integer, Candidate> candidates = new HashMap<>();
+
+    List<PaperCard> rankCardsInPack(final Iterable<PaperCard> cardsInPack, final List<PaperCard> deck,
+            final ColorSet chosenColors, final boolean canAddMoreColors) {
+        return CardRanker.sortAndCreateList(getScores(cardsInPack, deck, chosenColors, canAddMoreColors));
+    }
+
+    List<Pair<Double, PaperCard>> getScores(final Iterable<PaperCard> cardsInPack, final List<PaperCard> deck,
+            final ColorSet chosenColors, final boolean canAddMoreColors) {
+        updatePool(deck);
+
+        List<Pair<Double, PaperCard>> cardScores = new ArrayList<>();
+        for (PaperCard card : cardsInPack) {
+            final int cardIndex = index.indexOf(card);
+            double score = index.getRawScore(cardIndex);
+            if (card.getRules().getAiHints().getRemAIDecks()) {
+                score -= 20.0;
+            }
+            if (!canAddMoreColors && !card.getRules().getDeckbuildingColors().hasNoColorsExcept(chosenColors)) {
+                score -= 50.0;
+            }
+
+            final Candidate c = match(cardIndex);
+            score += c.hintScore + index.getNeedsScore(cardIndex, c.needCounts);
+
+            cardScores.add(Pair.of(score, card));
+        }
+        return cardScores;
+    }
+
+    private void updatePool(final List<PaperCard> deck) {
+        final Map<Integer, Integer> counts = new HashMap<>();
+        for (PaperCard card : deck) {
+            counts.merge(index.indexOf(card), 1, Integer::sum);
+        }
+        for (Map.Entry<Integer, Integer> e : poolCounts.entrySet()) {
+            if (counts.getOrDefault(e.getKey(), 0) < e.getValue()) {
+                // a card left the pool, so the matches have to start over
+                poolCounts.clear();
+                pool.clear();
+                candidates.clear();
+                break;
+            }
+        }
+        for (Map.Entry<Integer, Integer> e : counts.entrySet()) {
+            for (int n = poolCounts.getOrDefault(e.getKey(), 0); n < e.getValue(); n++) {
+                pool.add(e.getKey());
+            }
+        }
+        poolCounts.clear();
+        poolCounts.putAll(counts);
+    }
+
+    private Candidate match(final int cardIndex) {
+        Candidate c = candidates.get(cardIndex);
+        if (c == null) {
+            c = new Candidate(index.newNeedCounts());
+            candidates.put(cardIndex, c);
+        }
+        for (; c.matched < pool.size(); c.matched++) {
+            final int other = pool.get(c.matched);
+            c.hintScore += index.getHintScore(other, cardIndex);
+            index.addNeedCounts(cardIndex, other, c.needCounts);
+        }
+        return c;
+    }
+}
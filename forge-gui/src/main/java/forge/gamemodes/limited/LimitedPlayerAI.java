@@ -19,10 +19,10 @@ import java.util.Map;
 import java.util.Set;
 
 import static forge.gamemodes.limited.CardRanker.getOrderedRawScores;
-import static forge.gamemodes.limited.CardRanker.rankCardsInPack;
 
 public class LimitedPlayerAI extends LimitedPlayer {
     protected DeckColors deckCols;
+    private final DraftPickScorer pickScorer = new DraftPickScorer();
 
     public LimitedPlayerAI(int seatingOrder, BoosterDraft draft) {
         super(seatingOrder, draft);
@@ -52,7 +52,7 @@ public class LimitedPlayerAI extends LimitedPlayer {
             final ColorSet chosenColors = deckCols.getChosenColors();
             final boolean canAddMoreColors = deckCols.canChoseMoreColors();
 
-            List<PaperCard> rankedCards = rankCardsInPack(chooseFrom, pool.toFlatList(), chosenColors, canAddMoreColors);
+            List<PaperCard> rankedCards = pickScorer.rankCardsInPack(chooseFrom, pool.toFlatList(), chosenColors, canAddMoreColors);
             bestPick = rankedCards.get(0);
 
             if (canAddMoreColors) {
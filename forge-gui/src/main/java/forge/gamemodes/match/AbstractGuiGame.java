@@ -26,6 +26,7 @@ import forge.game.card.CardView.CardStateView;
 import forge.game.event.GameEventSpellAbilityCast;
 import forge.game.event.GameEventSpellRemovedFromStack;
 import forge.game.player.PlayerView;
+import forge.gamemodes.net.GameViewDelta;
 import forge.gui.FThreads;
 import forge.gui.GuiBase;
 import forge.gui.interfaces.IGuiGame;
@@ -104,6 +105,7 @@ public abstract class AbstractGuiGame implements IGuiGame, IMayViewCards {
     protected abstract void updateCurrentPlayer(PlayerView player);
 
     private GameView gameView = null;
+    private long gameViewVersion = -1;
 
     public final GameView getGameView() {
         return gameView;
@@ -124,6 +126,32 @@ public abstract class AbstractGuiGame implements IGuiGame, IMayViewCards {
         gameView.copyChangedProps(gameView0);
     }
 
+    @Override
+    public void applyGameViewDelta(final GameViewDelta delta) {
+        if (delta.isFull()) {
+            final GameView gameView0 = delta.readGameView(gameView == null ? null : gameView.getTracker());
+            if (gameView0 != null) {
+                setGameView(gameView0);
+                gameViewVersion = delta.getVersion();
+                return;
+            }
+        } else if (gameView != null && delta.getBaseVersion() == gameViewVersion && delta.applyTo(gameView)) {
+            gameViewVersion = delta.getVersion();
+            return;
+        }
+
+        //the delta doesn't fit the game view we have, so ask the server for the whole game view
+        gameViewVersion = -1;
+        final IGameController controller = getGameController();
+        if (controller != null) {
+            controller.requestGameViewResync();
+        }
+    }
+
+    @Override
+    public void resyncGameView() {
+    }
+
     public final IGameController getGameController() {
         return getGameController(getCurrentPlayer());
     }
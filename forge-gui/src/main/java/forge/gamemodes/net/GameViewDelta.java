@@ -0,0 +1,234 @@
+package forge.gamemodes.net;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import forge.card.CardStateName;
+import forge.game.GameView;
+import forge.game.card.CardView;
+import forge.game.card.CardView.CardStateView;
+import forge.game.player.PlayerView;
+import forge.game.spellability.StackItemView;
+import forge.trackable.TrackableObject;
+import forge.trackable.TrackableProperty;
+import forge.trackable.TrackableTypes;
+import forge.trackable.Tracker;
+import io.netty.handler.codec.serialization.ClassResolvers;
+
+/**
+ * A game view update sent from the server to a client, built by {@link GameViewSync}.
+ * <p>
+ * A full update contains the whole game view. A delta only contains the properties changed since the previous
+ * update, and objects the client already received are written as a {@link Ref} to be resolved to the client's
+ * own copy instead of being sent again.
+ */
+public final class GameViewDelta implements Serializable {
+    private static final long serialVersionUID = -3604727012567340386L;
+
+    private final boolean full;
+    private final long baseVersion;
+    private final long version;
+    private final byte[] data;
+
+    GameViewDelta(final boolean full, final long baseVersion, final long version, final byte[] data) {
+        this.full = full;
+        this.baseVersion = baseVersion;
+        this.version = version;
+        this.data = data;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * @return the version of the previous update, which this delta has to be applied on
+     */
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getSize() {
+        return data.length;
+    }
+
+    /**
+     * Read the game view of a full update.
+     *
+     * @param tracker the tracker to set on the received objects, may be null
+     * @return the game view, or null if it couldn't be read
+     */
+    public GameView readGameView(final Tracker tracker) {
+        try (Input in = new Input(null, tracker, false)) {
+            return (GameView) in.readObject();
+        } catch (final IOException | ClassNotFoundException | ClassCastException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Apply the changed properties of a delta to the client's game view.
+     *
+     * @return false if the delta refers to objects the client doesn't know, nothing is applied then
+     */
+    public boolean applyTo(final GameView gameView) {
+        final List<TrackableObject> objects = Lists.newArrayList();
+        final List<TrackableProperty> keys = Lists.newArrayList();
+        final List<Object> values = Lists.newArrayList();
+        try (Input in = new Input(gameView, gameView.getTracker(), true)) {
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                final TrackableObject object = (TrackableObject) in.readObject();
+                final int propCount = in.readInt();
+                for (int j = 0; j < propCount; j++) {
+                    objects.add(object);
+                    keys.add(TrackableProperty.deserialize(in.readInt()));
+                    values.add(in.readObject());
+                }
+            }
+            if (!in.complete) {
+                return false;
+            }
+        } catch (final IOException | ClassNotFoundException | ClassCastException e) {
+            e.printStackTrace();
+            return false;
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            objects.get(i).applyChangedProp(keys.get(i), values.get(i));
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameViewDelta %d..%d (%s, %d bytes)", baseVersion, version, full ? "full" : "delta", data.length);
+    }
+
+    /**
+     * Reference to an object the client already received, by its id.
+     */
+    static final class Ref implements Serializable {
+        private static final long serialVersionUID = 4129350916339541284L;
+
+        private static final byte GAME = 0;
+        private static final byte CARD = 1;
+        private static final byte CARD_STATE = 2;
+        private static final byte PLAYER = 3;
+        private static final byte STACK_ITEM = 4;
+
+        private final byte kind;
+        private final int id;
+        private final CardStateName state;
+
+        private Ref(final byte kind, final int id, final CardStateName state) {
+            this.kind = kind;
+            this.id = id;
+            this.state = state;
+        }
+
+        /**
+         * @return a reference to the object, or null if the client has no way to look it up
+         */
+        static Ref of(final TrackableObject object) {
+            if (object instanceof GameView) {
+                return new Ref(GAME, object.getId(), null);
+            }
+            if (object instanceof CardView) {
+                return new Ref(CARD, object.getId(), null);
+            }
+            if (object instanceof CardStateView) {
+                // all states of a card share its id
+                final CardStateView state = (CardStateView) object;
+                return new Ref(CARD_STATE, state.getCard().getId(), state.getState());
+            }
+            if (object instanceof PlayerView) {
+                return new Ref(PLAYER, object.getId(), null);
+            }
+            if (object instanceof StackItemView) {
+                return new Ref(STACK_ITEM, object.getId(), null);
+            }
+            return null;
+        }
+
+        private TrackableObject resolve(final GameView gameView, final Tracker tracker) {
+            if (kind == GAME) {
+                return gameView;
+            }
+            if (tracker == null) {
+                return null;
+            }
+            switch (kind) {
+            case CARD:
+                return tracker.getObj(TrackableTypes.CardViewType, id);
+            case PLAYER:
+                return tracker.getObj(TrackableTypes.PlayerViewType, id);
+            case STACK_ITEM:
+                return tracker.getObj(TrackableTypes.StackItemViewType, id);
+            case CARD_STATE:
+                final CardView card = tracker.getObj(TrackableTypes.CardViewType, id);
+                if (card == null) {
+                    return null;
+                }
+                for (final CardStateView cardState : new CardStateView[] {card.getCurrentState(),
+                        card.getAlternateState(), card.getLeftSplitState(), card.getRightSplitState()}) {
+                    if (cardState != null && cardState.getState() == state) {
+                        return cardState;
+                    }
+                }
+                return null;
+            default:
+                return null;
+            }
+        }
+    }
+
+    private final class Input extends CObjectInputStream {
+        private final GameView gameView;
+        private final Tracker tracker;
+        private final boolean merge;
+        private boolean complete = true;
+
+        private Input(final GameView gameView, final Tracker tracker, final boolean merge) throws IOException {
+            super(new ByteArrayInputStream(data), ClassResolvers.cacheDisabled(null));
+            this.gameView = gameView;
+            this.tracker = tracker;
+            this.merge = merge;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(final Object obj) {
+            if (obj instanceof Ref) {
+                final TrackableObject resolved = ((Ref) obj).resolve(gameView, tracker);
+                if (resolved == null) {
+                    complete = false;
+                }
+                return resolved;
+            }
+            if (obj instanceof TrackableObject && tracker != null) {
+                final TrackableObject object = (TrackableObject) obj;
+                if (object.getTracker() == null) {
+                    object.setTracker(tracker);
+                }
+                if (merge && (object instanceof CardView || object instanceof PlayerView || object instanceof StackItemView)) {
+                    // the client may already know it from another message, keep that copy up to date instead
+                    final TrackableObject existing = Ref.of(object).resolve(gameView, tracker);
+                    if (existing != null && existing != object) {
+                        existing.copyChangedProps(object);
+                        return existing;
+                    }
+                }
+            }
+            return obj;
+        }
+    }
+}
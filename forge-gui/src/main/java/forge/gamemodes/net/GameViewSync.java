@@ -0,0 +1,206 @@
+package forge.gamemodes.net;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+
+import forge.game.GameView;
+import forge.trackable.TrackableObject;
+import forge.trackable.TrackableProperty;
+import forge.trackable.Tracker;
+
+/**
+ * Builds the game view updates sent to one remote client.
+ * <p>
+ * After a full update only the properties changed since the previous update are sent, using the change versions
+ * recorded by the {@link Tracker}. The network channel is ordered and each update is only sent once the previous
+ * one was written, so the client has applied everything before the last sent version unless it asks for a resync.
+ */
+public final class GameViewSync {
+    // some changes aren't recorded, e.g. of objects without a tracker, so send the whole game view now and then
+    private static final int FULL_SYNC_INTERVAL = 100;
+
+    private final Set<TrackableObject> known = Collections.newSetFromMap(new IdentityHashMap<>());
+    private GameView gameView;
+    private long version;
+    private int deltasSinceFullSync;
+    private volatile boolean fullSyncRequested = true;
+
+    private long turnBytes;
+    private int turnDeltas;
+    private int turnFullSyncs;
+    private long lastTurnBytes;
+    private int lastTurnDeltas;
+    private int lastTurnFullSyncs;
+    private long totalBytes;
+
+    /**
+     * Send the whole game view with the next update.
+     */
+    public void requestFullSync() {
+        fullSyncRequested = true;
+    }
+
+    /**
+     * @return the update to send for the game view, or null if nothing changed since the previous one
+     */
+    public synchronized GameViewDelta update(final GameView gameView0) {
+        if (gameView0 != gameView) {
+            if (gameView != null && gameView.getTracker() != null) {
+                gameView.getTracker().stopRecordingChanges(this);
+            }
+            gameView = gameView0;
+            fullSyncRequested = true;
+        }
+        final Tracker tracker = gameView.getTracker();
+        try {
+            if (fullSyncRequested || tracker == null || deltasSinceFullSync >= FULL_SYNC_INTERVAL) {
+                return count(fullSync(tracker));
+            }
+            return count(deltaSync(tracker));
+        } catch (final IOException e) {
+            e.printStackTrace();
+            requestFullSync();
+            return null;
+        }
+    }
+
+    private GameViewDelta fullSync(final Tracker tracker) throws IOException {
+        fullSyncRequested = false;
+        deltasSinceFullSync = 0;
+        final long baseVersion = version;
+        if (tracker != null) {
+            version = tracker.startRecordingChanges(this);
+        }
+        known.clear();
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Output out = new Output(bytes)) {
+            out.writeObject(gameView);
+        }
+        return new GameViewDelta(true, baseVersion, version, bytes.toByteArray());
+    }
+
+    private GameViewDelta deltaSync(final Tracker tracker) throws IOException {
+        final long baseVersion = version;
+        final List<TrackableObject> changed = Lists.newArrayList();
+        final long newVersion = tracker.takeChangedObjects(this, changed);
+        if (newVersion == baseVersion) {
+            return null;
+        }
+
+        final List<TrackableObject> objects = Lists.newArrayList();
+        final List<Set<TrackableProperty>> changedProps = Lists.newArrayList();
+        for (final TrackableObject object : changed) {
+            // objects the client doesn't have yet are sent whole once something refers to them
+            if (!known.contains(object)) {
+                continue;
+            }
+            final Set<TrackableProperty> props = object.getPropsChangedSince(baseVersion);
+            if (!props.isEmpty()) {
+                objects.add(object);
+                changedProps.add(props);
+            }
+        }
+        version = newVersion;
+        if (objects.isEmpty()) {
+            return null;
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Output out = new Output(bytes)) {
+            out.writeInt(objects.size());
+            for (int i = 0; i < objects.size(); i++) {
+                final TrackableObject object = objects.get(i);
+                final Map<TrackableProperty, Object> props = object.getProps();
+                out.writeObject(object);
+                out.writeInt(changedProps.get(i).size());
+                for (final TrackableProperty key : changedProps.get(i)) {
+                    out.writeInt(TrackableProperty.serialize(key));
+                    out.writeObject(props.get(key));
+                }
+            }
+        }
+        deltasSinceFullSync++;
+        return new GameViewDelta(false, baseVersion, version, bytes.toByteArray());
+    }
+
+    private GameViewDelta count(final GameViewDelta delta) {
+        if (delta != null) {
+            turnBytes += delta.getSize();
+            totalBytes += delta.getSize();
+            if (delta.isFull()) {
+                turnFullSyncs++;
+            } else {
+                turnDeltas++;
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Keep the counts of the turn that just ended and start counting for the next one.
+     */
+    public synchronized void endTurn() {
+        lastTurnBytes = turnBytes;
+        lastTurnDeltas = turnDeltas;
+        lastTurnFullSyncs = turnFullSyncs;
+        turnBytes = 0;
+        turnDeltas = 0;
+        turnFullSyncs = 0;
+    }
+
+    /**
+     * @return the bytes of game view updates sent during the previous turn
+     */
+    public synchronized long getLastTurnBytes() {
+        return lastTurnBytes;
+    }
+
+    /**
+     * @return the delta updates sent during the previous turn
+     */
+    public synchronized int getLastTurnDeltas() {
+        return lastTurnDeltas;
+    }
+
+    /**
+     * @return the full updates sent during the previous turn
+     */
+    public synchronized int getLastTurnFullSyncs() {
+        return lastTurnFullSyncs;
+    }
+
+    /**
+     * @return the bytes of game view updates sent since this sync was created
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private final class Output extends CObjectOutputStream {
+        private Output(final OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(final Object obj) {
+            if (obj instanceof TrackableObject) {
+                final GameViewDelta.Ref ref = GameViewDelta.Ref.of((TrackableObject) obj);
+                // the first time an object is written the client gets all of it
+                if (ref != null && !known.add((TrackableObject) obj)) {
+                    return ref;
+                }
+            }
+            return obj;
+        }
+    }
+}
@@ -121,6 +121,11 @@ public class NetGameController implements IGameController {
         send(ProtocolMethod.reorderHand, card, index);
     }
 
+    @Override
+    public void requestGameViewResync() {
+        send(ProtocolMethod.requestGameViewResync);
+    }
+
     private IMacroSystem macros;
     @Override
     public IMacroSystem macros() {
@@ -20,6 +20,8 @@ import forge.game.spellability.SpellAbilityView;
 import forge.game.zone.ZoneType;
 import forge.gamemodes.match.AbstractGuiGame;
 import forge.gamemodes.net.GameProtocolSender;
+import forge.gamemodes.net.GameViewDelta;
+import forge.gamemodes.net.GameViewSync;
 import forge.gamemodes.net.ProtocolMethod;
 import forge.item.PaperCard;
 import forge.localinstance.skin.FSkinProp;
@@ -31,6 +33,9 @@ import forge.util.ITriggerEvent;
 public class NetGuiGame extends AbstractGuiGame {
 
     private final GameProtocolSender sender;
+    private final GameViewSync gameViewSync = new GameViewSync();
+    // the client only has a tracker to look up objects sent in deltas after opening the view
+    private boolean viewOpened = false;
     public NetGuiGame(final IToClient client) {
         this.sender = new GameProtocolSender(client);
     }
@@ -43,19 +48,47 @@ public class NetGuiGame extends AbstractGuiGame {
         return sender.sendAndWait(method, args);
     }
 
-    public void updateGameView() {
-        send(ProtocolMethod.setGameView, getGameView());
+    // synchronized so that updates built on different threads, e.g. a resync asked for by the client, are sent in order
+    public synchronized void updateGameView() {
+        final GameView gameView = getGameView();
+        if (gameView == null) {
+            send(ProtocolMethod.setGameView, gameView);
+            return;
+        }
+        if (!viewOpened) {
+            gameViewSync.requestFullSync();
+        }
+        final GameViewDelta delta = gameViewSync.update(gameView);
+        if (delta != null) {
+            send(ProtocolMethod.applyGameViewDelta, delta);
+        }
+    }
+
+    public GameViewSync getGameViewSync() {
+        return gameViewSync;
     }
 
     @Override
     public void setGameView(final GameView gameView) {
         super.setGameView(gameView);
+        if (gameView == null) {
+            viewOpened = false;
+        }
+        gameViewSync.requestFullSync();
+        updateGameView();
+    }
+
+    @Override
+    public void resyncGameView() {
+        gameViewSync.requestFullSync();
         updateGameView();
     }
 
     @Override
     public void openView(final TrackableCollection<PlayerView> myPlayers) {
         send(ProtocolMethod.openView, myPlayers);
+        viewOpened = true;
+        gameViewSync.requestFullSync();
         updateGameView();
     }
 
@@ -102,6 +135,7 @@ public class NetGuiGame extends AbstractGuiGame {
 
     @Override
     public void updateTurn(final PlayerView player) {
+        gameViewSync.endTurn();
         updateGameView();
         send(ProtocolMethod.updateTurn, player);
     }
@@ -21,6 +21,7 @@ import forge.game.player.IHasIcon;
 import forge.game.player.PlayerView;
 import forge.game.spellability.SpellAbilityView;
 import forge.game.zone.ZoneType;
+import forge.gamemodes.net.GameViewDelta;
 import forge.gui.control.PlaybackSpeed;
 import forge.interfaces.IGameController;
 import forge.item.PaperCard;
@@ -35,6 +36,13 @@ public interface IGuiGame {
 
     GameView getGameView();
 
+    void applyGameViewDelta(GameViewDelta delta);
+
+    /**
+     * Called when a remote client asks for the whole game view, because it couldn't apply a delta.
+     */
+    void resyncGameView();
+
     void setOriginalGameController(PlayerView view, IGameController gameController);
 
     void setGameController(PlayerView player, IGameController gameController);
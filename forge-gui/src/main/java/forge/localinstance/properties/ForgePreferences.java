@@ -203,7 +203,7 @@ public class ForgePreferences extends PreferencesStore<ForgePreferences.FPref> {
         SUBMENU_UTILITIES ("false"),
 
         MATCH_AI_SIDEBOARDING_MODE("Human For AI"),
-        MATCH_EXPERIMENTAL_RESTORE("false"),
+        MATCH_EXPERIMENTAL_RESTORE("true"),
         ENFORCE_DECK_LEGALITY ("true"),
         PERFORMANCE_MODE ("false"),
         FILTERED_HANDS ("false"),
@@ -214,6 +214,7 @@ public class ForgePreferences extends PreferencesStore<ForgePreferences.FPref> {
         DEV_LOG_ENTRY_TYPE (GameLogEntryType.DAMAGE.toString()),
 
         LOAD_CARD_SCRIPTS_LAZILY ("false"),
+        LOAD_CARD_SCRIPT_CACHE ("true"),
         LOAD_ARCHIVED_FORMATS ("false"),
 
         DECK_DEFAULT_CARD_LIMIT ("4"),
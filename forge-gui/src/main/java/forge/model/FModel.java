@@ -164,6 +164,10 @@ public final class FModel {
                 false);
         final CardStorageReader tokenReader = new CardStorageReader(ForgeConstants.TOKEN_DATA_DIR, progressBarBridge,
                 false);
+        if (preferences.getPrefBoolean(FPref.LOAD_CARD_SCRIPT_CACHE)) {
+            reader.setScriptCache(new File(ForgeConstants.CARD_SCRIPT_CACHE_FILE));
+            tokenReader.setScriptCache(new File(ForgeConstants.TOKEN_SCRIPT_CACHE_FILE));
+        }
         CardStorageReader customReader;
         try {
            customReader  = new CardStorageReader(ForgeConstants.USER_CUSTOM_CARDS_DIR, progressBarBridge, false);
@@ -3230,6 +3230,11 @@ public class PlayerControllerHuman extends PlayerController implements IGameCont
         player.updateZoneForView(hand);
     }
 
+    @Override
+    public void requestGameViewResync() {
+        getGui().resyncGameView();
+    }
+
     @Override
     public String chooseCardName(SpellAbility sa, List<ICardFace> faces, String message) {
         ICardFace face = chooseSingleCardFace(sa, faces, message);
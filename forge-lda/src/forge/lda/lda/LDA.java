@@ -61,6 +61,7 @@ public class LDA {
         
         properties.setSeed(123L);
         properties.setNumIteration(100);
+        properties.setDeterministic(true);
     }
 
     /**
@@ -39,6 +39,14 @@ public class InferenceProperties {
     public void setNumIteration(Integer numIteration){
         properties.setProperty("numIteration",numIteration.toString());
     }
+
+    /**
+     * Make the result only depend on the seed and not on the number of cores the inference runs on.
+     * @param deterministic
+     */
+    public void setDeterministic(Boolean deterministic){
+        properties.setProperty("deterministic",deterministic.toString());
+    }
     
     /**
      * Load properties.
@@ -60,6 +68,11 @@ public class InferenceProperties {
     public Integer numIteration() {
         return Integer.parseInt(properties.getProperty("numIteration"));
     }
+
+    public Boolean deterministic() {
+        String deterministic = properties.getProperty("deterministic");
+        return deterministic != null ? Boolean.parseBoolean(deterministic) : null;
+    }
 }
 
 class PropertiesLoader {
@@ -16,50 +16,55 @@
 
 package forge.lda.lda.inference.internal;
 
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-
 class AssignmentCounter {
-    private List<Integer> counter;
+    private final int[] counter;
+    private int sum;
 
     AssignmentCounter(int size) {
         if (size <= 0) throw new IllegalArgumentException();
-        this.counter = IntStream.generate(() -> 0)
-                                .limit(size)
-                                .boxed()
-                                .collect(Collectors.toList());
+        this.counter = new int[size];
+        this.sum = 0;
     }
     
     int size() {
-        return counter.size();
+        return counter.length;
     }
     
     int get(int id) {
-        if (id < 0 || counter.size() <= id) {
+        if (id < 0 || counter.length <= id) {
             throw new IllegalArgumentException();
         }
-        return counter.get(id);
+        return counter[id];
     }
     
     int getSum() {
-        return counter.stream().reduce(Integer::sum).get();
+        return sum;
     }
     
     void increment(int id) {
-        if (id < 0 || counter.size() <= id) {
-            throw new IllegalArgumentException();
-        }
-        counter.set(id, counter.get(id) + 1);
+        add(id, 1);
     }
     
     void decrement(int id) {
-        if (id < 0 || counter.size() <= id) {
+        add(id, -1);
+    }
+
+    void add(int id, int delta) {
+        if (id < 0 || counter.length <= id) {
             throw new IllegalArgumentException();
         }
-        if (counter.get(id) == 0) {
+        if (counter[id] + delta < 0) {
             throw new IllegalStateException();
         }
-        counter.set(id, counter.get(id) - 1);
+        counter[id] += delta;
+        sum += delta;
+    }
+
+    /**
+     * The counts themselves, for the sampler to move counts between ids without the checks.
+     * Changes through it have to keep the sum.
+     */
+    int[] array() {
+        return counter;
     }
 }
@@ -16,28 +16,44 @@
 
 package forge.lda.lda.inference.internal;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import forge.lda.lda.LDA;
 import forge.lda.lda.inference.Inference;
 import forge.lda.lda.inference.InferenceProperties;
+import forge.util.ThreadUtil;
 
 import org.apache.commons.lang3.tuple.Pair;
-import org.apache.commons.math3.distribution.EnumeratedIntegerDistribution;
-import org.apache.commons.math3.distribution.IntegerDistribution;
-
-import forge.lda.dataset.Vocabulary;
+import org.apache.commons.math3.special.Gamma;
 
+/**
+ * Collapsed Gibbs sampling [Griffiths and Steyvers 2004], run on several threads at once.
+ * <p>
+ * The documents are split into partitions which are sampled in parallel, each against its own copy of the
+ * topic-vocab counts, and the changes of all partitions are added up after every iteration [Newman et al. 2009,
+ * AD-LDA]. The full conditional of a word is split into a smoothing, a document and a topic-vocab bucket
+ * [Yao et al. 2009, SparseLDA]. The topic-vocab and document buckets only visit the topics the vocab and the
+ * document have nonzero counts for, and the smoothing bucket is kept up to date as counts move, so all topics
+ * are only visited for the rare draws from the smoothing bucket.
+ */
 public class CollapsedGibbsSampler implements Inference {
     private LDA lda;
     private Topics topics;
     private Documents documents;
     private int numIteration;
+    private List<Partition> partitions;
     
     private static final long DEFAULT_SEED = 0L;
     private static final int DEFAULT_NUM_ITERATION = 100;
+    // the number of partitions in deterministic mode, whatever the number of cores
+    private static final int DETERMINISTIC_NUM_PARTITIONS = 8;
     
     // ready for Gibbs sampling
     private boolean ready;
@@ -57,7 +73,9 @@ public class CollapsedGibbsSampler implements Inference {
         initialize(this.lda);
         
         final long seed = properties.seed() != null ? properties.seed() : DEFAULT_SEED;
+        final boolean deterministic = Boolean.TRUE.equals(properties.deterministic());
         initializeTopicAssignment(seed);
+        initializePartitions(seed, deterministic ? DETERMINISTIC_NUM_PARTITIONS : getNumCores());
         
         this.numIteration
             = properties.numIteration() != null ? properties.numIteration() : DEFAULT_NUM_ITERATION;
@@ -72,6 +90,7 @@ public class CollapsedGibbsSampler implements Inference {
         
         initialize(this.lda);
         initializeTopicAssignment(DEFAULT_SEED);
+        initializePartitions(DEFAULT_SEED, getNumCores());
         
         this.numIteration = DEFAULT_NUM_ITERATION;
         this.ready = true;
@@ -82,6 +101,26 @@ public class CollapsedGibbsSampler implements Inference {
         this.topics = new Topics(lda);
         this.documents = new Documents(lda);
     }
+
+    private static int getNumCores() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Split the documents into partitions, each sampled with its own pseudo random number generator.
+     * @param seed the seed of the first partition
+     * @param numPartitions
+     */
+    private void initializePartitions(final long seed, final int numPartitions) {
+        final List<Document> docs = documents.getDocuments();
+        final int count = Math.max(1, Math.min(numPartitions, docs.size()));
+        partitions = new ArrayList<>();
+        for (int p = 0; p < count; ++p) {
+            final int from = (int) ((long) docs.size() * p / count);
+            final int till = (int) ((long) docs.size() * (p + 1) / count);
+            partitions.add(new Partition(docs.subList(from, till), new Random(seed + p)));
+        }
+    }
     
     public boolean isReady() {
         return ready;
@@ -101,51 +140,62 @@ public class CollapsedGibbsSampler implements Inference {
             throw new IllegalStateException("instance has not set up yet");
         }
 
-        for (int i = 1; i <= numIteration; ++i) {
-            System.out.println("Iteration " + i + ".");
-            runSampling();
+        final ExecutorService executor = ThreadUtil.getComputingPool(0f);
+        try {
+            double logLikelihood = getLogLikelihood();
+            for (int i = 1; i <= numIteration; ++i) {
+                runSampling(executor);
+                final double newLogLikelihood = getLogLikelihood();
+                System.out.printf("Iteration %d: log likelihood %.1f (%+.1f)%n",
+                        i, newLogLikelihood, newLogLikelihood - logLikelihood);
+                logLikelihood = newLogLikelihood;
+            }
+        } finally {
+            executor.shutdown();
         }
     }
 
     /**
-     * Run collapsed Gibbs sampling [Griffiths and Steyvers 2004].
+     * Run one iteration of sampling over all documents, the partitions in parallel.
+     * @param executor
      */
-    void runSampling() {
-        for (Document d : documents.getDocuments()) {
-            for (int w = 0; w < d.getDocLength(); ++w) {
-                final Topic oldTopic = topics.get(d.getTopicID(w));
-                d.decrementTopicCount(oldTopic.id());
-                
-                final Vocabulary v = d.getVocabulary(w);
-                oldTopic.decrementVocabCount(v.id());
-                
-                IntegerDistribution distribution
-                    = getFullConditionalDistribution(lda.getNumTopics(), d.id(), v.id());
-                
-                final int newTopicID = distribution.sample();
-                d.setTopicID(w, newTopicID);
-                
-                d.incrementTopicCount(newTopicID);
-                final Topic newTopic = topics.get(newTopicID);
-                newTopic.incrementVocabCount(v.id());
+    void runSampling(final ExecutorService executor) {
+        final int[][] base = topics.getCountsByVocab();
+        final int[] baseSums = topics.getSumCounts();
+        final List<Callable<int[][]>> tasks = new ArrayList<>();
+        for (final Partition partition : partitions) {
+            tasks.add(() -> partition.sample(base, baseSums));
+        }
+        try {
+            for (final Future<int[][]> counts : executor.invokeAll(tasks)) {
+                topics.addChangedCounts(counts.get(), base);
             }
+        } catch (final InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("sampling failed", e);
         }
     }
-    
+
     /**
-     * Get the full conditional distribution over topics.
-     * docID and vocabID are passed to this distribution for parameters.
-     * @param numTopics
-     * @param docID
-     * @param vocabID
-     * @return the integer distribution over topics
+     * Get log p(w|z), the log likelihood of the words given their topic assignment, which should rise
+     * and level off as the sampling converges.
+     * @return the log likelihood
      */
-    IntegerDistribution getFullConditionalDistribution(final int numTopics, final int docID, final int vocabID) {
-        int[]    topics        = IntStream.range(0, numTopics).toArray();
-        double[] probabilities = Arrays.stream(topics)
-                                       .mapToDouble(t -> getTheta(docID, t) * getPhi(t, vocabID))
-                                       .toArray();
-        return new EnumeratedIntegerDistribution(topics, probabilities); 
+    double getLogLikelihood() {
+        final double beta = lda.getBeta();
+        final int numVocabs = topics.numVocabs();
+        final double logGammaBeta = Gamma.logGamma(beta);
+        double result = topics.numTopics() * Gamma.logGamma(beta * numVocabs);
+        for (int t = 0; t < topics.numTopics(); ++t) {
+            final Topic topic = topics.get(t);
+            for (int v = 0; v < numVocabs; ++v) {
+                final int count = topic.getVocabCount(v);
+                if (count > 0) {
+                    result += Gamma.logGamma(count + beta) - logGammaBeta;
+                }
+            }
+            result -= Gamma.logGamma(topic.getSumCount() + beta * numVocabs);
+        }
+        return result;
     }
 
     /**
@@ -217,4 +267,212 @@ public class CollapsedGibbsSampler implements Inference {
     public List<Pair<String, Double>> getVocabsSortedByPhi(int topicID) {
         return topics.getVocabsSortedByPhi(topicID, lda.getVocabularies(), lda.getBeta());
     }
+
+    /**
+     * Documents sampled by one thread, against its own copy of the topic-vocab counts.
+     */
+    private final class Partition {
+        private final List<Document> docs;
+        private final Random random;
+
+        // the copy of the counts for the current iteration
+        private int[][] vocabTopicCounts;
+        private int[] topicCounts;
+        private double[] alpha;
+        private double beta;
+        private double sumBeta;
+        // the topics each vocab has a nonzero count for, in no particular order
+        private int[][] vocabTopics;
+        private int[] vocabTopicSizes;
+
+        // the buckets of the full conditional, the smoothing one over all documents and the other for the current one
+        private double smoothingSum;
+        private int[] docTopicCounts;
+        private int[] docTopics;
+        private int docTopicSize;
+        private double docSum;
+        // (alpha_t + n_dt) / (n_t + sumBeta), multiplied by n_vt for the topic-vocab bucket
+        private double[] coefficients;
+        private double[] topicVocabWeights;
+
+        Partition(final List<Document> docs, final Random random) {
+            this.docs = docs;
+            this.random = random;
+        }
+
+        /**
+         * Sample new topics for the words of the documents.
+         * @param base the topic-vocab counts by vocab at the start of the iteration, not changed
+         * @param baseSums the sum of counts of each topic at the start of the iteration
+         * @return the changed copy of the topic-vocab counts
+         */
+        int[][] sample(final int[][] base, final int[] baseSums) {
+            final int numTopics = baseSums.length;
+            vocabTopicCounts = new int[base.length][];
+            vocabTopics = new int[base.length][];
+            vocabTopicSizes = new int[base.length];
+            for (int v = 0; v < base.length; ++v) {
+                final int[] counts = base[v].clone();
+                vocabTopicCounts[v] = counts;
+                int size = 0;
+                for (int t = 0; t < numTopics; ++t) {
+                    if (counts[t] != 0) ++size;
+                }
+                final int[] topics = new int[Math.max(size, 1)];
+                size = 0;
+                for (int t = 0; t < numTopics; ++t) {
+                    if (counts[t] != 0) topics[size++] = t;
+                }
+                vocabTopics[v] = topics;
+                vocabTopicSizes[v] = size;
+            }
+            topicCounts = baseSums.clone();
+            alpha = new double[numTopics];
+            for (int t = 0; t < numTopics; ++t) {
+                alpha[t] = lda.getAlpha(t);
+            }
+            beta = lda.getBeta();
+            sumBeta = beta * base.length;
+            docTopics = new int[numTopics];
+            topicVocabWeights = new double[numTopics];
+
+            // summed up once per iteration and then only updated when a count moves
+            coefficients = new double[numTopics];
+            smoothingSum = 0.0;
+            for (int t = 0; t < numTopics; ++t) {
+                final double denominator = topicCounts[t] + sumBeta;
+                smoothingSum += alpha[t] * beta / denominator;
+                coefficients[t] = alpha[t] / denominator;
+            }
+
+            for (final Document d : docs) {
+                sampleDocument(d);
+            }
+            return vocabTopicCounts;
+        }
+
+        private void sampleDocument(final Document d) {
+            final int[] vocabIDs = d.getVocabIDs();
+            final int[] topicIDs = d.getTopicIDs();
+            docTopicCounts = d.getTopicCounts();
+
+            // only the topics of the document differ from the coefficients without it
+            docTopicSize = 0;
+            docSum = 0.0;
+            for (int t = 0; t < docTopicCounts.length; ++t) {
+                if (docTopicCounts[t] > 0) {
+                    docTopics[docTopicSize++] = t;
+                    final double denominator = topicCounts[t] + sumBeta;
+                    docSum += docTopicCounts[t] * beta / denominator;
+                    coefficients[t] = (alpha[t] + docTopicCounts[t]) / denominator;
+                }
+            }
+
+            for (int w = 0; w < vocabIDs.length; ++w) {
+                final int vocabID = vocabIDs[w];
+                updateCounts(vocabID, topicIDs[w], -1);
+                final int newTopicID = sampleTopic(vocabID);
+                updateCounts(vocabID, newTopicID, 1);
+                topicIDs[w] = newTopicID;
+            }
+
+            for (int i = 0; i < docTopicSize; ++i) {
+                final int t = docTopics[i];
+                coefficients[t] = alpha[t] / (topicCounts[t] + sumBeta);
+            }
+        }
+
+        private void updateCounts(final int vocabID, final int topicID, final int delta) {
+            final int[] counts = vocabTopicCounts[vocabID];
+            double denominator = topicCounts[topicID] + sumBeta;
+            smoothingSum -= alpha[topicID] * beta / denominator;
+            docSum -= docTopicCounts[topicID] * beta / denominator;
+
+            docTopicCounts[topicID] += delta;
+            counts[topicID] += delta;
+            topicCounts[topicID] += delta;
+
+            denominator = topicCounts[topicID] + sumBeta;
+            smoothingSum += alpha[topicID] * beta / denominator;
+            docSum += docTopicCounts[topicID] * beta / denominator;
+            coefficients[topicID] = (alpha[topicID] + docTopicCounts[topicID]) / denominator;
+
+            if (delta < 0) {
+                if (docTopicCounts[topicID] == 0) {
+                    docTopicSize = removeTopic(docTopics, docTopicSize, topicID);
+                }
+                if (counts[topicID] == 0) {
+                    vocabTopicSizes[vocabID] = removeTopic(vocabTopics[vocabID], vocabTopicSizes[vocabID], topicID);
+                }
+            } else {
+                if (docTopicCounts[topicID] == 1) {
+                    docTopics[docTopicSize++] = topicID;
+                }
+                if (counts[topicID] == 1) {
+                    int[] topics = vocabTopics[vocabID];
+                    final int size = vocabTopicSizes[vocabID];
+                    if (size == topics.length) {
+                        topics = Arrays.copyOf(topics, Math.min(size * 2, counts.length));
+                        vocabTopics[vocabID] = topics;
+                    }
+                    topics[size] = topicID;
+                    vocabTopicSizes[vocabID] = size + 1;
+                }
+            }
+        }
+
+        private int removeTopic(final int[] topics, final int size, final int topicID) {
+            for (int i = 0; i < size; ++i) {
+                if (topics[i] == topicID) {
+                    topics[i] = topics[size - 1];
+                    return size - 1;
+                }
+            }
+            return size;
+        }
+
+        /**
+         * Sample from (n_dt + alpha_t) * (n_vt + beta) / (n_t + sumBeta), split into
+         * alpha_t * beta / (n_t + sumBeta) + n_dt * beta / (n_t + sumBeta) + coefficient_t * n_vt.
+         * The last two buckets only visit the topics of the vocab and the document, only the smoothing bucket,
+         * which is rarely drawn from, visits all topics.
+         */
+        private int sampleTopic(final int vocabID) {
+            final int[] counts = vocabTopicCounts[vocabID];
+            final int[] topics = vocabTopics[vocabID];
+            final int size = vocabTopicSizes[vocabID];
+            double topicVocabSum = 0.0;
+            for (int i = 0; i < size; ++i) {
+                final int t = topics[i];
+                final double weight = coefficients[t] * counts[t];
+                topicVocabWeights[i] = weight;
+                topicVocabSum += weight;
+            }
+
+            double u = random.nextDouble() * (smoothingSum + docSum + topicVocabSum);
+            if (u < topicVocabSum) {
+                for (int i = 0; i < size; ++i) {
+                    u -= topicVocabWeights[i];
+                    if (u < 0.0) return topics[i];
+                }
+                return topics[size - 1];
+            }
+            u -= topicVocabSum;
+            if (u < docSum && docTopicSize > 0) {
+                for (int i = 0; i < docTopicSize; ++i) {
+                    final int t = docTopics[i];
+                    u -= docTopicCounts[t] * beta / (topicCounts[t] + sumBeta);
+                    if (u < 0.0) return t;
+                }
+                return docTopics[docTopicSize - 1];
+            }
+            u -= docSum;
+            final int numTopics = counts.length;
+            for (int t = 0; t < numTopics; ++t) {
+                u -= alpha[t] * beta / (topicCounts[t] + sumBeta);
+                if (u < 0.0) return t;
+            }
+            return numTopics - 1;
+        }
+    }
 }
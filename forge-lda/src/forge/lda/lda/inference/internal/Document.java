@@ -76,6 +76,27 @@ public class Document {
     List<Vocabulary> getWords() {
         return words.getWords();
     }
+
+    /**
+     * @return the vocab ID of each word
+     */
+    int[] getVocabIDs() {
+        return words.getVocabIDs();
+    }
+
+    /**
+     * @return the topic ID of each word, the sampler updates it in place
+     */
+    int[] getTopicIDs() {
+        return assignment.array();
+    }
+
+    /**
+     * @return the count of each topic, the sampler updates it in place
+     */
+    int[] getTopicCounts() {
+        return topicCount.array();
+    }
     
     double getTheta(int topicID, double alpha, double sumAlpha) {
         if (topicID < 0 || alpha <= 0.0 || sumAlpha <= 0.0) {
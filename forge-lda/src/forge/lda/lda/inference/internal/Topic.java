@@ -47,6 +47,10 @@ class Topic {
     void decrementVocabCount(int vocabID) {
         counter.decrementVocabCount(vocabID);
     }
+
+    void addVocabCount(int vocabID, int delta) {
+        counter.addVocabCount(vocabID, delta);
+    }
     
     double getPhi(int vocabID, double beta) {
         if (vocabID < 0 || beta <= 0) throw new IllegalArgumentException();
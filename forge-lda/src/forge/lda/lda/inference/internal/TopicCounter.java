@@ -42,4 +42,8 @@ class TopicCounter {
     int size() {
         return topicCount.size();
     }
+
+    int[] array() {
+        return topicCount.array();
+    }
 }
@@ -29,10 +29,12 @@ import org.apache.commons.lang3.tuple.Pair;
 
 class Topics {
     private List<Topic> topics;
+    private final int numVocabs;
     
     Topics(LDA lda) {
         if (lda == null) throw new NullPointerException();
         
+        numVocabs = lda.getBow().getNumVocabs();
         topics = new ArrayList<>();
         for (int t = 0; t < lda.getNumTopics(); ++t) {
             topics.add(new Topic(t, lda.getBow().getNumVocabs()));
@@ -42,6 +44,10 @@ class Topics {
     int numTopics() {
         return topics.size();
     }
+
+    int numVocabs() {
+        return numVocabs;
+    }
     
     Topic get(int id) {
         return topics.get(id);
@@ -63,6 +69,45 @@ class Topics {
         topics.get(topicID).decrementVocabCount(vocabID);
     }
     
+    /**
+     * Get the topic-vocab counts by vocab, so the counts of one vocab over all topics are next to each other.
+     * @return the counts indexed by [vocabID][topicID]
+     */
+    int[][] getCountsByVocab() {
+        int[][] counts = new int[numVocabs][topics.size()];
+        for (int t = 0; t < topics.size(); ++t) {
+            Topic topic = topics.get(t);
+            for (int v = 0; v < numVocabs; ++v) {
+                counts[v][t] = topic.getVocabCount(v);
+            }
+        }
+        return counts;
+    }
+
+    int[] getSumCounts() {
+        int[] sums = new int[topics.size()];
+        for (int t = 0; t < topics.size(); ++t) {
+            sums[t] = topics.get(t).getSumCount();
+        }
+        return sums;
+    }
+
+    /**
+     * Add the changes a sampler made to a copy of the counts.
+     * @param counts the changed copy, indexed by [vocabID][topicID]
+     * @param base the counts the copy was made from
+     */
+    void addChangedCounts(int[][] counts, int[][] base) {
+        for (int v = 0; v < numVocabs; ++v) {
+            for (int t = 0; t < topics.size(); ++t) {
+                int delta = counts[v][t] - base[v][t];
+                if (delta != 0) {
+                    topics.get(t).addVocabCount(v, delta);
+                }
+            }
+        }
+    }
+
     double getPhi(int topicID, int vocabID, double beta) {
         if (topicID < 0 || topics.size() <= topicID) throw new IllegalArgumentException();
         return topics.get(topicID).getPhi(vocabID, beta);
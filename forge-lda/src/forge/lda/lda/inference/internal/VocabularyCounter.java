@@ -18,29 +18,29 @@ package forge.lda.lda.inference.internal;
 
 class VocabularyCounter {
     private AssignmentCounter vocabCount;
-    private int sumCount;
     
     VocabularyCounter(int numVocabs) {
         this.vocabCount = new AssignmentCounter(numVocabs);
-        this.sumCount = 0;
     }
 
     int getVocabCount(int vocabID) {
-        if (vocabCount.size() < vocabID) return 0;
+        if (vocabCount.size() <= vocabID) return 0;
         else return vocabCount.get(vocabID);
     }
     
     int getSumCount() {
-        return sumCount;
+        return vocabCount.getSum();
     }
     
     void incrementVocabCount(int vocabID) {
         vocabCount.increment(vocabID);
-        ++sumCount;
     }
     
     void decrementVocabCount(int vocabID) {
         vocabCount.decrement(vocabID);
-        --sumCount;
+    }
+
+    void addVocabCount(int vocabID, int delta) {
+        vocabCount.add(vocabID, delta);
     }
 }
@@ -23,10 +23,12 @@ import forge.lda.dataset.Vocabulary;
 
 class Words {
     private List<Vocabulary> words;
+    private final int[] vocabIDs;
     
     Words(List<Vocabulary> words) {
         if (words == null) throw new NullPointerException();
         this.words = words; 
+        this.vocabIDs = words.stream().mapToInt(Vocabulary::id).toArray();
     }
 
     int getNumWords() {
@@ -40,6 +42,10 @@ class Words {
         return words.get(id);
     }
     
+    int[] getVocabIDs() {
+        return vocabIDs;
+    }
+
     List<Vocabulary> getWords() {
         return Collections.unmodifiableList(words);
     }